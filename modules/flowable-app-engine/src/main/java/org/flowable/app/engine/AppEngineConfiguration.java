@@ -68,8 +68,10 @@ import org.flowable.common.engine.impl.el.DefaultExpressionManager;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
 import org.flowable.eventregistry.impl.configurator.EventRegistryEngineConfigurator;
 import org.flowable.identitylink.service.IdentityLinkServiceConfiguration;
@@ -82,8 +84,10 @@ import org.flowable.variable.api.types.VariableTypes;
 import org.flowable.variable.service.VariableServiceConfiguration;
 import org.flowable.variable.service.impl.db.IbatisVariableTypeHandler;
 import org.flowable.variable.service.impl.db.VariableDbSchemaManager;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
 import org.flowable.variable.service.impl.types.BooleanType;
 import org.flowable.variable.service.impl.types.ByteArrayType;
+import org.flowable.variable.service.impl.types.CompressedSerializableType;
 import org.flowable.variable.service.impl.types.DateType;
 import org.flowable.variable.service.impl.types.DefaultVariableTypes;
 import org.flowable.variable.service.impl.types.DoubleType;
@@ -132,6 +136,12 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
     protected AppResourceConverter appResourceConverter;
     
     protected int appDefinitionCacheLimit = -1;
+    /**
+     * When set to a positive value, a {@link ConcurrentDeploymentCache} bounded by this weight (as determined by the appDefinitionCacheWeigher) is used,
+     * instead of a cache bounded by the appDefinitionCacheLimit.
+     */
+    protected long appDefinitionCacheMaxWeight = -1;
+    protected DeploymentCacheWeigher<AppDefinitionCacheEntry> appDefinitionCacheWeigher;
     protected DeploymentCache<AppDefinitionCacheEntry> appDefinitionCache;
 
     protected ExpressionManager expressionManager;
@@ -359,7 +369,12 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
 
     protected void initAppDefinitionCache() {
         if (appDefinitionCache == null) {
-            if (appDefinitionCacheLimit <= 0) {
+            if (appDefinitionCacheMaxWeight > 0) {
+                if (appDefinitionCacheWeigher == null) {
+                    appDefinitionCacheWeigher = cacheEntry -> 1L;
+                }
+                appDefinitionCache = new ConcurrentDeploymentCache<>(appDefinitionCacheMaxWeight, appDefinitionCacheWeigher);
+            } else if (appDefinitionCacheLimit <= 0) {
                 appDefinitionCache = new DefaultDeploymentCache<>();
             } else {
                 appDefinitionCache = new DefaultDeploymentCache<>(appDefinitionCacheLimit);
@@ -406,7 +421,8 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
 
     @Override
     protected void initDbSqlSessionFactoryEntitySettings() {
-        defaultInitDbSqlSessionFactoryEntitySettings(EntityDependencyOrder.INSERT_ORDER, EntityDependencyOrder.DELETE_ORDER);
+        defaultInitDbSqlSessionFactoryEntitySettings(EntityDependencyOrder.INSERT_ORDER, EntityDependencyOrder.DELETE_ORDER,
+                EntityDependencyOrder.HISTORIC_ENTITY_CLASSES);
     }
 
     public void initVariableTypes() {
@@ -432,12 +448,23 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
             variableTypes.addType(new JodaDateTimeType());
             variableTypes.addType(new DoubleType());
             variableTypes.addType(new UUIDType());
+            if (binaryVariableTypesEnabled) {
+                variableTypes.addType(new BinaryJsonType(objectMapper, jsonVariableTypeTrackObjects, binaryVariableCompressionThreshold));
+            }
             variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
             // longJsonType only needed for reading purposes
             variableTypes.addType(JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
             variableTypes.addType(new ByteArrayType());
             variableTypes.addType(new EmptyCollectionType());
+            if (binaryVariableTypesEnabled) {
+                variableTypes.addType(new CompressedSerializableType(serializableVariableTypeTrackDeserializedObjects, binaryVariableCompressionThreshold));
+            }
             variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+            if (!binaryVariableTypesEnabled) {
+                // binary variable types only needed for reading purposes
+                variableTypes.addType(new BinaryJsonType(objectMapper, jsonVariableTypeTrackObjects, binaryVariableCompressionThreshold));
+                variableTypes.addType(new CompressedSerializableType(serializableVariableTypeTrackDeserializedObjects, binaryVariableCompressionThreshold));
+            }
             if (customPostVariableTypes != null) {
                 for (VariableType customVariableType : customPostVariableTypes) {
                     variableTypes.addType(customVariableType);
@@ -660,6 +687,24 @@ public class AppEngineConfiguration extends AbstractEngineConfiguration implemen
         return this;
     }
 
+    public long getAppDefinitionCacheMaxWeight() {
+        return appDefinitionCacheMaxWeight;
+    }
+
+    public AppEngineConfiguration setAppDefinitionCacheMaxWeight(long appDefinitionCacheMaxWeight) {
+        this.appDefinitionCacheMaxWeight = appDefinitionCacheMaxWeight;
+        return this;
+    }
+
+    public DeploymentCacheWeigher<AppDefinitionCacheEntry> getAppDefinitionCacheWeigher() {
+        return appDefinitionCacheWeigher;
+    }
+
+    public AppEngineConfiguration setAppDefinitionCacheWeigher(DeploymentCacheWeigher<AppDefinitionCacheEntry> appDefinitionCacheWeigher) {
+        this.appDefinitionCacheWeigher = appDefinitionCacheWeigher;
+        return this;
+    }
+
     public DeploymentCache<AppDefinitionCacheEntry> getAppDefinitionCache() {
         return appDefinitionCache;
     }
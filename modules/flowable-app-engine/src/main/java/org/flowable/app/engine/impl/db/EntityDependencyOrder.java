@@ -34,6 +34,10 @@ public class EntityDependencyOrder {
 
     public static List<Class<? extends Entity>> DELETE_ORDER = new ArrayList<>();
     public static List<Class<? extends Entity>> INSERT_ORDER = new ArrayList<>();
+    /**
+     * The historic entities that can be updated, of which explicit updates are coalesced when history write coalescing is enabled.
+     */
+    public static List<Class<? extends Entity>> HISTORIC_ENTITY_CLASSES = new ArrayList<>();
 
     static {
 
@@ -50,6 +54,9 @@ public class EntityDependencyOrder {
         INSERT_ORDER = new ArrayList<>(DELETE_ORDER);
         Collections.reverse(INSERT_ORDER);
 
+        HISTORIC_ENTITY_CLASSES.add(HistoricVariableInstanceEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricIdentityLinkEntityImpl.class);
+
     }
     
 }
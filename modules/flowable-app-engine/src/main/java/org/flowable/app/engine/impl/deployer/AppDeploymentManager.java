@@ -105,7 +105,9 @@ public class AppDeploymentManager {
         if (cachedAppDefinition == null) {
             AppDeploymentEntity deployment = deploymentEntityManager.findById(deploymentId);
             deployment.setNew(false);
+            long loadStartTime = System.nanoTime();
             deploy(deployment, null);
+            appDefinitionCache.recordLoad(appDefinitionId, System.nanoTime() - loadStartTime);
             cachedAppDefinition = appDefinitionCache.get(appDefinitionId);
 
             if (cachedAppDefinition == null) {
@@ -28,7 +28,7 @@ public abstract class AbstractFlowableHttpHandler extends BaseElement implements
     protected ScriptInfo scriptInfo;
 
     @JsonIgnore
-    protected Object instance; // Can be used to set an instance of the listener directly. That instance will then always be reused.
+    protected transient Object instance; // Can be used to set an instance of the listener directly. That instance will then always be reused.
 
     public String getImplementationType() {
         return implementationType;
@@ -12,7 +12,11 @@
  */
 package org.flowable.bpmn.model;
 
-public class ExtensionAttribute {
+import java.io.Serializable;
+
+public class ExtensionAttribute implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     protected String name;
     protected String value;
@@ -33,7 +33,7 @@ public abstract class FlowNode extends FlowElement {
     protected List<SequenceFlow> outgoingFlows = new ArrayList<>();
 
     @JsonIgnore
-    protected Object behavior;
+    protected transient Object behavior;
 
     public FlowNode() {
 
@@ -178,6 +178,11 @@ public class CmmnEngineConfigurator extends AbstractEngineConfigurator {
         return EntityDependencyOrder.DELETE_ORDER;
     }
 
+    @Override
+    protected List<Class<? extends Entity>> getHistoricEntityClasses() {
+        return EntityDependencyOrder.HISTORIC_ENTITY_CLASSES;
+    }
+
     protected synchronized CmmnEngine initCmmnEngine() {
         if (cmmnEngineConfiguration == null) {
             throw new FlowableException("CmmnEngineConfiguration is required");
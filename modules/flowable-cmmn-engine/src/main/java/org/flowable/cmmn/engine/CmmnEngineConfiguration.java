@@ -53,6 +53,7 @@ import org.flowable.cmmn.api.delegate.PlanItemVariableAggregator;
 import org.flowable.cmmn.api.listener.CaseInstanceLifecycleListener;
 import org.flowable.cmmn.api.listener.PlanItemInstanceLifecycleListener;
 import org.flowable.cmmn.api.migration.CaseInstanceMigrationCallback;
+import org.flowable.cmmn.api.repository.CaseDefinition;
 import org.flowable.cmmn.engine.impl.CmmnEngineImpl;
 import org.flowable.cmmn.engine.impl.CmmnHistoryServiceImpl;
 import org.flowable.cmmn.engine.impl.CmmnManagementServiceImpl;
@@ -95,12 +96,14 @@ import org.flowable.cmmn.engine.impl.history.CmmnHistoryTaskManager;
 import org.flowable.cmmn.engine.impl.history.CmmnHistoryVariableManager;
 import org.flowable.cmmn.engine.impl.history.DefaultCmmnHistoryConfigurationSettings;
 import org.flowable.cmmn.engine.impl.history.DefaultCmmnHistoryManager;
+import org.flowable.cmmn.engine.impl.history.async.AsyncCmmnHistoryJobHandler;
 import org.flowable.cmmn.engine.impl.idm.DefaultCandidateManager;
 import org.flowable.cmmn.engine.impl.interceptor.CmmnCommandInvoker;
 import org.flowable.cmmn.engine.impl.interceptor.DefaultCmmnIdentityLinkInterceptor;
 import org.flowable.cmmn.engine.impl.job.AsyncActivatePlanItemInstanceJobHandler;
 import org.flowable.cmmn.engine.impl.job.AsyncInitializePlanModelJobHandler;
 import org.flowable.cmmn.engine.impl.job.AsyncLeaveActivePlanItemInstanceJobHandler;
+import org.flowable.cmmn.engine.impl.job.CaseInstanceMigrationChunkJobHandler;
 import org.flowable.cmmn.engine.impl.job.CaseInstanceMigrationJobHandler;
 import org.flowable.cmmn.engine.impl.job.CaseInstanceMigrationStatusJobHandler;
 import org.flowable.cmmn.engine.impl.job.CmmnHistoryCleanupJobHandler;
@@ -181,6 +184,7 @@ import org.flowable.cmmn.engine.impl.persistence.entity.data.impl.MybatisPlanIte
 import org.flowable.cmmn.engine.impl.persistence.entity.data.impl.MybatisResourceDataManager;
 import org.flowable.cmmn.engine.impl.persistence.entity.data.impl.MybatisSentryPartInstanceDataManagerImpl;
 import org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntry;
+import org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntryWeigher;
 import org.flowable.cmmn.engine.impl.process.ProcessInstanceService;
 import org.flowable.cmmn.engine.impl.runtime.CaseInstanceHelper;
 import org.flowable.cmmn.engine.impl.runtime.CaseInstanceHelperImpl;
@@ -230,6 +234,7 @@ import org.flowable.common.engine.impl.cfg.mail.FlowableMailClientCreator;
 import org.flowable.common.engine.impl.cfg.mail.MailServerInfo;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.SchemaManager;
+import org.flowable.common.engine.impl.el.ExpressionCompiler;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.el.FlowableAstFunctionCreator;
 import org.flowable.common.engine.impl.el.function.VariableBase64ExpressionFunction;
@@ -251,10 +256,15 @@ import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.common.engine.impl.javax.el.ELResolver;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWarmUp;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWarmUp.WarmUpDefinition;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
 import org.flowable.common.engine.impl.scripting.BeansResolverFactory;
+import org.flowable.common.engine.impl.scripting.CompiledScriptCache;
 import org.flowable.common.engine.impl.scripting.ResolverFactory;
 import org.flowable.common.engine.impl.scripting.ScriptBindingsFactory;
 import org.flowable.common.engine.impl.scripting.ScriptingEngines;
@@ -305,8 +315,11 @@ import org.flowable.variable.service.VariableServiceConfiguration;
 import org.flowable.variable.service.history.InternalHistoryVariableManager;
 import org.flowable.variable.service.impl.db.IbatisVariableTypeHandler;
 import org.flowable.variable.service.impl.db.VariableDbSchemaManager;
+import org.flowable.variable.service.impl.el.VariableGetJsonExpressionFunction;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
 import org.flowable.variable.service.impl.types.BooleanType;
 import org.flowable.variable.service.impl.types.ByteArrayType;
+import org.flowable.variable.service.impl.types.CompressedSerializableType;
 import org.flowable.variable.service.impl.types.DateType;
 import org.flowable.variable.service.impl.types.DefaultVariableTypes;
 import org.flowable.variable.service.impl.types.DoubleType;
@@ -409,6 +422,12 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected CaseValidator caseValidator;
 
     protected int caseDefinitionCacheLimit = -1;
+    /**
+     * When set to a positive value, a {@link ConcurrentDeploymentCache} bounded by this weight (as determined by the caseDefinitionCacheWeigher) is used,
+     * instead of a cache bounded by the caseDefinitionCacheLimit.
+     */
+    protected long caseDefinitionCacheMaxWeight = -1;
+    protected DeploymentCacheWeigher<CaseDefinitionCacheEntry> caseDefinitionCacheWeigher;
     protected DeploymentCache<CaseDefinitionCacheEntry> caseDefinitionCache;
 
     protected CmmnParser cmmnParser;
@@ -434,6 +453,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected boolean isExpressionCacheEnabled = true;
     protected int expressionCacheSize = 4096;
     protected int expressionTextLengthCacheLimit = -1; // negative value to have no max length
+    protected int expressionCompilationThreshold; // number of evaluations after which a cached expression is compiled, 0 disables compilation
 
     // Scripting support
     protected ScriptingEngines scriptingEngines;
@@ -441,6 +461,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected List<ResolverFactory> resolverFactories;
     protected Collection<ResolverFactory> preDefaultResolverFactories;
     protected Collection<ResolverFactory> postDefaultResolverFactories;
+    protected boolean compiledScriptCacheEnabled;
+    protected int compiledScriptCacheSize = 1000;
+    protected boolean compiledScriptCacheWarmUpEnabled; // compile the scripts of script tasks when the definition is deployed or added to the deployment cache
 
     /**
      * Using field injection together with a delegate expression for a service task / execution listener / task listener is not thread-sade , see user guide section 'Field Injection' for more
@@ -625,6 +648,16 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
 
     protected String batchStatusTimeCycleConfig = "30 * * * * ?";
 
+    /**
+     * The amount of case instances that are migrated by one batch part (and its async job) of an asynchronous migration batch.
+     * With the default of 1, every case instance gets its own batch part and job.
+     * With a bigger value, the case instances of a chunk are migrated by one job, but every case instance is migrated in its own transaction,
+     * nested in the transaction of the job, so that the failure of one case instance doesn't prevent the migration of the other case instances
+     * of the chunk. A chunk is thus not migrated in one transaction: the migrated case instances of a chunk stay migrated
+     * when a later case instance or the job itself fails.
+     */
+    protected int caseInstanceMigrationBatchChunkSize = 1;
+
     protected boolean enableHistoryCleaning = false;
     protected String historyCleaningTimeCycleConfig = "0 0 1 * * ?";
     protected Duration cleanInstancesEndedAfter = Duration.ofDays(365);
@@ -655,6 +688,16 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
      */
     protected Duration eventRegistryUniqueCaseInstanceStartLockTime = Duration.ofMinutes(10);
 
+    /**
+     * Whether an in-memory index of the event registry event subscriptions should be kept,
+     * so that events that can't correlate with any case event subscription are dropped without a database query.
+     * The index is reloaded from the database every {@link #eventRegistryCorrelationIndexReconcileInterval},
+     * which is the maximum time an event subscription created by another node can be missed.
+     */
+    protected boolean eventRegistryCorrelationIndexEnabled;
+
+    protected Duration eventRegistryCorrelationIndexReconcileInterval = Duration.ofSeconds(30);
+
     protected BusinessCalendarManager businessCalendarManager;
 
     /**
@@ -712,6 +755,10 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             cmmnEngine.startExecutors();
         }
 
+        if (deploymentCacheWarmUpEnabled) {
+            startDeploymentCacheWarmUp();
+        }
+
         return cmmnEngine;
     }
 
@@ -909,6 +956,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             flowableFunctionDelegates.add(new VariableGreaterThanOrEqualsExpressionFunction());
 
             flowableFunctionDelegates.add(new VariableBase64ExpressionFunction());
+            flowableFunctionDelegates.add(new VariableGetJsonExpressionFunction());
 
             flowableFunctionDelegates.add(new IsStageCompletableExpressionFunction());
             flowableFunctionDelegates.add(new IsPlanItemCompletedExpressionFunction());
@@ -954,6 +1002,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             if (isExpressionCacheEnabled) {
                 cmmnExpressionManager.setExpressionCache(new DefaultDeploymentCache<>(expressionCacheSize));
                 cmmnExpressionManager.setExpressionTextLengthCacheLimit(expressionTextLengthCacheLimit);
+                if (expressionCompilationThreshold > 0) {
+                    cmmnExpressionManager.setExpressionCompiler(new ExpressionCompiler(expressionCompilationThreshold));
+                }
             }
 
             if (expressionManagerConfigurers != null) {
@@ -1173,7 +1224,12 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
 
     protected void initCaseDefinitionCache() {
         if (caseDefinitionCache == null) {
-            if (caseDefinitionCacheLimit <= 0) {
+            if (caseDefinitionCacheMaxWeight > 0) {
+                if (caseDefinitionCacheWeigher == null) {
+                    caseDefinitionCacheWeigher = new CaseDefinitionCacheEntryWeigher();
+                }
+                caseDefinitionCache = new ConcurrentDeploymentCache<>(caseDefinitionCacheMaxWeight, caseDefinitionCacheWeigher);
+            } else if (caseDefinitionCacheLimit <= 0) {
                 caseDefinitionCache = new DefaultDeploymentCache<>();
             } else {
                 caseDefinitionCache = new DefaultDeploymentCache<>(caseDefinitionCacheLimit);
@@ -1390,6 +1446,9 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
     protected void initScriptingEngines() {
         if (scriptingEngines == null) {
             scriptingEngines = new ScriptingEngines(scriptBindingsFactory);
+            if (compiledScriptCacheEnabled) {
+                scriptingEngines.setCompiledScriptCache(new CompiledScriptCache(compiledScriptCacheSize));
+            }
             scriptingEngines.setDefaultTraceEnhancer(new CmmnEngineScriptTraceEnhancer());
         }
     }
@@ -1433,7 +1492,8 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
 
     @Override
     protected void initDbSqlSessionFactoryEntitySettings() {
-        defaultInitDbSqlSessionFactoryEntitySettings(EntityDependencyOrder.INSERT_ORDER, EntityDependencyOrder.DELETE_ORDER);
+        defaultInitDbSqlSessionFactoryEntitySettings(EntityDependencyOrder.INSERT_ORDER, EntityDependencyOrder.DELETE_ORDER,
+                EntityDependencyOrder.HISTORIC_ENTITY_CLASSES);
 
         // Oracle doesn't support bulk inserting for historic task log entries
         if (isBulkInsertEnabled && "oracle".equals(databaseType)) {
@@ -1464,13 +1524,24 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
             variableTypes.addType(new JodaDateTimeType());
             variableTypes.addType(new DoubleType());
             variableTypes.addType(new UUIDType());
+            if (binaryVariableTypesEnabled) {
+                variableTypes.addType(new BinaryJsonType(objectMapper, jsonVariableTypeTrackObjects, binaryVariableCompressionThreshold));
+            }
             variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
             // longJsonType only needed for reading purposes
             variableTypes.addType(JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
             variableTypes.addType(new CmmnAggregatedVariableType(this));
             variableTypes.addType(new ByteArrayType());
             variableTypes.addType(new EmptyCollectionType());
+            if (binaryVariableTypesEnabled) {
+                variableTypes.addType(new CompressedSerializableType(serializableVariableTypeTrackDeserializedObjects, binaryVariableCompressionThreshold));
+            }
             variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+            if (!binaryVariableTypesEnabled) {
+                // binary variable types only needed for reading purposes
+                variableTypes.addType(new BinaryJsonType(objectMapper, jsonVariableTypeTrackObjects, binaryVariableCompressionThreshold));
+                variableTypes.addType(new CompressedSerializableType(serializableVariableTypeTrackDeserializedObjects, binaryVariableCompressionThreshold));
+            }
 
         } else {
             if (customPreVariableTypes != null) {
@@ -1625,6 +1696,8 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         this.eventSubscriptionServiceConfiguration.setObjectMapper(this.objectMapper);
         this.eventSubscriptionServiceConfiguration.setEventDispatcher(this.eventDispatcher);
         this.eventSubscriptionServiceConfiguration.setEventSubscriptionLockTime(this.eventRegistryUniqueCaseInstanceStartLockTime);
+        this.eventSubscriptionServiceConfiguration.setEventSubscriptionCorrelationIndexEnabled(this.eventRegistryCorrelationIndexEnabled);
+        this.eventSubscriptionServiceConfiguration.setEventSubscriptionCorrelationIndexReconcileInterval(this.eventRegistryCorrelationIndexReconcileInterval);
         
         this.eventSubscriptionServiceConfiguration.init();
 
@@ -1655,6 +1728,7 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         jobHandlers.put(CmmnHistoryCleanupJobHandler.TYPE, new CmmnHistoryCleanupJobHandler());
         jobHandlers.put(ExternalWorkerTaskCompleteJobHandler.TYPE, new ExternalWorkerTaskCompleteJobHandler(this));
         addJobHandler(new CaseInstanceMigrationJobHandler());
+        addJobHandler(new CaseInstanceMigrationChunkJobHandler());
         addJobHandler(new CaseInstanceMigrationStatusJobHandler());
         addJobHandler(new HistoricCaseInstanceMigrationJobHandler());
         addJobHandler(new ComputeDeleteHistoricCaseInstanceIdsJobHandler());
@@ -1675,6 +1749,10 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         if (isAsyncHistoryEnabled) {
             historyJobHandlers = new HashMap<>();
 
+            // Applies the history recorded by the AsyncCmmnHistoryManager, when that one is configured as cmmn history manager
+            AsyncCmmnHistoryJobHandler asyncCmmnHistoryJobHandler = new AsyncCmmnHistoryJobHandler(this);
+            historyJobHandlers.put(asyncCmmnHistoryJobHandler.getType(), asyncCmmnHistoryJobHandler);
+
             if (getCustomHistoryJobHandlers() != null) {
                 for (HistoryJobHandler customJobHandler : getCustomHistoryJobHandlers()) {
                     historyJobHandlers.put(customJobHandler.getType(), customJobHandler);
@@ -1921,6 +1999,24 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return new BatchServiceConfiguration(ScopeTypes.CMMN);
     }
 
+    public void startDeploymentCacheWarmUp() {
+        // A cache bounded by weight can't tell upfront how many definitions fit, the warm up stops when it starts evicting instead
+        boolean weightBoundedCache = caseDefinitionCache instanceof ConcurrentDeploymentCache;
+        deploymentCacheWarmUp = new DeploymentCacheWarmUp("case definition", commandExecutor, deploymentCacheWarmUpParallelism,
+                deploymentCacheWarmUpVersionsPerKey, deploymentCacheWarmUpTenantIds, weightBoundedCache ? -1 : caseDefinitionCacheLimit);
+        if (weightBoundedCache) {
+            deploymentCacheWarmUp.setEvictionCountSupplier(((ConcurrentDeploymentCache<?>) caseDefinitionCache)::getEvictionCount);
+        }
+        deploymentCacheWarmUp.start(() -> {
+            List<WarmUpDefinition> definitions = new ArrayList<>();
+            for (CaseDefinition caseDefinition : cmmnRepositoryService.createCaseDefinitionQuery().list()) {
+                definitions.add(new WarmUpDefinition(caseDefinition.getId(), caseDefinition.getDeploymentId(),
+                        caseDefinition.getKey(), caseDefinition.getTenantId(), caseDefinition.getVersion()));
+            }
+            return definitions;
+        }, caseDefinitionId -> deploymentManager.findDeployedCaseDefinitionById(caseDefinitionId));
+    }
+
     @Override
     public void close() {
         super.close();
@@ -2499,6 +2595,24 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public long getCaseDefinitionCacheMaxWeight() {
+        return caseDefinitionCacheMaxWeight;
+    }
+
+    public CmmnEngineConfiguration setCaseDefinitionCacheMaxWeight(long caseDefinitionCacheMaxWeight) {
+        this.caseDefinitionCacheMaxWeight = caseDefinitionCacheMaxWeight;
+        return this;
+    }
+
+    public DeploymentCacheWeigher<CaseDefinitionCacheEntry> getCaseDefinitionCacheWeigher() {
+        return caseDefinitionCacheWeigher;
+    }
+
+    public CmmnEngineConfiguration setCaseDefinitionCacheWeigher(DeploymentCacheWeigher<CaseDefinitionCacheEntry> caseDefinitionCacheWeigher) {
+        this.caseDefinitionCacheWeigher = caseDefinitionCacheWeigher;
+        return this;
+    }
+
     public DeploymentCache<CaseDefinitionCacheEntry> getCaseDefinitionCache() {
         return caseDefinitionCache;
     }
@@ -2706,6 +2820,19 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public int getExpressionCompilationThreshold() {
+        return expressionCompilationThreshold;
+    }
+
+    /**
+     * Sets the number of evaluations after which a cached expression is compiled (see {@link ExpressionCompiler}).
+     * 0 (the default) disables the compilation of expressions.
+     */
+    public CmmnEngineConfiguration setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+        this.expressionCompilationThreshold = expressionCompilationThreshold;
+        return this;
+    }
+
     public DelegateExpressionFieldInjectionMode getDelegateExpressionFieldInjectionMode() {
         return delegateExpressionFieldInjectionMode;
     }
@@ -3186,6 +3313,24 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isEventRegistryCorrelationIndexEnabled() {
+        return eventRegistryCorrelationIndexEnabled;
+    }
+
+    public CmmnEngineConfiguration setEventRegistryCorrelationIndexEnabled(boolean eventRegistryCorrelationIndexEnabled) {
+        this.eventRegistryCorrelationIndexEnabled = eventRegistryCorrelationIndexEnabled;
+        return this;
+    }
+
+    public Duration getEventRegistryCorrelationIndexReconcileInterval() {
+        return eventRegistryCorrelationIndexReconcileInterval;
+    }
+
+    public CmmnEngineConfiguration setEventRegistryCorrelationIndexReconcileInterval(Duration eventRegistryCorrelationIndexReconcileInterval) {
+        this.eventRegistryCorrelationIndexReconcileInterval = eventRegistryCorrelationIndexReconcileInterval;
+        return this;
+    }
+
     public AsyncJobExecutorConfiguration getAsyncExecutorConfiguration() {
         return asyncExecutorConfiguration;
     }
@@ -4257,6 +4402,41 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public boolean isCompiledScriptCacheEnabled() {
+        return compiledScriptCacheEnabled;
+    }
+
+    /**
+     * Enables a cache of compiled scripts: scripts of script tasks and script listeners whose script engine implements {@link javax.script.Compilable}
+     * (e.g. Groovy) are compiled once, instead of being parsed on every execution. Only used when the scripting engines are created by the engine.
+     */
+    public CmmnEngineConfiguration setCompiledScriptCacheEnabled(boolean compiledScriptCacheEnabled) {
+        this.compiledScriptCacheEnabled = compiledScriptCacheEnabled;
+        return this;
+    }
+
+    public int getCompiledScriptCacheSize() {
+        return compiledScriptCacheSize;
+    }
+
+    public CmmnEngineConfiguration setCompiledScriptCacheSize(int compiledScriptCacheSize) {
+        this.compiledScriptCacheSize = compiledScriptCacheSize;
+        return this;
+    }
+
+    public boolean isCompiledScriptCacheWarmUpEnabled() {
+        return compiledScriptCacheWarmUpEnabled;
+    }
+
+    /**
+     * When the compiled script cache is enabled, compiles the scripts of script tasks when a definition is parsed (at deployment time
+     * or when it is added to the deployment cache), so that the first execution doesn't pay the compilation cost.
+     */
+    public CmmnEngineConfiguration setCompiledScriptCacheWarmUpEnabled(boolean compiledScriptCacheWarmUpEnabled) {
+        this.compiledScriptCacheWarmUpEnabled = compiledScriptCacheWarmUpEnabled;
+        return this;
+    }
+
     public List<ResolverFactory> getResolverFactories() {
         return resolverFactories;
     }
@@ -4324,6 +4504,15 @@ public class CmmnEngineConfiguration extends AbstractEngineConfiguration impleme
         return this;
     }
 
+    public int getCaseInstanceMigrationBatchChunkSize() {
+        return caseInstanceMigrationBatchChunkSize;
+    }
+
+    public CmmnEngineConfiguration setCaseInstanceMigrationBatchChunkSize(int caseInstanceMigrationBatchChunkSize) {
+        this.caseInstanceMigrationBatchChunkSize = caseInstanceMigrationBatchChunkSize;
+        return this;
+    }
+
     public boolean isEnableHistoryCleaning() {
         return enableHistoryCleaning;
     }
@@ -28,6 +28,7 @@ import org.flowable.cmmn.converter.util.PlanItemUtil;
 import org.flowable.cmmn.engine.CmmnEngineConfiguration;
 import org.flowable.cmmn.engine.impl.agenda.PlanItemEvaluationResult;
 import org.flowable.cmmn.engine.impl.criteria.PlanItemLifeCycleEvent;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyIndex;
 import org.flowable.cmmn.engine.impl.persistence.entity.CaseInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.CountingPlanItemInstanceEntity;
 import org.flowable.cmmn.engine.impl.persistence.entity.EntityWithSentryPartInstances;
@@ -428,7 +429,8 @@ public abstract class AbstractEvaluationCriteriaOperation extends AbstractCaseIn
     protected Criterion evaluateEntryCriteria(PlanItemInstanceEntity planItemInstanceEntity, PlanItem planItem) {
         if (planItem != null) {
             List<Criterion> criteria = planItem.getEntryCriteria();
-            if (criteria != null && !criteria.isEmpty()) {
+            if (criteria != null && !criteria.isEmpty()
+                    && getSentryDependencyIndex(planItemInstanceEntity).canSatisfyCriteria(criteria, planItemLifeCycleEvent)) {
                 return evaluateCriteria(planItemInstanceEntity, criteria);
             }
         }
@@ -439,13 +441,24 @@ public abstract class AbstractEvaluationCriteriaOperation extends AbstractCaseIn
     protected Criterion evaluateExitCriteria(EntityWithSentryPartInstances entityWithSentryPartInstances, HasExitCriteria hasExitCriteria) {
         if (hasExitCriteria != null) {
             List<Criterion> criteria = hasExitCriteria.getExitCriteria();
-            if (criteria != null && !criteria.isEmpty()) {
+            if (criteria != null && !criteria.isEmpty()
+                    && getSentryDependencyIndex(entityWithSentryPartInstances).canSatisfyCriteria(criteria, planItemLifeCycleEvent)) {
                 return evaluateCriteria(entityWithSentryPartInstances, criteria);
             }
         }
         return null;
     }
 
+    protected SentryDependencyIndex getSentryDependencyIndex(EntityWithSentryPartInstances entityWithSentryPartInstances) {
+        String caseDefinitionId;
+        if (entityWithSentryPartInstances instanceof PlanItemInstanceEntity) {
+            caseDefinitionId = ((PlanItemInstanceEntity) entityWithSentryPartInstances).getCaseDefinitionId();
+        } else {
+            caseDefinitionId = ((CaseInstanceEntity) entityWithSentryPartInstances).getCaseDefinitionId();
+        }
+        return CaseDefinitionUtil.getSentryDependencyIndex(caseDefinitionId);
+    }
+
     /**
      * @return Returns the criterion that is satisfied. If none is satisfied, null is returned.
      */
@@ -22,6 +22,7 @@ import org.flowable.batch.api.BatchService;
 import org.flowable.cmmn.api.migration.CaseInstanceBatchMigrationPartResult;
 import org.flowable.cmmn.api.migration.CaseInstanceBatchMigrationResult;
 import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.job.CaseInstanceMigrationChunkJobHandler;
 import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.interceptor.Command;
@@ -54,7 +55,15 @@ public class GetCaseInstanceMigrationBatchResultCmd implements Command<CaseInsta
             List<BatchPart> batchParts = batchService.findBatchPartsByBatchId(batch.getId());
             if (batchParts != null && !batchParts.isEmpty()) {
                 for (BatchPart batchPart : batchParts) {
-                    result.addMigrationPart(convertFromBatchPart(batchPart, objectMapper, engineConfiguration));
+                    JsonNode chunkNode = readChunkDocument(batchPart, objectMapper, engineConfiguration);
+                    if (chunkNode != null) {
+                        for (JsonNode caseInstanceNode : chunkNode.path(CaseInstanceMigrationChunkJobHandler.BATCH_PART_CASE_INSTANCES_LABEL)) {
+                            result.addMigrationPart(convertFromChunkCaseInstance(batchPart, caseInstanceNode));
+                        }
+
+                    } else {
+                        result.addMigrationPart(convertFromBatchPart(batchPart, objectMapper, engineConfiguration));
+                    }
                 }
             }
             return result;
@@ -106,4 +115,48 @@ public class GetCaseInstanceMigrationBatchResultCmd implements Command<CaseInsta
         return partResult;
     }
 
+    /**
+     * @return the document of a batch part that migrates a chunk of case instances, or null for a batch part of a single case instance.
+     */
+    protected JsonNode readChunkDocument(BatchPart batchPart, ObjectMapper objectMapper, CmmnEngineConfiguration engineConfiguration) {
+        if (batchPart.getScopeId() != null) {
+            return null;
+        }
+
+        String documentJson = batchPart.getResultDocumentJson(engineConfiguration.getEngineCfgKey());
+        if (documentJson == null) {
+            return null;
+        }
+
+        try {
+            JsonNode documentNode = objectMapper.readTree(documentJson);
+            return CaseInstanceMigrationChunkJobHandler.isChunkDocument(documentNode) ? documentNode : null;
+
+        } catch (IOException e) {
+            throw new FlowableException("Error reading batch part " + batchPart.getId());
+        }
+    }
+
+    protected CaseInstanceBatchMigrationPartResult convertFromChunkCaseInstance(BatchPart batchPart, JsonNode caseInstanceNode) {
+        CaseInstanceBatchMigrationPartResult partResult = new CaseInstanceBatchMigrationPartResult();
+
+        partResult.setBatchId(batchPart.getId());
+        partResult.setCaseInstanceId(caseInstanceNode.path(CaseInstanceMigrationChunkJobHandler.BATCH_PART_CASE_INSTANCE_ID_LABEL).asText());
+        partResult.setSourceCaseDefinitionId(batchPart.getBatchSearchKey());
+        partResult.setTargetCaseDefinitionId(batchPart.getBatchSearchKey2());
+
+        if (batchPart.getCompleteTime() != null) {
+            partResult.setStatus(CaseInstanceBatchMigrationResult.STATUS_COMPLETED);
+            partResult.setResult(caseInstanceNode.path(CaseInstanceMigrationChunkJobHandler.BATCH_RESULT_STATUS_LABEL).asText(null));
+            if (caseInstanceNode.has(BATCH_RESULT_MESSAGE_LABEL)) {
+                partResult.setMigrationMessage(caseInstanceNode.get(BATCH_RESULT_MESSAGE_LABEL).asText());
+            }
+
+        } else {
+            partResult.setResult(batchPart.getStatus());
+        }
+
+        return partResult;
+    }
+
 }
@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.criteria;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.cmmn.model.Case;
+import org.flowable.cmmn.model.Criterion;
+import org.flowable.cmmn.model.PlanFragment;
+import org.flowable.cmmn.model.PlanItem;
+import org.flowable.cmmn.model.Sentry;
+import org.flowable.cmmn.model.SentryOnPart;
+import org.flowable.cmmn.model.Stage;
+
+/**
+ * Index of the plan item lifecycle events (source plan item and transition) that can satisfy the entry and exit criteria of a case,
+ * so that criteria evaluation can skip the criteria that can't be satisfied by the event that triggered the evaluation.
+ * <p>
+ * Only criteria lists of which every sentry consists of exactly one on part and no if part are indexed:
+ * such a sentry is satisfied if and only if the current event matches the on part (previously satisfied parts aren't taken into account, see
+ * {@link org.flowable.cmmn.engine.impl.agenda.operation.AbstractEvaluationCriteriaOperation#evaluateCriteria}), without any side effects otherwise.
+ * Sentries with an if part or multiple on parts depend on more than the current event and are always evaluated.
+ * <p>
+ * The index is calculated once per case definition (see {@link org.flowable.cmmn.engine.impl.persistence.entity.deploy.CaseDefinitionCacheEntry}).
+ */
+public class SentryDependencyIndex {
+
+    // The criteria lists of the model (by identity) -> on part source ref -> on part standard events.
+    // Keying on the lists themselves guarantees that a lookup never uses the events of the criteria of another case definition.
+    protected final Map<List<Criterion>, Map<String, Set<String>>> criteriaEvents = new IdentityHashMap<>();
+
+    public SentryDependencyIndex(Case caze) {
+        Stage planModel = caze.getPlanModel();
+        if (planModel != null) {
+            indexCriteria(planModel.getExitCriteria());
+            indexPlanFragment(planModel);
+        }
+    }
+
+    protected void indexPlanFragment(PlanFragment planFragment) {
+        for (PlanItem planItem : planFragment.getPlanItems()) {
+            indexCriteria(planItem.getEntryCriteria());
+            indexCriteria(planItem.getExitCriteria());
+
+            if (planItem.getPlanItemDefinition() instanceof PlanFragment) {
+                indexPlanFragment((PlanFragment) planItem.getPlanItemDefinition());
+            }
+        }
+    }
+
+    protected void indexCriteria(List<Criterion> criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            return;
+        }
+
+        Map<String, Set<String>> events = new HashMap<>();
+        for (Criterion criterion : criteria) {
+            Sentry sentry = criterion.getSentry();
+            if (sentry == null || sentry.getSentryIfPart() != null || sentry.getOnParts().size() != 1) {
+                return;
+            }
+
+            SentryOnPart onPart = sentry.getOnParts().get(0);
+            events.computeIfAbsent(onPart.getSourceRef(), sourceRef -> new HashSet<>(2)).add(onPart.getStandardEvent());
+        }
+        criteriaEvents.put(criteria, events);
+    }
+
+    /**
+     * @return false when none of the given entry or exit criteria can be satisfied by the given event (which can be null),
+     * true when one of them can be or when this can't be determined up front.
+     */
+    public boolean canSatisfyCriteria(List<Criterion> criteria, PlanItemLifeCycleEvent planItemLifeCycleEvent) {
+        Map<String, Set<String>> events = criteriaEvents.get(criteria);
+        if (events == null) {
+            return true;
+        }
+        if (planItemLifeCycleEvent == null) {
+            return false;
+        }
+
+        PlanItem sourcePlanItem = planItemLifeCycleEvent.getPlanItem();
+        if (sourcePlanItem == null) {
+            return true;
+        }
+
+        Set<String> transitions = events.get(sourcePlanItem.getId());
+        return transitions != null && transitions.contains(planItemLifeCycleEvent.getTransition());
+    }
+
+}
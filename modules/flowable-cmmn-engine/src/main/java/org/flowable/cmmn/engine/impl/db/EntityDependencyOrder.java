@@ -59,6 +59,10 @@ public class EntityDependencyOrder {
 
     public static List<Class<? extends Entity>> DELETE_ORDER = new ArrayList<>();
     public static List<Class<? extends Entity>> INSERT_ORDER;
+    /**
+     * The historic entities that can be updated, of which explicit updates are coalesced when history write coalescing is enabled.
+     */
+    public static List<Class<? extends Entity>> HISTORIC_ENTITY_CLASSES = new ArrayList<>();
 
     static {
 
@@ -100,6 +104,14 @@ public class EntityDependencyOrder {
         INSERT_ORDER = new ArrayList<>(DELETE_ORDER);
         Collections.reverse(INSERT_ORDER);
 
+        HISTORIC_ENTITY_CLASSES.add(HistoricCaseInstanceEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricPlanItemInstanceEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricMilestoneInstanceEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricTaskInstanceEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricVariableInstanceEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricIdentityLinkEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricEntityLinkEntityImpl.class);
+
     }
     
 }
@@ -25,6 +25,7 @@ import org.flowable.common.engine.api.FlowableException;
 import org.flowable.variable.api.persistence.entity.VariableInstance;
 import org.flowable.variable.service.VariableService;
 import org.flowable.variable.service.VariableServiceConfiguration;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
 import org.flowable.variable.service.impl.types.BooleanType;
 import org.flowable.variable.service.impl.types.ByteArrayType;
 import org.flowable.variable.service.impl.types.DateType;
@@ -104,6 +105,7 @@ public class JsonPlanItemVariableAggregator implements PlanItemVariableAggregato
                             objectNode.put(targetVarName, (String) varInstance.getValue());
                             break;
                         case JsonType.TYPE_NAME:
+                        case BinaryJsonType.TYPE_NAME:
                             objectNode.set(targetVarName, (JsonNode) varInstance.getValue());
                             break;
                         case BooleanType.TYPE_NAME:
@@ -105,7 +105,9 @@ public class CmmnDeploymentManager {
         if (cachedCaseDefinition == null) {
             CmmnDeploymentEntity deployment = deploymentEntityManager.findById(deploymentId);
             deployment.setNew(false);
+            long loadStartTime = System.nanoTime();
             deploy(deployment, null);
+            caseDefinitionCache.recordLoad(caseDefinitionId, System.nanoTime() - loadStartTime);
             cachedCaseDefinition = caseDefinitionCache.get(caseDefinitionId);
 
             if (cachedCaseDefinition == null) {
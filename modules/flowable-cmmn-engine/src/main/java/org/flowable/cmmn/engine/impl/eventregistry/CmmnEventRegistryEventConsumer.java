@@ -16,6 +16,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import org.flowable.cmmn.api.CmmnRuntimeService;
 import org.flowable.cmmn.api.repository.CaseDefinition;
@@ -38,9 +39,11 @@ import org.flowable.eventregistry.api.EventRegistryProcessingInfo;
 import org.flowable.eventregistry.api.runtime.EventInstance;
 import org.flowable.eventregistry.impl.constant.EventConstants;
 import org.flowable.eventregistry.impl.consumer.BaseEventRegistryEventConsumer;
+import org.flowable.eventregistry.impl.consumer.BatchEventSubscriptionHandler;
 import org.flowable.eventregistry.impl.consumer.CorrelationKey;
 import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.api.EventSubscriptionQuery;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionCorrelationIndex;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionQueryImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,7 +52,7 @@ import org.slf4j.LoggerFactory;
  * @author Joram Barrez
  * @author Filip Hrisafov
  */
-public class CmmnEventRegistryEventConsumer extends BaseEventRegistryEventConsumer {
+public class CmmnEventRegistryEventConsumer extends BaseEventRegistryEventConsumer implements BatchEventSubscriptionHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CmmnEventRegistryEventConsumer.class);
 
@@ -82,8 +85,7 @@ public class CmmnEventRegistryEventConsumer extends BaseEventRegistryEventConsum
         }
         CmmnRuntimeService cmmnRuntimeService = cmmnEngineConfiguration.getCmmnRuntimeService();
         for (EventSubscription eventSubscription : eventSubscriptions) {
-            EventConsumerInfo eventConsumerInfo = new EventConsumerInfo(eventSubscription.getId(), eventSubscription.getSubScopeId(), 
-                    eventSubscription.getScopeDefinitionId(), ScopeTypes.CMMN);
+            EventConsumerInfo eventConsumerInfo = createEventConsumerInfo(eventSubscription);
             boolean eventSubscriptionHandled = handleEventSubscription(cmmnRuntimeService, eventSubscription, eventInstance, correlationKeys, eventConsumerInfo);
             
             if (eventSubscriptionHandled) {
@@ -94,6 +96,32 @@ public class CmmnEventRegistryEventConsumer extends BaseEventRegistryEventConsum
         return eventRegistryProcessingInfo;
     }
 
+    @Override
+    public String getEventSubscriptionScopeType() {
+        return ScopeTypes.CMMN;
+    }
+
+    @Override
+    public EventConsumerInfo createEventConsumerInfo(EventSubscription eventSubscription) {
+        return new EventConsumerInfo(eventSubscription.getId(), eventSubscription.getSubScopeId(),
+                eventSubscription.getScopeDefinitionId(), ScopeTypes.CMMN);
+    }
+
+    @Override
+    public boolean handleEventSubscription(EventSubscription eventSubscription, EventInstance eventInstance,
+            Collection<CorrelationKey> correlationKeys, EventConsumerInfo eventConsumerInfo) {
+        return handleEventSubscription(cmmnEngineConfiguration.getCmmnRuntimeService(), eventSubscription, eventInstance, correlationKeys, eventConsumerInfo);
+    }
+
+    @Override
+    public boolean requiresSeparateTransaction(EventSubscription eventSubscription) {
+        // The check for an existing case instance with the same unique reference id needs to see the case instances
+        // that were started for the previous events, so it can't share the transaction of those
+        return eventSubscription.getSubScopeId() == null
+                && eventSubscription.getScopeDefinitionId() != null && eventSubscription.getScopeId() == null
+                && Objects.equals(getStartCorrelationConfiguration(eventSubscription), CmmnXmlConstants.START_EVENT_CORRELATION_STORE_AS_UNIQUE_REFERENCE_ID);
+    }
+
     protected boolean handleEventSubscription(CmmnRuntimeService cmmnRuntimeService, EventSubscription eventSubscription,
             EventInstance eventInstance, Collection<CorrelationKey> correlationKeys, EventConsumerInfo eventConsumerInfo) {
 
@@ -278,6 +306,17 @@ public class CmmnEventRegistryEventConsumer extends BaseEventRegistryEventConsum
         return null;
     }
 
+    @Override
+    protected boolean mayHaveEventSubscriptions(String scopeType, EventInstance eventInstance, Set<String> correlationKeyValues) {
+        EventSubscriptionCorrelationIndex correlationIndex = cmmnEngineConfiguration.getEventSubscriptionServiceConfiguration().getEventSubscriptionCorrelationIndex();
+        if (correlationIndex == null || !ScopeTypes.CMMN.equals(scopeType)) {
+            return true;
+        }
+
+        return correlationIndex.mayHaveEventSubscriptions(eventInstance.getEventKey(),
+                getCorrelatedEventSubscriptionTenantIds(scopeType, eventInstance), correlationKeyValues);
+    }
+
     @Override
     protected EventSubscriptionQuery createEventSubscriptionQuery() {
         return new EventSubscriptionQueryImpl(commandExecutor, cmmnEngineConfiguration.getEventSubscriptionServiceConfiguration());
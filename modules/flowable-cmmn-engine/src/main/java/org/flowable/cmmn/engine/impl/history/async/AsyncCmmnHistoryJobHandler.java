@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.history.async;
+
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.identitylink.service.impl.persistence.entity.HistoricIdentityLinkEntity;
+import org.flowable.identitylink.service.impl.persistence.entity.HistoricIdentityLinkEntityManager;
+import org.flowable.job.service.impl.history.async.AbstractAsyncHistoryJobHandler;
+import org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil;
+import org.flowable.job.service.impl.history.async.util.AsyncHistoryVariableUtil;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Applies the history changes recorded by the {@link AsyncCmmnHistoryManager} to the history tables.
+ */
+public class AsyncCmmnHistoryJobHandler extends AbstractAsyncHistoryJobHandler {
+
+    public static final String TYPE = "cmmn-async-history";
+
+    protected CmmnEngineConfiguration cmmnEngineConfiguration;
+
+    public AsyncCmmnHistoryJobHandler(CmmnEngineConfiguration cmmnEngineConfiguration) {
+        super(TYPE);
+        this.cmmnEngineConfiguration = cmmnEngineConfiguration;
+    }
+
+    @Override
+    protected boolean historicScopeExists(String scopeId, CommandContext commandContext) {
+        return cmmnEngineConfiguration.getHistoricCaseInstanceEntityManager().findById(scopeId) != null;
+    }
+
+    @Override
+    protected void insertHistoricEntity(String entityType, String id, ObjectNode data, CommandContext commandContext) {
+        switch (entityType) {
+            case AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE:
+                AsyncHistoryVariableUtil.insertHistoricVariable(id, data, cmmnEngineConfiguration.getVariableServiceConfiguration());
+                break;
+
+            case AsyncCmmnHistoryManager.TYPE_IDENTITY_LINK:
+                HistoricIdentityLinkEntityManager historicIdentityLinkEntityManager = cmmnEngineConfiguration.getIdentityLinkServiceConfiguration()
+                        .getHistoricIdentityLinkEntityManager();
+                HistoricIdentityLinkEntity historicIdentityLink = historicIdentityLinkEntityManager.create();
+                historicIdentityLink.setId(id);
+                historicIdentityLink.setGroupId(AsyncHistoryJsonUtil.getStringFromJson(data, "groupId"));
+                historicIdentityLink.setScopeDefinitionId(AsyncHistoryJsonUtil.getStringFromJson(data, "scopeDefinitionId"));
+                historicIdentityLink.setScopeId(AsyncHistoryJsonUtil.getStringFromJson(data, "scopeId"));
+                historicIdentityLink.setSubScopeId(AsyncHistoryJsonUtil.getStringFromJson(data, "subScopeId"));
+                historicIdentityLink.setScopeType(AsyncHistoryJsonUtil.getStringFromJson(data, "scopeType"));
+                historicIdentityLink.setTaskId(AsyncHistoryJsonUtil.getStringFromJson(data, "taskId"));
+                historicIdentityLink.setType(AsyncHistoryJsonUtil.getStringFromJson(data, "type"));
+                historicIdentityLink.setUserId(AsyncHistoryJsonUtil.getStringFromJson(data, "userId"));
+                historicIdentityLink.setCreateTime(AsyncHistoryJsonUtil.getDateFromJson(data, "createTime"));
+                historicIdentityLinkEntityManager.insert(historicIdentityLink, false);
+                break;
+
+            default:
+                throw new FlowableException("Unknown historic entity type " + entityType + " for async cmmn history");
+        }
+    }
+
+    @Override
+    protected boolean updateHistoricEntity(String entityType, String id, ObjectNode data, CommandContext commandContext) {
+        if (AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE.equals(entityType)) {
+            AsyncHistoryVariableUtil.updateHistoricVariable(id, data, cmmnEngineConfiguration.getVariableServiceConfiguration());
+            return true;
+        }
+        throw new FlowableException("Unknown historic entity type " + entityType + " for async cmmn history");
+    }
+
+    @Override
+    protected void deleteHistoricEntity(String entityType, String id, CommandContext commandContext) {
+        switch (entityType) {
+            case AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE:
+                AsyncHistoryVariableUtil.deleteHistoricVariable(id, cmmnEngineConfiguration.getVariableServiceConfiguration());
+                break;
+
+            case AsyncCmmnHistoryManager.TYPE_IDENTITY_LINK:
+                HistoricIdentityLinkEntityManager historicIdentityLinkEntityManager = cmmnEngineConfiguration.getIdentityLinkServiceConfiguration()
+                        .getHistoricIdentityLinkEntityManager();
+                HistoricIdentityLinkEntity historicIdentityLink = historicIdentityLinkEntityManager.findById(id);
+                if (historicIdentityLink != null) {
+                    historicIdentityLinkEntityManager.delete(historicIdentityLink);
+                }
+                break;
+
+            default:
+                throw new FlowableException("Unknown historic entity type " + entityType + " for async cmmn history");
+        }
+    }
+
+}
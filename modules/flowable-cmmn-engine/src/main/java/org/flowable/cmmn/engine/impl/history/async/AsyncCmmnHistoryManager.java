@@ -0,0 +1,109 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.history.async;
+
+import java.util.Date;
+
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.history.DefaultCmmnHistoryManager;
+import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
+import org.flowable.common.engine.api.scope.ScopeTypes;
+import org.flowable.identitylink.service.impl.persistence.entity.IdentityLinkEntity;
+import org.flowable.job.service.impl.history.async.AsyncHistoryDateUtil;
+import org.flowable.job.service.impl.history.async.AsyncHistorySession;
+import org.flowable.job.service.impl.history.async.util.AsyncHistoryVariableUtil;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A cmmn history manager that doesn't write the historic variable instances and identity links in the transaction of the runtime changes.
+ * Instead, these changes are recorded as compact change records in an {@link AsyncHistorySession}, which stores them in one history job per transaction.
+ * The async history executor applies them to the history tables with the {@link AsyncCmmnHistoryJobHandler}.
+ * All other history (case instances, plan item instances, tasks, ...) is written synchronously, like the {@link DefaultCmmnHistoryManager} does.
+ * <p>
+ * The async history needs to be enabled on the cmmn engine configuration (asyncHistoryEnabled), to register the {@link AsyncCmmnHistoryJobHandler}
+ * and to start the async history executor.
+ */
+public class AsyncCmmnHistoryManager extends DefaultCmmnHistoryManager {
+
+    public static final String TYPE_IDENTITY_LINK = "identity-link";
+
+    public AsyncCmmnHistoryManager(CmmnEngineConfiguration cmmnEngineConfiguration) {
+        super(cmmnEngineConfiguration);
+    }
+
+    protected AsyncHistorySession getAsyncHistorySession() {
+        return AsyncHistorySession.getOrCreate(CommandContextUtil.getCommandContext(), cmmnEngineConfiguration.getJobServiceConfiguration(),
+                AsyncCmmnHistoryJobHandler.TYPE, ScopeTypes.CMMN);
+    }
+
+    protected String getCaseInstanceId(String scopeId, String scopeType) {
+        return ScopeTypes.CMMN.equals(scopeType) ? scopeId : null;
+    }
+
+    @Override
+    public void recordIdentityLinkCreated(IdentityLinkEntity identityLink) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForIdentityLink(identityLink)
+                && (identityLink.getScopeId() != null || identityLink.getTaskId() != null)) {
+            ObjectNode data = cmmnEngineConfiguration.getObjectMapper().createObjectNode();
+            data.put("groupId", identityLink.getGroupId());
+            data.put("scopeDefinitionId", identityLink.getScopeDefinitionId());
+            data.put("scopeId", identityLink.getScopeId());
+            data.put("subScopeId", identityLink.getSubScopeId());
+            data.put("scopeType", identityLink.getScopeType());
+            data.put("taskId", identityLink.getTaskId());
+            data.put("type", identityLink.getType());
+            data.put("userId", identityLink.getUserId());
+            data.put("createTime", AsyncHistoryDateUtil.formatDate(cmmnEngineConfiguration.getClock().getCurrentTime()));
+            getAsyncHistorySession().recordInsert(TYPE_IDENTITY_LINK, identityLink.getId(),
+                    getCaseInstanceId(identityLink.getScopeId(), identityLink.getScopeType()), data);
+        }
+    }
+
+    @Override
+    public void recordIdentityLinkDeleted(IdentityLinkEntity identityLink) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForIdentityLink(identityLink)) {
+            getAsyncHistorySession().recordDelete(TYPE_IDENTITY_LINK, identityLink.getId(),
+                    getCaseInstanceId(identityLink.getScopeId(), identityLink.getScopeType()));
+        }
+    }
+
+    @Override
+    public void recordVariableCreate(VariableInstanceEntity variableInstanceEntity, Date createTime) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(variableInstanceEntity)) {
+            ObjectNode data = AsyncHistoryVariableUtil.createVariableData(variableInstanceEntity, createTime, cmmnEngineConfiguration.getObjectMapper());
+            data.put("createTime", AsyncHistoryDateUtil.formatDate(createTime));
+            getAsyncHistorySession().recordInsert(AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE, variableInstanceEntity.getId(),
+                    getCaseInstanceId(variableInstanceEntity.getScopeId(), variableInstanceEntity.getScopeType()), data);
+        }
+    }
+
+    @Override
+    public void recordVariableUpdate(VariableInstanceEntity variableInstanceEntity, Date updateTime) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(variableInstanceEntity)) {
+            ObjectNode data = AsyncHistoryVariableUtil.createVariableData(variableInstanceEntity, updateTime, cmmnEngineConfiguration.getObjectMapper());
+            getAsyncHistorySession().recordUpdate(AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE, variableInstanceEntity.getId(),
+                    getCaseInstanceId(variableInstanceEntity.getScopeId(), variableInstanceEntity.getScopeType()), data);
+        }
+    }
+
+    @Override
+    public void recordVariableRemoved(VariableInstanceEntity variableInstanceEntity) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(variableInstanceEntity)) {
+            getAsyncHistorySession().recordDelete(AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE, variableInstanceEntity.getId(),
+                    getCaseInstanceId(variableInstanceEntity.getScopeId(), variableInstanceEntity.getScopeType()));
+        }
+    }
+
+}
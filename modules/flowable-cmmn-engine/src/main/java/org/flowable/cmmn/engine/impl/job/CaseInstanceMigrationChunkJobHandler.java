@@ -0,0 +1,179 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.engine.impl.job;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.flowable.batch.api.Batch;
+import org.flowable.batch.api.BatchPart;
+import org.flowable.batch.api.BatchService;
+import org.flowable.batch.service.impl.persistence.entity.BatchPartEntity;
+import org.flowable.cmmn.api.migration.CaseInstanceBatchMigrationResult;
+import org.flowable.cmmn.api.migration.CaseInstanceMigrationDocument;
+import org.flowable.cmmn.api.migration.CaseInstanceMigrationValidationResult;
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.migration.CaseInstanceMigrationDocumentImpl;
+import org.flowable.cmmn.engine.impl.migration.CaseInstanceMigrationManager;
+import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.variable.api.delegate.VariableScope;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Migrates a chunk of case instances of a migration batch.
+ * <p>
+ * The case instances of the chunk are stored in the document of the batch part, see {@link #getChunkDocumentJson(Collection, ObjectMapper)}.
+ * When the chunk has been migrated, the same document contains the result of every case instance of the chunk.
+ * Every case instance is validated and migrated in its own transaction, nested in the transaction of the job.
+ * A case instance that can't be migrated (because the validation fails or the migration fails at runtime, e.g. in a listener)
+ * is marked as failed and its transaction is rolled back, without preventing the migration of the other case instances.
+ * <p>
+ * The result of a case instance is stored in the document of the batch part in the transaction of that case instance,
+ * and the batch part is completed in a transaction of its own. When the job is retried after a failure of its own transaction,
+ * the case instances that already have a result are not migrated again, and a completed batch part isn't changed anymore.
+ */
+public class CaseInstanceMigrationChunkJobHandler extends AbstractCaseInstanceMigrationJobHandler {
+
+    public static final String TYPE = "case-migration-chunk";
+
+    public static final String BATCH_PART_CASE_INSTANCES_LABEL = "caseInstances";
+    public static final String BATCH_PART_CASE_INSTANCE_ID_LABEL = "caseInstanceId";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(JobEntity job, String configuration, VariableScope variableScope, CommandContext commandContext) {
+        CmmnEngineConfiguration engineConfiguration = CommandContextUtil.getCmmnEngineConfiguration(commandContext);
+        BatchService batchService = engineConfiguration.getBatchServiceConfiguration().getBatchService();
+        CaseInstanceMigrationManager migrationManager = engineConfiguration.getCaseInstanceMigrationManager();
+        ObjectMapper objectMapper = engineConfiguration.getObjectMapper();
+
+        String batchPartId = getBatchPartIdFromHandlerCfg(configuration);
+        BatchPart batchPart = batchService.getBatchPart(batchPartId);
+        if (batchPart.isCompleted()) {
+            // Completed by an earlier execution of this job, of which only the job transaction failed
+            return;
+        }
+
+        Batch batch = batchService.getBatch(batchPart.getBatchId());
+        CaseInstanceMigrationDocument migrationDocument = CaseInstanceMigrationDocumentImpl.fromJson(
+                batch.getBatchDocumentJson(engineConfiguration.getEngineCfgKey()));
+
+        ObjectNode chunkNode = readChunkDocument(batchPart.getResultDocumentJson(engineConfiguration.getEngineCfgKey()), objectMapper);
+        CommandExecutor commandExecutor = engineConfiguration.getCommandExecutor();
+        CommandConfig caseInstanceCommandConfig = commandExecutor.getDefaultConfig().transactionRequiresNew();
+        int failedCaseInstances = 0;
+        for (JsonNode caseInstanceNode : chunkNode.path(BATCH_PART_CASE_INSTANCES_LABEL)) {
+            ObjectNode caseInstanceResultNode = (ObjectNode) caseInstanceNode;
+            if (caseInstanceResultNode.has(BATCH_RESULT_STATUS_LABEL)) {
+                // Migrated (or failed) in an earlier execution of this job
+                if (CaseInstanceBatchMigrationResult.RESULT_FAIL.equals(caseInstanceResultNode.path(BATCH_RESULT_STATUS_LABEL).asText())) {
+                    failedCaseInstances++;
+                }
+                continue;
+            }
+
+            String caseInstanceId = caseInstanceNode.path(BATCH_PART_CASE_INSTANCE_ID_LABEL).asText();
+            String exceptionMessage;
+            try {
+                exceptionMessage = commandExecutor.execute(caseInstanceCommandConfig, caseInstanceCommandContext -> {
+                    CaseInstanceMigrationValidationResult validationResult = migrationManager.validateMigrateCaseInstance(caseInstanceId,
+                            migrationDocument, caseInstanceCommandContext);
+                    if (validationResult.hasErrors()) {
+                        return String.join(", ", validationResult.getValidationMessages());
+                    }
+
+                    migrationManager.migrateCaseInstance(caseInstanceId, migrationDocument, caseInstanceCommandContext);
+
+                    // The result is committed together with the migration of the case instance
+                    caseInstanceResultNode.put(BATCH_RESULT_STATUS_LABEL, CaseInstanceBatchMigrationResult.RESULT_SUCCESS);
+                    saveChunkDocument(batchPartId, chunkNode, engineConfiguration);
+                    return null;
+                });
+
+            } catch (RuntimeException e) {
+                exceptionMessage = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            }
+
+            if (exceptionMessage != null) {
+                failedCaseInstances++;
+                caseInstanceResultNode.put(BATCH_RESULT_STATUS_LABEL, CaseInstanceBatchMigrationResult.RESULT_FAIL);
+                caseInstanceResultNode.put(BATCH_RESULT_MESSAGE_LABEL, exceptionMessage);
+                commandExecutor.execute(caseInstanceCommandConfig, resultCommandContext -> {
+                    saveChunkDocument(batchPartId, chunkNode, engineConfiguration);
+                    return null;
+                });
+            }
+        }
+
+        String chunkStatus;
+        if (failedCaseInstances > 0) {
+            chunkStatus = CaseInstanceBatchMigrationResult.RESULT_FAIL;
+            chunkNode.put(BATCH_RESULT_MESSAGE_LABEL, failedCaseInstances + " case instance(s) of the chunk could not be migrated");
+        } else {
+            chunkStatus = CaseInstanceBatchMigrationResult.RESULT_SUCCESS;
+        }
+        chunkNode.put(BATCH_RESULT_STATUS_LABEL, chunkStatus);
+        commandExecutor.execute(caseInstanceCommandConfig, batchPartCommandContext -> {
+            batchService.completeBatchPart(batchPartId, chunkStatus, chunkNode.toString());
+            return null;
+        });
+    }
+
+    protected void saveChunkDocument(String batchPartId, ObjectNode chunkNode, CmmnEngineConfiguration engineConfiguration) {
+        BatchPartEntity batchPartEntity = engineConfiguration.getBatchServiceConfiguration().getBatchPartEntityManager().findById(batchPartId);
+        batchPartEntity.setResultDocumentJson(chunkNode.toString(), engineConfiguration.getEngineCfgKey());
+    }
+
+    public static String getChunkDocumentJson(Collection<String> caseInstanceIds, ObjectMapper objectMapper) {
+        ObjectNode chunkNode = objectMapper.createObjectNode();
+        ArrayNode caseInstancesNode = chunkNode.putArray(BATCH_PART_CASE_INSTANCES_LABEL);
+        for (String caseInstanceId : caseInstanceIds) {
+            caseInstancesNode.addObject().put(BATCH_PART_CASE_INSTANCE_ID_LABEL, caseInstanceId);
+        }
+        return chunkNode.toString();
+    }
+
+    /**
+     * @return whether the given batch part document is the document of a chunk of case instances.
+     */
+    public static boolean isChunkDocument(JsonNode batchPartDocument) {
+        return batchPartDocument != null && batchPartDocument.path(BATCH_PART_CASE_INSTANCES_LABEL).isArray();
+    }
+
+    protected static ObjectNode readChunkDocument(String chunkDocumentJson, ObjectMapper objectMapper) {
+        try {
+            JsonNode chunkNode = chunkDocumentJson != null ? objectMapper.readTree(chunkDocumentJson) : null;
+            if (!isChunkDocument(chunkNode)) {
+                throw new FlowableException("Batch part document does not contain a chunk of case instances");
+            }
+            return (ObjectNode) chunkNode;
+
+        } catch (IOException e) {
+            throw new FlowableException("Could not read the chunk of case instances of the batch part", e);
+        }
+    }
+
+}
@@ -13,6 +13,7 @@
 
 package org.flowable.cmmn.engine.impl.migration;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +22,7 @@ import java.util.Objects;
 import org.flowable.batch.api.Batch;
 import org.flowable.batch.api.BatchPart;
 import org.flowable.batch.api.BatchService;
+import org.flowable.batch.service.impl.persistence.entity.BatchPartEntity;
 import org.flowable.cmmn.api.history.HistoricCaseInstance;
 import org.flowable.cmmn.api.history.HistoricMilestoneInstance;
 import org.flowable.cmmn.api.history.HistoricPlanItemInstance;
@@ -45,6 +47,7 @@ import org.flowable.cmmn.engine.impl.history.CmmnHistoryManager;
 import org.flowable.cmmn.engine.impl.history.HistoricCaseInstanceQueryImpl;
 import org.flowable.cmmn.engine.impl.history.HistoricMilestoneInstanceQueryImpl;
 import org.flowable.cmmn.engine.impl.history.HistoricPlanItemInstanceQueryImpl;
+import org.flowable.cmmn.engine.impl.job.CaseInstanceMigrationChunkJobHandler;
 import org.flowable.cmmn.engine.impl.job.CaseInstanceMigrationJobHandler;
 import org.flowable.cmmn.engine.impl.job.CaseInstanceMigrationStatusJobHandler;
 import org.flowable.cmmn.engine.impl.job.HistoricCaseInstanceMigrationJobHandler;
@@ -468,17 +471,23 @@ public class CaseInstanceMigrationManagerImpl extends AbstractCmmnDynamicStateMa
                 .create();
 
         JobService jobService = engineConfiguration.getJobServiceConfiguration().getJobService();
-        for (CaseInstance caseInstance : caseInstances) {
-            BatchPart batchPart = batchService.createBatchPart(batch, CaseInstanceBatchMigrationResult.STATUS_WAITING,
-                    caseInstance.getId(), null, ScopeTypes.CMMN);
+        int chunkSize = engineConfiguration.getCaseInstanceMigrationBatchChunkSize();
+        if (chunkSize > 1) {
+            createCaseInstanceMigrationChunks(batch, caseInstances, chunkSize, engineConfiguration);
 
-            JobEntity job = jobService.createJob();
-            job.setJobHandlerType(CaseInstanceMigrationJobHandler.TYPE);
-            job.setScopeId(caseInstance.getId());
-            job.setScopeType(ScopeTypes.CMMN);
-            job.setJobHandlerConfiguration(CaseInstanceMigrationJobHandler.getHandlerCfgForBatchPartId(batchPart.getId()));
-            jobService.createAsyncJob(job, false);
-            jobService.scheduleAsyncJob(job);
+        } else {
+            for (CaseInstance caseInstance : caseInstances) {
+                BatchPart batchPart = batchService.createBatchPart(batch, CaseInstanceBatchMigrationResult.STATUS_WAITING,
+                        caseInstance.getId(), null, ScopeTypes.CMMN);
+
+                JobEntity job = jobService.createJob();
+                job.setJobHandlerType(CaseInstanceMigrationJobHandler.TYPE);
+                job.setScopeId(caseInstance.getId());
+                job.setScopeType(ScopeTypes.CMMN);
+                job.setJobHandlerConfiguration(CaseInstanceMigrationJobHandler.getHandlerCfgForBatchPartId(batchPart.getId()));
+                jobService.createAsyncJob(job, false);
+                jobService.scheduleAsyncJob(job);
+            }
         }
 
         if (!caseInstances.isEmpty()) {
@@ -499,6 +508,35 @@ public class CaseInstanceMigrationManagerImpl extends AbstractCmmnDynamicStateMa
 
         return batch;
     }
+
+    /**
+     * Creates one batch part and async job per chunk of case instances, instead of one per case instance.
+     * The case instance ids of a chunk are stored in the document of its batch part.
+     */
+    protected void createCaseInstanceMigrationChunks(Batch batch, List<CaseInstanceEntity> caseInstances, int chunkSize,
+            CmmnEngineConfiguration engineConfiguration) {
+
+        BatchService batchService = engineConfiguration.getBatchServiceConfiguration().getBatchService();
+        JobService jobService = engineConfiguration.getJobServiceConfiguration().getJobService();
+        for (int chunkStart = 0; chunkStart < caseInstances.size(); chunkStart += chunkSize) {
+            List<String> caseInstanceIds = new ArrayList<>(chunkSize);
+            for (CaseInstance caseInstance : caseInstances.subList(chunkStart, Math.min(chunkStart + chunkSize, caseInstances.size()))) {
+                caseInstanceIds.add(caseInstance.getId());
+            }
+
+            BatchPartEntity batchPart = (BatchPartEntity) batchService.createBatchPart(batch, CaseInstanceBatchMigrationResult.STATUS_WAITING,
+                    null, null, ScopeTypes.CMMN);
+            batchPart.setResultDocumentJson(CaseInstanceMigrationChunkJobHandler.getChunkDocumentJson(caseInstanceIds,
+                    engineConfiguration.getObjectMapper()), engineConfiguration.getEngineCfgKey());
+
+            JobEntity job = jobService.createJob();
+            job.setJobHandlerType(CaseInstanceMigrationChunkJobHandler.TYPE);
+            job.setScopeType(ScopeTypes.CMMN);
+            job.setJobHandlerConfiguration(CaseInstanceMigrationChunkJobHandler.getHandlerCfgForBatchPartId(batchPart.getId()));
+            jobService.createAsyncJob(job, false);
+            jobService.scheduleAsyncJob(job);
+        }
+    }
     
     @Override
     public Batch batchMigrateHistoricCaseInstancesOfCaseDefinition(String caseDefinitionId, HistoricCaseInstanceMigrationDocument document, CommandContext commandContext) {
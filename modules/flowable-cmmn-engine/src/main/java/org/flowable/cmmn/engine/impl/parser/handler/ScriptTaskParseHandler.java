@@ -15,11 +15,15 @@ package org.flowable.cmmn.engine.impl.parser.handler;
 import java.util.Collection;
 import java.util.Collections;
 
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
 import org.flowable.cmmn.engine.impl.parser.CmmnParseResult;
 import org.flowable.cmmn.engine.impl.parser.CmmnParserImpl;
+import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
 import org.flowable.cmmn.model.BaseElement;
 import org.flowable.cmmn.model.PlanItem;
 import org.flowable.cmmn.model.ScriptServiceTask;
+import org.flowable.common.engine.impl.scripting.ScriptingEngines;
 
 /**
  * @author Joram Barrez
@@ -34,6 +38,13 @@ public class ScriptTaskParseHandler extends AbstractPlanItemParseHandler<ScriptS
     @Override
     protected void executePlanItemParse(CmmnParserImpl cmmnParser, CmmnParseResult cmmnParseResult, PlanItem planItem, ScriptServiceTask scriptServiceTask) {
         planItem.setBehavior(cmmnParser.getActivityBehaviorFactory().createScriptTaskActivityBehavior(planItem, scriptServiceTask));
+
+        CmmnEngineConfiguration cmmnEngineConfiguration = CommandContextUtil.getCmmnEngineConfiguration();
+        if (cmmnEngineConfiguration.isCompiledScriptCacheWarmUpEnabled() && cmmnEngineConfiguration.getScriptingEngines() != null
+                && StringUtils.isNotEmpty(scriptServiceTask.getScript())) {
+            String scriptFormat = scriptServiceTask.getScriptFormat() != null ? scriptServiceTask.getScriptFormat() : ScriptingEngines.DEFAULT_SCRIPTING_LANGUAGE;
+            cmmnEngineConfiguration.getScriptingEngines().precompile(scriptFormat, scriptServiceTask.getScript());
+        }
     }
 
 }
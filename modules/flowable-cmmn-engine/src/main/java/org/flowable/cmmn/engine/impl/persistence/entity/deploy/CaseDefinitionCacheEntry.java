@@ -13,6 +13,7 @@
 package org.flowable.cmmn.engine.impl.persistence.entity.deploy;
 
 import org.flowable.cmmn.api.repository.CaseDefinition;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyIndex;
 import org.flowable.cmmn.model.Case;
 import org.flowable.cmmn.model.CmmnModel;
 
@@ -21,6 +22,7 @@ public class CaseDefinitionCacheEntry {
     protected CaseDefinition caseDefinition;
     protected CmmnModel cmmnModel;
     protected Case caze;
+    protected volatile SentryDependencyIndex sentryDependencyIndex;
 
     public CaseDefinitionCacheEntry(CaseDefinition caseDefinition, CmmnModel cmmnModel, Case caze) {
         this.caseDefinition = caseDefinition;
@@ -50,6 +52,20 @@ public class CaseDefinitionCacheEntry {
 
     public void setCase(Case caze) {
         this.caze = caze;
+        this.sentryDependencyIndex = null;
+    }
+
+    /**
+     * @return the lifecycle events that can satisfy the sentries of the case, calculated on first use.
+     */
+    public SentryDependencyIndex getSentryDependencyIndex() {
+        SentryDependencyIndex dependencyIndex = sentryDependencyIndex;
+        if (dependencyIndex == null) {
+            // Concurrent first usages can calculate the index more than once, which is harmless as the result is the same
+            dependencyIndex = new SentryDependencyIndex(caze);
+            sentryDependencyIndex = dependencyIndex;
+        }
+        return dependencyIndex;
     }
 
 }
@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.test.history.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.history.CmmnHistoryManager;
+import org.flowable.cmmn.engine.impl.history.DefaultCmmnHistoryManager;
+import org.flowable.cmmn.engine.impl.history.async.AsyncCmmnHistoryManager;
+import org.flowable.cmmn.engine.test.impl.CmmnHistoryTestHelper;
+import org.flowable.cmmn.test.impl.CustomCmmnConfigurationFlowableTestCase;
+import org.flowable.identitylink.api.IdentityLinkType;
+import org.flowable.task.api.Task;
+import org.junit.Test;
+
+public class AsyncCmmnHistoryManagerTest extends CustomCmmnConfigurationFlowableTestCase {
+
+    @Override
+    protected String getEngineName() {
+        return this.getClass().getName();
+    }
+
+    @Override
+    protected void configureConfiguration(CmmnEngineConfiguration cmmnEngineConfiguration) {
+        cmmnEngineConfiguration.setAsyncHistoryEnabled(true);
+        cmmnEngineConfiguration.setAsyncHistoryExecutorActivate(false);
+        cmmnEngineConfiguration.setCmmnHistoryManager(new AsyncCmmnHistoryManager(cmmnEngineConfiguration));
+    }
+
+    @Test
+    public void testAsyncHistoryIsConsistentWithSynchronousHistory() {
+        deployOneHumanTaskCaseModel();
+
+        String asyncCaseInstanceId = runCaseInstance();
+        assertThat(cmmnManagementService.createHistoryJobQuery().count()).isGreaterThan(0);
+        assertThat(cmmnHistoryService.createHistoricVariableInstanceQuery().caseInstanceId(asyncCaseInstanceId).count()).isZero();
+        CmmnHistoryTestHelper.waitForJobExecutorToProcessAllHistoryJobs(cmmnEngineConfiguration, cmmnManagementService, 10000, 100);
+
+        CmmnHistoryManager asyncHistoryManager = cmmnEngineConfiguration.getCmmnHistoryManager();
+        String syncCaseInstanceId;
+        try {
+            cmmnEngineConfiguration.setCmmnHistoryManager(new DefaultCmmnHistoryManager(cmmnEngineConfiguration));
+            syncCaseInstanceId = runCaseInstance();
+        } finally {
+            cmmnEngineConfiguration.setCmmnHistoryManager(asyncHistoryManager);
+        }
+        assertThat(cmmnManagementService.createHistoryJobQuery().count()).isZero();
+
+        assertThat(getHistoricVariables(asyncCaseInstanceId))
+                .isNotEmpty()
+                .isEqualTo(getHistoricVariables(syncCaseInstanceId));
+        assertThat(getHistoricIdentityLinks(asyncCaseInstanceId))
+                .isNotEmpty()
+                .isEqualTo(getHistoricIdentityLinks(syncCaseInstanceId));
+    }
+
+    protected String runCaseInstance() {
+        CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder()
+                .caseDefinitionKey("oneTaskCase")
+                .variable("stringVar", "one")
+                .variable("removedVar", 1)
+                .start();
+
+        cmmnRuntimeService.setVariable(caseInstance.getId(), "stringVar", "two");
+        cmmnRuntimeService.setVariable(caseInstance.getId(), "longVar", 12L);
+        cmmnRuntimeService.removeVariable(caseInstance.getId(), "removedVar");
+        cmmnRuntimeService.addUserIdentityLink(caseInstance.getId(), "kermit", IdentityLinkType.PARTICIPANT);
+
+        Task task = cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).singleResult();
+        cmmnTaskService.setAssignee(task.getId(), "gonzo");
+        cmmnTaskService.setVariableLocal(task.getId(), "localVar", "local");
+        cmmnTaskService.complete(task.getId());
+
+        return caseInstance.getId();
+    }
+
+    protected List<String> getHistoricVariables(String caseInstanceId) {
+        return cmmnHistoryService.createHistoricVariableInstanceQuery().caseInstanceId(caseInstanceId).list().stream()
+                .map(variable -> variable.getVariableName() + "|" + variable.getVariableTypeName() + "|" + variable.getValue())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    protected List<String> getHistoricIdentityLinks(String caseInstanceId) {
+        return cmmnHistoryService.getHistoricIdentityLinksForCaseInstance(caseInstanceId).stream()
+                .map(identityLink -> identityLink.getType() + "|" + identityLink.getUserId() + "|" + identityLink.getGroupId())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+}
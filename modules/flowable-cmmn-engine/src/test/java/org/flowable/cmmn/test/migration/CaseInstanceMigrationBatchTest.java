@@ -13,9 +13,12 @@
 package org.flowable.cmmn.test.migration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.flowable.batch.api.Batch;
 import org.flowable.cmmn.api.history.HistoricPlanItemInstance;
@@ -106,6 +109,134 @@ public class CaseInstanceMigrationBatchTest extends AbstractCaseMigrationTest {
         cmmnManagementService.deleteBatch(batch.getId());
     }
 
+    @Test
+    void testCaseInstanceBatchMigrationInChunks() {
+        int originalChunkSize = cmmnEngineConfiguration.getCaseInstanceMigrationBatchChunkSize();
+        cmmnEngineConfiguration.setCaseInstanceMigrationBatchChunkSize(2);
+        try {
+            // GIVEN
+            CaseDefinition sourceCaseDefinition = deployCaseDefinition("test1", "org/flowable/cmmn/test/migration/one-task.cmmn.xml");
+            List<CaseInstance> caseInstances = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                caseInstances.add(cmmnRuntimeService.createCaseInstanceBuilder().caseDefinitionKey("testCase").start());
+            }
+            CaseDefinition destinationDefinition = deployCaseDefinition("test1", "org/flowable/cmmn/test/migration/two-task.cmmn.xml");
+
+            CaseInstanceMigrationDocumentBuilder migrationDoc = new CaseInstanceMigrationDocumentBuilderImpl()
+                    .setCaseDefinitionToMigrateTo(destinationDefinition.getId())
+                    .addActivatePlanItemDefinitionMapping(PlanItemDefinitionMappingBuilder.createActivatePlanItemDefinitionMappingFor("humanTask2"));
+
+            Batch batch = cmmnMigrationService.createCaseInstanceMigrationBuilderFromCaseInstanceMigrationDocument(migrationDoc.build())
+                    .batchMigrateCaseInstances(sourceCaseDefinition.getId());
+
+            // One job per chunk of two case instances, while the results are still reported per case instance
+            assertThat(cmmnManagementService.createJobQuery().count()).isEqualTo(2);
+
+            CaseInstanceBatchMigrationResult migrationResultPriorProcessing = cmmnMigrationService.getResultsOfBatchCaseInstanceMigration(batch.getId());
+            assertThat(migrationResultPriorProcessing.getAllMigrationParts())
+                    .extracting(CaseInstanceBatchMigrationPartResult::getCaseInstanceId)
+                    .containsExactlyInAnyOrderElementsOf(caseInstances.stream().map(CaseInstance::getId).collect(Collectors.toList()));
+            assertThat(migrationResultPriorProcessing.getWaitingMigrationParts()).hasSize(3);
+
+            // WHEN
+            CmmnJobTestHelper.waitForJobExecutorToProcessAllAsyncJobs(cmmnEngineConfiguration, 5000L, 500L, true);
+            executeMigrationJobStatusHandlerTimerJob();
+
+            // THEN
+            CaseInstanceBatchMigrationResult migrationResult = cmmnMigrationService.getResultsOfBatchCaseInstanceMigration(batch.getId());
+            assertThat(migrationResult.getStatus()).isEqualTo(CaseInstanceBatchMigrationResult.STATUS_COMPLETED);
+            assertThat(migrationResult.getAllMigrationParts()).hasSize(3);
+            assertThat(migrationResult.getFailedMigrationParts()).isEmpty();
+            assertThat(migrationResult.getSuccessfulMigrationParts())
+                    .extracting(CaseInstanceBatchMigrationPartResult::getCaseInstanceId)
+                    .containsExactlyInAnyOrderElementsOf(caseInstances.stream().map(CaseInstance::getId).collect(Collectors.toList()));
+
+            for (CaseInstance caseInstance : caseInstances) {
+                CaseInstance caseInstanceAfterMigration = cmmnRuntimeService.createCaseInstanceQuery()
+                        .caseInstanceId(caseInstance.getId())
+                        .singleResult();
+                assertAfterMigrationState(caseInstance, destinationDefinition, caseInstanceAfterMigration, 2);
+            }
+
+            cmmnManagementService.deleteBatch(batch.getId());
+
+        } finally {
+            cmmnEngineConfiguration.setCaseInstanceMigrationBatchChunkSize(originalChunkSize);
+        }
+    }
+
+    @Test
+    void testCaseInstanceBatchMigrationInChunksWithRuntimeFailure() {
+        int originalChunkSize = cmmnEngineConfiguration.getCaseInstanceMigrationBatchChunkSize();
+        cmmnEngineConfiguration.setCaseInstanceMigrationBatchChunkSize(2);
+        try {
+            // GIVEN
+            CaseDefinition sourceCaseDefinition = deployCaseDefinition("test1", "org/flowable/cmmn/test/migration/one-task.cmmn.xml");
+            List<String> successCaseInstanceIds = new ArrayList<>();
+            List<String> failedCaseInstanceIds = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                if (i % 2 == 0) {
+                    successCaseInstanceIds.add(cmmnRuntimeService.createCaseInstanceBuilder().caseDefinitionKey("testCase")
+                            .variable("assignee", "kermit")
+                            .start()
+                            .getId());
+                } else {
+                    failedCaseInstanceIds.add(cmmnRuntimeService.createCaseInstanceBuilder().caseDefinitionKey("testCase").start().getId());
+                }
+            }
+            // All case instances pass the validation, but the assignee expression of the activated task fails for the instances without assignee
+            CaseDefinition destinationDefinition = deployCaseDefinition("test1", "org/flowable/cmmn/test/migration/two-task-assignee-expression.cmmn.xml");
+
+            CaseInstanceMigrationDocumentBuilder migrationDoc = new CaseInstanceMigrationDocumentBuilderImpl()
+                    .setCaseDefinitionToMigrateTo(destinationDefinition.getId())
+                    .addActivatePlanItemDefinitionMapping(PlanItemDefinitionMappingBuilder.createActivatePlanItemDefinitionMappingFor("humanTask2"));
+
+            Batch batch = cmmnMigrationService.createCaseInstanceMigrationBuilderFromCaseInstanceMigrationDocument(migrationDoc.build())
+                    .batchMigrateCaseInstances(sourceCaseDefinition.getId());
+
+            // WHEN
+            CmmnJobTestHelper.waitForJobExecutorToProcessAllAsyncJobs(cmmnEngineConfiguration, 5000L, 500L, true);
+            executeMigrationJobStatusHandlerTimerJob();
+
+            // THEN
+            CaseInstanceBatchMigrationResult migrationResult = cmmnMigrationService.getResultsOfBatchCaseInstanceMigration(batch.getId());
+            assertThat(migrationResult.getStatus()).isEqualTo(CaseInstanceBatchMigrationResult.STATUS_COMPLETED);
+            assertThat(migrationResult.getSuccessfulMigrationParts())
+                    .extracting(CaseInstanceBatchMigrationPartResult::getCaseInstanceId)
+                    .containsExactlyInAnyOrderElementsOf(successCaseInstanceIds);
+            assertThat(migrationResult.getFailedMigrationParts())
+                    .extracting(CaseInstanceBatchMigrationPartResult::getCaseInstanceId)
+                    .containsExactlyInAnyOrderElementsOf(failedCaseInstanceIds);
+            assertThat(migrationResult.getFailedMigrationParts())
+                    .extracting(CaseInstanceBatchMigrationPartResult::getMigrationMessage)
+                    .allSatisfy(message -> assertThat(message).contains("assignee"));
+
+            for (String caseInstanceId : successCaseInstanceIds) {
+                assertThat(cmmnRuntimeService.createCaseInstanceQuery().caseInstanceId(caseInstanceId).singleResult().getCaseDefinitionId())
+                        .isEqualTo(destinationDefinition.getId());
+                assertThat(cmmnTaskService.createTaskQuery().caseInstanceId(caseInstanceId).list())
+                        .extracting(Task::getTaskDefinitionKey, Task::getScopeDefinitionId)
+                        .containsExactlyInAnyOrder(
+                                tuple("humanTask1", destinationDefinition.getId()),
+                                tuple("humanTask2", destinationDefinition.getId()));
+            }
+
+            // The migration of a failed case instance was rolled back completely, without rolling back the other instance of its chunk
+            for (String caseInstanceId : failedCaseInstanceIds) {
+                assertThat(cmmnRuntimeService.createCaseInstanceQuery().caseInstanceId(caseInstanceId).singleResult().getCaseDefinitionId())
+                        .isEqualTo(sourceCaseDefinition.getId());
+                assertThat(cmmnTaskService.createTaskQuery().caseInstanceId(caseInstanceId).list())
+                        .extracting(Task::getTaskDefinitionKey, Task::getScopeDefinitionId)
+                        .containsExactly(tuple("humanTask1", sourceCaseDefinition.getId()));
+            }
+
+            cmmnManagementService.deleteBatch(batch.getId());
+
+        } finally {
+            cmmnEngineConfiguration.setCaseInstanceMigrationBatchChunkSize(originalChunkSize);
+        }
+    }
+
     @Test
     void testCaseInstanceBatchMigrationWithError() {
         // GIVEN
@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.cmmn.test.sentry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.api.runtime.PlanItemInstance;
+import org.flowable.cmmn.api.runtime.PlanItemInstanceState;
+import org.flowable.cmmn.engine.impl.criteria.SentryDependencyIndex;
+import org.flowable.cmmn.engine.impl.repository.CaseDefinitionUtil;
+import org.flowable.cmmn.engine.test.CmmnDeployment;
+import org.flowable.cmmn.engine.test.FlowableCmmnTestCase;
+import org.flowable.cmmn.model.Case;
+import org.flowable.cmmn.model.Stage;
+import org.flowable.task.api.Task;
+import org.junit.Test;
+
+public class SentryDependencyIndexTest extends FlowableCmmnTestCase {
+
+    @Test
+    @CmmnDeployment
+    public void testCriteriaEvaluation() {
+        CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder()
+                .caseDefinitionKey("sentryDependencyIndex")
+                .variable("goToD", false)
+                .start();
+        assertThat(getActiveTaskNames(caseInstance)).containsExactly("A", "E");
+
+        // Only the single on part sentries that don't depend on anything else than the triggering event are indexed
+        cmmnEngineConfiguration.getCommandExecutor().execute(commandContext -> {
+            SentryDependencyIndex index = CaseDefinitionUtil.getSentryDependencyIndex(caseInstance.getCaseDefinitionId());
+            Case caze = CaseDefinitionUtil.getCase(caseInstance.getCaseDefinitionId());
+            Stage planModel = caze.getPlanModel();
+
+            assertThat(index.canSatisfyCriteria(planModel.getPlanItem("planItemB").getEntryCriteria(), null)).isFalse();
+            assertThat(index.canSatisfyCriteria(planModel.getPlanItem("planItemE").getExitCriteria(), null)).isFalse();
+            assertThat(index.canSatisfyCriteria(planModel.getPlanItem("planItemC").getEntryCriteria(), null)).isTrue();
+            assertThat(index.canSatisfyCriteria(planModel.getPlanItem("planItemD").getEntryCriteria(), null)).isTrue();
+            return null;
+        });
+
+        // The if part is still evaluated when a variable changes
+        cmmnRuntimeService.setVariable(caseInstance.getId(), "goToD", true);
+        assertThat(getActiveTaskNames(caseInstance)).containsExactly("A", "D", "E");
+
+        // Completing A satisfies the entry of B, the exit of E and one of the on parts of C
+        completeTask(caseInstance, "A");
+        assertThat(getActiveTaskNames(caseInstance)).containsExactly("B", "D");
+        assertThat(cmmnRuntimeService.createPlanItemInstanceQuery()
+                .caseInstanceId(caseInstance.getId())
+                .planItemInstanceName("E")
+                .includeEnded()
+                .singleResult()
+                .getState()).isEqualTo(PlanItemInstanceState.TERMINATED);
+
+        completeTask(caseInstance, "B");
+        assertThat(getActiveTaskNames(caseInstance)).containsExactly("C", "D");
+
+        completeTask(caseInstance, "C");
+        completeTask(caseInstance, "D");
+        assertCaseInstanceEnded(caseInstance);
+    }
+
+    protected List<String> getActiveTaskNames(CaseInstance caseInstance) {
+        return cmmnRuntimeService.createPlanItemInstanceQuery()
+                .caseInstanceId(caseInstance.getId())
+                .planItemInstanceStateActive()
+                .orderByName().asc()
+                .list()
+                .stream()
+                .map(PlanItemInstance::getName)
+                .collect(Collectors.toList());
+    }
+
+    protected void completeTask(CaseInstance caseInstance, String name) {
+        Task task = cmmnTaskService.createTaskQuery().caseInstanceId(caseInstance.getId()).taskName(name).singleResult();
+        cmmnTaskService.complete(task.getId());
+    }
+
+}
@@ -75,6 +75,11 @@ public class DmnEngineConfigurator extends AbstractEngineConfigurator {
         return EntityDependencyOrder.DELETE_ORDER;
     }
 
+    @Override
+    protected List<Class<? extends Entity>> getHistoricEntityClasses() {
+        return EntityDependencyOrder.HISTORIC_ENTITY_CLASSES;
+    }
+
     protected synchronized DmnEngine initDmnEngine() {
         if (dmnEngineConfiguration == null) {
             throw new FlowableException("DmnEngineConfiguration is required");
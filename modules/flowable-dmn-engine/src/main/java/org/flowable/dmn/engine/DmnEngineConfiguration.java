@@ -33,18 +33,24 @@ import org.flowable.common.engine.impl.HasExpressionManagerEngineConfiguration;
 import org.flowable.common.engine.impl.cfg.BeansConfigurationHelper;
 import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
 import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.el.ExpressionCompiler;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.common.engine.impl.interceptor.SessionFactory;
 import org.flowable.common.engine.impl.javax.el.ELResolver;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWarmUp;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWarmUp.WarmUpDefinition;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
 import org.flowable.common.engine.impl.runtime.Clock;
 import org.flowable.common.engine.impl.tenant.ChangeTenantIdManager;
 import org.flowable.common.engine.impl.tenant.MyBatisChangeTenantIdManager;
 import org.flowable.dmn.api.DmnChangeTenantIdEntityTypes;
+import org.flowable.dmn.api.DmnDecision;
 import org.flowable.dmn.api.DmnDecisionService;
 import org.flowable.dmn.api.DmnEngineConfigurationApi;
 import org.flowable.dmn.api.DmnHistoryService;
@@ -92,6 +98,7 @@ import org.flowable.dmn.engine.impl.hitpolicy.HitPolicyUnique;
 import org.flowable.dmn.engine.impl.interceptor.DmnCommandInvoker;
 import org.flowable.dmn.engine.impl.parser.DmnParseFactory;
 import org.flowable.dmn.engine.impl.persistence.deploy.DecisionCacheEntry;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionCacheEntryWeigher;
 import org.flowable.dmn.engine.impl.persistence.deploy.Deployer;
 import org.flowable.dmn.engine.impl.persistence.deploy.DeploymentManager;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionEntityManager;
@@ -156,6 +163,10 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
     protected Collection<ELResolver> preDefaultELResolvers;
     protected Collection<ELResolver> preBeanELResolvers;
     protected Collection<ELResolver> postDefaultELResolvers;
+    protected boolean isExpressionCacheEnabled = true;
+    protected int expressionCacheSize = 4096;
+    protected int expressionTextLengthCacheLimit = -1; // negative value to have no max length
+    protected int expressionCompilationThreshold; // number of evaluations after which a cached expression is compiled, 0 disables compilation
 
     // DEPLOYERS
     // ////////////////////////////////////////////////////////////////
@@ -185,6 +196,12 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
     protected boolean historyEnabled;
 
     protected int decisionCacheLimit = -1; // By default, no limit
+    /**
+     * When set to a positive value, a {@link ConcurrentDeploymentCache} bounded by this weight (as determined by the decisionCacheWeigher) is used,
+     * instead of a cache bounded by the decisionCacheLimit.
+     */
+    protected long decisionCacheMaxWeight = -1;
+    protected DeploymentCacheWeigher<DecisionCacheEntry> decisionCacheWeigher;
     protected DeploymentCache<DecisionCacheEntry> definitionCache;
 
     // HIT POLICIES
@@ -241,7 +258,31 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
 
     public DmnEngine buildDmnEngine() {
         init();
-        return new DmnEngineImpl(this);
+        DmnEngineImpl dmnEngine = new DmnEngineImpl(this);
+
+        if (deploymentCacheWarmUpEnabled) {
+            startDeploymentCacheWarmUp();
+        }
+
+        return dmnEngine;
+    }
+
+    public void startDeploymentCacheWarmUp() {
+        // A cache bounded by weight can't tell upfront how many definitions fit, the warm up stops when it starts evicting instead
+        boolean weightBoundedCache = definitionCache instanceof ConcurrentDeploymentCache;
+        deploymentCacheWarmUp = new DeploymentCacheWarmUp("decision", commandExecutor, deploymentCacheWarmUpParallelism,
+                deploymentCacheWarmUpVersionsPerKey, deploymentCacheWarmUpTenantIds, weightBoundedCache ? -1 : decisionCacheLimit);
+        if (weightBoundedCache) {
+            deploymentCacheWarmUp.setEvictionCountSupplier(((ConcurrentDeploymentCache<?>) definitionCache)::getEvictionCount);
+        }
+        deploymentCacheWarmUp.start(() -> {
+            List<WarmUpDefinition> definitions = new ArrayList<>();
+            for (DmnDecision decision : dmnRepositoryService.createDecisionQuery().list()) {
+                definitions.add(new WarmUpDefinition(decision.getId(), decision.getDeploymentId(),
+                        decision.getKey(), decision.getTenantId(), decision.getVersion()));
+            }
+            return definitions;
+        }, decisionId -> deploymentManager.findDeployedDecisionById(decisionId));
     }
 
     // init
@@ -376,7 +417,8 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
 
     @Override
     protected void initDbSqlSessionFactoryEntitySettings() {
-        defaultInitDbSqlSessionFactoryEntitySettings(EntityDependencyOrder.INSERT_ORDER, EntityDependencyOrder.DELETE_ORDER);
+        defaultInitDbSqlSessionFactoryEntitySettings(EntityDependencyOrder.INSERT_ORDER, EntityDependencyOrder.DELETE_ORDER,
+                EntityDependencyOrder.HISTORIC_ENTITY_CLASSES);
     }
 
     // command executors
@@ -453,6 +495,15 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
                 postDefaultELResolvers.forEach(dmnExpressionManager::addPostDefaultResolver);
             }
 
+            // The rule input and output entries are created as expressions for every decision execution, so the cache also avoids parsing them again
+            if (isExpressionCacheEnabled) {
+                dmnExpressionManager.setExpressionCache(new DefaultDeploymentCache<>(expressionCacheSize));
+                dmnExpressionManager.setExpressionTextLengthCacheLimit(expressionTextLengthCacheLimit);
+                if (expressionCompilationThreshold > 0) {
+                    dmnExpressionManager.setExpressionCompiler(new ExpressionCompiler(expressionCompilationThreshold));
+                }
+            }
+
             if (expressionManagerConfigurers != null) {
                 expressionManagerConfigurers.forEach(configurer -> configurer.accept(dmnExpressionManager));
             }
@@ -502,7 +553,12 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
 
         // Decision cache
         if (definitionCache == null) {
-            if (decisionCacheLimit <= 0) {
+            if (decisionCacheMaxWeight > 0) {
+                if (decisionCacheWeigher == null) {
+                    decisionCacheWeigher = new DecisionCacheEntryWeigher();
+                }
+                definitionCache = new ConcurrentDeploymentCache<>(decisionCacheMaxWeight, decisionCacheWeigher);
+            } else if (decisionCacheLimit <= 0) {
                 definitionCache = new DefaultDeploymentCache<>();
             } else {
                 definitionCache = new DefaultDeploymentCache<>(decisionCacheLimit);
@@ -910,6 +966,46 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public boolean isExpressionCacheEnabled() {
+        return isExpressionCacheEnabled;
+    }
+
+    public DmnEngineConfiguration setExpressionCacheEnabled(boolean isExpressionCacheEnabled) {
+        this.isExpressionCacheEnabled = isExpressionCacheEnabled;
+        return this;
+    }
+
+    public int getExpressionCacheSize() {
+        return expressionCacheSize;
+    }
+
+    public DmnEngineConfiguration setExpressionCacheSize(int expressionCacheSize) {
+        this.expressionCacheSize = expressionCacheSize;
+        return this;
+    }
+
+    public int getExpressionTextLengthCacheLimit() {
+        return expressionTextLengthCacheLimit;
+    }
+
+    public DmnEngineConfiguration setExpressionTextLengthCacheLimit(int expressionTextLengthCacheLimit) {
+        this.expressionTextLengthCacheLimit = expressionTextLengthCacheLimit;
+        return this;
+    }
+
+    public int getExpressionCompilationThreshold() {
+        return expressionCompilationThreshold;
+    }
+
+    /**
+     * Sets the number of evaluations after which a cached expression (e.g. a rule input entry) is compiled (see {@link ExpressionCompiler}).
+     * 0 (the default) disables the compilation of expressions.
+     */
+    public DmnEngineConfiguration setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+        this.expressionCompilationThreshold = expressionCompilationThreshold;
+        return this;
+    }
+
     public DmnDeployer getDmnDeployer() {
         return dmnDeployer;
     }
@@ -946,6 +1042,24 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration
         return this;
     }
 
+    public long getDecisionCacheMaxWeight() {
+        return decisionCacheMaxWeight;
+    }
+
+    public DmnEngineConfiguration setDecisionCacheMaxWeight(long decisionCacheMaxWeight) {
+        this.decisionCacheMaxWeight = decisionCacheMaxWeight;
+        return this;
+    }
+
+    public DeploymentCacheWeigher<DecisionCacheEntry> getDecisionCacheWeigher() {
+        return decisionCacheWeigher;
+    }
+
+    public DmnEngineConfiguration setDecisionCacheWeigher(DeploymentCacheWeigher<DecisionCacheEntry> decisionCacheWeigher) {
+        this.decisionCacheWeigher = decisionCacheWeigher;
+        return this;
+    }
+
     public DeploymentCache<DecisionCacheEntry> getDefinitionCache() {
         return definitionCache;
     }
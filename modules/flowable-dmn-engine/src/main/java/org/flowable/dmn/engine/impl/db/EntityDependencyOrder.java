@@ -27,6 +27,10 @@ public class EntityDependencyOrder {
 
     public static List<Class<? extends Entity>> DELETE_ORDER = new ArrayList<>();
     public static List<Class<? extends Entity>> INSERT_ORDER = new ArrayList<>();
+    /**
+     * The historic entities that can be updated, of which explicit updates are coalesced when history write coalescing is enabled.
+     */
+    public static List<Class<? extends Entity>> HISTORIC_ENTITY_CLASSES = new ArrayList<>();
 
     static {
 
@@ -39,6 +43,8 @@ public class EntityDependencyOrder {
         INSERT_ORDER = new ArrayList<>(DELETE_ORDER);
         Collections.reverse(INSERT_ORDER);
 
+        HISTORIC_ENTITY_CLASSES.add(HistoricDecisionExecutionEntityImpl.class);
+
     }
     
 }
@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.persistence.deploy;
+
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
+import org.flowable.dmn.model.Decision;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.DmnDefinition;
+
+/**
+ * Estimates the weight of a {@link DecisionCacheEntry} based on the decisions in its {@link DmnDefinition}:
+ * for decision tables, every rule counts once per input and output clause.
+ */
+public class DecisionCacheEntryWeigher implements DeploymentCacheWeigher<DecisionCacheEntry> {
+
+    @Override
+    public long weigh(DecisionCacheEntry cacheEntry) {
+        long weight = 1;
+        DmnDefinition dmnDefinition = cacheEntry.getDmnDefinition();
+        if (dmnDefinition != null) {
+            for (Decision decision : dmnDefinition.getDecisions()) {
+                weight++;
+                if (decision.getExpression() instanceof DecisionTable) {
+                    DecisionTable decisionTable = (DecisionTable) decision.getExpression();
+                    weight += (long) decisionTable.getRules().size() * (decisionTable.getInputs().size() + decisionTable.getOutputs().size());
+                }
+            }
+        }
+        return weight;
+    }
+
+}
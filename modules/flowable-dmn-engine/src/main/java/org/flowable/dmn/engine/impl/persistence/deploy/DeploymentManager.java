@@ -146,7 +146,9 @@ public class DeploymentManager {
             }
 
             deployment.setNew(false);
+            long loadStartTime = System.nanoTime();
             deploy(deployment, null);
+            decisionCache.recordLoad(decisionId, System.nanoTime() - loadStartTime);
             cachedDecision = decisionCache.get(decisionId);
 
             if (cachedDecision == null) {
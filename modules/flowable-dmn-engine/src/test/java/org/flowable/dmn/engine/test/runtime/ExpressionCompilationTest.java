@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Map;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.DefaultExpressionManager;
+import org.flowable.common.engine.impl.el.ExpressionCompiler;
+import org.flowable.common.engine.impl.el.JuelExpression;
+import org.flowable.dmn.api.DmnDecisionService;
+import org.flowable.dmn.engine.test.DmnDeployment;
+import org.flowable.dmn.engine.test.FlowableDmnRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ExpressionCompilationTest {
+
+    @Rule
+    public FlowableDmnRule flowableDmnRule = new FlowableDmnRule();
+
+    @Test
+    @DmnDeployment(resources = "org/flowable/dmn/engine/test/deployment/strings_2.dmn")
+    public void ruleInputEntriesAreCompiled() {
+        DefaultExpressionManager expressionManager = (DefaultExpressionManager) flowableDmnRule.getDmnEngine().getDmnEngineConfiguration().getExpressionManager();
+        assertThat(expressionManager.getExpressionCache()).isNotNull();
+
+        // Expressions that are already cached (e.g. by other tests) are not compiled
+        expressionManager.getExpressionCache().clear();
+        expressionManager.setExpressionCompiler(new ExpressionCompiler(2));
+        try {
+            DmnDecisionService dmnDecisionService = flowableDmnRule.getDmnEngine().getDmnDecisionService();
+            for (int i = 0; i < 3; i++) {
+                Map<String, Object> result = dmnDecisionService.createExecuteDecisionBuilder()
+                        .decisionKey("decision")
+                        .variable("input1", "test")
+                        .variable("input2", "")
+                        .executeWithSingleResult();
+
+                assertThat(result).containsOnly(entry("output1", "test1"));
+            }
+
+            Expression inputEntry = expressionManager.getExpressionCache().get("#{input1 != \"\"}");
+            assertThat(inputEntry).isInstanceOf(JuelExpression.class);
+            assertThat(((JuelExpression) inputEntry).getCompiledExpression()).isNotNull();
+
+            // The compiled input entries give the same outcome as the interpreted ones
+            Map<String, Object> result = dmnDecisionService.createExecuteDecisionBuilder()
+                    .decisionKey("decision")
+                    .variable("input1", "")
+                    .variable("input2", "foobar")
+                    .executeWithSingleResult();
+            assertThat(result).containsOnly(entry("output1", "test2"));
+
+        } finally {
+            expressionManager.setExpressionCompiler(null);
+            expressionManager.getExpressionCache().clear();
+        }
+    }
+
+}
@@ -55,6 +55,20 @@ public interface FlowableEventDispatcher {
      */
     void dispatchEvent(FlowableEvent event, String engineType);
 
+    /**
+     * Returns whether an event of the given type would be handled by any listener.
+     * Can be used to avoid creating an event that nobody is interested in.
+     * 
+     * @param type
+     *            type of the event
+     * @param engineType
+     *            type of engine to dispatch
+     * @return true, if the dispatcher is enabled and there could be a listener for events of the given type.
+     */
+    default boolean hasListeners(FlowableEventType type, String engineType) {
+        return isEnabled();
+    }
+
     /**
      * @param enabled
      *            true, if event dispatching should be enabled.
@@ -38,6 +38,8 @@ public interface ScopeTypes {
     String CMMN_EXTERNAL_WORKER = "cmmnExternalWorker";
     String BPMN_EXTERNAL_WORKER = "bpmnExternalWorker";
 
+    String BPMN_PARALLEL_GATEWAY_ARRIVALS = "bpmnParallelGatewayArrivals";
+
     Collection<String> CMMN_DEPENDENT = new HashSet<>(Arrays.asList(CMMN, CMMN_EXTERNAL_WORKER, CMMN_VARIABLE_AGGREGATION));
-    Collection<String> BPMN_DEPENDENT = new HashSet<>(Arrays.asList(BPMN_EXTERNAL_WORKER, BPMN_VARIABLE_AGGREGATION));
+    Collection<String> BPMN_DEPENDENT = new HashSet<>(Arrays.asList(BPMN_EXTERNAL_WORKER, BPMN_VARIABLE_AGGREGATION, BPMN_PARALLEL_GATEWAY_ARRIVALS));
 }
@@ -105,8 +105,10 @@ import org.flowable.common.engine.impl.logging.LoggingSession;
 import org.flowable.common.engine.impl.logging.LoggingSessionFactory;
 import org.flowable.common.engine.impl.persistence.GenericManagerFactory;
 import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
+import org.flowable.common.engine.impl.persistence.cache.DirtyTrackingEntityCacheImpl;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWarmUp;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityManager;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityManagerImpl;
 import org.flowable.common.engine.impl.persistence.entity.Entity;
@@ -238,6 +240,71 @@ public abstract class AbstractEngineConfiguration {
 
     public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 55; // currently Execution has most params (35). 2000 / 35 = 57.
 
+    /**
+     * If set to true, the updates of a flush are grouped per update statement and executed as JDBC batches,
+     * instead of one database roundtrip per updated entity. The update count of every row is still verified,
+     * so optimistic locking works as before. Default false.
+     * <p>
+     * Note that the JDBC driver needs to return the update count of every statement in the batch
+     * (drivers returning Statement.SUCCESS_NO_INFO can't detect concurrent modifications).
+     */
+    protected boolean isBatchUpdateEnabled;
+
+    /**
+     * The maximum amount of update statements that are grouped in one JDBC batch when batch updates are enabled. Default 100.
+     */
+    protected int maxNrOfStatementsInBatchUpdate = 100;
+
+    /**
+     * If set to true, when more than one entity of the same type is deleted in a transaction, the entities are deleted
+     * in chunks with one 'bulkDelete' statement per chunk (when such a statement is mapped for the entity type)
+     * or else with JDBC batches of the regular delete statement. Concurrent modifications are still detected
+     * by comparing the affected row counts. Default false.
+     */
+    protected boolean isBulkDeleteEnabled;
+
+    /**
+     * The maximum amount of entities that are deleted with one bulk delete statement or JDBC batch when bulk deletes are enabled. Default 100.
+     */
+    protected int maxNrOfEntitiesInBulkDelete = 100;
+
+    /**
+     * If set to true, entities that track the writes to their persistent fields themselves (see {@link org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity})
+     * don't get a persistent state snapshot when they are loaded. At flush time, only the entities that were written to are compared with their original state.
+     * This is beneficial for commands that load a lot of entities but only change a few of them. Default false.
+     */
+    protected boolean isDirtyTrackingEnabled;
+
+    /**
+     * If set to true, explicit updates of historic entities are coalesced within a transaction: an update of a historic entity
+     * that is inserted or already updated in the same transaction doesn't lead to an additional write, and an update of a historic entity
+     * that was loaded in the same transaction is only flushed when its state actually changed.
+     * This way every historic entity gets at most one insert or one update per transaction. Default false.
+     */
+    protected boolean isHistoryWriteCoalescingEnabled;
+
+    /**
+     * Additional historic entity classes (e.g. of custom entities) for which explicit updates are coalesced when isHistoryWriteCoalescingEnabled is set.
+     * The historic entity classes of the engine are registered by the engine itself.
+     * Only entity classes whose persistent state contains all the updated columns can be coalesced.
+     */
+    protected Set<Class<? extends Entity>> customHistoricEntityClasses;
+
+    /**
+     * When enabled, the definitions of the engine (process, case or decision definitions) are loaded into the deployment cache
+     * in the background when the engine is built, instead of lazily when they are used for the first time.
+     * The latest deploymentCacheWarmUpVersionsPerKey versions of every definition key are loaded,
+     * only for the tenants in deploymentCacheWarmUpTenantIds when set (use the empty string for definitions without tenant).
+     * Deployments are loaded in parallel on a fork join pool with deploymentCacheWarmUpParallelism threads,
+     * never more definitions than the limit of the deployment cache.
+     * See {@link #getDeploymentCacheWarmUp()} to wait for the warm up to finish (e.g. in a readiness probe). Default false.
+     */
+    protected boolean deploymentCacheWarmUpEnabled;
+    protected int deploymentCacheWarmUpVersionsPerKey = 1;
+    protected Collection<String> deploymentCacheWarmUpTenantIds;
+    protected int deploymentCacheWarmUpParallelism = Runtime.getRuntime().availableProcessors();
+    protected DeploymentCacheWarmUp deploymentCacheWarmUp;
+
     protected String mybatisMappingFile;
     protected Set<Class<?>> customMybatisMappers;
     protected Set<String> customMybatisXMLMappers;
@@ -430,6 +497,23 @@ public abstract class AbstractEngineConfiguration {
      * Define a max length for storing String variable types in the database. Mainly used for the Oracle NVARCHAR2 limit of 2000 characters
      */
     protected int maxLengthStringVariableType = -1;
+
+    /**
+     * Whether new json and serializable variables should be stored with the 'binaryJson' and 'compressedSerializable' variable types,
+     * which store the value as bytes that are compressed when larger than binaryVariableCompressionThreshold.
+     * Existing variables keep their type, and variables of the binary types can still be read when this is disabled again.
+     */
+    protected boolean binaryVariableTypesEnabled;
+
+    /**
+     * The size (in bytes) above which the values of the binary variable types are compressed, -1 to never compress.
+     */
+    protected int binaryVariableCompressionThreshold = 4096;
+
+    /**
+     * The amount of bytes that are fetched per query when a byte array (e.g. the value of a byte array variable) is read as a stream.
+     */
+    protected int byteArrayStreamChunkSize = 1024 * 1024;
     
     protected void initEngineConfigurations() {
         addEngineConfiguration(getEngineCfgKey(), getEngineScopeType(), this);
@@ -750,7 +834,7 @@ public abstract class AbstractEngineConfiguration {
                 initDbSqlSessionFactory();
             }
 
-            addSessionFactory(new GenericManagerFactory(EntityCache.class, EntityCacheImpl.class));
+            addSessionFactory(new GenericManagerFactory(EntityCache.class, isDirtyTrackingEnabled ? DirtyTrackingEntityCacheImpl.class : EntityCacheImpl.class));
             
             if (isLoggingSessionEnabled()) {
                 if (!sessionFactories.containsKey(LoggingSession.class)) {
@@ -788,8 +872,16 @@ public abstract class AbstractEngineConfiguration {
         dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
         dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
         dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+        dbSqlSessionFactory.setBatchUpdateEnabled(isBatchUpdateEnabled);
+        dbSqlSessionFactory.setMaxNrOfStatementsInBatchUpdate(maxNrOfStatementsInBatchUpdate);
+        dbSqlSessionFactory.setBulkDeleteEnabled(isBulkDeleteEnabled);
+        dbSqlSessionFactory.setMaxNrOfEntitiesInBulkDelete(maxNrOfEntitiesInBulkDelete);
+        dbSqlSessionFactory.setHistoryWriteCoalescingEnabled(isHistoryWriteCoalescingEnabled);
 
         initDbSqlSessionFactoryEntitySettings();
+        if (customHistoricEntityClasses != null) {
+            dbSqlSessionFactory.getHistoricEntityClasses().addAll(customHistoricEntityClasses);
+        }
 
         addSessionFactory(dbSqlSessionFactory);
     }
@@ -801,6 +893,12 @@ public abstract class AbstractEngineConfiguration {
     protected abstract void initDbSqlSessionFactoryEntitySettings();
 
     protected void defaultInitDbSqlSessionFactoryEntitySettings(List<Class<? extends Entity>> insertOrder, List<Class<? extends Entity>> deleteOrder) {
+        defaultInitDbSqlSessionFactoryEntitySettings(insertOrder, deleteOrder, null);
+    }
+
+    protected void defaultInitDbSqlSessionFactoryEntitySettings(List<Class<? extends Entity>> insertOrder, List<Class<? extends Entity>> deleteOrder,
+            Collection<Class<? extends Entity>> historicEntityClasses) {
+
         if (insertOrder != null) {
             for (Class<? extends Entity> clazz : insertOrder) {
                 dbSqlSessionFactory.getInsertionOrder().add(clazz);
@@ -816,6 +914,10 @@ public abstract class AbstractEngineConfiguration {
                 dbSqlSessionFactory.getDeletionOrder().add(clazz);
             }
         }
+
+        if (historicEntityClasses != null) {
+            dbSqlSessionFactory.getHistoricEntityClasses().addAll(historicEntityClasses);
+        }
     }
 
     public void initTransactionFactory() {
@@ -1102,6 +1204,10 @@ public abstract class AbstractEngineConfiguration {
              */
             ((PooledDataSource) dataSource).forceCloseAll();
         }
+
+        if (deploymentCacheWarmUp != null) {
+            deploymentCacheWarmUp.shutdown();
+        }
     }
 
     protected List<EngineConfigurator> getEngineSpecificEngineConfigurators() {
@@ -1604,6 +1710,69 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isBatchUpdateEnabled() {
+        return isBatchUpdateEnabled;
+    }
+
+    public AbstractEngineConfiguration setBatchUpdateEnabled(boolean isBatchUpdateEnabled) {
+        this.isBatchUpdateEnabled = isBatchUpdateEnabled;
+        return this;
+    }
+
+    public int getMaxNrOfStatementsInBatchUpdate() {
+        return maxNrOfStatementsInBatchUpdate;
+    }
+
+    public AbstractEngineConfiguration setMaxNrOfStatementsInBatchUpdate(int maxNrOfStatementsInBatchUpdate) {
+        this.maxNrOfStatementsInBatchUpdate = maxNrOfStatementsInBatchUpdate;
+        return this;
+    }
+
+    public boolean isBulkDeleteEnabled() {
+        return isBulkDeleteEnabled;
+    }
+
+    public AbstractEngineConfiguration setBulkDeleteEnabled(boolean isBulkDeleteEnabled) {
+        this.isBulkDeleteEnabled = isBulkDeleteEnabled;
+        return this;
+    }
+
+    public int getMaxNrOfEntitiesInBulkDelete() {
+        return maxNrOfEntitiesInBulkDelete;
+    }
+
+    public AbstractEngineConfiguration setMaxNrOfEntitiesInBulkDelete(int maxNrOfEntitiesInBulkDelete) {
+        this.maxNrOfEntitiesInBulkDelete = maxNrOfEntitiesInBulkDelete;
+        return this;
+    }
+
+    public boolean isDirtyTrackingEnabled() {
+        return isDirtyTrackingEnabled;
+    }
+
+    public AbstractEngineConfiguration setDirtyTrackingEnabled(boolean isDirtyTrackingEnabled) {
+        this.isDirtyTrackingEnabled = isDirtyTrackingEnabled;
+        return this;
+    }
+
+    public boolean isHistoryWriteCoalescingEnabled() {
+        return isHistoryWriteCoalescingEnabled;
+    }
+
+    public AbstractEngineConfiguration setHistoryWriteCoalescingEnabled(boolean isHistoryWriteCoalescingEnabled) {
+        this.isHistoryWriteCoalescingEnabled = isHistoryWriteCoalescingEnabled;
+        return this;
+    }
+
+    public Set<Class<? extends Entity>> getCustomHistoricEntityClasses() {
+        return customHistoricEntityClasses;
+    }
+
+    public AbstractEngineConfiguration setCustomHistoricEntityClasses(Set<Class<? extends Entity>> customHistoricEntityClasses) {
+        this.customHistoricEntityClasses = customHistoricEntityClasses;
+        return this;
+    }
+
     public Set<Class<?>> getCustomMybatisMappers() {
         return customMybatisMappers;
     }
@@ -1941,6 +2110,33 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
 
+    public boolean isBinaryVariableTypesEnabled() {
+        return binaryVariableTypesEnabled;
+    }
+
+    public AbstractEngineConfiguration setBinaryVariableTypesEnabled(boolean binaryVariableTypesEnabled) {
+        this.binaryVariableTypesEnabled = binaryVariableTypesEnabled;
+        return this;
+    }
+
+    public int getBinaryVariableCompressionThreshold() {
+        return binaryVariableCompressionThreshold;
+    }
+
+    public AbstractEngineConfiguration setBinaryVariableCompressionThreshold(int binaryVariableCompressionThreshold) {
+        this.binaryVariableCompressionThreshold = binaryVariableCompressionThreshold;
+        return this;
+    }
+
+    public int getByteArrayStreamChunkSize() {
+        return byteArrayStreamChunkSize;
+    }
+
+    public AbstractEngineConfiguration setByteArrayStreamChunkSize(int byteArrayStreamChunkSize) {
+        this.byteArrayStreamChunkSize = byteArrayStreamChunkSize;
+        return this;
+    }
+
     public PropertyDataManager getPropertyDataManager() {
         return propertyDataManager;
     }
@@ -2090,4 +2286,54 @@ public abstract class AbstractEngineConfiguration {
     public boolean isForceCloseMybatisConnectionPool() {
         return forceCloseMybatisConnectionPool;
     }
+
+    public boolean isDeploymentCacheWarmUpEnabled() {
+        return deploymentCacheWarmUpEnabled;
+    }
+
+    public AbstractEngineConfiguration setDeploymentCacheWarmUpEnabled(boolean deploymentCacheWarmUpEnabled) {
+        this.deploymentCacheWarmUpEnabled = deploymentCacheWarmUpEnabled;
+        return this;
+    }
+
+    public int getDeploymentCacheWarmUpVersionsPerKey() {
+        return deploymentCacheWarmUpVersionsPerKey;
+    }
+
+    public AbstractEngineConfiguration setDeploymentCacheWarmUpVersionsPerKey(int deploymentCacheWarmUpVersionsPerKey) {
+        this.deploymentCacheWarmUpVersionsPerKey = deploymentCacheWarmUpVersionsPerKey;
+        return this;
+    }
+
+    public Collection<String> getDeploymentCacheWarmUpTenantIds() {
+        return deploymentCacheWarmUpTenantIds;
+    }
+
+    public AbstractEngineConfiguration setDeploymentCacheWarmUpTenantIds(Collection<String> deploymentCacheWarmUpTenantIds) {
+        this.deploymentCacheWarmUpTenantIds = deploymentCacheWarmUpTenantIds;
+        return this;
+    }
+
+    public int getDeploymentCacheWarmUpParallelism() {
+        return deploymentCacheWarmUpParallelism;
+    }
+
+    public AbstractEngineConfiguration setDeploymentCacheWarmUpParallelism(int deploymentCacheWarmUpParallelism) {
+        this.deploymentCacheWarmUpParallelism = deploymentCacheWarmUpParallelism;
+        return this;
+    }
+
+    /**
+     * @return the deployment cache warm up that was started when the engine was built, or null when it's not enabled
+     */
+    public DeploymentCacheWarmUp getDeploymentCacheWarmUp() {
+        return deploymentCacheWarmUp;
+    }
+
+    /**
+     * @return whether the deployment cache warm up has finished, always true when it's not enabled
+     */
+    public boolean isDeploymentCacheWarmUpCompleted() {
+        return deploymentCacheWarmUp == null || deploymentCacheWarmUp.isCompleted();
+    }
 }
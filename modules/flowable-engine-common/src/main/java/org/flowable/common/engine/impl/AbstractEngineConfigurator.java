@@ -262,7 +262,7 @@ public abstract class AbstractEngineConfigurator implements EngineConfigurator {
     protected void initDbSqlSessionFactory(AbstractEngineConfiguration engineConfiguration, AbstractEngineConfiguration targetEngineConfiguration) {
         targetEngineConfiguration.setDbSqlSessionFactory(engineConfiguration.getDbSqlSessionFactory());
         targetEngineConfiguration.setSqlSessionFactory(engineConfiguration.getSqlSessionFactory());
-        targetEngineConfiguration.defaultInitDbSqlSessionFactoryEntitySettings(getEntityInsertionOrder(), getEntityDeletionOrder());
+        targetEngineConfiguration.defaultInitDbSqlSessionFactoryEntitySettings(getEntityInsertionOrder(), getEntityDeletionOrder(), getHistoricEntityClasses());
     }
 
     protected void initSessionFactories(AbstractEngineConfiguration engineConfiguration, AbstractEngineConfiguration targetEngineConfiguration) {
@@ -309,6 +309,13 @@ public abstract class AbstractEngineConfigurator implements EngineConfigurator {
 
     protected abstract List<Class<? extends Entity>> getEntityDeletionOrder();
 
+    /**
+     * @return the historic entity classes of the engine, of which explicit updates are coalesced when history write coalescing is enabled
+     */
+    protected List<Class<? extends Entity>> getHistoricEntityClasses() {
+        return null;
+    }
+
     public boolean isEnableMybatisXmlMappingValidation() {
         return enableMybatisXmlMappingValidation;
     }
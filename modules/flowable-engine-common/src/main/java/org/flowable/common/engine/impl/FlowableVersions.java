@@ -23,7 +23,7 @@ import org.flowable.common.engine.api.FlowableException;
  */
 public class FlowableVersions {
     
-    public static final String CURRENT_VERSION = "7.0.1.1"; // Note the extra .x at the end. To cater for snapshot releases with different database changes
+    public static final String CURRENT_VERSION = "7.0.1.2"; // Note the extra .x at the end. To cater for snapshot releases with different database changes
     
     public static final List<FlowableVersion> FLOWABLE_VERSIONS = new ArrayList<>();
     
@@ -142,6 +142,7 @@ public class FlowableVersions {
         FLOWABLE_VERSIONS.add(new FlowableVersion("6.8.1.0"));
         FLOWABLE_VERSIONS.add(new FlowableVersion("7.0.0.0"));
         FLOWABLE_VERSIONS.add(new FlowableVersion("7.0.1.0"));
+        FLOWABLE_VERSIONS.add(new FlowableVersion("7.0.1.1"));
 
         /* Current */
         FLOWABLE_VERSIONS.add(new FlowableVersion(CURRENT_VERSION));
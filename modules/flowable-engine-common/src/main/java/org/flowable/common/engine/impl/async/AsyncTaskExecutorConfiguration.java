@@ -60,6 +60,20 @@ public class AsyncTaskExecutorConfiguration {
      */
     protected String threadPoolNamingPattern;
 
+    /**
+     * Whether every task should be executed in its own virtual thread (requires Java 21 or later),
+     * instead of in a thread pool. The pool and queue settings are then not used,
+     * the amount of concurrently executing tasks is limited with the virtual thread concurrency limit instead.
+     */
+    protected boolean virtualThreads;
+
+    /**
+     * The maximum amount of tasks that are executed concurrently when using virtual threads.
+     * New tasks are rejected when the limit is reached, the same way as when the queue of the thread pool is full.
+     * When not set (0 or lower), the max pool size plus the queue size is used.
+     */
+    protected int virtualThreadConcurrencyLimit;
+
     public int getCorePoolSize() {
         return corePoolSize;
     }
@@ -116,6 +130,22 @@ public class AsyncTaskExecutorConfiguration {
         this.threadPoolNamingPattern = threadPoolNamingPattern;
     }
 
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getVirtualThreadConcurrencyLimit() {
+        return virtualThreadConcurrencyLimit;
+    }
+
+    public void setVirtualThreadConcurrencyLimit(int virtualThreadConcurrencyLimit) {
+        this.virtualThreadConcurrencyLimit = virtualThreadConcurrencyLimit;
+    }
+
     public void setThreadNamePrefix(String prefix) {
         if (prefix == null) {
             this.threadPoolNamingPattern = "%d";
@@ -62,6 +62,11 @@ public class DefaultAsyncTaskExecutor implements AsyncTaskExecutor {
 
     protected RejectedExecutionHandler rejectedExecutionHandler;
 
+    /**
+     * The executor service when running with virtual threads, which replaces the thread pool queue for the remaining capacity.
+     */
+    protected VirtualThreadExecutorService virtualThreadExecutorService;
+
     public DefaultAsyncTaskExecutor() {
         this(new AsyncTaskExecutorConfiguration());
         this.configuration.setThreadPoolNamingPattern("flowable-async-job-executor-thread-%d");
@@ -123,10 +128,15 @@ public class DefaultAsyncTaskExecutor implements AsyncTaskExecutor {
             }
 
             executorService = null;
+            virtualThreadExecutorService = null;
         }
     }
 
     protected ExecutorService initializeExecutor() {
+        if (isVirtualThreads()) {
+            return initializeVirtualThreadExecutor();
+        }
+
         if (threadPoolQueue == null) {
             int queueSize = getQueueSize();
             logger.info("Creating thread pool queue of size {}", queueSize);
@@ -158,6 +168,31 @@ public class DefaultAsyncTaskExecutor implements AsyncTaskExecutor {
 
     }
 
+    protected ExecutorService initializeVirtualThreadExecutor() {
+        int concurrencyLimit = getVirtualThreadConcurrencyLimit();
+        if (concurrencyLimit <= 0) {
+            concurrencyLimit = getMaxPoolSize() + getQueueSize();
+        }
+
+        boolean callerRuns = rejectedExecutionHandler instanceof ThreadPoolExecutor.CallerRunsPolicy;
+        if (rejectedExecutionHandler != null && !callerRuns) {
+            logger.warn("rejectedExecutionHandler {} is not supported when using virtual threads, rejected tasks will throw a RejectedExecutionException",
+                    rejectedExecutionHandler);
+        }
+
+        if (threadFactory != null) {
+            logger.info("Creating virtual thread executor service with the provided thread factory and concurrency limit {}", concurrencyLimit);
+            virtualThreadExecutorService = new VirtualThreadExecutorService(threadFactory, concurrencyLimit, callerRuns);
+
+        } else {
+            String threadNamePrefix = StringUtils.removeEnd(getThreadPoolNamingPattern(), "%d");
+            logger.info("Creating virtual thread executor service with thread name prefix {} and concurrency limit {}", threadNamePrefix, concurrencyLimit);
+            virtualThreadExecutorService = new VirtualThreadExecutorService(threadNamePrefix, concurrencyLimit, callerRuns);
+        }
+
+        return virtualThreadExecutorService;
+    }
+
     public AsyncTaskExecutorConfiguration getConfiguration() {
         return configuration;
     }
@@ -202,6 +237,22 @@ public class DefaultAsyncTaskExecutor implements AsyncTaskExecutor {
         getConfiguration().setAllowCoreThreadTimeout(allowCoreThreadTimeout);
     }
 
+    public boolean isVirtualThreads() {
+        return getConfiguration().isVirtualThreads();
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        getConfiguration().setVirtualThreads(virtualThreads);
+    }
+
+    public int getVirtualThreadConcurrencyLimit() {
+        return getConfiguration().getVirtualThreadConcurrencyLimit();
+    }
+
+    public void setVirtualThreadConcurrencyLimit(int virtualThreadConcurrencyLimit) {
+        getConfiguration().setVirtualThreadConcurrencyLimit(virtualThreadConcurrencyLimit);
+    }
+
     public long getSecondsToWaitOnShutdown() {
         return getConfiguration().getAwaitTerminationPeriod().getSeconds();
     }
@@ -244,6 +295,9 @@ public class DefaultAsyncTaskExecutor implements AsyncTaskExecutor {
 
     @Override
     public int getRemainingCapacity() {
+        if (virtualThreadExecutorService != null) {
+            return virtualThreadExecutorService.getRemainingCapacity();
+        }
         return threadPoolQueue.remainingCapacity();
     }
 }
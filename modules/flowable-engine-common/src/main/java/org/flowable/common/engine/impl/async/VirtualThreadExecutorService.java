@@ -0,0 +1,161 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.async;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.api.FlowableException;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} that starts a new virtual thread for every task.
+ * Instead of a bounded pool and queue, the amount of concurrently running tasks is limited with a semaphore:
+ * when the limit is reached, new tasks are rejected with a {@link RejectedExecutionException}
+ * (or run in the calling thread when callerRunsWhenLimitReached is set), just like a thread pool with a full queue.
+ * <p>
+ * Virtual threads need a Java 21+ runtime. They are created reflectively, as Flowable itself is compiled for an older Java version.
+ */
+public class VirtualThreadExecutorService extends AbstractExecutorService {
+
+    protected final ThreadFactory threadFactory;
+    protected final int concurrencyLimit;
+    protected final Semaphore permits;
+    protected final boolean callerRunsWhenLimitReached;
+    protected final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+
+    protected volatile boolean shutdown;
+
+    public VirtualThreadExecutorService(String threadNamePrefix, int concurrencyLimit, boolean callerRunsWhenLimitReached) {
+        this(createVirtualThreadFactory(threadNamePrefix), concurrencyLimit, callerRunsWhenLimitReached);
+    }
+
+    public VirtualThreadExecutorService(ThreadFactory threadFactory, int concurrencyLimit, boolean callerRunsWhenLimitReached) {
+        this.threadFactory = threadFactory;
+        this.concurrencyLimit = concurrencyLimit;
+        this.permits = new Semaphore(concurrencyLimit);
+        this.callerRunsWhenLimitReached = callerRunsWhenLimitReached;
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public static ThreadFactory createVirtualThreadFactory(String threadNamePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            if (threadNamePrefix != null) {
+                Method nameMethod = builderClass.getMethod("name", String.class, long.class);
+                builder = nameMethod.invoke(builder, threadNamePrefix, 0L);
+            }
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+        } catch (NoSuchMethodException e) {
+            throw new FlowableException("Virtual threads are only supported when running on Java 21 or later", e);
+        } catch (ReflectiveOperationException e) {
+            throw new FlowableException("Could not create virtual thread factory", e);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+
+        if (!permits.tryAcquire()) {
+            if (callerRunsWhenLimitReached) {
+                task.run();
+                return;
+            }
+            throw new RejectedExecutionException("Concurrency limit of " + concurrencyLimit + " tasks reached");
+        }
+
+        Thread thread = null;
+        try {
+            thread = threadFactory.newThread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    runningThreads.remove(Thread.currentThread());
+                    permits.release();
+                }
+            });
+            runningThreads.add(thread);
+            thread.start();
+
+        } catch (RuntimeException | Error e) {
+            if (thread != null) {
+                runningThreads.remove(thread);
+            }
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getRemainingCapacity() {
+        return permits.availablePermits();
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        for (Thread thread : runningThreads) {
+            thread.interrupt();
+        }
+        // Tasks are never queued, so there are no tasks that didn't start yet
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && permits.availablePermits() == concurrencyLimit;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        // All permits are only available again when all running tasks have finished
+        if (permits.tryAcquire(concurrencyLimit, timeout, unit)) {
+            permits.release(concurrencyLimit);
+            return true;
+        }
+        return false;
+    }
+}
@@ -30,8 +30,11 @@ public class BulkDeleteOperation {
         this.parameter = parameter;
     }
 
-    public void execute(SqlSession sqlSession, Class<? extends Entity> clazz) {
-        sqlSession.delete(statement, parameter);
+    /**
+     * @return the number of deleted rows
+     */
+    public int execute(SqlSession sqlSession, Class<? extends Entity> clazz) {
+        return sqlSession.delete(statement, parameter);
     }
     
     public String getStatement() {
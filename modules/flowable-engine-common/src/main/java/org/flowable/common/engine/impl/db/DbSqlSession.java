@@ -14,6 +14,7 @@
 package org.flowable.common.engine.impl.db;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -24,7 +25,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.managed.ManagedTransaction;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.common.engine.api.query.CacheAwareQuery;
@@ -58,6 +65,7 @@ public class DbSqlSession implements Session {
     protected Map<Class<? extends Entity>, Map<String, Entity>> deletedObjects = new HashMap<>();
     protected Map<Class<? extends Entity>, List<BulkDeleteOperation>> bulkDeleteOperations = new HashMap<>();
     protected List<Entity> updatedObjects = new ArrayList<>();
+    protected long bulkDeletedRowCount;
 
     public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, EntityCache entityCache) {
         this.dbSqlSessionFactory = dbSqlSessionFactory;
@@ -103,10 +111,41 @@ public class DbSqlSession implements Session {
     // ///////////////////////////////////////////////////////////////////
 
     public void update(Entity entity) {
+        if (dbSqlSessionFactory.isHistoryWriteCoalesced(entity.getClass()) && coalesceHistoricEntityUpdate(entity)) {
+            return;
+        }
+
         entityCache.put(entity, false); // false -> we don't store state, meaning it will always be seen as changed
         entity.setUpdated(true);
     }
 
+    /**
+     * An explicit update of a historic entity doesn't need a write of its own when the entity is already known in this session:
+     * an inserted entity is flushed with its latest state, an entity that is already updated is only flushed once
+     * and for an entity that was loaded in this session the original persistent state is kept, so that it's only flushed when it actually changed.
+     *
+     * @return true if the update was coalesced with the other changes of the entity in this session
+     */
+    protected boolean coalesceHistoricEntityUpdate(Entity entity) {
+        if (entity.getId() == null) {
+            return false;
+        }
+
+        if (isEntityInserted(entity) || entity.isUpdated()) {
+            dbSqlSessionFactory.incrementCoalescedHistoryWriteCount();
+            return true;
+        }
+
+        Map<String, CachedEntity> classCache = entityCache.getAllCachedEntities().get(entity.getClass());
+        CachedEntity cachedEntity = classCache != null ? classCache.get(entity.getId()) : null;
+        if (cachedEntity != null && cachedEntity.getEntity() == entity && cachedEntity.getOriginalPersistentState() != null) {
+            dbSqlSessionFactory.incrementCoalescedHistoryWriteCount();
+            return true;
+        }
+
+        return false;
+    }
+
     public int directUpdate(String statement, Object parameters) {
         String updateStatement = dbSqlSessionFactory.mapStatement(statement);
         return getSqlSession().update(updateStatement, parameters);
@@ -567,28 +606,118 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
-        for (Entity updatedObject : updatedObjects) {
-            String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
-            updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
-
-            if (updateStatement == null) {
-                throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+        if (dbSqlSessionFactory.isBatchUpdateEnabled() && updatedObjects.size() > 1) {
+            flushBatchUpdates();
+        } else {
+            for (Entity updatedObject : updatedObjects) {
+                flushRegularUpdate(updatedObject);
             }
+        }
+        updatedObjects.clear();
+    }
 
-            LOGGER.debug("updating: {}", updatedObject);
+    protected void flushRegularUpdate(Entity updatedObject) {
+        String updateStatement = getMappedUpdateStatement(updatedObject);
 
-            int updatedRecords = sqlSession.update(updateStatement, updatedObject);
-            if (updatedRecords == 0) {
-                throw new FlowableOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
-            }
+        LOGGER.debug("updating: {}", updatedObject);
+
+        int updatedRecords = sqlSession.update(updateStatement, updatedObject);
+        if (updatedRecords == 0) {
+            throw new FlowableOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
+        }
+
+        // See https://activiti.atlassian.net/browse/ACT-1290
+        if (updatedObject instanceof HasRevision) {
+            ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+        }
+    }
 
+    /**
+     * Executes the updates as JDBC batches, grouped by update statement.
+     * 
+     * The batch is executed on the connection of the current {@link SqlSession}, using a dedicated MyBatis batch executor
+     * (the regular session executor executes every statement immediately).
+     * The update count of every row in the batch is verified, so a {@link FlowableOptimisticLockingException} is thrown for the exact entity that was stale.
+     */
+    protected void flushBatchUpdates() {
+        // A JDBC batch can only group consecutive executions of the same statement, hence the grouping per update statement
+        Map<String, List<Entity>> updatedObjectsByStatement = new LinkedHashMap<>();
+        for (Entity updatedObject : updatedObjects) {
+            String updateStatement = getMappedUpdateStatement(updatedObject);
+            updatedObjectsByStatement.computeIfAbsent(updateStatement, key -> new ArrayList<>()).add(updatedObject);
+        }
+
+        executeBatch(updatedObjectsByStatement, dbSqlSessionFactory.getMaxNrOfStatementsInBatchUpdate(), true);
+
+        // The updates bypassed the regular executor, so its local cache needs to be invalidated
+        sqlSession.clearCache();
+
+        for (Entity updatedObject : updatedObjects) {
             // See https://activiti.atlassian.net/browse/ACT-1290
             if (updatedObject instanceof HasRevision) {
                 ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
             }
+        }
+    }
+
+    /**
+     * Executes the statements for the given entities as JDBC batches of at most maxNrOfStatementsInBatch statements.
+     * When verifyAllUpdateCounts is false, only the update counts of entities with a revision are verified.
+     */
+    protected void executeBatch(Map<String, List<Entity>> entitiesByStatement, int maxNrOfStatementsInBatch, boolean verifyAllUpdateCounts) {
+        Configuration configuration = sqlSession.getConfiguration();
+        Executor batchExecutor = configuration.newExecutor(new ManagedTransaction(sqlSession.getConnection(), false), ExecutorType.BATCH);
+        try {
+            for (Map.Entry<String, List<Entity>> entry : entitiesByStatement.entrySet()) {
+                MappedStatement mappedStatement = configuration.getMappedStatement(entry.getKey());
+
+                int nrOfStatementsInBatch = 0;
+                for (Entity entity : entry.getValue()) {
+                    LOGGER.debug("executing {} (batched): {}", entry.getKey(), entity);
+                    batchExecutor.update(mappedStatement, entity);
+                    nrOfStatementsInBatch++;
+
+                    if (nrOfStatementsInBatch == maxNrOfStatementsInBatch) {
+                        verifyBatchUpdateCounts(batchExecutor.flushStatements(), verifyAllUpdateCounts);
+                        nrOfStatementsInBatch = 0;
+                    }
+                }
+
+                if (nrOfStatementsInBatch > 0) {
+                    verifyBatchUpdateCounts(batchExecutor.flushStatements(), verifyAllUpdateCounts);
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new FlowableException("Could not execute batch", e);
 
+        } finally {
+            batchExecutor.close(false); // false -> the connection is owned by the sqlSession and is not closed here
         }
-        updatedObjects.clear();
+    }
+
+    protected void verifyBatchUpdateCounts(List<BatchResult> batchResults, boolean verifyAllUpdateCounts) {
+        for (BatchResult batchResult : batchResults) {
+            int[] updateCounts = batchResult.getUpdateCounts();
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            for (int i = 0; i < updateCounts.length; i++) {
+                // Note that drivers returning Statement.SUCCESS_NO_INFO (-2) don't allow to detect a concurrent modification.
+                // Only 0 means that the revision didn't match.
+                if (updateCounts[i] == 0 && (verifyAllUpdateCounts || parameterObjects.get(i) instanceof HasRevision)) {
+                    throw new FlowableOptimisticLockingException(parameterObjects.get(i) + " was updated by another transaction concurrently");
+                }
+            }
+        }
+    }
+
+    protected String getMappedUpdateStatement(Entity updatedObject) {
+        String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+        updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+        if (updateStatement == null) {
+            throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+        }
+        return updateStatement;
     }
 
     protected void flushDeletes() {
@@ -627,18 +756,19 @@ public class DbSqlSession implements Session {
         // Bulk deletes
         if (deleteOperations != null) {
             for (BulkDeleteOperation bulkDeleteOperation : deleteOperations) {
-                bulkDeleteOperation.execute(sqlSession, entityClass);
+                bulkDeletedRowCount += bulkDeleteOperation.execute(sqlSession, entityClass);
             }
         }
     }
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        if (dbSqlSessionFactory.isBulkDeleteEnabled() && entitiesToDelete.size() > 1) {
+            flushBulkDeleteEntities(entityClass, entitiesToDelete);
+            return;
+        }
+
         for (Entity entity : entitiesToDelete) {
-            String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
-            deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
-            if (deleteStatement == null) {
-                throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
-            }
+            String deleteStatement = getMappedDeleteStatement(entity);
 
             // It only makes sense to check for optimistic locking exceptions
             // for objects that actually have a revision
@@ -653,6 +783,50 @@ public class DbSqlSession implements Session {
         }
     }
 
+    /**
+     * Deletes the entities of one entity class with as few round trips as possible.
+     * When a 'bulkDelete' statement is mapped for the entity class, the entities are deleted in chunks
+     * of maxNrOfEntitiesInBulkDelete entities with one statement per chunk (the statement gets the chunk as parameter and
+     * is expected to match on id and, for entities with a revision, on revision).
+     * Otherwise, the regular delete statements are executed as JDBC batches.
+     */
+    protected void flushBulkDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        List<Entity> entities = new ArrayList<>(entitiesToDelete);
+        String bulkDeleteStatement = dbSqlSessionFactory.mapStatement(dbSqlSessionFactory.getBulkDeleteStatement(entityClass));
+
+        if (sqlSession.getConfiguration().hasStatement(bulkDeleteStatement, false)) {
+            int maxNrOfEntitiesInBulkDelete = dbSqlSessionFactory.getMaxNrOfEntitiesInBulkDelete();
+            for (int fromIndex = 0; fromIndex < entities.size(); fromIndex += maxNrOfEntitiesInBulkDelete) {
+                List<Entity> chunk = entities.subList(fromIndex, Math.min(fromIndex + maxNrOfEntitiesInBulkDelete, entities.size()));
+                LOGGER.debug("bulk deleting {} entities of {}", chunk.size(), entityClass);
+                int nrOfRowsDeleted = sqlSession.delete(bulkDeleteStatement, chunk);
+                if (nrOfRowsDeleted < chunk.size() && chunk.get(0) instanceof HasRevision) {
+                    throw new FlowableOptimisticLockingException("One of the entities " + chunk + " was updated by another transaction concurrently");
+                }
+            }
+
+        } else {
+            // A JDBC batch can only group consecutive executions of the same statement
+            Map<String, List<Entity>> entitiesByStatement = new LinkedHashMap<>();
+            for (Entity entity : entities) {
+                entitiesByStatement.computeIfAbsent(getMappedDeleteStatement(entity), key -> new ArrayList<>()).add(entity);
+            }
+            executeBatch(entitiesByStatement, dbSqlSessionFactory.getMaxNrOfEntitiesInBulkDelete(), false);
+
+            // The deletes bypassed the regular executor, so its local cache needs to be invalidated
+            sqlSession.clearCache();
+        }
+    }
+
+    protected String getMappedDeleteStatement(Entity entity) {
+        String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
+        deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+        if (deleteStatement == null) {
+            throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
+        }
+        return deleteStatement;
+    }
+
     @Override
     public void close() {
         sqlSession.close();
@@ -681,6 +855,13 @@ public class DbSqlSession implements Session {
         return dbSqlSessionFactory;
     }
 
+    /**
+     * @return the number of rows deleted by the bulk delete operations flushed by this session so far
+     */
+    public long getBulkDeletedRowCount() {
+        return bulkDeletedRowCount;
+    }
+
     public String getConnectionMetadataDefaultCatalog() {
         return connectionMetadataDefaultCatalog;
     }
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.flowable.common.engine.api.FlowableException;
@@ -62,6 +63,17 @@ public class DbSqlSessionFactory implements SessionFactory {
     protected Map<Class<?>, String> bulkInsertStatements = new ConcurrentHashMap<>();
 
     protected int maxNrOfStatementsInBulkInsert = 100;
+
+    protected boolean isBatchUpdateEnabled;
+    protected int maxNrOfStatementsInBatchUpdate = 100;
+
+    protected boolean isBulkDeleteEnabled;
+    protected Map<Class<?>, String> bulkDeleteStatements = new ConcurrentHashMap<>();
+    protected int maxNrOfEntitiesInBulkDelete = 100;
+
+    protected Set<Class<? extends Entity>> historicEntityClasses = new HashSet<>();
+    protected boolean isHistoryWriteCoalescingEnabled;
+    protected final LongAdder coalescedHistoryWriteCount = new LongAdder();
     
     protected Map<String, Class<?>> logicalNameToClassMapping = new ConcurrentHashMap<>();
     
@@ -122,6 +134,10 @@ public class DbSqlSessionFactory implements SessionFactory {
         return getStatement(entityClass, deleteStatements, "delete");
     }
 
+    public String getBulkDeleteStatement(Class<?> entityClass) {
+        return getStatement(entityClass, bulkDeleteStatements, "bulkDelete");
+    }
+
     public String getSelectStatement(Class<?> entityClass) {
         return getStatement(entityClass, selectStatements, "select");
     }
@@ -202,6 +218,77 @@ public class DbSqlSessionFactory implements SessionFactory {
         this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
     }
 
+    public boolean isBatchUpdateEnabled() {
+        return isBatchUpdateEnabled;
+    }
+
+    public void setBatchUpdateEnabled(boolean isBatchUpdateEnabled) {
+        this.isBatchUpdateEnabled = isBatchUpdateEnabled;
+    }
+
+    public int getMaxNrOfStatementsInBatchUpdate() {
+        return maxNrOfStatementsInBatchUpdate;
+    }
+
+    public void setMaxNrOfStatementsInBatchUpdate(int maxNrOfStatementsInBatchUpdate) {
+        this.maxNrOfStatementsInBatchUpdate = maxNrOfStatementsInBatchUpdate;
+    }
+
+    public boolean isBulkDeleteEnabled() {
+        return isBulkDeleteEnabled;
+    }
+
+    public void setBulkDeleteEnabled(boolean isBulkDeleteEnabled) {
+        this.isBulkDeleteEnabled = isBulkDeleteEnabled;
+    }
+
+    public int getMaxNrOfEntitiesInBulkDelete() {
+        return maxNrOfEntitiesInBulkDelete;
+    }
+
+    public void setMaxNrOfEntitiesInBulkDelete(int maxNrOfEntitiesInBulkDelete) {
+        this.maxNrOfEntitiesInBulkDelete = maxNrOfEntitiesInBulkDelete;
+    }
+
+    public Set<Class<? extends Entity>> getHistoricEntityClasses() {
+        return historicEntityClasses;
+    }
+
+    public void setHistoricEntityClasses(Set<Class<? extends Entity>> historicEntityClasses) {
+        this.historicEntityClasses = historicEntityClasses;
+    }
+
+    public boolean isHistoryWriteCoalescingEnabled() {
+        return isHistoryWriteCoalescingEnabled;
+    }
+
+    public void setHistoryWriteCoalescingEnabled(boolean isHistoryWriteCoalescingEnabled) {
+        this.isHistoryWriteCoalescingEnabled = isHistoryWriteCoalescingEnabled;
+    }
+
+    public boolean isHistoryWriteCoalesced(Class<?> entityClass) {
+        return isHistoryWriteCoalescingEnabled && historicEntityClasses != null && historicEntityClasses.contains(entityClass);
+    }
+
+    /**
+     * @return the amount of explicit updates of historic entities that didn't lead to a separate write, since the engine was built.
+     */
+    public long getCoalescedHistoryWriteCount() {
+        return coalescedHistoryWriteCount.sum();
+    }
+
+    public void incrementCoalescedHistoryWriteCount() {
+        coalescedHistoryWriteCount.increment();
+    }
+
+    public Map<Class<?>, String> getBulkDeleteStatements() {
+        return bulkDeleteStatements;
+    }
+
+    public void setBulkDeleteStatements(Map<Class<?>, String> bulkDeleteStatements) {
+        this.bulkDeleteStatements = bulkDeleteStatements;
+    }
+
     public Map<Class<?>, String> getBulkInsertStatements() {
         return bulkInsertStatements;
     }
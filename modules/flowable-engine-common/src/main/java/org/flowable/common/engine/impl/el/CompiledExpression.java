@@ -0,0 +1,33 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el;
+
+import org.flowable.common.engine.api.variable.VariableContainer;
+
+/**
+ * An expression that is evaluated directly against a {@link VariableContainer}, without going through the JUEL tree and the EL resolvers.
+ * Created by the {@link ExpressionCompiler} for frequently evaluated expressions.
+ *
+ * @see ExpressionCompiler
+ */
+public interface CompiledExpression {
+
+    /**
+     * Returned when the compiled expression can't evaluate the expression for the given variable container
+     * (e.g. a variable doesn't exist or has a type that needs EL type coercion), in which case the interpreted evaluation needs to be used.
+     */
+    Object NOT_EVALUATED = new Object();
+
+    Object getValue(VariableContainer variableContainer);
+
+}
@@ -54,6 +54,7 @@ public class DefaultExpressionManager implements ExpressionManager {
     
     protected DeploymentCache<Expression> expressionCache;
     protected int expressionTextLengthCacheLimit = -1;
+    protected ExpressionCompiler expressionCompiler;
     
     protected List<ELResolver> preDefaultResolvers;
     protected ELResolver jsonNodeResolver;
@@ -90,6 +91,10 @@ public class DefaultExpressionManager implements ExpressionManager {
         Expression expression = createJuelExpression(text, valueExpression);
         
         if (isCacheEnabled(text)) {
+            if (expressionCompiler != null && expression instanceof JuelExpression) {
+                // Only cached expressions are evaluated often enough to be worth compiling
+                ((JuelExpression) expression).setExpressionCompiler(expressionCompiler);
+            }
             expressionCache.add(text, expression);
         }
         
@@ -243,6 +248,14 @@ public class DefaultExpressionManager implements ExpressionManager {
         this.expressionTextLengthCacheLimit = expressionTextLengthCacheLimit;
     }
 
+    public ExpressionCompiler getExpressionCompiler() {
+        return expressionCompiler;
+    }
+
+    public void setExpressionCompiler(ExpressionCompiler expressionCompiler) {
+        this.expressionCompiler = expressionCompiler;
+    }
+
     public void addPreDefaultResolver(ELResolver elResolver) {
         if (this.preDefaultResolvers == null) {
             this.preDefaultResolvers = new ArrayList<>();
@@ -0,0 +1,184 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.flowable.common.engine.api.variable.VariableContainer;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.ExpressionNode;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.TreeBuilderException;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.Builder;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstBinary;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstBoolean;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstEval;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstIdentifier;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNested;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNode;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstNull;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstString;
+import org.flowable.common.engine.impl.de.odysseus.el.tree.impl.ast.AstUnary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles frequently evaluated expressions into a {@link CompiledExpression}: a tree of evaluators that reads the variables
+ * directly from the {@link VariableContainer}, instead of walking the JUEL tree and going through the chain of EL resolvers for every identifier.
+ * <p>
+ * Only the most common shapes of expressions are compiled: variables, string/boolean/null literals, {@code ==} and {@code !=} comparisons,
+ * {@code &&}, {@code ||}, {@code !} and parentheses, e.g. {@code ${status == 'approved' && !escalated}}.
+ * The compiled expression falls back to the interpreted evaluation whenever the outcome could depend on the EL resolvers or on EL type coercion,
+ * e.g. when a variable does not exist (it could be a bean) or when a compared value is not a string or boolean.
+ * <p>
+ * An expression is compiled once it has been evaluated {@link #getCompilationThreshold()} times.
+ */
+public class ExpressionCompiler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpressionCompiler.class);
+
+    /**
+     * Identifiers that the EL resolvers resolve to something other than a variable.
+     */
+    protected Set<String> reservedIdentifiers = new HashSet<>(Arrays.asList(VariableContainerELResolver.VARIABLE_CONTAINER_KEY,
+            VariableContainerELResolver.LOGGED_IN_USER_KEY, VariableContainerELResolver.CURRENT_TENANT_ID_KEY, "execution", "task", "planItemInstance", "planItemInstances", "caseInstance"));
+
+    protected int compilationThreshold;
+
+    public ExpressionCompiler(int compilationThreshold) {
+        this.compilationThreshold = compilationThreshold;
+    }
+
+    /**
+     * @return the compiled expression or null if the expression does not have a shape that can be compiled.
+     */
+    public CompiledExpression compile(String expressionText) {
+        ExpressionNode root;
+        try {
+            root = new Builder().build(expressionText.trim()).getRoot();
+        } catch (TreeBuilderException e) {
+            LOGGER.debug("Could not parse expression {} for compilation", expressionText, e);
+            return null;
+        }
+
+        if (!(root instanceof AstEval)) {
+            // Composite expressions (text mixed with expressions) and literal text aren't compiled
+            return null;
+        }
+
+        CompiledExpression compiledExpression = compileNode(((AstEval) root).getChild(0));
+        if (compiledExpression != null) {
+            LOGGER.debug("Compiled expression {}", expressionText);
+        }
+        return compiledExpression;
+    }
+
+    protected CompiledExpression compileNode(AstNode node) {
+        if (node instanceof AstNested) {
+            return compileNode(node.getChild(0));
+
+        } else if (node instanceof AstIdentifier) {
+            String name = ((AstIdentifier) node).getName();
+            if (reservedIdentifiers.contains(name)) {
+                return null;
+            }
+            return variableContainer -> variableContainer.hasVariable(name) ? variableContainer.getVariable(name) : CompiledExpression.NOT_EVALUATED;
+
+        } else if (node instanceof AstString || node instanceof AstBoolean || node instanceof AstNull) {
+            Object value = node.eval(null, null);
+            return variableContainer -> value;
+
+        } else if (node instanceof AstUnary && ((AstUnary) node).getOperator() == AstUnary.NOT) {
+            CompiledExpression operand = compileNode(node.getChild(0));
+            if (operand == null) {
+                return null;
+            }
+            return variableContainer -> {
+                Object value = operand.getValue(variableContainer);
+                return value instanceof Boolean ? !((Boolean) value) : CompiledExpression.NOT_EVALUATED;
+            };
+
+        } else if (node instanceof AstBinary) {
+            return compileBinary((AstBinary) node);
+        }
+
+        return null;
+    }
+
+    protected CompiledExpression compileBinary(AstBinary node) {
+        AstBinary.Operator operator = node.getOperator();
+        if (operator != AstBinary.EQ && operator != AstBinary.NE && operator != AstBinary.AND && operator != AstBinary.OR) {
+            return null;
+        }
+
+        CompiledExpression left = compileNode(node.getChild(0));
+        CompiledExpression right = compileNode(node.getChild(1));
+        if (left == null || right == null) {
+            return null;
+        }
+
+        if (operator == AstBinary.AND || operator == AstBinary.OR) {
+            boolean shortCircuitValue = operator == AstBinary.OR;
+            return variableContainer -> {
+                Object leftValue = left.getValue(variableContainer);
+                if (!(leftValue instanceof Boolean)) {
+                    return CompiledExpression.NOT_EVALUATED;
+                }
+                if ((Boolean) leftValue == shortCircuitValue) {
+                    return shortCircuitValue;
+                }
+                Object rightValue = right.getValue(variableContainer);
+                return rightValue instanceof Boolean ? rightValue : CompiledExpression.NOT_EVALUATED;
+            };
+        }
+
+        boolean equals = operator == AstBinary.EQ;
+        return variableContainer -> {
+            Object leftValue = left.getValue(variableContainer);
+            if (leftValue == CompiledExpression.NOT_EVALUATED) {
+                return CompiledExpression.NOT_EVALUATED;
+            }
+            Object rightValue = right.getValue(variableContainer);
+            if (rightValue == CompiledExpression.NOT_EVALUATED) {
+                return CompiledExpression.NOT_EVALUATED;
+            }
+
+            if (leftValue == rightValue) {
+                return equals;
+            } else if (leftValue == null || rightValue == null) {
+                return !equals;
+            } else if ((leftValue instanceof String && rightValue instanceof String) || (leftValue instanceof Boolean && rightValue instanceof Boolean)) {
+                return leftValue.equals(rightValue) == equals;
+            }
+
+            // Other types need EL type coercion, e.g. comparing a number with a string
+            return CompiledExpression.NOT_EVALUATED;
+        };
+    }
+
+    public int getCompilationThreshold() {
+        return compilationThreshold;
+    }
+
+    public void setCompilationThreshold(int compilationThreshold) {
+        this.compilationThreshold = compilationThreshold;
+    }
+
+    public Set<String> getReservedIdentifiers() {
+        return reservedIdentifiers;
+    }
+
+    public void setReservedIdentifiers(Set<String> reservedIdentifiers) {
+        this.reservedIdentifiers = reservedIdentifiers;
+    }
+}
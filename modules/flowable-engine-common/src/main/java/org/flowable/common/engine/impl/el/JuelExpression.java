@@ -35,6 +35,10 @@ public class JuelExpression implements Expression {
     protected ValueExpression valueExpression;
     protected ExpressionManager expressionManager;
 
+    protected transient ExpressionCompiler expressionCompiler;
+    protected transient int evaluationCount; // Not synchronized, an approximate count is good enough to decide when to compile
+    protected transient volatile CompiledExpression compiledExpression;
+
     public JuelExpression(ExpressionManager expressionManager, ValueExpression valueExpression, String expressionText) {
         this.valueExpression = valueExpression;
         this.expressionText = expressionText;
@@ -43,6 +47,19 @@ public class JuelExpression implements Expression {
     
     @Override
     public Object getValue(VariableContainer variableContainer) {
+        CompiledExpression compiledExpression = this.compiledExpression;
+        if (compiledExpression != null) {
+            Object value = compiledExpression.getValue(variableContainer);
+            if (value != CompiledExpression.NOT_EVALUATED) {
+                return value;
+            }
+
+        } else if (expressionCompiler != null && ++evaluationCount >= expressionCompiler.getCompilationThreshold()) {
+            ExpressionCompiler compiler = expressionCompiler;
+            expressionCompiler = null; // Only try to compile once
+            this.compiledExpression = compiler.compile(expressionText);
+        }
+
         ELContext elContext = expressionManager.getElContext(variableContainer);
         Object originalVariableContainer = elContext.getContext(VariableContainer.class);
         elContext.putContext(VariableContainer.class, variableContainer);
@@ -103,4 +120,21 @@ public class JuelExpression implements Expression {
         return expressionText;
     }
 
+    public ExpressionCompiler getExpressionCompiler() {
+        return expressionCompiler;
+    }
+
+    /**
+     * Sets the compiler that is used to compile this expression once it has been evaluated often enough.
+     * The compiled expression is evaluated without going through the {@link #resolveGetValueExpression(ELContext)} (and e.g. a delegate interceptor),
+     * which is fine as it only reads variables and doesn't invoke any methods.
+     */
+    public void setExpressionCompiler(ExpressionCompiler expressionCompiler) {
+        this.expressionCompiler = expressionCompiler;
+    }
+
+    public CompiledExpression getCompiledExpression() {
+        return compiledExpression;
+    }
+
 }
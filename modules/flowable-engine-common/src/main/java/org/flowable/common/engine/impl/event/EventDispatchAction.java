@@ -13,10 +13,18 @@
 package org.flowable.common.engine.impl.event;
 
 import org.flowable.common.engine.api.delegate.event.FlowableEvent;
+import org.flowable.common.engine.api.delegate.event.FlowableEventType;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 
 public interface EventDispatchAction {
     
     void dispatchEvent(CommandContext commandContext, FlowableEventSupport eventSupport, FlowableEvent event); 
 
+    /**
+     * @return false if this action would never do anything with an event of the given type, which allows to skip creating the event.
+     */
+    default boolean hasListeners(FlowableEventType type) {
+        return true;
+    }
+
 }
@@ -59,6 +59,31 @@ public class FlowableEventDispatcherImpl implements FlowableEventDispatcher {
         eventSupport.removeEventListener(listenerToRemove);
     }
 
+    @Override
+    public boolean hasListeners(FlowableEventType type, String engineType) {
+        if (!enabled) {
+            return false;
+        }
+
+        if (eventSupport.hasListeners(type)) {
+            return true;
+        }
+
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            AbstractEngineConfiguration engineConfiguration = commandContext.getEngineConfigurations().get(engineType);
+            if (engineConfiguration != null && engineConfiguration.getAdditionalEventDispatchActions() != null) {
+                for (EventDispatchAction eventDispatchAction : engineConfiguration.getAdditionalEventDispatchActions()) {
+                    if (eventDispatchAction.hasListeners(type)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
     @Override
     public void dispatchEvent(FlowableEvent event, String engineType) {
         if (enabled) {
@@ -12,11 +12,11 @@
  */
 package org.flowable.common.engine.impl.event;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.api.delegate.event.FlowableEvent;
@@ -30,6 +30,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Class that allows adding and removing event listeners and dispatching events to the appropriate listeners.
+ * <p>
+ * The registered listeners are kept in immutable snapshots (an array of listeners for all events and an array of listeners per event type),
+ * which are replaced as a whole when a listener is added or removed. Dispatching an event therefore only reads the current snapshot, without any locking or copying.
  * 
  * @author Frederik Heremans
  */
@@ -37,13 +40,10 @@ public class FlowableEventSupport {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FlowableEventSupport.class);
 
-    protected List<FlowableEventListener> eventListeners;
-    protected Map<FlowableEventType, List<FlowableEventListener>> typedListeners;
+    protected static final FlowableEventListener[] NO_LISTENERS = new FlowableEventListener[0];
 
-    public FlowableEventSupport() {
-        eventListeners = new CopyOnWriteArrayList<>();
-        typedListeners = new HashMap<>();
-    }
+    protected volatile FlowableEventListener[] eventListeners = NO_LISTENERS;
+    protected volatile Map<FlowableEventType, FlowableEventListener[]> typedListeners = Collections.emptyMap();
 
     public synchronized void addEventListener(FlowableEventListener listenerToAdd) {
         if (listenerToAdd == null) {
@@ -51,9 +51,7 @@ public class FlowableEventSupport {
         }
         Collection<? extends FlowableEventType> types = listenerToAdd.getTypes();
         if (types.isEmpty()) {
-            if (!eventListeners.contains(listenerToAdd)) {
-                eventListeners.add(listenerToAdd);
-            }
+            eventListeners = addListener(eventListeners, listenerToAdd);
         } else {
             for (FlowableEventType type : types) {
                 addTypedEventListener(listenerToAdd, type);
@@ -76,12 +74,21 @@ public class FlowableEventSupport {
         }
     }
 
-    public void removeEventListener(FlowableEventListener listenerToRemove) {
-        eventListeners.remove(listenerToRemove);
+    public synchronized void removeEventListener(FlowableEventListener listenerToRemove) {
+        eventListeners = removeListener(eventListeners, listenerToRemove);
 
-        for (List<FlowableEventListener> listeners : typedListeners.values()) {
-            listeners.remove(listenerToRemove);
-        }
+        Map<FlowableEventType, FlowableEventListener[]> newTypedListeners = new HashMap<>(typedListeners);
+        newTypedListeners.replaceAll((type, listeners) -> removeListener(listeners, listenerToRemove));
+        newTypedListeners.values().removeIf(listeners -> listeners.length == 0);
+        typedListeners = newTypedListeners;
+    }
+
+    /**
+     * @return true if an event of the given type would be dispatched to at least one listener.
+     * This allows to skip creating the event when nobody is interested in it.
+     */
+    public boolean hasListeners(FlowableEventType type) {
+        return eventListeners.length > 0 || typedListeners.containsKey(type);
     }
 
     public void dispatchEvent(FlowableEvent event) {
@@ -94,15 +101,13 @@ public class FlowableEventSupport {
         }
 
         // Call global listeners
-        if (!eventListeners.isEmpty()) {
-            for (FlowableEventListener listener : eventListeners) {
-                dispatchEvent(event, listener);
-            }
+        for (FlowableEventListener listener : eventListeners) {
+            dispatchEvent(event, listener);
         }
 
         // Call typed listeners, if any
-        List<FlowableEventListener> typed = typedListeners.get(event.getType());
-        if (typed != null && !typed.isEmpty()) {
+        FlowableEventListener[] typed = typedListeners.get(event.getType());
+        if (typed != null) {
             for (FlowableEventListener listener : typed) {
                 dispatchEvent(event, listener);
             }
@@ -156,15 +161,36 @@ public class FlowableEventSupport {
     }
 
     protected synchronized void addTypedEventListener(FlowableEventListener listener, FlowableEventType type) {
-        List<FlowableEventListener> listeners = typedListeners.get(type);
-        if (listeners == null) {
-            // Add an empty list of listeners for this type
-            listeners = new CopyOnWriteArrayList<>();
-            typedListeners.put(type, listeners);
+        FlowableEventListener[] listeners = typedListeners.getOrDefault(type, NO_LISTENERS);
+        FlowableEventListener[] newListeners = addListener(listeners, listener);
+        if (newListeners != listeners) {
+            Map<FlowableEventType, FlowableEventListener[]> newTypedListeners = new HashMap<>(typedListeners);
+            newTypedListeners.put(type, newListeners);
+            typedListeners = newTypedListeners;
+        }
+    }
+
+    protected FlowableEventListener[] addListener(FlowableEventListener[] listeners, FlowableEventListener listenerToAdd) {
+        for (FlowableEventListener listener : listeners) {
+            if (listener.equals(listenerToAdd)) {
+                return listeners;
+            }
         }
 
-        if (!listeners.contains(listener)) {
-            listeners.add(listener);
+        FlowableEventListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listenerToAdd;
+        return newListeners;
+    }
+
+    protected FlowableEventListener[] removeListener(FlowableEventListener[] listeners, FlowableEventListener listenerToRemove) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i].equals(listenerToRemove)) {
+                FlowableEventListener[] newListeners = new FlowableEventListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                return newListeners;
+            }
         }
+        return listeners;
     }
 }
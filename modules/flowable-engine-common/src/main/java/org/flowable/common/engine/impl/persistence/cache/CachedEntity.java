@@ -42,6 +42,13 @@ public class CachedEntity {
         }
     }
 
+    /**
+     * Constructor for subclasses that determine the changes of the entity themselves, no persistent state is stored.
+     */
+    protected CachedEntity(Entity entity) {
+        this.entity = entity;
+    }
+
     public Entity getEntity() {
         return entity;
     }
@@ -0,0 +1,46 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.cache;
+
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
+
+/**
+ * A {@link CachedEntity} for a {@link DirtyTrackingEntity}: no persistent state snapshot is taken when the entity is cached.
+ * Only when the entity has been written to, the persistent state is compared with the original state captured at the first write.
+ */
+public class DirtyTrackingCachedEntity extends CachedEntity {
+
+    public DirtyTrackingCachedEntity(DirtyTrackingEntity entity) {
+        super(entity);
+        entity.startDirtyTracking();
+    }
+
+    @Override
+    public Object getOriginalPersistentState() {
+        return entity.getOriginalPersistentState();
+    }
+
+    @Override
+    public boolean hasChanged() {
+        if (!((DirtyTrackingEntity) entity).isDirty()) {
+            return false;
+        }
+
+        // A setter could have been called with the same value, hence the comparison
+        Object currentPersistentState = entity.getPersistentState();
+        Object originalPersistentState = entity.getOriginalPersistentState();
+        return currentPersistentState != null && !currentPersistentState.equals(originalPersistentState)
+                || currentPersistentState == null && originalPersistentState != null;
+    }
+
+}
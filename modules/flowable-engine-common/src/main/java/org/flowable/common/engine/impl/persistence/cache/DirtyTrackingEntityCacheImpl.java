@@ -0,0 +1,32 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.cache;
+
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
+import org.flowable.common.engine.impl.persistence.entity.Entity;
+
+/**
+ * {@link EntityCache} that uses dirty tracking instead of persistent state snapshots for entities implementing {@link DirtyTrackingEntity}.
+ * Other entities are cached as in {@link EntityCacheImpl}.
+ */
+public class DirtyTrackingEntityCacheImpl extends EntityCacheImpl {
+
+    @Override
+    protected CachedEntity createCachedEntity(Entity entity, boolean storeState) {
+        if (storeState && entity instanceof DirtyTrackingEntity) {
+            return new DirtyTrackingCachedEntity((DirtyTrackingEntity) entity);
+        }
+        return super.createCachedEntity(entity, storeState);
+    }
+
+}
@@ -0,0 +1,294 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DeploymentCache} that doesn't lock on reads and that is bounded by the weight of the cached objects
+ * (as determined by a {@link DeploymentCacheWeigher}) instead of by the number of cached objects.
+ * 
+ * Eviction follows the W-TinyLFU approach: the access frequency of every key is estimated with a {@link FrequencySketch}.
+ * The most recently added objects form a small admission window that is never evicted,
+ * as the deployers add the objects to the cache right before they are used.
+ * Objects leaving the window are appended to the main region. To evict, the oldest {@link #EVICTION_SAMPLE_SIZE} objects of the main region
+ * are sampled and the least frequently used one of them is evicted (least recently used when frequencies are equal).
+ * The sampled objects that are kept move to the end of the main region, so every eviction has a bounded cost, independent of the cache size.
+ * 
+ * Reads only touch a {@link ConcurrentHashMap} and the sketch. Writes (which only happen when a definition is deployed or
+ * resolved after a cache miss) are serialized, as they need to keep the total weight consistent.
+ * 
+ * Hit, miss, eviction and load statistics are kept and can be retrieved through the getters.
+ */
+public class ConcurrentDeploymentCache<T> implements DeploymentCache<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentDeploymentCache.class);
+
+    public static final int DEFAULT_WINDOW_SIZE = 8;
+    public static final int EVICTION_SAMPLE_SIZE = 8;
+    protected static final int INITIAL_SKETCH_SIZE = 64;
+
+    protected final Map<String, CacheNode<T>> cache = new ConcurrentHashMap<>();
+    protected final long maximumWeight;
+    protected final DeploymentCacheWeigher<T> weigher;
+    protected final FrequencySketch frequencySketch;
+
+    protected final ReentrantLock writeLock = new ReentrantLock();
+    protected final LinkedHashMap<String, CacheNode<T>> admissionWindow = new LinkedHashMap<>();
+    protected final LinkedHashMap<String, CacheNode<T>> mainRegion = new LinkedHashMap<>();
+    protected final int windowSize;
+    protected long totalWeight;
+
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder missCount = new LongAdder();
+    protected final LongAdder evictionCount = new LongAdder();
+    protected final LongAdder loadCount = new LongAdder();
+    protected final LongAdder totalLoadTimeNanos = new LongAdder();
+
+    /**
+     * Cache where every object has weight 1, i.e. bounded by the number of cached objects.
+     */
+    public ConcurrentDeploymentCache(long maximumSize) {
+        this(maximumSize, object -> 1L);
+    }
+
+    public ConcurrentDeploymentCache(long maximumWeight, DeploymentCacheWeigher<T> weigher) {
+        this(maximumWeight, weigher, DEFAULT_WINDOW_SIZE);
+    }
+
+    public ConcurrentDeploymentCache(long maximumWeight, DeploymentCacheWeigher<T> weigher, int windowSize) {
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.windowSize = Math.max(1, windowSize);
+        // The amount of entries is unknown when weighing, the sketch grows with the cache
+        this.frequencySketch = new FrequencySketch((int) Math.min(INITIAL_SKETCH_SIZE, maximumWeight));
+    }
+
+    @Override
+    public T get(String id) {
+        CacheNode<T> node = cache.get(id);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+        frequencySketch.increment(id);
+        node.lastAccessTime = System.nanoTime();
+        return node.value;
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return cache.containsKey(id);
+    }
+
+    @Override
+    public void add(String id, T object) {
+        long weight = Math.max(1L, weigher.weigh(object));
+        CacheNode<T> node = new CacheNode<>(object, weight);
+
+        writeLock.lock();
+        try {
+            CacheNode<T> previousNode = cache.put(id, node);
+            if (previousNode != null) {
+                totalWeight -= previousNode.weight;
+                admissionWindow.remove(id);
+                mainRegion.remove(id);
+            }
+            totalWeight += weight;
+            frequencySketch.ensureCapacity(cache.size());
+            frequencySketch.increment(id);
+
+            admissionWindow.put(id, node);
+            if (admissionWindow.size() > windowSize) {
+                Iterator<Map.Entry<String, CacheNode<T>>> windowIterator = admissionWindow.entrySet().iterator();
+                Map.Entry<String, CacheNode<T>> eldestEntry = windowIterator.next();
+                windowIterator.remove();
+                mainRegion.put(eldestEntry.getKey(), eldestEntry.getValue());
+            }
+
+            evictIfNeeded();
+
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    protected void evictIfNeeded() {
+        while (totalWeight > maximumWeight) {
+            if (mainRegion.isEmpty()) {
+                // Only objects in the admission window are cached: the cache temporarily stays above its maximum weight
+                return;
+            }
+
+            String victimId = null;
+            CacheNode<T> victim = null;
+            int victimFrequency = Integer.MAX_VALUE;
+
+            List<Map.Entry<String, CacheNode<T>>> sampledEntries = new ArrayList<>(EVICTION_SAMPLE_SIZE);
+            Iterator<Map.Entry<String, CacheNode<T>>> mainRegionIterator = mainRegion.entrySet().iterator();
+            while (sampledEntries.size() < EVICTION_SAMPLE_SIZE && mainRegionIterator.hasNext()) {
+                Map.Entry<String, CacheNode<T>> entry = mainRegionIterator.next();
+                mainRegionIterator.remove();
+                sampledEntries.add(entry);
+
+                CacheNode<T> candidate = entry.getValue();
+                int candidateFrequency = frequencySketch.frequency(entry.getKey());
+                if (victim == null || candidateFrequency < victimFrequency
+                        || (candidateFrequency == victimFrequency && candidate.lastAccessTime < victim.lastAccessTime)) {
+                    victimId = entry.getKey();
+                    victim = candidate;
+                    victimFrequency = candidateFrequency;
+                }
+            }
+
+            // The sampled objects that are kept get a second chance at the end of the main region
+            for (Map.Entry<String, CacheNode<T>> sampledEntry : sampledEntries) {
+                if (sampledEntry.getValue() != victim) {
+                    mainRegion.put(sampledEntry.getKey(), sampledEntry.getValue());
+                }
+            }
+
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("Cache maximum weight is reached, {} will be evicted", victimId);
+            }
+
+            cache.remove(victimId);
+            totalWeight -= victim.weight;
+            evictionCount.increment();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        writeLock.lock();
+        try {
+            CacheNode<T> node = cache.remove(id);
+            if (node != null) {
+                totalWeight -= node.weight;
+                admissionWindow.remove(id);
+                mainRegion.remove(id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        writeLock.lock();
+        try {
+            cache.clear();
+            admissionWindow.clear();
+            mainRegion.clear();
+            totalWeight = 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Collection<T> getAll() {
+        List<T> values = new ArrayList<>(cache.size());
+        for (CacheNode<T> node : cache.values()) {
+            values.add(node.value);
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public void recordLoad(String id, long loadTimeNanos) {
+        loadCount.increment();
+        totalLoadTimeNanos.add(loadTimeNanos);
+    }
+
+    // statistics
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long requests = hits + missCount.sum();
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    public long getTotalLoadTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalLoadTimeNanos.sum());
+    }
+
+    public long getWeight() {
+        writeLock.lock();
+        try {
+            return totalWeight;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentDeploymentCache[size=" + size() + ", weight=" + getWeight() + "/" + maximumWeight
+                + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount()
+                + ", loads=" + getLoadCount() + ", loadTime=" + getTotalLoadTimeMillis() + "ms]";
+    }
+
+    protected static class CacheNode<T> {
+
+        protected final T value;
+        protected final long weight;
+        protected volatile long lastAccessTime;
+
+        public CacheNode(T value, long weight) {
+            this.value = value;
+            this.weight = weight;
+            this.lastAccessTime = System.nanoTime();
+        }
+    }
+
+}
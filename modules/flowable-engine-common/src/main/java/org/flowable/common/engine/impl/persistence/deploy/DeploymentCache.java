@@ -34,4 +34,12 @@ public interface DeploymentCache<T> {
     Collection<T> getAll();
 
     int size();
+
+    /**
+     * Called after an object was loaded (i.e. parsed) and added to the cache because of a cache miss.
+     * Caches that keep statistics can use this to track the load time.
+     */
+    default void recordLoad(String id, long loadTimeNanos) {
+
+    }
 }
@@ -0,0 +1,338 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads definitions into the deployment cache when an engine is built, instead of lazily when they are used for the first time.
+ * <p>
+ * The latest versionsPerKey versions of every definition key (per tenant, optionally only for the given tenants) are selected,
+ * the latest version of every key first. When the cache has a limit, no more definitions than the limit are loaded,
+ * so that the warm up doesn't evict the definitions it just loaded. When the cache is bounded by something else than the amount
+ * of definitions (e.g. the weight of a {@link ConcurrentDeploymentCache}), an eviction count supplier can be set:
+ * the warm up stops as soon as the cache reports an eviction.
+ * The definitions of one deployment are loaded together in one command (a deployment is always parsed as a whole),
+ * the deployments are loaded in parallel, in order of selection, on a {@link ForkJoinPool}
+ * whose workers use the context class loader of the thread that started the warm up.
+ * <p>
+ * The warm up runs in the background: {@link #awaitCompletion(long, TimeUnit)} or {@link #getCompletionFuture()}
+ * can be used to wait for it, e.g. in a readiness probe.
+ */
+public class DeploymentCacheWarmUp {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeploymentCacheWarmUp.class);
+
+    protected final String definitionType;
+    protected final CommandExecutor commandExecutor;
+    protected final int parallelism;
+    protected final int versionsPerKey;
+    protected final Collection<String> tenantIds;
+    protected final int cacheLimit;
+    protected LongSupplier evictionCountSupplier;
+    protected volatile long initialEvictionCount;
+
+    protected final CompletableFuture<Void> completionFuture = new CompletableFuture<>();
+    protected final AtomicInteger loadedDefinitionCount = new AtomicInteger();
+    protected final AtomicInteger failedDefinitionCount = new AtomicInteger();
+    protected volatile int totalDefinitionCount = -1;
+    protected volatile long startTime;
+    protected volatile long endTime;
+
+    protected ForkJoinPool forkJoinPool;
+
+    /**
+     * @param definitionType the type of definition that is loaded (e.g. 'process definition'), only used for logging
+     * @param tenantIds the tenants of which definitions are loaded, or null to load the definitions of all tenants
+     * @param cacheLimit the limit of the deployment cache, a value smaller than or equal to 0 means there's no limit
+     */
+    public DeploymentCacheWarmUp(String definitionType, CommandExecutor commandExecutor, int parallelism,
+            int versionsPerKey, Collection<String> tenantIds, int cacheLimit) {
+        this.definitionType = definitionType;
+        this.commandExecutor = commandExecutor;
+        this.parallelism = Math.max(1, parallelism);
+        this.versionsPerKey = Math.max(1, versionsPerKey);
+        this.tenantIds = tenantIds;
+        this.cacheLimit = cacheLimit;
+    }
+
+    /**
+     * Starts the warm up in the background.
+     *
+     * @param definitionsSupplier returns all definitions, the selection of the versions and tenants to load is done by the warm up
+     * @param definitionLoader loads the definition with the given id into the deployment cache. It's called within a command.
+     */
+    public synchronized CompletableFuture<Void> start(Supplier<List<WarmUpDefinition>> definitionsSupplier, Consumer<String> definitionLoader) {
+        if (forkJoinPool != null) {
+            return completionFuture;
+        }
+
+        startTime = System.currentTimeMillis();
+        if (evictionCountSupplier != null) {
+            initialEvictionCount = evictionCountSupplier.getAsLong();
+        }
+
+        // The workers of a new pool get the system class loader as context class loader,
+        // which can't see the classes of the application (e.g. delegates referenced by the definitions) in a container.
+        // The pool is in async mode, so that the deployments are loaded in the order they were selected (latest versions first).
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        forkJoinPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setContextClassLoader(contextClassLoader);
+            return worker;
+        }, null, true);
+        LOGGER.info("Starting {} deployment cache warm up with parallelism {}", definitionType, parallelism);
+
+        CompletableFuture.supplyAsync(() -> selectDefinitions(definitionsSupplier.get()), forkJoinPool)
+                .thenCompose(definitionIdsByDeploymentId -> {
+                    List<CompletableFuture<Void>> deploymentFutures = new ArrayList<>(definitionIdsByDeploymentId.size());
+                    for (List<String> definitionIds : definitionIdsByDeploymentId.values()) {
+                        deploymentFutures.add(CompletableFuture.runAsync(() -> loadDefinitions(definitionIds, definitionLoader), forkJoinPool));
+                    }
+                    return CompletableFuture.allOf(deploymentFutures.toArray(new CompletableFuture[0]));
+                })
+                .whenComplete((result, exception) -> {
+                    endTime = System.currentTimeMillis();
+                    forkJoinPool.shutdown();
+
+                    if (exception != null) {
+                        LOGGER.warn("{} deployment cache warm up failed after {} ms", definitionType, getDurationInMillis(), exception);
+                        completionFuture.completeExceptionally(exception);
+
+                    } else {
+                        LOGGER.info("{} deployment cache warm up completed in {} ms: {} definitions loaded, {} failed",
+                                definitionType, getDurationInMillis(), loadedDefinitionCount.get(), failedDefinitionCount.get());
+                        completionFuture.complete(null);
+                    }
+                });
+
+        return completionFuture;
+    }
+
+    /**
+     * @return the ids of the definitions to load, grouped by deployment id
+     */
+    protected Map<String, List<String>> selectDefinitions(List<WarmUpDefinition> definitions) {
+        Map<String, List<WarmUpDefinition>> definitionsByKeyAndTenant = new LinkedHashMap<>();
+        for (WarmUpDefinition definition : definitions) {
+            if (tenantIds == null || tenantIds.contains(definition.getTenantId())) {
+                definitionsByKeyAndTenant.computeIfAbsent(definition.getKey() + '|' + definition.getTenantId(), key -> new ArrayList<>()).add(definition);
+            }
+        }
+
+        // Ordered by version rank: first the latest version of all keys, then the version before that, etc.
+        List<List<WarmUpDefinition>> definitionsByRank = new ArrayList<>();
+        for (List<WarmUpDefinition> versions : definitionsByKeyAndTenant.values()) {
+            versions.sort(Comparator.comparingInt(WarmUpDefinition::getVersion).reversed());
+            for (int rank = 0; rank < Math.min(versionsPerKey, versions.size()); rank++) {
+                if (definitionsByRank.size() == rank) {
+                    definitionsByRank.add(new ArrayList<>());
+                }
+                definitionsByRank.get(rank).add(versions.get(rank));
+            }
+        }
+
+        int maxDefinitionCount = cacheLimit > 0 ? cacheLimit : Integer.MAX_VALUE;
+        Map<String, List<String>> definitionIdsByDeploymentId = new LinkedHashMap<>();
+        int definitionCount = 0;
+        for (List<WarmUpDefinition> rankDefinitions : definitionsByRank) {
+            for (WarmUpDefinition definition : rankDefinitions) {
+                if (definitionCount == maxDefinitionCount) {
+                    LOGGER.info("Only loading {} {}s in the deployment cache, as that is the cache limit", maxDefinitionCount, definitionType);
+                    totalDefinitionCount = definitionCount;
+                    return definitionIdsByDeploymentId;
+                }
+                definitionIdsByDeploymentId.computeIfAbsent(definition.getDeploymentId(), deploymentId -> new ArrayList<>()).add(definition.getId());
+                definitionCount++;
+            }
+        }
+
+        totalDefinitionCount = definitionCount;
+        LOGGER.debug("Loading {} {}s of {} deployments in the deployment cache", definitionCount, definitionType, definitionIdsByDeploymentId.size());
+        return definitionIdsByDeploymentId;
+    }
+
+    protected void loadDefinitions(List<String> definitionIds, Consumer<String> definitionLoader) {
+        if (forkJoinPool.isShutdown()) {
+            return;
+        }
+
+        if (isCacheFull()) {
+            LOGGER.info("Stopping {} deployment cache warm up after {} definitions, as the deployment cache is full", definitionType, loadedDefinitionCount.get());
+            forkJoinPool.shutdown();
+            return;
+        }
+
+        try {
+            commandExecutor.execute(commandContext -> {
+                for (String definitionId : definitionIds) {
+                    definitionLoader.accept(definitionId);
+                }
+                return null;
+            });
+            reportProgress(loadedDefinitionCount.addAndGet(definitionIds.size()), definitionIds.size());
+
+        } catch (RuntimeException e) {
+            failedDefinitionCount.addAndGet(definitionIds.size());
+            LOGGER.warn("Could not load {}s {} in the deployment cache", definitionType, definitionIds, e);
+        }
+    }
+
+    /**
+     * @return true when the deployment cache has evicted an entry since the warm up started,
+     * loading more definitions would only replace the ones that were just loaded
+     */
+    protected boolean isCacheFull() {
+        return evictionCountSupplier != null && evictionCountSupplier.getAsLong() > initialEvictionCount;
+    }
+
+    protected void reportProgress(int loadedCount, int justLoadedCount) {
+        int total = totalDefinitionCount;
+        if (total > 0 && (loadedCount - justLoadedCount) * 10 / total < loadedCount * 10 / total) {
+            LOGGER.info("{} deployment cache warm up: {}/{} definitions loaded in {} ms", definitionType, loadedCount, total, getDurationInMillis());
+        }
+    }
+
+    /**
+     * Stops loading definitions. Deployments that are being loaded are finished.
+     */
+    public synchronized void shutdown() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    /**
+     * @return true when the warm up has finished (also when it failed), false if it didn't finish within the given timeout
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            completionFuture.get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            // The failure has been logged, the engine can be used without a warmed up cache
+            return true;
+        }
+    }
+
+    public boolean isCompleted() {
+        return completionFuture.isDone();
+    }
+
+    public CompletableFuture<Void> getCompletionFuture() {
+        return completionFuture;
+    }
+
+    /**
+     * @return the amount of definitions that will be loaded, or -1 when they haven't been selected yet
+     */
+    public int getTotalDefinitionCount() {
+        return totalDefinitionCount;
+    }
+
+    public int getLoadedDefinitionCount() {
+        return loadedDefinitionCount.get();
+    }
+
+    public int getFailedDefinitionCount() {
+        return failedDefinitionCount.get();
+    }
+
+    /**
+     * @return the time the warm up took, or has taken up to now when it's not completed yet
+     */
+    public long getDurationInMillis() {
+        if (startTime == 0L) {
+            return 0L;
+        }
+        return (endTime != 0L ? endTime : System.currentTimeMillis()) - startTime;
+    }
+
+    public String getDefinitionType() {
+        return definitionType;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public LongSupplier getEvictionCountSupplier() {
+        return evictionCountSupplier;
+    }
+
+    /**
+     * @param evictionCountSupplier returns the amount of entries the deployment cache has evicted, must be set before the warm up is started
+     */
+    public DeploymentCacheWarmUp setEvictionCountSupplier(LongSupplier evictionCountSupplier) {
+        this.evictionCountSupplier = evictionCountSupplier;
+        return this;
+    }
+
+    public static class WarmUpDefinition {
+
+        protected final String id;
+        protected final String deploymentId;
+        protected final String key;
+        protected final String tenantId;
+        protected final int version;
+
+        public WarmUpDefinition(String id, String deploymentId, String key, String tenantId, int version) {
+            this.id = id;
+            this.deploymentId = deploymentId;
+            this.key = key;
+            this.tenantId = tenantId;
+            this.version = version;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getDeploymentId() {
+            return deploymentId;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getTenantId() {
+            return tenantId;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+    }
+}
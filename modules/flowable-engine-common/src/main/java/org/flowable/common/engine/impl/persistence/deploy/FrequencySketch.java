@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A count-min sketch estimating the access frequency of cache keys, as used by the TinyLFU eviction policy.
+ * 
+ * The counters are periodically halved, so the frequency reflects recent usage.
+ * Increments are not synchronized: lost updates only make the estimate slightly less accurate,
+ * which is acceptable for eviction decisions and avoids any locking on the read path of the cache.
+ * 
+ * The sketch starts small and grows with the amount of cached entries (see {@link #ensureCapacity(int)}),
+ * up to {@link #MAXIMUM_WIDTH} counters per row, so its memory use doesn't depend on the configured maximum weight of the cache.
+ */
+public class FrequencySketch {
+
+    protected static final int DEPTH = 4;
+    protected static final int MAX_FREQUENCY = 15;
+    protected static final int[] SEEDS = { 0x97cb3127, 0xc2b2ae35, 0x85ebca6b, 0x27d4eb2f };
+
+    protected static final int MINIMUM_WIDTH = 64;
+    public static final int MAXIMUM_WIDTH = 1 << 16;
+
+    // The width of a row is table.length / DEPTH. A new table is only assigned when the sketch grows.
+    protected volatile int[] table;
+    protected final AtomicInteger additions = new AtomicInteger();
+
+    public FrequencySketch(int expectedSize) {
+        this.table = new int[widthFor(expectedSize) * DEPTH];
+    }
+
+    /**
+     * Grows the sketch when it is too small for the given amount of entries. The counters are reset when the sketch grows.
+     * Should not be called concurrently (the cache calls it while holding its write lock).
+     */
+    public void ensureCapacity(int expectedSize) {
+        int width = widthFor(expectedSize);
+        if (width > table.length / DEPTH) {
+            table = new int[width * DEPTH];
+            additions.set(0);
+        }
+    }
+
+    public void increment(Object key) {
+        int[] currentTable = table;
+        int width = currentTable.length / DEPTH;
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(hash, i, width);
+            int count = currentTable[index];
+            if (count < MAX_FREQUENCY) {
+                currentTable[index] = count + 1;
+                added = true;
+            }
+        }
+
+        if (added && additions.incrementAndGet() >= 10 * width) {
+            reset(currentTable);
+        }
+    }
+
+    public int frequency(Object key) {
+        int[] currentTable = table;
+        int width = currentTable.length / DEPTH;
+        int hash = spread(key.hashCode());
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < DEPTH; i++) {
+            frequency = Math.min(frequency, currentTable[indexOf(hash, i, width)]);
+        }
+        return frequency;
+    }
+
+    public int getWidth() {
+        return table.length / DEPTH;
+    }
+
+    /**
+     * Halves all counters, so older accesses count less than recent ones.
+     */
+    protected void reset(int[] currentTable) {
+        additions.set(0);
+        for (int i = 0; i < currentTable.length; i++) {
+            currentTable[i] = currentTable[i] >>> 1;
+        }
+    }
+
+    protected int widthFor(int expectedSize) {
+        int size = Math.max(MINIMUM_WIDTH, Math.min(expectedSize, MAXIMUM_WIDTH));
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    protected int indexOf(int hash, int row, int width) {
+        int h = (hash ^ SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 16;
+        return row * width + (h & (width - 1));
+    }
+
+    protected int spread(int hash) {
+        int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+}
@@ -30,6 +30,9 @@ public abstract class AbstractEntity implements Entity, HasRevision {
     
     protected Object originalPersistentState;
 
+    protected boolean isDirtyTracking;
+    protected boolean isDirty;
+
     @Override
     public String getId() {
         return id;
@@ -87,6 +90,10 @@ public abstract class AbstractEntity implements Entity, HasRevision {
 
     @Override
     public Object getOriginalPersistentState() {
+        if (isDirtyTracking && !isDirty) {
+            // Nothing was written since tracking started, so the current state is the original state
+            return getPersistentState();
+        }
         return originalPersistentState;
     }
 
@@ -94,4 +101,27 @@ public abstract class AbstractEntity implements Entity, HasRevision {
     public void setOriginalPersistentState(Object persistentState) {
         this.originalPersistentState = persistentState;
     }
+
+    // dirty tracking (see DirtyTrackingEntity) //////////////////////////////
+
+    public void startDirtyTracking() {
+        this.isDirtyTracking = true;
+        this.isDirty = false;
+        this.originalPersistentState = null;
+    }
+
+    public boolean isDirty() {
+        return isDirty;
+    }
+
+    /**
+     * Needs to be called by subclasses <b>before</b> a field that is part of the persistent state is written.
+     * The first write after tracking has started captures the original persistent state.
+     */
+    protected void markDirty() {
+        if (isDirtyTracking && !isDirty) {
+            this.originalPersistentState = getPersistentState();
+            this.isDirty = true;
+        }
+    }
 }
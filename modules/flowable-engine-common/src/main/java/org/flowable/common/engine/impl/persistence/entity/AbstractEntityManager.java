@@ -63,8 +63,12 @@ public abstract class AbstractEntityManager<EntityImpl extends Entity, DM extend
     protected void fireEntityInsertedEvent(Entity entity) {
         FlowableEventDispatcher eventDispatcher = getEventDispatcher();
         if (eventDispatcher != null && eventDispatcher.isEnabled()) {
-            eventDispatcher.dispatchEvent(createEntityEvent(FlowableEngineEventType.ENTITY_CREATED, entity), engineType);
-            eventDispatcher.dispatchEvent(createEntityEvent(FlowableEngineEventType.ENTITY_INITIALIZED, entity), engineType);
+            if (eventDispatcher.hasListeners(FlowableEngineEventType.ENTITY_CREATED, engineType)) {
+                eventDispatcher.dispatchEvent(createEntityEvent(FlowableEngineEventType.ENTITY_CREATED, entity), engineType);
+            }
+            if (eventDispatcher.hasListeners(FlowableEngineEventType.ENTITY_INITIALIZED, engineType)) {
+                eventDispatcher.dispatchEvent(createEntityEvent(FlowableEngineEventType.ENTITY_INITIALIZED, entity), engineType);
+            }
         }
     }
 
@@ -84,8 +88,8 @@ public abstract class AbstractEntityManager<EntityImpl extends Entity, DM extend
 
     protected void fireEntityUpdatedEvent(Entity entity) {
         FlowableEventDispatcher eventDispatcher = getEventDispatcher();
-        if (eventDispatcher != null && eventDispatcher.isEnabled()) {
-            getEventDispatcher().dispatchEvent(createEntityEvent(FlowableEngineEventType.ENTITY_UPDATED, entity), engineType);
+        if (eventDispatcher != null && eventDispatcher.hasListeners(FlowableEngineEventType.ENTITY_UPDATED, engineType)) {
+            eventDispatcher.dispatchEvent(createEntityEvent(FlowableEngineEventType.ENTITY_UPDATED, entity), engineType);
         }
     }
 
@@ -112,7 +116,7 @@ public abstract class AbstractEntityManager<EntityImpl extends Entity, DM extend
 
     protected void fireEntityDeletedEvent(Entity entity) {
         FlowableEventDispatcher eventDispatcher = getEventDispatcher();
-        if (eventDispatcher != null && eventDispatcher.isEnabled()) {
+        if (eventDispatcher != null && eventDispatcher.hasListeners(FlowableEngineEventType.ENTITY_DELETED, engineType)) {
             eventDispatcher.dispatchEvent(createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, entity), engineType);
         }
     }
@@ -0,0 +1,138 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.entity;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * An {@link InputStream} over the bytes of a {@link ByteArrayEntity} that fetches the bytes from the database in chunks of a fixed size,
+ * so that only one chunk is held in memory at any time instead of the complete byte array.
+ * <p>
+ * Every chunk is fetched with a separate command: when the stream is read within a command (e.g. in a delegate),
+ * the chunks are fetched in the transaction of that command, otherwise every chunk is fetched in its own transaction.
+ * This means that an update of the byte array while the stream is being read can lead to a mix of the old and the new bytes.
+ */
+public class ByteArrayChunkInputStream extends InputStream {
+
+    protected final String byteArrayEntityId;
+    protected final ByteArrayEntityManager byteArrayEntityManager;
+    protected final CommandExecutor commandExecutor;
+    protected final int chunkSize;
+
+    protected byte[] chunk;
+    protected int chunkPosition;
+    protected long offset;
+    protected boolean endReached;
+    protected boolean closed;
+
+    public ByteArrayChunkInputStream(String byteArrayEntityId, ByteArrayEntityManager byteArrayEntityManager, CommandExecutor commandExecutor, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive, but was " + chunkSize);
+        }
+        this.byteArrayEntityId = byteArrayEntityId;
+        this.byteArrayEntityManager = byteArrayEntityManager;
+        this.commandExecutor = commandExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureChunkAvailable()) {
+            return -1;
+        }
+        return chunk[chunkPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureChunkAvailable()) {
+            return -1;
+        }
+
+        int bytesToCopy = Math.min(len, chunk.length - chunkPosition);
+        System.arraycopy(chunk, chunkPosition, b, off, bytesToCopy);
+        chunkPosition += bytesToCopy;
+        return bytesToCopy;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0 || !ensureChunkAvailable()) {
+            return 0;
+        }
+
+        long remainingInChunk = chunk.length - chunkPosition;
+        if (n <= remainingInChunk) {
+            chunkPosition += (int) n;
+            return n;
+        }
+
+        // Skipped bytes don't need to be fetched: the next chunk simply starts further on.
+        // Skipping past the end is only noticed when the next chunk is fetched, which the InputStream contract allows.
+        offset += n - remainingInChunk;
+        chunk = null;
+        chunkPosition = 0;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return chunk != null ? chunk.length - chunkPosition : 0;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        chunk = null;
+    }
+
+    protected boolean ensureChunkAvailable() throws IOException {
+        ensureOpen();
+        if (chunk != null && chunkPosition < chunk.length) {
+            return true;
+        }
+        if (endReached) {
+            return false;
+        }
+
+        long chunkOffset = offset;
+        byte[] nextChunk = commandExecutor.execute(commandContext -> byteArrayEntityManager.findByteArrayChunk(byteArrayEntityId, chunkOffset, chunkSize));
+        if (nextChunk == null || nextChunk.length == 0) {
+            endReached = true;
+            chunk = null;
+            return false;
+        }
+
+        chunk = nextChunk;
+        chunkPosition = 0;
+        offset += nextChunk.length;
+        return true;
+    }
+
+    protected void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+}
@@ -36,4 +36,11 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
      */
     void bulkDeleteByteArraysById(List<String> byteArrayEntityIds);
 
+    /**
+     * Returns at most length bytes of the {@link ByteArrayEntity} with the given id, starting at the given (0-based) offset,
+     * without loading the other bytes in memory. An empty array or null is returned when the offset is past the end of the bytes.
+     * Fewer bytes than asked for can be returned, even when the end is not reached yet.
+     */
+    byte[] findByteArrayChunk(String byteArrayEntityId, long offset, int length);
+
 }
\ No newline at end of file
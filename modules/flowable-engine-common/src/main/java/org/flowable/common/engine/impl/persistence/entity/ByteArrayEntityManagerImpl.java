@@ -48,6 +48,11 @@ public class ByteArrayEntityManagerImpl
         dataManager.bulkDeleteByteArraysNoRevisionCheck(byteArrayEntityIds);
     }
 
+    @Override
+    public byte[] findByteArrayChunk(String byteArrayEntityId, long offset, int length) {
+        return dataManager.findByteArrayChunk(byteArrayEntityId, offset, length);
+    }
+
     @Override
     protected FlowableEventDispatcher getEventDispatcher() {
         return eventDispatcherSupplier.get();
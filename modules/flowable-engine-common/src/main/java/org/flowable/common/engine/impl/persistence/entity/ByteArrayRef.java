@@ -12,6 +12,8 @@
  */
 package org.flowable.common.engine.impl.persistence.entity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 
@@ -20,6 +22,7 @@ import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 
 /**
  * <p>
@@ -75,6 +78,35 @@ public class ByteArrayRef implements Serializable {
         return new String(bytes, StandardCharsets.UTF_8);
     }
 
+    /**
+     * Returns the bytes as a stream, without loading them all in memory when they haven't been loaded yet:
+     * the bytes are then fetched in chunks (see {@link ByteArrayChunkInputStream}) while the stream is read.
+     *
+     * @return the bytes as stream or null when there are no bytes
+     */
+    public InputStream getInputStream(String engineType) {
+        if (id == null) {
+            return null;
+        }
+
+        CommandContext commandContext = Context.getCommandContext();
+        if (entity == null && commandContext != null) {
+            // Bytes that were changed in the current transaction are only in the cache, not yet in the database
+            EntityCache entityCache = commandContext.getSession(EntityCache.class);
+            entity = entityCache.findInCache(ByteArrayEntityImpl.class, id);
+        }
+
+        if (entity != null) {
+            byte[] bytes = entity.getBytes();
+            return bytes != null ? new ByteArrayInputStream(bytes) : null;
+        }
+
+        AbstractEngineConfiguration engineConfiguration = getEngineConfiguration(engineType);
+        CommandExecutor streamCommandExecutor = commandContext != null ? commandContext.getCommandExecutor() : commandExecutor;
+        return new ByteArrayChunkInputStream(id, engineConfiguration.getByteArrayEntityManager(), streamCommandExecutor,
+                engineConfiguration.getByteArrayStreamChunkSize());
+    }
+
     public void setValue(String name, byte[] bytes, String engineType) {
         this.name = name;
         setBytes(bytes, engineType);
@@ -0,0 +1,36 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.entity;
+
+/**
+ * An {@link Entity} that records writes to its persistent fields itself.
+ * 
+ * When dirty tracking is enabled in the engine configuration, such entities don't get a persistent state snapshot when they are loaded.
+ * Instead, the flush only needs to check {@link #isDirty()}, which avoids creating and comparing the persistent state
+ * for every loaded entity that isn't changed.
+ * 
+ * Implementations must mark themselves dirty before any field that is part of the {@link #getPersistentState()} is written.
+ */
+public interface DirtyTrackingEntity extends Entity {
+
+    /**
+     * Starts tracking the writes to the persistent fields. Called when the entity is loaded and put in the entity cache.
+     */
+    void startDirtyTracking();
+
+    /**
+     * @return true if a persistent field was written since {@link #startDirtyTracking()} was called.
+     */
+    boolean isDirty();
+
+}
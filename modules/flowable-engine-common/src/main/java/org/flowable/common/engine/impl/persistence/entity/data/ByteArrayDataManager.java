@@ -27,4 +27,6 @@ public interface ByteArrayDataManager extends DataManager<ByteArrayEntity> {
 
     void bulkDeleteByteArraysNoRevisionCheck(List<String> byteArrayEntityIds);
 
+    byte[] findByteArrayChunk(String byteArrayEntityId, long offset, int length);
+
 }
@@ -12,7 +12,9 @@
  */
 package org.flowable.common.engine.impl.persistence.entity.data.impl;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
@@ -25,6 +27,8 @@ import org.flowable.common.engine.impl.persistence.entity.data.ByteArrayDataMana
  */
 public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEntity> implements ByteArrayDataManager {
 
+    protected static final int ORACLE_MAX_CHUNK_LENGTH = 2000;
+
     protected IdGenerator idGenerator;
     
     public MybatisByteArrayDataManager(IdGenerator idGenerator) {
@@ -57,6 +61,20 @@ public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEn
         getDbSqlSession().delete("deleteByteArraysNoRevisionCheck", createSafeInValuesList(byteArrayEntityIds), ByteArrayEntityImpl.class);
     }
 
+    @Override
+    public byte[] findByteArrayChunk(String byteArrayEntityId, long offset, int length) {
+        if (getDbSqlSession().getDbSqlSessionFactory().isOracle()) {
+            // DBMS_LOB.SUBSTR returns a RAW when used in SQL, which is limited to 2000 bytes
+            length = Math.min(length, ORACLE_MAX_CHUNK_LENGTH);
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", byteArrayEntityId);
+        params.put("offset", offset + 1);
+        params.put("length", length);
+        return (byte[]) getDbSqlSession().selectOne("selectByteArrayChunk", params);
+    }
+
     @Override
     protected IdGenerator getIdGenerator() {
         return idGenerator;
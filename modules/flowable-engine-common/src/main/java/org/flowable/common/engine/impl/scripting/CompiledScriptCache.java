@@ -0,0 +1,177 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.scripting;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of {@link CompiledScript compiled scripts}, keyed by script language and script text,
+ * so that a script that is executed over and over again only needs to be compiled once.
+ * <p>
+ * Lookups don't lock. When the maximum size is exceeded, the least recently used script is evicted.
+ */
+public class CompiledScriptCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledScriptCache.class);
+
+    protected final Map<CacheKey, CacheEntry> cache = new ConcurrentHashMap<>();
+    protected final AtomicLong accessCounter = new AtomicLong();
+    protected final int maxSize;
+
+    protected final LongAdder hitCount = new LongAdder();
+    protected final LongAdder compilationCount = new LongAdder();
+    protected final LongAdder compilationTimeNanos = new LongAdder();
+    protected final LongAdder evictionCount = new LongAdder();
+
+    public CompiledScriptCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the cached compiled script, or the script compiled with the given engine when it isn't cached yet.
+     */
+    public CompiledScript getCompiledScript(String language, String script, Compilable compilable) throws ScriptException {
+        CacheKey cacheKey = new CacheKey(language, script);
+        CacheEntry cacheEntry = cache.get(cacheKey);
+        if (cacheEntry != null) {
+            cacheEntry.lastAccess = accessCounter.incrementAndGet();
+            hitCount.increment();
+            return cacheEntry.compiledScript;
+        }
+
+        // Compiling outside of the map, when two threads compile the same script concurrently one of the results is simply discarded
+        long startNanos = System.nanoTime();
+        CompiledScript compiledScript = compilable.compile(script);
+        compilationTimeNanos.add(System.nanoTime() - startNanos);
+        compilationCount.increment();
+
+        CacheEntry newCacheEntry = new CacheEntry(compiledScript, accessCounter.incrementAndGet());
+        CacheEntry existingCacheEntry = cache.putIfAbsent(cacheKey, newCacheEntry);
+        if (existingCacheEntry != null) {
+            return existingCacheEntry.compiledScript;
+        }
+
+        if (cache.size() > maxSize) {
+            evictLeastRecentlyUsed();
+        }
+        return compiledScript;
+    }
+
+    protected void evictLeastRecentlyUsed() {
+        while (cache.size() > maxSize) {
+            Map.Entry<CacheKey, CacheEntry> leastRecentlyUsed = null;
+            for (Map.Entry<CacheKey, CacheEntry> entry : cache.entrySet()) {
+                if (leastRecentlyUsed == null || entry.getValue().lastAccess < leastRecentlyUsed.getValue().lastAccess) {
+                    leastRecentlyUsed = entry;
+                }
+            }
+
+            if (leastRecentlyUsed == null) {
+                return;
+            }
+            if (cache.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue())) {
+                evictionCount.increment();
+                LOGGER.debug("Evicted compiled {} script from the cache", leastRecentlyUsed.getKey().language);
+            }
+        }
+    }
+
+    public boolean contains(String language, String script) {
+        return cache.containsKey(new CacheKey(language, script));
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getCompilationCount() {
+        return compilationCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getTotalCompilationTimeInMillis() {
+        return compilationTimeNanos.sum() / 1_000_000L;
+    }
+
+    public double getAverageCompilationTimeInMillis() {
+        long compilations = compilationCount.sum();
+        return compilations > 0 ? compilationTimeNanos.sum() / 1_000_000.0 / compilations : 0.0;
+    }
+
+    protected static class CacheKey {
+
+        protected final String language;
+        protected final String script;
+        protected final int hashCode;
+
+        protected CacheKey(String language, String script) {
+            this.language = language;
+            this.script = script;
+            this.hashCode = 31 * Objects.hashCode(language) + script.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return hashCode == other.hashCode && Objects.equals(language, other.language) && script.equals(other.script);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    protected static class CacheEntry {
+
+        protected final CompiledScript compiledScript;
+        protected volatile long lastAccess;
+
+        protected CacheEntry(CompiledScript compiledScript, long lastAccess) {
+            this.compiledScript = compiledScript;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -18,6 +18,8 @@ import java.util.List;
 import java.util.Map;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -57,6 +59,11 @@ public class ScriptingEngines {
     protected boolean cacheScriptingEngines = true;
     protected Map<String, ScriptEngine> cachedEngines;
 
+    /**
+     * When set, scripts of languages whose engine implements {@link Compilable} are compiled once and the compiled script is reused.
+     */
+    protected CompiledScriptCache compiledScriptCache;
+
     protected ScriptTraceEnhancer defaultTraceEnhancer;
 
     protected ScriptTraceListener scriptErrorListener = null;
@@ -86,7 +93,7 @@ public class ScriptingEngines {
     protected Object evaluate(ScriptEngine scriptEngine, ScriptEngineRequest request, Bindings bindings) {
         long startNanos = System.nanoTime();
         try {
-            Object scriptResult = scriptEngine.eval(request.getScript(), bindings);
+            Object scriptResult = evaluateScript(scriptEngine, request, bindings);
             if (scriptSuccessListener != null) {
                 DefaultScriptTrace scriptTrace = DefaultScriptTrace.successTrace(Duration.ofNanos(System.nanoTime() - startNanos), request);
                 enhanceScriptTrace(request, scriptTrace);
@@ -111,6 +118,43 @@ public class ScriptingEngines {
         }
     }
 
+    protected Object evaluateScript(ScriptEngine scriptEngine, ScriptEngineRequest request, Bindings bindings) throws ScriptException {
+        if (compiledScriptCache != null && isCompilationSupported(request.getLanguage(), scriptEngine)) {
+            CompiledScript compiledScript = compiledScriptCache.getCompiledScript(request.getLanguage(), request.getScript(), (Compilable) scriptEngine);
+            return compiledScript.eval(bindings);
+        }
+        return scriptEngine.eval(request.getScript(), bindings);
+    }
+
+    /**
+     * A compiled script is bound to the engine that compiled it, so only scripts of engines that are cached (and thus allow concurrent access) are compiled.
+     * JUEL scripts are never compiled: the JUEL script engine resolves the variables of the bindings while parsing the script.
+     */
+    protected boolean isCompilationSupported(String language, ScriptEngine scriptEngine) {
+        return scriptEngine instanceof Compilable
+                && !DEFAULT_SCRIPTING_LANGUAGE.equalsIgnoreCase(language)
+                && cacheScriptingEngines && cachedEngines.get(language) == scriptEngine;
+    }
+
+    /**
+     * Compiles the script into the compiled script cache ahead of its first execution, e.g. when deploying a definition containing the script.
+     * Scripts that can't be compiled are ignored here, the error surfaces when the script is executed.
+     */
+    public void precompile(String language, String script) {
+        if (compiledScriptCache == null || script == null || script.isEmpty()) {
+            return;
+        }
+
+        try {
+            ScriptEngine scriptEngine = getEngineByName(language);
+            if (isCompilationSupported(language, scriptEngine)) {
+                compiledScriptCache.getCompiledScript(language, script, (Compilable) scriptEngine);
+            }
+        } catch (FlowableException | ScriptException e) {
+            LOGGER.debug("Could not precompile {} script", language, e);
+        }
+    }
+
     protected void notifyScriptTraceListener(ScriptTraceListener listener, ScriptTrace scriptTrace) {
         try {
             listener.onScriptTrace(scriptTrace);
@@ -212,6 +256,14 @@ public class ScriptingEngines {
         return cacheScriptingEngines;
     }
 
+    public CompiledScriptCache getCompiledScriptCache() {
+        return compiledScriptCache;
+    }
+
+    public void setCompiledScriptCache(CompiledScriptCache compiledScriptCache) {
+        this.compiledScriptCache = compiledScriptCache;
+    }
+
     public ScriptTraceEnhancer getDefaultTraceEnhancer() {
         return defaultTraceEnhancer;
     }
@@ -0,0 +1,105 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.flowable.common.engine.impl.scripting.CompiledScriptCache;
+import org.junit.jupiter.api.Test;
+
+public class CompiledScriptCacheTest {
+
+    @Test
+    public void compileScriptOnlyOnce() throws ScriptException {
+        CompiledScriptCache cache = new CompiledScriptCache(10);
+        CountingCompilable compilable = new CountingCompilable();
+
+        CompiledScript compiledScript = cache.getCompiledScript("groovy", "a + b", compilable);
+        assertThat(cache.getCompiledScript("groovy", "a + b", compilable)).isSameAs(compiledScript);
+        assertThat(cache.getCompiledScript("groovy", "a + b", compilable)).isSameAs(compiledScript);
+        assertThat(cache.getCompiledScript("javascript", "a + b", compilable)).isNotSameAs(compiledScript);
+
+        assertThat(compilable.compiledScripts).containsExactly("a + b", "a + b");
+        assertThat(cache.getCompilationCount()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedScript() throws ScriptException {
+        CompiledScriptCache cache = new CompiledScriptCache(2);
+        CountingCompilable compilable = new CountingCompilable();
+
+        cache.getCompiledScript("groovy", "script1", compilable);
+        cache.getCompiledScript("groovy", "script2", compilable);
+        cache.getCompiledScript("groovy", "script1", compilable);
+        cache.getCompiledScript("groovy", "script3", compilable);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.contains("groovy", "script1")).isTrue();
+        assertThat(cache.contains("groovy", "script2")).isFalse();
+        assertThat(cache.contains("groovy", "script3")).isTrue();
+    }
+
+    @Test
+    public void compilationErrorIsNotCached() {
+        CompiledScriptCache cache = new CompiledScriptCache(10);
+        CountingCompilable compilable = new CountingCompilable();
+
+        assertThatThrownBy(() -> cache.getCompiledScript("groovy", "invalid", compilable)).isInstanceOf(ScriptException.class);
+        assertThatThrownBy(() -> cache.getCompiledScript("groovy", "invalid", compilable)).isInstanceOf(ScriptException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    protected static class CountingCompilable implements Compilable {
+
+        protected List<String> compiledScripts = new ArrayList<>();
+
+        @Override
+        public CompiledScript compile(String script) throws ScriptException {
+            if ("invalid".equals(script)) {
+                throw new ScriptException("Invalid script");
+            }
+            compiledScripts.add(script);
+            return new CompiledScript() {
+
+                @Override
+                public Object eval(ScriptContext context) {
+                    return script;
+                }
+
+                @Override
+                public ScriptEngine getEngine() {
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public CompiledScript compile(Reader script) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -257,6 +257,35 @@ class FlowableEventSupportTest {
             .containsExactly(type1Event);
     }
 
+    @Test
+    void hasListenersShouldReflectRegisteredListeners() {
+        TestFlowableEventType type1 = new TestFlowableEventType("type1");
+        TestFlowableEventType type2 = new TestFlowableEventType("type2");
+        assertThat(flowableEventSupport.hasListeners(type1)).isFalse();
+
+        TestFlowableEventListener typeListener = new TestFlowableEventListener();
+        flowableEventSupport.addEventListener(typeListener, type1);
+        flowableEventSupport.addEventListener(typeListener, type1);
+        assertThat(flowableEventSupport.hasListeners(type1)).isTrue();
+        assertThat(flowableEventSupport.hasListeners(type2)).isFalse();
+
+        TestFlowableEventListener globalListener = new TestFlowableEventListener();
+        flowableEventSupport.addEventListener(globalListener);
+        assertThat(flowableEventSupport.hasListeners(type2)).isTrue();
+
+        flowableEventSupport.removeEventListener(globalListener);
+        assertThat(flowableEventSupport.hasListeners(type2)).isFalse();
+
+        FlowableEvent type1Event = new TestFlowableEvent(type1);
+        flowableEventSupport.dispatchEvent(type1Event);
+        assertThat(typeListener.getReceivedEvents())
+            .as("type listener registered twice")
+            .containsExactly(type1Event);
+
+        flowableEventSupport.removeEventListener(typeListener);
+        assertThat(flowableEventSupport.hasListeners(type1)).isFalse();
+    }
+
     @Test
     void shouldProperlyDispatchOnTransactionLifecycleListeners() {
         TestFlowableEventListener rolledBackListener = new TestFlowableEventListener();
@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadExecutorServiceTest {
+
+    // Platform threads are used, so that the test also runs on Java versions without virtual threads
+    protected VirtualThreadExecutorService createExecutorService(int concurrencyLimit, boolean callerRuns) {
+        return new VirtualThreadExecutorService(Thread::new, concurrencyLimit, callerRuns);
+    }
+
+    @Test
+    void rejectWhenConcurrencyLimitIsReached() throws InterruptedException {
+        VirtualThreadExecutorService executorService = createExecutorService(2, false);
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+
+        executorService.execute(() -> awaitQuietly(blockingLatch));
+        executorService.execute(() -> awaitQuietly(blockingLatch));
+        assertThat(executorService.getRemainingCapacity()).isZero();
+
+        assertThatThrownBy(() -> executorService.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        blockingLatch.countDown();
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executorService.isTerminated()).isTrue();
+        assertThat(executorService.getRemainingCapacity()).isEqualTo(2);
+
+        assertThatThrownBy(() -> executorService.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void callerRunsWhenConcurrencyLimitIsReached() throws InterruptedException {
+        VirtualThreadExecutorService executorService = createExecutorService(1, true);
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+
+        executorService.execute(() -> awaitQuietly(blockingLatch));
+
+        AtomicReference<Thread> executingThread = new AtomicReference<>();
+        executorService.execute(() -> executingThread.set(Thread.currentThread()));
+        assertThat(executingThread.get()).isSameAs(Thread.currentThread());
+
+        blockingLatch.countDown();
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shutdownNowInterruptsRunningTasks() throws InterruptedException {
+        VirtualThreadExecutorService executorService = createExecutorService(1, false);
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        CountDownLatch interruptedLatch = new CountDownLatch(1);
+
+        executorService.execute(() -> {
+            startedLatch.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interruptedLatch.countDown();
+            }
+        });
+
+        assertThat(startedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executorService.shutdownNow()).isEmpty();
+        assertThat(interruptedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executorService.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    protected void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
+import org.flowable.common.engine.impl.variable.MapDelegateVariableContainer;
+import org.junit.jupiter.api.Test;
+
+class ExpressionCompilerTest {
+
+    protected ExpressionCompiler expressionCompiler = new ExpressionCompiler(2);
+
+    @Test
+    void compileSupportedExpressions() {
+        MapDelegateVariableContainer variableContainer = new MapDelegateVariableContainer()
+                .addTransientVariable("status", "approved")
+                .addTransientVariable("escalated", false)
+                .addTransientVariable("amount", 100);
+
+        assertThat(expressionCompiler.compile("${status}").getValue(variableContainer)).isEqualTo("approved");
+        assertThat(expressionCompiler.compile("${status == 'approved'}").getValue(variableContainer)).isEqualTo(true);
+        assertThat(expressionCompiler.compile("${'rejected' != status}").getValue(variableContainer)).isEqualTo(true);
+        assertThat(expressionCompiler.compile("${status == null}").getValue(variableContainer)).isEqualTo(false);
+        assertThat(expressionCompiler.compile("${status eq 'approved' && !escalated}").getValue(variableContainer)).isEqualTo(true);
+        assertThat(expressionCompiler.compile("${(status == 'rejected') || escalated}").getValue(variableContainer)).isEqualTo(false);
+
+        // Needs type coercion
+        assertThat(expressionCompiler.compile("${amount == '100'}").getValue(variableContainer)).isSameAs(CompiledExpression.NOT_EVALUATED);
+        // Could be resolved by another EL resolver
+        assertThat(expressionCompiler.compile("${unknown == 'x'}").getValue(variableContainer)).isSameAs(CompiledExpression.NOT_EVALUATED);
+    }
+
+    @Test
+    void doNotCompileUnsupportedExpressions() {
+        assertThat(expressionCompiler.compile("${amount > 10}")).isNull();
+        assertThat(expressionCompiler.compile("${bean.method()}")).isNull();
+        assertThat(expressionCompiler.compile("Hello ${name}")).isNull();
+        assertThat(expressionCompiler.compile("${execution}")).isNull();
+        assertThat(expressionCompiler.compile("${status ==")).isNull();
+    }
+
+    @Test
+    void compileCachedExpressionAfterThreshold() {
+        DefaultExpressionManager expressionManager = new DefaultExpressionManager(Collections.emptyMap());
+        expressionManager.setExpressionCache(new DefaultDeploymentCache<>(10));
+        expressionManager.setExpressionCompiler(expressionCompiler);
+
+        Expression expression = expressionManager.createExpression("${status == 'approved'}");
+        MapDelegateVariableContainer approved = new MapDelegateVariableContainer().addTransientVariable("status", "approved");
+        MapDelegateVariableContainer coerced = new MapDelegateVariableContainer().addTransientVariable("status", new StringBuilder("approved"));
+
+        assertThat(expression.getValue(approved)).isEqualTo(true);
+        assertThat(((JuelExpression) expression).getCompiledExpression()).isNull();
+
+        assertThat(expression.getValue(approved)).isEqualTo(true);
+        assertThat(((JuelExpression) expression).getCompiledExpression()).isNotNull();
+
+        assertThat(expression.getValue(approved)).isEqualTo(true);
+        // Falls back to the interpreted evaluation, which coerces the StringBuilder to a String
+        assertThat(expression.getValue(coerced)).isEqualTo(true);
+    }
+}
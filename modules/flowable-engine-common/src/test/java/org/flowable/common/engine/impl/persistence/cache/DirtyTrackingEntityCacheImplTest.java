@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.impl.persistence.entity.AbstractEntity;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
+import org.junit.jupiter.api.Test;
+
+class DirtyTrackingEntityCacheImplTest {
+
+    @Test
+    void unchangedEntityIsNotDirty() {
+        DirtyTrackingEntityCacheImpl entityCache = new DirtyTrackingEntityCacheImpl();
+        TestEntity entity = new TestEntity("1", "kermit");
+
+        CachedEntity cachedEntity = entityCache.put(entity, true);
+
+        assertThat(cachedEntity).isInstanceOf(DirtyTrackingCachedEntity.class);
+        assertThat(cachedEntity.hasChanged()).isFalse();
+        assertThat(entity.persistentStateCalls).isZero();
+        assertThat(entity.getOriginalPersistentState()).isEqualTo(entity.getPersistentState());
+    }
+
+    @Test
+    void changedEntityIsDirty() {
+        DirtyTrackingEntityCacheImpl entityCache = new DirtyTrackingEntityCacheImpl();
+        TestEntity entity = new TestEntity("1", "kermit");
+
+        CachedEntity cachedEntity = entityCache.put(entity, true);
+        entity.setName("gonzo");
+        entity.setName("fozzie");
+
+        assertThat(cachedEntity.hasChanged()).isTrue();
+        assertThat(entity.getOriginalPersistentState()).isEqualTo(Map.of("name", "kermit"));
+    }
+
+    @Test
+    void entityWrittenWithSameValueIsNotChanged() {
+        DirtyTrackingEntityCacheImpl entityCache = new DirtyTrackingEntityCacheImpl();
+        TestEntity entity = new TestEntity("1", "kermit");
+
+        CachedEntity cachedEntity = entityCache.put(entity, true);
+        entity.setName("kermit");
+
+        assertThat(entity.isDirty()).isTrue();
+        assertThat(cachedEntity.hasChanged()).isFalse();
+    }
+
+    @Test
+    void entityWithoutStoredStateIsAlwaysChanged() {
+        DirtyTrackingEntityCacheImpl entityCache = new DirtyTrackingEntityCacheImpl();
+        TestEntity entity = new TestEntity("1", "kermit");
+
+        CachedEntity cachedEntity = entityCache.put(entity, false);
+
+        assertThat(cachedEntity).isNotInstanceOf(DirtyTrackingCachedEntity.class);
+        assertThat(cachedEntity.hasChanged()).isTrue();
+    }
+
+    static class TestEntity extends AbstractEntity implements DirtyTrackingEntity {
+
+        protected String name;
+        protected int persistentStateCalls;
+
+        TestEntity(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public void setName(String name) {
+            markDirty();
+            this.name = name;
+        }
+
+        @Override
+        public String getIdPrefix() {
+            return "";
+        }
+
+        @Override
+        public Object getPersistentState() {
+            persistentStateCalls++;
+            Map<String, Object> persistentState = new HashMap<>();
+            persistentState.put("name", name);
+            return persistentState;
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.common.engine.impl.persistence.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentDeploymentCacheTest {
+
+    @Test
+    void hitsAndMisses() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(10);
+        cache.add("a", "A");
+
+        assertThat(cache.get("a")).isEqualTo("A");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void leastFrequentlyUsedIsEvicted() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(3, value -> 1, 1);
+        cache.add("a", "A");
+        cache.add("b", "B");
+        cache.add("c", "C");
+        for (int i = 0; i < 5; i++) {
+            cache.get("a");
+            cache.get("c");
+        }
+
+        cache.add("d", "D");
+
+        assertThat(cache.contains("b")).isFalse();
+        assertThat(cache.contains("a")).isTrue();
+        assertThat(cache.contains("c")).isTrue();
+        assertThat(cache.contains("d")).isTrue();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void boundedByWeight() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(10, String::length, 1);
+        cache.add("a", "aaaa");
+        cache.add("b", "bbbb");
+        assertThat(cache.getWeight()).isEqualTo(8);
+
+        cache.add("c", "cccccc");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getWeight()).isLessThanOrEqualTo(10);
+        assertThat(cache.contains("c")).isTrue();
+
+        cache.remove("c");
+        assertThat(cache.getWeight()).isEqualTo(4);
+
+        cache.clear();
+        assertThat(cache.getWeight()).isZero();
+        assertThat(cache.getAll()).isEmpty();
+    }
+
+    @Test
+    void recentlyAddedObjectsAreNotEvicted() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(2, value -> 1, 2);
+        cache.add("a", "A");
+        for (int i = 0; i < 5; i++) {
+            cache.get("a");
+        }
+
+        // Same deployment adding two definitions: both need to be in the cache afterwards
+        cache.add("b", "B");
+        cache.add("c", "C");
+
+        assertThat(cache.contains("b")).isTrue();
+        assertThat(cache.contains("c")).isTrue();
+        assertThat(cache.contains("a")).isFalse();
+    }
+
+    @Test
+    void frequentlyUsedObjectsSurviveManyEvictions() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(100, value -> 1, 1);
+        cache.add("frequent", "F");
+        for (int i = 0; i < 10; i++) {
+            cache.get("frequent");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.add("key" + i, "value" + i);
+            cache.get("frequent");
+        }
+
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(cache.getWeight()).isEqualTo(100);
+        assertThat(cache.contains("frequent")).isTrue();
+        assertThat(cache.contains("key9999")).isTrue();
+        assertThat(cache.getEvictionCount()).isEqualTo(10_001 - 100);
+    }
+
+    @Test
+    void frequencySketchIsSizedByEntriesInsteadOfWeight() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(Long.MAX_VALUE, value -> 1_000_000L);
+        assertThat(cache.frequencySketch.getWidth()).isEqualTo(64);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.add("key" + i, "value" + i);
+        }
+        assertThat(cache.frequencySketch.getWidth()).isEqualTo(1024);
+
+        FrequencySketch frequencySketch = new FrequencySketch(Integer.MAX_VALUE);
+        assertThat(frequencySketch.getWidth()).isEqualTo(FrequencySketch.MAXIMUM_WIDTH);
+    }
+
+    @Test
+    void loadStatistics() {
+        ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<>(10);
+        cache.recordLoad("a", 2_000_000);
+        cache.recordLoad("b", 3_000_000);
+
+        assertThat(cache.getLoadCount()).isEqualTo(2);
+        assertThat(cache.getTotalLoadTimeMillis()).isEqualTo(5);
+    }
+
+}
@@ -101,6 +101,10 @@ public class ProcessEngineConfigurator extends AbstractEngineConfigurator {
                 dbSqlSessionFactory.getDeletionOrder().add(clazz);
             }
         }
+
+        if (getHistoricEntityClasses() != null) {
+            dbSqlSessionFactory.getHistoricEntityClasses().addAll(getHistoricEntityClasses());
+        }
     }
 
     @Override
@@ -113,6 +117,11 @@ public class ProcessEngineConfigurator extends AbstractEngineConfigurator {
         return EntityDependencyOrder.DELETE_ORDER;
     }
 
+    @Override
+    protected List<Class<? extends Entity>> getHistoricEntityClasses() {
+        return EntityDependencyOrder.HISTORIC_ENTITY_CLASSES;
+    }
+
     protected synchronized ProcessEngine initProcessEngine() {
         if (processEngineConfiguration == null) {
             throw new FlowableException("ProcessEngineConfiguration is required");
@@ -85,6 +85,7 @@ public abstract class ProcessEngineConfiguration extends AbstractEngineConfigura
 
     protected String processEngineName = ProcessEngines.NAME_DEFAULT;
     protected int idBlockSize = 2500;
+    protected int idBlockPrefetchThreshold;
     protected String history = HistoryLevel.AUDIT.getKey();
     protected boolean asyncExecutorActivate;
     protected boolean asyncHistoryExecutorActivate;
@@ -150,6 +151,13 @@ public abstract class ProcessEngineConfiguration extends AbstractEngineConfigura
     protected String historyCleaningTimeCycleConfig = "0 0 1 * * ?";
     protected Duration cleanInstancesEndedAfter = Duration.ofDays(365);
     protected int cleanInstancesBatchSize = 100;
+    /**
+     * When set, the history cleanup job deletes the historic process instances itself in chunks of cleanInstancesBatchSize,
+     * each chunk in its own transaction, until there are no more instances to clean or this time budget is used up,
+     * instead of starting a batch that deletes one chunk per job.
+     * The time budget is capped at half of the async job lock time, as the cleanup job stays locked while it deletes the chunks.
+     */
+    protected Duration historyCleaningTimeBudget;
     protected HistoryCleaningManager historyCleaningManager;
 
 
@@ -234,6 +242,19 @@ public abstract class ProcessEngineConfiguration extends AbstractEngineConfigura
         return this;
     }
 
+    public int getIdBlockPrefetchThreshold() {
+        return idBlockPrefetchThreshold;
+    }
+
+    /**
+     * When set to a value larger than 0, the {@link org.flowable.engine.impl.db.DbIdGenerator} fetches the next id block in the background
+     * as soon as the given number of ids remains in the current block, instead of fetching it when the current block is exhausted.
+     */
+    public ProcessEngineConfiguration setIdBlockPrefetchThreshold(int idBlockPrefetchThreshold) {
+        this.idBlockPrefetchThreshold = idBlockPrefetchThreshold;
+        return this;
+    }
+
     public String getHistory() {
         return history;
     }
@@ -851,6 +872,15 @@ public abstract class ProcessEngineConfiguration extends AbstractEngineConfigura
         return this;
     }
 
+    public Duration getHistoryCleaningTimeBudget() {
+        return historyCleaningTimeBudget;
+    }
+
+    public ProcessEngineConfiguration setHistoryCleaningTimeBudget(Duration historyCleaningTimeBudget) {
+        this.historyCleaningTimeBudget = historyCleaningTimeBudget;
+        return this;
+    }
+
     public HistoryCleaningManager getHistoryCleaningManager() {
         return historyCleaningManager;
     }
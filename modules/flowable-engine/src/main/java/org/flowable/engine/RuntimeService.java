@@ -12,6 +12,7 @@
  */
 package org.flowable.engine;
 
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -754,6 +755,21 @@ public interface RuntimeService {
      */
     VariableInstance getVariableInstance(String executionId, String variableName);
 
+    /**
+     * The stored bytes of a variable that is backed by a byte array (e.g. a byte[], long string or serializable variable) as a stream.
+     * The bytes are fetched from the database in chunks while the stream is read (see {@link VariableInstance#getBytesAsStream()}),
+     * so large values don't need to be loaded in memory completely. Searching for the variable is done in all scopes that are visible to the given execution.
+     *
+     * @param executionId
+     *     id of execution, cannot be null.
+     * @param variableName
+     *     name of variable, cannot be null.
+     * @return the stored bytes or null if the variable is undefined or not backed by a byte array.
+     * @throws FlowableObjectNotFoundException
+     *     when no execution is found for the given executionId.
+     */
+    InputStream getVariableInputStream(String executionId, String variableName);
+
     /**
      * The variable value. Searching for the variable is done in all scopes that are visible to the given execution (including parent scopes). Returns null when no variable value is found with the
      * given name or when the value is set to null. Throws ClassCastException when cannot cast variable to given class
@@ -709,6 +709,21 @@ public interface TaskService {
      */
     VariableInstance getVariableInstance(String taskId, String variableName);
 
+    /**
+     * The stored bytes of a variable that is backed by a byte array (e.g. a byte[], long string or serializable variable) as a stream.
+     * The bytes are fetched from the database in chunks while the stream is read (see {@link VariableInstance#getBytesAsStream()}),
+     * so large values don't need to be loaded in memory completely. Searching for the variable is done in all scopes that are visible to the given task.
+     *
+     * @param taskId
+     *            id of task, cannot be null.
+     * @param variableName
+     *            name of variable, cannot be null.
+     * @return the stored bytes or null if the variable is undefined or not backed by a byte array.
+     * @throws FlowableObjectNotFoundException
+     *             when no task is found for the given taskId.
+     */
+    InputStream getVariableInputStream(String taskId, String variableName);
+
     /**
      * checks whether or not the task has a variable defined with the given name, in the task scope and if available also the execution scopes.
      */
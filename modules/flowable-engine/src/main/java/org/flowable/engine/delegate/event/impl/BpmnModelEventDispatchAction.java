@@ -12,11 +12,16 @@
  */
 package org.flowable.engine.delegate.event.impl;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEvent;
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
 import org.flowable.common.engine.api.delegate.event.FlowableEntityEvent;
 import org.flowable.common.engine.api.delegate.event.FlowableEvent;
+import org.flowable.common.engine.api.delegate.event.FlowableEventType;
 import org.flowable.common.engine.impl.event.EventDispatchAction;
 import org.flowable.common.engine.impl.event.FlowableEventSupport;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
@@ -26,6 +31,27 @@ import org.flowable.engine.repository.ProcessDefinition;
 
 public class BpmnModelEventDispatchAction implements EventDispatchAction {
 
+    // Types for which an event listener has been parsed in a process definition (never cleared, so this errs on the side of dispatching)
+    protected final Set<FlowableEventType> bpmnModelEventListenerTypes = ConcurrentHashMap.newKeySet();
+    protected volatile boolean bpmnModelEventListenerForAllTypes;
+
+    @Override
+    public boolean hasListeners(FlowableEventType type) {
+        return bpmnModelEventListenerForAllTypes || bpmnModelEventListenerTypes.contains(type);
+    }
+
+    /**
+     * Called when an event listener of a process definition has been parsed.
+     * An empty collection of types means that the listener is interested in all events.
+     */
+    public void registerBpmnModelEventListenerTypes(Collection<? extends FlowableEventType> types) {
+        if (types == null || types.isEmpty()) {
+            bpmnModelEventListenerForAllTypes = true;
+        } else {
+            bpmnModelEventListenerTypes.addAll(types);
+        }
+    }
+
     @Override
     public void dispatchEvent(CommandContext commandContext, FlowableEventSupport eventSupport, FlowableEvent event) {
         if (event.getType() == FlowableEngineEventType.ENTITY_DELETED && event instanceof FlowableEntityEvent) {
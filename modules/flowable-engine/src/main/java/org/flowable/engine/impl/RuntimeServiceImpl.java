@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -301,6 +302,12 @@ public class RuntimeServiceImpl extends CommonEngineServiceImpl<ProcessEngineCon
         return commandExecutor.execute(new GetExecutionVariableInstanceCmd(executionId, variableName, false));
     }
 
+    @Override
+    public InputStream getVariableInputStream(String executionId, String variableName) {
+        VariableInstance variableInstance = getVariableInstance(executionId, variableName);
+        return variableInstance != null ? variableInstance.getBytesAsStream() : null;
+    }
+
     @Override
     public <T> T getVariable(String executionId, String variableName, Class<T> variableClass) {
         return variableClass.cast(getVariable(executionId, variableName));
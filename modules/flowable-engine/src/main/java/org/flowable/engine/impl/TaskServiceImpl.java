@@ -587,6 +587,12 @@ public class TaskServiceImpl extends CommonEngineServiceImpl<ProcessEngineConfig
         return commandExecutor.execute(new GetTaskVariableInstanceCmd(taskId, variableName, false));
     }
 
+    @Override
+    public InputStream getVariableInputStream(String taskId, String variableName) {
+        VariableInstance variableInstance = getVariableInstance(taskId, variableName);
+        return variableInstance != null ? variableInstance.getBytesAsStream() : null;
+    }
+
     @Override
     public VariableInstance getVariableInstanceLocal(String taskId, String variableName) {
         return commandExecutor.execute(new GetTaskVariableInstanceCmd(taskId, variableName, true));
@@ -22,10 +22,15 @@ import org.flowable.bpmn.model.FlowElement;
 import org.flowable.bpmn.model.FlowNode;
 import org.flowable.bpmn.model.ParallelGateway;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.variable.service.VariableService;
+import org.flowable.variable.service.VariableServiceConfiguration;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +48,12 @@ import org.slf4j.LoggerFactory;
  * Note that a Parallel Gateway having one incoming and multiple outgoing sequence flow, is the same as having multiple outgoing sequence flow on a given activity. However, a parallel gateway does NOT
  * check conditions on the outgoing sequence flow.
  * 
+ * When {@link ProcessEngineConfigurationImpl#isParallelGatewayArrivalCounterEnabled()} is set, the arrivals in a joining gateway are counted
+ * for the parent scope execution and the inactive executions waiting in the gateway are only fetched when the counter reaches the number of incoming sequence flow.
+ * The counter is an internal variable instance (scope type {@link ScopeTypes#BPMN_PARALLEL_GATEWAY_ARRIVALS}) that is not part of the variables of the execution
+ * and has no history. It is initialized from the executions that are actually waiting in the gateway, so it can be enabled for running process instances,
+ * and it is removed when the activity state is changed or the process instance is migrated (see {@link #deleteArrivalCounters(String)}).
+ * 
  * @author Joram Barrez
  * @author Tom Baeyens
  */
@@ -71,6 +82,31 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
 
         lockFirstParentScope(execution);
 
+        int nbrOfExecutionsToJoin = parallelGateway.getIncomingFlows().size();
+
+        ExecutionEntity arrivalCounterScopeExecution = null;
+        VariableInstanceEntity arrivalCounter = null;
+        if (nbrOfExecutionsToJoin > 1 && CommandContextUtil.getProcessEngineConfiguration().isParallelGatewayArrivalCounterEnabled()) {
+            arrivalCounterScopeExecution = findFirstParentScope(execution);
+            arrivalCounter = findArrivalCounter(arrivalCounterScopeExecution, parallelGateway.getId());
+        }
+
+        // Without a counter, the waiting executions are fetched below to initialize it
+        if (arrivalCounter != null) {
+            int nbrOfArrivals = ((Number) arrivalCounter.getValue()).intValue() + 1;
+            if (nbrOfArrivals < nbrOfExecutionsToJoin) {
+                updateArrivalCounter(arrivalCounter, nbrOfArrivals, execution.getTenantId());
+
+                CommandContextUtil.getActivityInstanceEntityManager().recordActivityEnd((ExecutionEntity) execution, null);
+
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("parallel gateway '{}' ({}) does not activate: {} of {} arrived", execution.getCurrentActivityId(),
+                            execution.getId(), nbrOfArrivals, nbrOfExecutionsToJoin);
+                }
+                return;
+            }
+        }
+
         DelegateExecution multiInstanceExecution = null;
         if (hasMultiInstanceParent(parallelGateway)) {
             multiInstanceExecution = findMultiInstanceParentExecution(execution);
@@ -82,9 +118,26 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
             joinedExecutions = cleanJoinedExecutions(joinedExecutions, multiInstanceExecution);
         }
 
-        int nbrOfExecutionsToJoin = parallelGateway.getIncomingFlows().size();
         int nbrOfExecutionsCurrentlyJoined = joinedExecutions.size();
 
+        if (arrivalCounterScopeExecution != null) {
+            if (nbrOfExecutionsCurrentlyJoined == nbrOfExecutionsToJoin) {
+                if (arrivalCounter != null) {
+                    CommandContextUtil.getProcessEngineConfiguration().getVariableServiceConfiguration().getVariableService().deleteVariableInstance(arrivalCounter);
+                }
+
+            } else if (arrivalCounter != null) {
+                // Waiting executions can be removed without leaving through the gateway (e.g. when deleting a process instance branch),
+                // so the counter is corrected with the executions that are actually waiting
+                updateArrivalCounter(arrivalCounter, nbrOfExecutionsCurrentlyJoined, execution.getTenantId());
+
+            } else {
+                // Executions can already be waiting when the counter is first used (the counter was enabled for a running process instance,
+                // or the counter was removed because the activity state was changed or the process instance was migrated)
+                createArrivalCounter(arrivalCounterScopeExecution, parallelGateway.getId(), nbrOfExecutionsCurrentlyJoined);
+            }
+        }
+
         // Fork
 
         // Is needed to set the endTime for all historic activity joins
@@ -122,6 +175,45 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
 
     }
 
+    protected VariableInstanceEntity findArrivalCounter(ExecutionEntity scopeExecution, String gatewayId) {
+        return CommandContextUtil.getProcessEngineConfiguration().getVariableServiceConfiguration().getVariableService()
+                .createInternalVariableInstanceQuery()
+                .subScopeId(scopeExecution.getId())
+                .scopeType(ScopeTypes.BPMN_PARALLEL_GATEWAY_ARRIVALS)
+                .name(gatewayId)
+                .singleResult();
+    }
+
+    protected void createArrivalCounter(ExecutionEntity scopeExecution, String gatewayId, int nbrOfArrivals) {
+        VariableServiceConfiguration variableServiceConfiguration = CommandContextUtil.getProcessEngineConfiguration().getVariableServiceConfiguration();
+        VariableInstanceEntity arrivalCounter = variableServiceConfiguration.getVariableService().createVariableInstance(gatewayId);
+        arrivalCounter.setScopeId(scopeExecution.getProcessInstanceId());
+        arrivalCounter.setSubScopeId(scopeExecution.getId());
+        arrivalCounter.setScopeType(ScopeTypes.BPMN_PARALLEL_GATEWAY_ARRIVALS);
+        variableServiceConfiguration.getVariableService().insertVariableInstanceWithValue(arrivalCounter, nbrOfArrivals, scopeExecution.getTenantId());
+    }
+
+    protected void updateArrivalCounter(VariableInstanceEntity arrivalCounter, int nbrOfArrivals, String tenantId) {
+        CommandContextUtil.getProcessEngineConfiguration().getVariableServiceConfiguration().getVariableInstanceValueModifier()
+                .updateVariableValue(arrivalCounter, nbrOfArrivals, tenantId);
+    }
+
+    /**
+     * Removes the arrival counters of all joining parallel gateways of the process instance.
+     * They are initialized again from the executions that are actually waiting in a gateway on the next arrival.
+     */
+    public static void deleteArrivalCounters(String processInstanceId) {
+        // Deleted one by one (instead of with a bulk delete) so that an arrival later in the same transaction doesn't find them anymore
+        VariableService variableService = CommandContextUtil.getProcessEngineConfiguration().getVariableServiceConfiguration().getVariableService();
+        List<VariableInstanceEntity> arrivalCounters = variableService.createInternalVariableInstanceQuery()
+                .scopeId(processInstanceId)
+                .scopeType(ScopeTypes.BPMN_PARALLEL_GATEWAY_ARRIVALS)
+                .list();
+        for (VariableInstanceEntity arrivalCounter : arrivalCounters) {
+            variableService.deleteVariableInstance(arrivalCounter);
+        }
+    }
+
     protected Collection<ExecutionEntity> cleanJoinedExecutions(Collection<ExecutionEntity> joinedExecutions, DelegateExecution multiInstanceExecution) {
         List<ExecutionEntity> cleanedExecutions = new ArrayList<>();
         for (ExecutionEntity executionEntity : joinedExecutions) {
@@ -13,9 +13,12 @@
 package org.flowable.engine.impl.bpmn.deployer;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.bpmn.constants.BpmnXMLConstants;
@@ -27,6 +30,7 @@ import org.flowable.bpmn.model.StartEvent;
 import org.flowable.bpmn.model.SubProcess;
 import org.flowable.bpmn.model.UserTask;
 import org.flowable.bpmn.model.ValuedDataObject;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
 import org.flowable.common.engine.api.delegate.event.FlowableEventDispatcher;
 import org.flowable.common.engine.api.repository.EngineDeployment;
@@ -38,6 +42,7 @@ import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.DynamicBpmnConstants;
 import org.flowable.engine.DynamicBpmnService;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.impl.bpmn.parser.BpmnParse;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.cmd.DeploymentSettings;
 import org.flowable.engine.impl.persistence.entity.DeploymentEntity;
@@ -71,6 +76,10 @@ public class BpmnDeployer implements EngineDeployer {
     public void deploy(EngineDeployment deployment, Map<String, Object> deploymentSettings) {
         LOGGER.debug("Processing deployment {}", deployment.getName());
 
+        if (deployment.isNew()) {
+            verifyNoUserSuppliedBpmnModelSnapshots(deployment);
+        }
+
         // The ParsedDeployment represents the deployment, the process definitions, and the BPMN
         // resource, parse, and model associated with each process definition.
         ParsedDeployment parsedDeployment = parsedDeploymentBuilderFactory
@@ -84,6 +93,7 @@ public class BpmnDeployer implements EngineDeployer {
         bpmnDeploymentHelper.setResourceNamesOnProcessDefinitions(parsedDeployment);
 
         createAndPersistNewDiagramsIfNeeded(parsedDeployment);
+        createAndPersistNewBpmnModelSnapshotsIfNeeded(parsedDeployment);
         setProcessDefinitionDiagramNames(parsedDeployment);
 
         if (deployment.isNew()) {
@@ -139,6 +149,60 @@ public class BpmnDeployer implements EngineDeployer {
         }
     }
 
+    /**
+     * Snapshots are deserialized when a process definition is added to the deployment cache, so they can only be generated by the engine.
+     */
+    protected void verifyNoUserSuppliedBpmnModelSnapshots(EngineDeployment deployment) {
+        for (EngineResource resource : deployment.getResources().values()) {
+            if (!resource.isGenerated() && BpmnModelSnapshotUtil.isSnapshotResourceName(resource.getName())) {
+                throw new FlowableException("Resource " + resource.getName() + " can't be deployed, the name is reserved for BPMN model snapshots");
+            }
+        }
+    }
+
+    /**
+     * Persists the model snapshots created while parsing the BPMN resources (see {@link BpmnModelSnapshotUtil}) as generated resources of the deployment.
+     * For a deployment that isn't new, this replaces a missing snapshot or a snapshot of another engine version when the deployment is added to the cache again.
+     */
+    protected void createAndPersistNewBpmnModelSnapshotsIfNeeded(ParsedDeployment parsedDeployment) {
+        DeploymentEntity deploymentEntity = parsedDeployment.getDeployment();
+        ResourceEntityManager resourceEntityManager = CommandContextUtil.getProcessEngineConfiguration().getResourceEntityManager();
+        Set<String> processedResourceNames = new HashSet<>();
+        for (ProcessDefinitionEntity processDefinition : parsedDeployment.getAllProcessDefinitions()) {
+            BpmnParse bpmnParse = parsedDeployment.getBpmnParseForProcessDefinition(processDefinition);
+            String resourceName = parsedDeployment.getResourceForProcessDefinition(processDefinition).getName();
+            if (!bpmnParse.isCreateBpmnModelSnapshot() || !processedResourceNames.add(resourceName)) {
+                continue;
+            }
+
+            if (!deploymentEntity.isNew()) {
+                deleteBpmnModelSnapshots(deploymentEntity, resourceName, resourceEntityManager);
+            }
+
+            if (bpmnParse.getBpmnModelSnapshot() != null) {
+                ResourceEntity resource = resourceEntityManager.create();
+                resource.setName(BpmnModelSnapshotUtil.getSnapshotResourceName(resourceName));
+                resource.setBytes(bpmnParse.getBpmnModelSnapshot());
+                resource.setDeploymentId(deploymentEntity.getId());
+                resource.setGenerated(true);
+
+                resourceEntityManager.insert(resource, false);
+                deploymentEntity.addResource(resource);
+            }
+        }
+    }
+
+    protected void deleteBpmnModelSnapshots(DeploymentEntity deploymentEntity, String bpmnResourceName, ResourceEntityManager resourceEntityManager) {
+        Iterator<EngineResource> resourceIterator = deploymentEntity.getResources().values().iterator();
+        while (resourceIterator.hasNext()) {
+            EngineResource resource = resourceIterator.next();
+            if (resource.isGenerated() && BpmnModelSnapshotUtil.isSnapshotResourceNameOf(resource.getName(), bpmnResourceName)) {
+                resourceEntityManager.delete((ResourceEntity) resource, false);
+                resourceIterator.remove();
+            }
+        }
+    }
+
     /**
      * Updates all the process definition entities to have the correct diagram resource name. Must be called after createAndPersistNewDiagramsAsNeeded to ensure that any newly-created diagrams already
      * have their resources attached to the deployment.
@@ -0,0 +1,127 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.bpmn.deployer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.engine.ProcessEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Static methods for working with BPMN model snapshots: a serialized form of the {@link BpmnModel} of a BPMN resource,
+ * as it was after XML conversion and validation at deployment time. Reading a snapshot is cheaper than converting the XML again
+ * when a process definition needs to be added to the deployment cache again (after a restart or a cache eviction).
+ * <p>
+ * The engine version is part of the snapshot resource name, so a snapshot created by another engine version is never used.
+ * A missing or unreadable snapshot is created again the next time the BPMN XML of the deployment is parsed.
+ * Only generated resources are read as snapshots, user supplied resources with a snapshot resource name are rejected at deployment time.
+ */
+public class BpmnModelSnapshotUtil {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BpmnModelSnapshotUtil.class);
+
+    public static final String SNAPSHOT_RESOURCE_INFIX = ".flowable-";
+    public static final String SNAPSHOT_RESOURCE_SUFFIX = ".snapshot";
+
+    /**
+     * Only the model classes and the concrete value and collection types they hold (e.g. the value of a data object) can be deserialized.
+     */
+    protected static final ObjectInputFilter SNAPSHOT_INPUT_FILTER = ObjectInputFilter.Config.createFilter(String.join(";",
+            "org.flowable.bpmn.model.**",
+            "java.lang.Enum", "java.lang.Number", "java.lang.Boolean", "java.lang.Integer", "java.lang.Long", "java.lang.Short",
+            "java.lang.Double", "java.lang.Float",
+            "java.math.BigDecimal", "java.math.BigInteger",
+            "java.util.ArrayList", "java.util.LinkedList", "java.util.HashMap", "java.util.LinkedHashMap", "java.util.HashSet",
+            "java.util.LinkedHashSet", "java.util.Date", "java.util.Arrays$ArrayList",
+            "java.util.Collections$EmptyList", "java.util.Collections$EmptyMap", "java.util.Collections$EmptySet",
+            "com.fasterxml.jackson.databind.node.*",
+            "!*"));
+
+    public static String getSnapshotResourceName(String bpmnResourceName) {
+        return bpmnResourceName + SNAPSHOT_RESOURCE_INFIX + ProcessEngine.VERSION + SNAPSHOT_RESOURCE_SUFFIX;
+    }
+
+    /**
+     * @return whether the given resource name is the name of a snapshot, of any engine version.
+     */
+    public static boolean isSnapshotResourceName(String resourceName) {
+        return resourceName != null && resourceName.endsWith(SNAPSHOT_RESOURCE_SUFFIX) && resourceName.contains(SNAPSHOT_RESOURCE_INFIX);
+    }
+
+    /**
+     * @return whether the given resource name is the name of a snapshot of the given BPMN resource, of any engine version.
+     */
+    public static boolean isSnapshotResourceNameOf(String resourceName, String bpmnResourceName) {
+        return isSnapshotResourceName(resourceName) && resourceName.startsWith(bpmnResourceName + SNAPSHOT_RESOURCE_INFIX)
+                && resourceName.indexOf(SNAPSHOT_RESOURCE_INFIX, bpmnResourceName.length() + SNAPSHOT_RESOURCE_INFIX.length()) == -1;
+    }
+
+    /**
+     * @return the snapshot of the given model, or null if the model couldn't be serialized (e.g. because of custom, non serializable extensions)
+     *         or the snapshot couldn't be read again (e.g. because the model holds a value of a type that isn't allowed by the input filter).
+     */
+    public static byte[] createSnapshot(BpmnModel bpmnModel) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(new GZIPOutputStream(outputStream))) {
+            objectOutputStream.writeObject(bpmnModel);
+        } catch (IOException e) {
+            LOGGER.warn("Could not create snapshot of BPMN model {}, the BPMN XML will be parsed instead", bpmnModel.getSourceSystemId(), e);
+            return null;
+        }
+
+        byte[] snapshot = outputStream.toByteArray();
+        if (readSnapshot(snapshot, bpmnModel.getSourceSystemId()) == null) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return the model of the given snapshot, or null if the snapshot can't be read, in which case the BPMN XML needs to be parsed.
+     */
+    public static BpmnModel readSnapshot(byte[] snapshot, String resourceName) {
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(snapshot)))) {
+            objectInputStream.setObjectInputFilter(SNAPSHOT_INPUT_FILTER);
+            BpmnModel bpmnModel = (BpmnModel) objectInputStream.readObject();
+            restoreSequenceFlowReferences(bpmnModel);
+            return bpmnModel;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.warn("Could not read BPMN model snapshot of {}, the BPMN XML will be parsed instead", resourceName, e);
+            return null;
+        }
+    }
+
+    /**
+     * The source and target flow elements of a sequence flow are transient, so that serializing a model doesn't follow the sequence flow
+     * from one flow node to the next (which recurses as deep as the longest path through the process). They are looked up again by id.
+     */
+    protected static void restoreSequenceFlowReferences(BpmnModel bpmnModel) {
+        for (Process process : bpmnModel.getProcesses()) {
+            for (SequenceFlow sequenceFlow : process.findFlowElementsOfType(SequenceFlow.class, true)) {
+                sequenceFlow.setSourceFlowElement(process.getFlowElement(sequenceFlow.getSourceRef(), true));
+                sequenceFlow.setTargetFlowElement(process.getFlowElement(sequenceFlow.getTargetRef(), true));
+            }
+        }
+    }
+}
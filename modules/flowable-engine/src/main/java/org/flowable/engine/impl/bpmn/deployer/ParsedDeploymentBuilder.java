@@ -22,9 +22,11 @@ import org.flowable.common.engine.api.repository.EngineDeployment;
 import org.flowable.common.engine.api.repository.EngineResource;
 import org.flowable.engine.impl.bpmn.parser.BpmnParse;
 import org.flowable.engine.impl.bpmn.parser.BpmnParser;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.cmd.DeploymentSettings;
 import org.flowable.engine.impl.persistence.entity.DeploymentEntity;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -93,6 +95,22 @@ public class ParsedDeploymentBuilder {
             bpmnParse.setValidateProcess(false);
         }
 
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        if (processEngineConfiguration != null && processEngineConfiguration.isBpmnModelSnapshotEnabled()) {
+            if (deployment.isNew()) {
+                bpmnParse.setCreateBpmnModelSnapshot(true);
+
+            } else {
+                EngineResource snapshotResource = deployment.getResources().get(BpmnModelSnapshotUtil.getSnapshotResourceName(resourceName));
+                if (snapshotResource != null && snapshotResource.isGenerated()) {
+                    bpmnParse.setBpmnModelSnapshot(snapshotResource.getBytes());
+                } else {
+                    // e.g. deployed before an engine upgrade, the snapshot is created from the XML and persisted by the BpmnDeployer
+                    bpmnParse.setCreateBpmnModelSnapshot(true);
+                }
+            }
+        }
+
         try {
             bpmnParse.execute();
         } catch (Exception e) {
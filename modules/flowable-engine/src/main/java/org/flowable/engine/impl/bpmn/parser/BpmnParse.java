@@ -42,6 +42,7 @@ import org.flowable.common.engine.impl.util.io.InputStreamSource;
 import org.flowable.common.engine.impl.util.io.StreamSource;
 import org.flowable.common.engine.impl.util.io.StringStreamSource;
 import org.flowable.common.engine.impl.util.io.UrlStreamSource;
+import org.flowable.engine.impl.bpmn.deployer.BpmnModelSnapshotUtil;
 import org.flowable.engine.impl.bpmn.parser.factory.ActivityBehaviorFactory;
 import org.flowable.engine.impl.bpmn.parser.factory.ListenerFactory;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -80,6 +81,13 @@ public class BpmnParse implements BpmnXMLConstants {
     protected boolean validateSchema = true;
     protected boolean validateProcess = true;
 
+    /**
+     * A snapshot of the model (see {@link BpmnModelSnapshotUtil}) to use instead of converting the XML, or, when createBpmnModelSnapshot is set,
+     * the snapshot that was created after converting and validating the XML.
+     */
+    protected byte[] bpmnModelSnapshot;
+    protected boolean createBpmnModelSnapshot;
+
     protected StreamSource streamSource;
     protected String sourceSystemId;
 
@@ -135,55 +143,18 @@ public class BpmnParse implements BpmnXMLConstants {
         try {
 
             ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
-            BpmnXMLConverter converter = new BpmnXMLConverter();
 
-            boolean enableSafeBpmnXml = false;
-            String encoding = null;
-            if (processEngineConfiguration != null) {
-                enableSafeBpmnXml = processEngineConfiguration.isEnableSafeBpmnXml();
-                encoding = processEngineConfiguration.getXmlEncoding();
+            if (bpmnModelSnapshot != null && !createBpmnModelSnapshot) {
+                bpmnModel = BpmnModelSnapshotUtil.readSnapshot(bpmnModelSnapshot, name);
+                if (bpmnModel == null) {
+                    // The unreadable snapshot is replaced by a new one, created from the XML
+                    bpmnModelSnapshot = null;
+                    createBpmnModelSnapshot = true;
+                }
             }
 
-            if (encoding != null) {
-                bpmnModel = converter.convertToBpmnModel(streamSource, validateSchema, enableSafeBpmnXml, encoding);
-            } else {
-                bpmnModel = converter.convertToBpmnModel(streamSource, validateSchema, enableSafeBpmnXml);
-            }
-
-            // XSD validation goes first, then process/semantic validation
-            if (validateProcess) {
-                ProcessValidator processValidator = processEngineConfiguration.getProcessValidator();
-                if (processValidator == null) {
-                    LOGGER.warn("Process should be validated, but no process validator is configured on the process engine configuration!");
-                } else {
-                    List<ValidationError> validationErrors = processValidator.validate(bpmnModel);
-                    if (validationErrors != null && !validationErrors.isEmpty()) {
-
-                        StringBuilder warningBuilder = new StringBuilder();
-                        StringBuilder errorBuilder = new StringBuilder();
-
-                        for (ValidationError error : validationErrors) {
-                            if (error.isWarning()) {
-                                warningBuilder.append(error);
-                                warningBuilder.append("\n");
-                            } else {
-                                errorBuilder.append(error);
-                                errorBuilder.append("\n");
-                            }
-                        }
-
-                        // Throw exception if there is any error
-                        if (errorBuilder.length() > 0) {
-                            throw new FlowableException("Errors while parsing:\n" + errorBuilder);
-                        }
-
-                        // Write out warnings (if any)
-                        if (warningBuilder.length() > 0) {
-                            LOGGER.warn("Following warnings encountered during process validation: {}", warningBuilder);
-                        }
-
-                    }
-                }
+            if (bpmnModel == null) {
+                convertAndValidateBpmnModel(processEngineConfiguration);
             }
 
             bpmnModel.setSourceSystemId(sourceSystemId);
@@ -210,6 +181,64 @@ public class BpmnParse implements BpmnXMLConstants {
         return this;
     }
 
+    protected void convertAndValidateBpmnModel(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        BpmnXMLConverter converter = new BpmnXMLConverter();
+
+        boolean enableSafeBpmnXml = false;
+        String encoding = null;
+        if (processEngineConfiguration != null) {
+            enableSafeBpmnXml = processEngineConfiguration.isEnableSafeBpmnXml();
+            encoding = processEngineConfiguration.getXmlEncoding();
+        }
+
+        if (encoding != null) {
+            bpmnModel = converter.convertToBpmnModel(streamSource, validateSchema, enableSafeBpmnXml, encoding);
+        } else {
+            bpmnModel = converter.convertToBpmnModel(streamSource, validateSchema, enableSafeBpmnXml);
+        }
+
+        // XSD validation goes first, then process/semantic validation
+        if (validateProcess) {
+            ProcessValidator processValidator = processEngineConfiguration.getProcessValidator();
+            if (processValidator == null) {
+                LOGGER.warn("Process should be validated, but no process validator is configured on the process engine configuration!");
+            } else {
+                List<ValidationError> validationErrors = processValidator.validate(bpmnModel);
+                if (validationErrors != null && !validationErrors.isEmpty()) {
+
+                    StringBuilder warningBuilder = new StringBuilder();
+                    StringBuilder errorBuilder = new StringBuilder();
+
+                    for (ValidationError error : validationErrors) {
+                        if (error.isWarning()) {
+                            warningBuilder.append(error);
+                            warningBuilder.append("\n");
+                        } else {
+                            errorBuilder.append(error);
+                            errorBuilder.append("\n");
+                        }
+                    }
+
+                    // Throw exception if there is any error
+                    if (errorBuilder.length() > 0) {
+                        throw new FlowableException("Errors while parsing:\n" + errorBuilder);
+                    }
+
+                    // Write out warnings (if any)
+                    if (warningBuilder.length() > 0) {
+                        LOGGER.warn("Following warnings encountered during process validation: {}", warningBuilder);
+                    }
+
+                }
+            }
+        }
+
+        if (createBpmnModelSnapshot) {
+            // Before the parse handlers run, as they attach the runtime behavior to the model
+            bpmnModelSnapshot = BpmnModelSnapshotUtil.createSnapshot(bpmnModel);
+        }
+    }
+
     public BpmnParse name(String name) {
         this.name = name;
         return this;
@@ -458,6 +487,24 @@ public class BpmnParse implements BpmnXMLConstants {
         this.deployment = deployment;
     }
 
+    public byte[] getBpmnModelSnapshot() {
+        return bpmnModelSnapshot;
+    }
+
+    public BpmnParse setBpmnModelSnapshot(byte[] bpmnModelSnapshot) {
+        this.bpmnModelSnapshot = bpmnModelSnapshot;
+        return this;
+    }
+
+    public boolean isCreateBpmnModelSnapshot() {
+        return createBpmnModelSnapshot;
+    }
+
+    public BpmnParse setCreateBpmnModelSnapshot(boolean createBpmnModelSnapshot) {
+        this.createBpmnModelSnapshot = createBpmnModelSnapshot;
+        return this;
+    }
+
     public BpmnModel getBpmnModel() {
         return bpmnModel;
     }
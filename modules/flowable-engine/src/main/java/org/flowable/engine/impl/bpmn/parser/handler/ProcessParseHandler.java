@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.bpmn.parser.handler;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.bpmn.model.BaseElement;
@@ -20,8 +22,13 @@ import org.flowable.bpmn.model.EventListener;
 import org.flowable.bpmn.model.ImplementationType;
 import org.flowable.bpmn.model.Process;
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
+import org.flowable.common.engine.api.delegate.event.FlowableEventListener;
+import org.flowable.common.engine.api.delegate.event.FlowableEventType;
+import org.flowable.common.engine.impl.event.EventDispatchAction;
 import org.flowable.common.engine.impl.event.FlowableEventSupport;
+import org.flowable.engine.delegate.event.impl.BpmnModelEventDispatchAction;
 import org.flowable.engine.impl.bpmn.parser.BpmnParse;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.slf4j.Logger;
@@ -89,27 +96,51 @@ public class ProcessParseHandler extends AbstractBpmnParseHandler<Process> {
                 // Extract specific event-types (if any)
                 FlowableEngineEventType[] types = FlowableEngineEventType.getTypesFromString(eventListener.getEvents());
 
+                FlowableEventListener flowableEventListener = null;
                 if (ImplementationType.IMPLEMENTATION_TYPE_CLASS.equals(eventListener.getImplementationType())) {
-                    getEventSupport(bpmnParse.getBpmnModel()).addEventListener(bpmnParse.getListenerFactory().createClassDelegateEventListener(eventListener), types);
+                    flowableEventListener = bpmnParse.getListenerFactory().createClassDelegateEventListener(eventListener);
 
                 } else if (ImplementationType.IMPLEMENTATION_TYPE_DELEGATEEXPRESSION.equals(eventListener.getImplementationType())) {
-                    getEventSupport(bpmnParse.getBpmnModel()).addEventListener(bpmnParse.getListenerFactory().createDelegateExpressionEventListener(eventListener), types);
+                    flowableEventListener = bpmnParse.getListenerFactory().createDelegateExpressionEventListener(eventListener);
 
                 } else if (ImplementationType.IMPLEMENTATION_TYPE_THROW_SIGNAL_EVENT.equals(eventListener.getImplementationType())
                         || ImplementationType.IMPLEMENTATION_TYPE_THROW_GLOBAL_SIGNAL_EVENT.equals(eventListener.getImplementationType())
                         || ImplementationType.IMPLEMENTATION_TYPE_THROW_MESSAGE_EVENT.equals(eventListener.getImplementationType())
                         || ImplementationType.IMPLEMENTATION_TYPE_THROW_ERROR_EVENT.equals(eventListener.getImplementationType())) {
 
-                    getEventSupport(bpmnParse.getBpmnModel()).addEventListener(bpmnParse.getListenerFactory().createEventThrowingEventListener(eventListener), types);
+                    flowableEventListener = bpmnParse.getListenerFactory().createEventThrowingEventListener(eventListener);
 
                 } else {
                     LOGGER.warn("Unsupported implementation type for EventListener: {} for element {}", eventListener.getImplementationType(), bpmnParse.getCurrentFlowElement().getId());
                 }
+
+                if (flowableEventListener != null) {
+                    getEventSupport(bpmnParse.getBpmnModel()).addEventListener(flowableEventListener, types);
+                    registerBpmnModelEventListenerTypes(flowableEventListener, types);
+                }
             }
         }
 
     }
 
+    /**
+     * Lets the {@link BpmnModelEventDispatchAction} know that events of the given types can have a listener in a process definition,
+     * so that these events are no longer skipped when there is no engine-wide listener for them.
+     */
+    protected void registerBpmnModelEventListenerTypes(FlowableEventListener flowableEventListener, FlowableEngineEventType[] types) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        if (processEngineConfiguration == null || processEngineConfiguration.getAdditionalEventDispatchActions() == null) {
+            return;
+        }
+
+        Collection<? extends FlowableEventType> listenerTypes = types != null && types.length > 0 ? Arrays.asList(types) : flowableEventListener.getTypes();
+        for (EventDispatchAction eventDispatchAction : processEngineConfiguration.getAdditionalEventDispatchActions()) {
+            if (eventDispatchAction instanceof BpmnModelEventDispatchAction) {
+                ((BpmnModelEventDispatchAction) eventDispatchAction).registerBpmnModelEventListenerTypes(listenerTypes);
+            }
+        }
+    }
+
     protected FlowableEventSupport getEventSupport(BpmnModel bpmnModel) {
         return (FlowableEventSupport) bpmnModel.getEventSupport();
     }
@@ -15,7 +15,10 @@ package org.flowable.engine.impl.bpmn.parser.handler;
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.bpmn.model.BaseElement;
 import org.flowable.bpmn.model.ScriptTask;
+import org.flowable.common.engine.impl.scripting.ScriptingEngines;
 import org.flowable.engine.impl.bpmn.parser.BpmnParse;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +39,13 @@ public class ScriptTaskParseHandler extends AbstractActivityBpmnParseHandler<Scr
 
         if (StringUtils.isEmpty(scriptTask.getScript())) {
             LOGGER.warn("No script provided for scriptTask {}", scriptTask.getId());
+
+        } else {
+            ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+            if (processEngineConfiguration.isCompiledScriptCacheWarmUpEnabled() && processEngineConfiguration.getScriptingEngines() != null) {
+                String language = scriptTask.getScriptFormat() != null ? scriptTask.getScriptFormat() : ScriptingEngines.DEFAULT_SCRIPTING_LANGUAGE;
+                processEngineConfiguration.getScriptingEngines().precompile(language, scriptTask.getScript());
+            }
         }
 
         scriptTask.setBehavior(bpmnParse.getActivityBehaviorFactory().createScriptTaskActivityBehavior(scriptTask));
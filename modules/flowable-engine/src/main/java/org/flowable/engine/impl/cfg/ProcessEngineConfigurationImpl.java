@@ -72,6 +72,7 @@ import org.flowable.common.engine.impl.cfg.mail.FlowableMailClientCreator;
 import org.flowable.common.engine.impl.cfg.mail.MailServerInfo;
 import org.flowable.common.engine.impl.db.AbstractDataManager;
 import org.flowable.common.engine.impl.db.SchemaManager;
+import org.flowable.common.engine.impl.el.ExpressionCompiler;
 import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.el.FlowableAstFunctionCreator;
 import org.flowable.common.engine.impl.el.function.VariableBase64ExpressionFunction;
@@ -99,10 +100,15 @@ import org.flowable.common.engine.impl.javax.el.ELResolver;
 import org.flowable.common.engine.impl.logging.LoggingSession;
 import org.flowable.common.engine.impl.logging.LoggingSessionFactory;
 import org.flowable.common.engine.impl.persistence.GenericManagerFactory;
+import org.flowable.common.engine.impl.persistence.cache.DirtyTrackingEntityCacheImpl;
 import org.flowable.common.engine.impl.persistence.cache.EntityCache;
 import org.flowable.common.engine.impl.persistence.cache.EntityCacheImpl;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWarmUp;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWarmUp.WarmUpDefinition;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayEntityManager;
 import org.flowable.common.engine.impl.persistence.entity.PropertyEntityManager;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
@@ -110,6 +116,7 @@ import org.flowable.common.engine.impl.persistence.entity.data.ByteArrayDataMana
 import org.flowable.common.engine.impl.persistence.entity.data.PropertyDataManager;
 import org.flowable.common.engine.impl.runtime.Clock;
 import org.flowable.common.engine.impl.scripting.BeansResolverFactory;
+import org.flowable.common.engine.impl.scripting.CompiledScriptCache;
 import org.flowable.common.engine.impl.scripting.ResolverFactory;
 import org.flowable.common.engine.impl.scripting.ScriptBindingsFactory;
 import org.flowable.common.engine.impl.scripting.ScriptingEngines;
@@ -258,6 +265,7 @@ import org.flowable.engine.impl.history.DefaultHistoryTaskManager;
 import org.flowable.engine.impl.history.DefaultHistoryVariableManager;
 import org.flowable.engine.impl.history.HistoryConfigurationSettings;
 import org.flowable.engine.impl.history.HistoryManager;
+import org.flowable.engine.impl.history.async.AsyncHistoryJobHandler;
 import org.flowable.engine.impl.interceptor.BpmnOverrideContextInterceptor;
 import org.flowable.engine.impl.interceptor.CommandInvoker;
 import org.flowable.engine.impl.interceptor.DefaultIdentityLinkInterceptor;
@@ -274,6 +282,7 @@ import org.flowable.engine.impl.jobexecutor.ExternalWorkerTaskCompleteJobHandler
 import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceActivityCompletionJobHandler;
 import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceWithNoWaitStatesAsyncLeaveJobHandler;
 import org.flowable.engine.impl.jobexecutor.ProcessEventJobHandler;
+import org.flowable.engine.impl.jobexecutor.ProcessInstanceMigrationChunkJobHandler;
 import org.flowable.engine.impl.jobexecutor.ProcessInstanceMigrationJobHandler;
 import org.flowable.engine.impl.jobexecutor.ProcessInstanceMigrationStatusJobHandler;
 import org.flowable.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
@@ -283,6 +292,7 @@ import org.flowable.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
 import org.flowable.engine.impl.migration.ProcessInstanceMigrationManagerImpl;
 import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntryWeigher;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCacheObject;
 import org.flowable.engine.impl.persistence.entity.ActivityInstanceEntityManager;
@@ -358,6 +368,7 @@ import org.flowable.engine.migration.ProcessInstanceMigrationCallback;
 import org.flowable.engine.migration.ProcessInstanceMigrationManager;
 import org.flowable.engine.parse.BpmnParseHandler;
 import org.flowable.engine.repository.InternalProcessDefinitionLocalizationManager;
+import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.entitylink.service.EntityLinkServiceConfiguration;
 import org.flowable.entitylink.service.impl.db.EntityLinkDbSchemaManager;
 import org.flowable.eventregistry.api.EventRegistryEventConsumer;
@@ -407,8 +418,11 @@ import org.flowable.variable.service.VariableServiceConfiguration;
 import org.flowable.variable.service.history.InternalHistoryVariableManager;
 import org.flowable.variable.service.impl.db.IbatisVariableTypeHandler;
 import org.flowable.variable.service.impl.db.VariableDbSchemaManager;
+import org.flowable.variable.service.impl.el.VariableGetJsonExpressionFunction;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
 import org.flowable.variable.service.impl.types.BooleanType;
 import org.flowable.variable.service.impl.types.ByteArrayType;
+import org.flowable.variable.service.impl.types.CompressedSerializableType;
 import org.flowable.variable.service.impl.types.DateType;
 import org.flowable.variable.service.impl.types.DefaultVariableTypes;
 import org.flowable.variable.service.impl.types.DoubleType;
@@ -559,6 +573,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected DeploymentManager deploymentManager;
 
     protected int processDefinitionCacheLimit = -1; // By default, no limit
+    /**
+     * When set to a positive value, a {@link ConcurrentDeploymentCache} bounded by this weight (as determined by the processDefinitionCacheWeigher) is used,
+     * instead of a cache bounded by the processDefinitionCacheLimit.
+     */
+    protected long processDefinitionCacheMaxWeight = -1;
+    protected DeploymentCacheWeigher<ProcessDefinitionCacheEntry> processDefinitionCacheWeigher;
     protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
 
     protected int processDefinitionInfoCacheLimit = -1; // By default, no limit
@@ -642,6 +662,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     protected String batchStatusTimeCycleConfig = "30 * * * * ?";
 
+    /**
+     * The amount of process instances that are migrated by one batch part (and its async job) of an asynchronous migration batch.
+     * With the default of 1, every process instance gets its own batch part and job.
+     * With a bigger value, the process instances of a chunk are migrated by one job, but every process instance is migrated in its own transaction,
+     * nested in the transaction of the job, so that the failure of one process instance doesn't prevent the migration of the other process instances
+     * of the chunk. A chunk is thus not migrated in one transaction: the migrated process instances of a chunk stay migrated
+     * when a later process instance or the job itself fails.
+     */
+    protected int processInstanceMigrationBatchChunkSize = 1;
+
     /**
      * Allows to define a custom factory for creating the {@link Runnable} that is executed by the async executor.
      * <p>
@@ -707,6 +737,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean serializableVariableTypeTrackDeserializedObjects = true;
 
+    /**
+     * When enabled, fetching the variables of an execution also fetches, in the same query, the variables of the other executions
+     * of the same process instance that are in the entity cache and whose variables haven't been fetched yet (and the same for tasks).
+     * Commands that access the variables of many executions (e.g. multi instance or parallel joins) then need only one query instead of one per execution.
+     * At most variableInstancePrefetchMaxScopes executions or tasks are fetched together.
+     */
+    protected boolean variableInstancePrefetchEnabled;
+    protected int variableInstancePrefetchMaxScopes = 500;
+
     /**
      * This flag determines whether variables of the type 'json' and 'longJson' will be tracked.
      * <p>
@@ -725,6 +764,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean parallelMultiInstanceAsyncLeave = true;
 
+    /**
+     * Whether a joining parallel gateway keeps track of the arrived executions with a counter for the parent scope execution
+     * (stored as an internal variable instance for the duration of the join), instead of fetching all inactive executions waiting in the gateway on every arrival.
+     * The waiting executions are then only fetched once the counter indicates that the gateway can be activated.
+     * This avoids quadratic work for gateways joining many incoming sequence flows.
+     */
+    protected boolean parallelGatewayArrivalCounterEnabled;
+
     protected ExpressionManager expressionManager;
     protected Collection<Consumer<ExpressionManager>> expressionManagerConfigurers;
     protected Collection<ELResolver> preDefaultELResolvers;
@@ -737,10 +784,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected List<ResolverFactory> resolverFactories;
     protected Collection<ResolverFactory> preDefaultResolverFactories;
     protected Collection<ResolverFactory> postDefaultResolverFactories;
+    protected boolean compiledScriptCacheEnabled;
+    protected int compiledScriptCacheSize = 1000;
+    protected boolean compiledScriptCacheWarmUpEnabled; // compile the scripts of script tasks when the definition is deployed or added to the deployment cache
     // END SCRIPTING
     protected boolean isExpressionCacheEnabled = true;
     protected int expressionCacheSize = 4096;
     protected int expressionTextLengthCacheLimit = -1; // negative value to have no max length
+    protected int expressionCompilationThreshold; // number of evaluations after which a cached expression is compiled, 0 disables compilation
 
     protected BusinessCalendarManager businessCalendarManager;
 
@@ -787,6 +838,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected Duration eventRegistryUniqueProcessInstanceStartLockTime = Duration.ofMinutes(10);
 
+    /**
+     * Whether an in-memory index of the event registry event subscriptions should be kept,
+     * so that events that can't correlate with any process event subscription are dropped without a database query.
+     * The index is reloaded from the database every {@link #eventRegistryCorrelationIndexReconcileInterval},
+     * which is the maximum time an event subscription created by another node can be missed.
+     */
+    protected boolean eventRegistryCorrelationIndexEnabled;
+
+    protected Duration eventRegistryCorrelationIndexReconcileInterval = Duration.ofSeconds(30);
+
     /**
      * Set this to true if you want to have extra checks on the BPMN xml that is parsed. See http://www.jorambarrez.be/blog/2013/02/19/uploading-a-funny-xml -can-bring-down-your-server/
      * <p>
@@ -795,6 +856,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected boolean enableSafeBpmnXml;
 
+    /**
+     * When enabled, a serialized snapshot of the BPMN model is stored as a generated resource of new deployments, right after XML conversion and validation.
+     * When a process definition needs to be parsed again (after a restart or a deployment cache eviction), the snapshot is read instead of converting the XML.
+     * Snapshots are tied to the engine version: after an engine upgrade the XML of older deployments is parsed again.
+     */
+    protected boolean bpmnModelSnapshotEnabled;
+
     /**
      * The following settings will determine the amount of entities loaded at once when the engine needs to load multiple entities (eg. when suspending a process definition with all its process
      * instances).
@@ -891,6 +959,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
         postProcessEngineInitialisation();
 
+        if (deploymentCacheWarmUpEnabled) {
+            startDeploymentCacheWarmUp();
+        }
+
         return processEngine;
     }
 
@@ -1281,6 +1353,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     public void initDependentScopeTypes() {
         this.dependentScopeTypes.add(ScopeTypes.BPMN_VARIABLE_AGGREGATION);
         this.dependentScopeTypes.add(ScopeTypes.BPMN_EXTERNAL_WORKER);
+        this.dependentScopeTypes.add(ScopeTypes.BPMN_PARALLEL_GATEWAY_ARRIVALS);
     }
 
     // History manager ///////////////////////////////////////////////////////////
@@ -1350,7 +1423,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                 addSessionFactory(new AgendaSessionFactory(agendaFactory));
             }
 
-            addSessionFactory(new GenericManagerFactory(EntityCache.class, EntityCacheImpl.class));
+            addSessionFactory(new GenericManagerFactory(EntityCache.class, isDirtyTrackingEnabled ? DirtyTrackingEntityCacheImpl.class : EntityCacheImpl.class));
 
             commandContextFactory.setSessionFactories(sessionFactories);
 
@@ -1390,7 +1463,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     @Override
     protected void initDbSqlSessionFactoryEntitySettings() {
-        defaultInitDbSqlSessionFactoryEntitySettings(EntityDependencyOrder.INSERT_ORDER, EntityDependencyOrder.DELETE_ORDER);
+        defaultInitDbSqlSessionFactoryEntitySettings(EntityDependencyOrder.INSERT_ORDER, EntityDependencyOrder.DELETE_ORDER,
+                EntityDependencyOrder.HISTORIC_ENTITY_CLASSES);
 
         // Oracle doesn't support bulk inserting for event log entries and historic task log entries
         if (isBulkInsertEnabled && "oracle".equals(databaseType)) {
@@ -1416,6 +1490,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.variableServiceConfiguration.setMaxLengthString(this.getMaxLengthString());
         this.variableServiceConfiguration.setSerializableVariableTypeTrackDeserializedObjects(this.isSerializableVariableTypeTrackDeserializedObjects());
         this.variableServiceConfiguration.setLoggingSessionEnabled(isLoggingSessionEnabled());
+        this.variableServiceConfiguration.setVariableInstancePrefetchEnabled(this.variableInstancePrefetchEnabled);
+        this.variableServiceConfiguration.setVariableInstancePrefetchMaxScopes(this.variableInstancePrefetchMaxScopes);
     }
 
     public void initVariableServiceConfiguration() {
@@ -1475,6 +1551,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.eventSubscriptionServiceConfiguration.setObjectMapper(this.objectMapper);
         this.eventSubscriptionServiceConfiguration.setEventDispatcher(this.eventDispatcher);
         this.eventSubscriptionServiceConfiguration.setEventSubscriptionLockTime(this.eventRegistryUniqueProcessInstanceStartLockTime);
+        this.eventSubscriptionServiceConfiguration.setEventSubscriptionCorrelationIndexEnabled(this.eventRegistryCorrelationIndexEnabled);
+        this.eventSubscriptionServiceConfiguration.setEventSubscriptionCorrelationIndexReconcileInterval(this.eventRegistryCorrelationIndexReconcileInterval);
         
         this.eventSubscriptionServiceConfiguration.init();
         
@@ -1703,7 +1781,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     public void initProcessDefinitionCache() {
         if (processDefinitionCache == null) {
-            if (processDefinitionCacheLimit <= 0) {
+            if (processDefinitionCacheMaxWeight > 0) {
+                if (processDefinitionCacheWeigher == null) {
+                    processDefinitionCacheWeigher = new ProcessDefinitionCacheEntryWeigher();
+                }
+                processDefinitionCache = new ConcurrentDeploymentCache<>(processDefinitionCacheMaxWeight, processDefinitionCacheWeigher);
+            } else if (processDefinitionCacheLimit <= 0) {
                 processDefinitionCache = new DefaultDeploymentCache<>();
             } else {
                 processDefinitionCache = new DefaultDeploymentCache<>(processDefinitionCacheLimit);
@@ -2009,6 +2092,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         ProcessInstanceMigrationJobHandler processInstanceMigrationJobHandler = new ProcessInstanceMigrationJobHandler();
         jobHandlers.put(processInstanceMigrationJobHandler.getType(), processInstanceMigrationJobHandler);
         
+        ProcessInstanceMigrationChunkJobHandler processInstanceMigrationChunkJobHandler = new ProcessInstanceMigrationChunkJobHandler();
+        jobHandlers.put(processInstanceMigrationChunkJobHandler.getType(), processInstanceMigrationChunkJobHandler);
+
         ProcessInstanceMigrationStatusJobHandler processInstanceMigrationStatusJobHandler = new ProcessInstanceMigrationStatusJobHandler();
         jobHandlers.put(processInstanceMigrationStatusJobHandler.getType(), processInstanceMigrationStatusJobHandler);
 
@@ -2048,6 +2134,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         if (isAsyncHistoryEnabled) {
             historyJobHandlers = new HashMap<>();
 
+            // Applies the history recorded by the AsyncHistoryManager, when that one is configured as history manager
+            AsyncHistoryJobHandler asyncHistoryJobHandler = new AsyncHistoryJobHandler(this);
+            historyJobHandlers.put(asyncHistoryJobHandler.getType(), asyncHistoryJobHandler);
+
             if (getCustomHistoryJobHandlers() != null) {
                 for (HistoryJobHandler customJobHandler : getCustomHistoryJobHandlers()) {
                     historyJobHandlers.put(customJobHandler.getType(), customJobHandler);
@@ -2204,6 +2294,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             if (dbIdGenerator.getIdBlockSize() == 0) {
                 dbIdGenerator.setIdBlockSize(idBlockSize);
             }
+            if (dbIdGenerator.getPrefetchThreshold() == 0) {
+                dbIdGenerator.setPrefetchThreshold(idBlockPrefetchThreshold);
+            }
             if (dbIdGenerator.getCommandExecutor() == null) {
                 dbIdGenerator.setCommandExecutor(getCommandExecutor());
             }
@@ -2262,6 +2355,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             variableTypes.addType(new JodaDateTimeType());
             variableTypes.addType(new DoubleType());
             variableTypes.addType(new UUIDType());
+            if (binaryVariableTypesEnabled) {
+                variableTypes.addType(new BinaryJsonType(objectMapper, jsonVariableTypeTrackObjects, binaryVariableCompressionThreshold));
+            }
             variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
             // longJsonType only needed for reading purposes
             variableTypes.addType(JsonType.longJsonType(getMaxLengthString(), objectMapper, jsonVariableTypeTrackObjects));
@@ -2269,7 +2365,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             variableTypes.addType(new BpmnAggregatedVariableType(this));
             variableTypes.addType(new ByteArrayType());
             variableTypes.addType(new EmptyCollectionType());
+            if (binaryVariableTypesEnabled) {
+                variableTypes.addType(new CompressedSerializableType(serializableVariableTypeTrackDeserializedObjects, binaryVariableCompressionThreshold));
+            }
             variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+            if (!binaryVariableTypesEnabled) {
+                // binary variable types only needed for reading purposes
+                variableTypes.addType(new BinaryJsonType(objectMapper, jsonVariableTypeTrackObjects, binaryVariableCompressionThreshold));
+                variableTypes.addType(new CompressedSerializableType(serializableVariableTypeTrackDeserializedObjects, binaryVariableCompressionThreshold));
+            }
 
         } else {
             if (customPreVariableTypes != null) {
@@ -2354,6 +2458,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     public void initScriptingEngines() {
         if (scriptingEngines == null) {
             scriptingEngines = new ScriptingEngines(scriptBindingsFactory);
+            if (compiledScriptCacheEnabled) {
+                scriptingEngines.setCompiledScriptCache(new CompiledScriptCache(compiledScriptCacheSize));
+            }
             scriptingEngines.setDefaultTraceEnhancer(new ProcessEngineScriptTraceEnhancer());
         }
     }
@@ -2365,6 +2472,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             if (isExpressionCacheEnabled) {
                 processExpressionManager.setExpressionCache(new DefaultDeploymentCache<>(expressionCacheSize));
                 processExpressionManager.setExpressionTextLengthCacheLimit(expressionTextLengthCacheLimit);
+                if (expressionCompilationThreshold > 0) {
+                    processExpressionManager.setExpressionCompiler(new ExpressionCompiler(expressionCompilationThreshold));
+                }
             }
 
             if (preDefaultELResolvers != null) {
@@ -2484,9 +2594,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             VariableType jpaType = variableTypes.getVariableType(JPAEntityVariableType.TYPE_NAME);
             // Add JPA-type
             if (jpaType == null) {
-                // We try adding the variable right before SerializableType, if
-                // available
+                // We try adding the variable right before SerializableType or CompressedSerializableType
+                // (whichever comes first), if available
                 int serializableIndex = variableTypes.getTypeIndex(SerializableType.TYPE_NAME);
+                int compressedSerializableIndex = variableTypes.getTypeIndex(CompressedSerializableType.TYPE_NAME);
+                if (compressedSerializableIndex > -1 && (serializableIndex == -1 || compressedSerializableIndex < serializableIndex)) {
+                    serializableIndex = compressedSerializableIndex;
+                }
                 if (serializableIndex > -1) {
                     variableTypes.addType(new JPAEntityVariableType(), serializableIndex);
                 } else {
@@ -2553,6 +2667,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             flowableFunctionDelegates.add(new VariableGreaterThanOrEqualsExpressionFunction());
 
             flowableFunctionDelegates.add(new VariableBase64ExpressionFunction());
+            flowableFunctionDelegates.add(new VariableGetJsonExpressionFunction());
 
             flowableFunctionDelegates.add(new TaskGetFunctionDelegate());
         }
@@ -2635,6 +2750,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
 
     @Override
+    public void startDeploymentCacheWarmUp() {
+        // A cache bounded by weight can't tell upfront how many definitions fit, the warm up stops when it starts evicting instead
+        boolean weightBoundedCache = processDefinitionCache instanceof ConcurrentDeploymentCache;
+        deploymentCacheWarmUp = new DeploymentCacheWarmUp("process definition", commandExecutor, deploymentCacheWarmUpParallelism,
+                deploymentCacheWarmUpVersionsPerKey, deploymentCacheWarmUpTenantIds, weightBoundedCache ? -1 : processDefinitionCacheLimit);
+        if (weightBoundedCache) {
+            deploymentCacheWarmUp.setEvictionCountSupplier(((ConcurrentDeploymentCache<?>) processDefinitionCache)::getEvictionCount);
+        }
+        deploymentCacheWarmUp.start(() -> {
+            List<WarmUpDefinition> definitions = new ArrayList<>();
+            for (ProcessDefinition processDefinition : repositoryService.createProcessDefinitionQuery().list()) {
+                definitions.add(new WarmUpDefinition(processDefinition.getId(), processDefinition.getDeploymentId(),
+                        processDefinition.getKey(), processDefinition.getTenantId(), processDefinition.getVersion()));
+            }
+            return definitions;
+        }, processDefinitionId -> deploymentManager.findDeployedProcessDefinitionById(processDefinitionId));
+    }
+
     public void close() {
         super.close();
 
@@ -3053,6 +3186,41 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isCompiledScriptCacheEnabled() {
+        return compiledScriptCacheEnabled;
+    }
+
+    /**
+     * Enables a cache of compiled scripts: scripts of script tasks and script listeners whose script engine implements {@link javax.script.Compilable}
+     * (e.g. Groovy) are compiled once, instead of being parsed on every execution. Only used when the scripting engines are created by the engine.
+     */
+    public ProcessEngineConfigurationImpl setCompiledScriptCacheEnabled(boolean compiledScriptCacheEnabled) {
+        this.compiledScriptCacheEnabled = compiledScriptCacheEnabled;
+        return this;
+    }
+
+    public int getCompiledScriptCacheSize() {
+        return compiledScriptCacheSize;
+    }
+
+    public ProcessEngineConfigurationImpl setCompiledScriptCacheSize(int compiledScriptCacheSize) {
+        this.compiledScriptCacheSize = compiledScriptCacheSize;
+        return this;
+    }
+
+    public boolean isCompiledScriptCacheWarmUpEnabled() {
+        return compiledScriptCacheWarmUpEnabled;
+    }
+
+    /**
+     * When the compiled script cache is enabled, compiles the scripts of script tasks when a definition is parsed (at deployment time
+     * or when it is added to the deployment cache), so that the first execution doesn't pay the compilation cost.
+     */
+    public ProcessEngineConfigurationImpl setCompiledScriptCacheWarmUpEnabled(boolean compiledScriptCacheWarmUpEnabled) {
+        this.compiledScriptCacheWarmUpEnabled = compiledScriptCacheWarmUpEnabled;
+        return this;
+    }
+
     @Override
     public VariableTypes getVariableTypes() {
         return variableTypes;
@@ -3194,6 +3362,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.serializableVariableTypeTrackDeserializedObjects = serializableVariableTypeTrackDeserializedObjects;
     }
 
+    public boolean isVariableInstancePrefetchEnabled() {
+        return variableInstancePrefetchEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setVariableInstancePrefetchEnabled(boolean variableInstancePrefetchEnabled) {
+        this.variableInstancePrefetchEnabled = variableInstancePrefetchEnabled;
+        return this;
+    }
+
+    public int getVariableInstancePrefetchMaxScopes() {
+        return variableInstancePrefetchMaxScopes;
+    }
+
+    public ProcessEngineConfigurationImpl setVariableInstancePrefetchMaxScopes(int variableInstancePrefetchMaxScopes) {
+        this.variableInstancePrefetchMaxScopes = variableInstancePrefetchMaxScopes;
+        return this;
+    }
+
     public boolean isJsonVariableTypeTrackObjects() {
         return jsonVariableTypeTrackObjects;
     }
@@ -3212,6 +3398,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isParallelGatewayArrivalCounterEnabled() {
+        return parallelGatewayArrivalCounterEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setParallelGatewayArrivalCounterEnabled(boolean parallelGatewayArrivalCounterEnabled) {
+        this.parallelGatewayArrivalCounterEnabled = parallelGatewayArrivalCounterEnabled;
+        return this;
+    }
+
     public Collection<ELResolver> getPreDefaultELResolvers() {
         return preDefaultELResolvers;
     }
@@ -3317,6 +3512,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public int getExpressionCompilationThreshold() {
+        return expressionCompilationThreshold;
+    }
+
+    /**
+     * Sets the number of evaluations after which a cached expression is compiled (see {@link ExpressionCompiler}).
+     * 0 (the default) disables the compilation of expressions.
+     */
+    public ProcessEngineConfigurationImpl setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+        this.expressionCompilationThreshold = expressionCompilationThreshold;
+        return this;
+    }
+
     public BusinessCalendarManager getBusinessCalendarManager() {
         return businessCalendarManager;
     }
@@ -3750,6 +3958,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public long getProcessDefinitionCacheMaxWeight() {
+        return processDefinitionCacheMaxWeight;
+    }
+
+    public ProcessEngineConfigurationImpl setProcessDefinitionCacheMaxWeight(long processDefinitionCacheMaxWeight) {
+        this.processDefinitionCacheMaxWeight = processDefinitionCacheMaxWeight;
+        return this;
+    }
+
+    public DeploymentCacheWeigher<ProcessDefinitionCacheEntry> getProcessDefinitionCacheWeigher() {
+        return processDefinitionCacheWeigher;
+    }
+
+    public ProcessEngineConfigurationImpl setProcessDefinitionCacheWeigher(DeploymentCacheWeigher<ProcessDefinitionCacheEntry> processDefinitionCacheWeigher) {
+        this.processDefinitionCacheWeigher = processDefinitionCacheWeigher;
+        return this;
+    }
+
     public DeploymentCache<ProcessDefinitionCacheEntry> getProcessDefinitionCache() {
         return processDefinitionCache;
     }
@@ -3822,6 +4048,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isBpmnModelSnapshotEnabled() {
+        return bpmnModelSnapshotEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setBpmnModelSnapshotEnabled(boolean bpmnModelSnapshotEnabled) {
+        this.bpmnModelSnapshotEnabled = bpmnModelSnapshotEnabled;
+        return this;
+    }
+
     @Override
     public ProcessEngineConfigurationImpl setEventDispatcher(FlowableEventDispatcher eventDispatcher) {
         this.eventDispatcher = eventDispatcher;
@@ -3918,6 +4153,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isEventRegistryCorrelationIndexEnabled() {
+        return eventRegistryCorrelationIndexEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setEventRegistryCorrelationIndexEnabled(boolean eventRegistryCorrelationIndexEnabled) {
+        this.eventRegistryCorrelationIndexEnabled = eventRegistryCorrelationIndexEnabled;
+        return this;
+    }
+
+    public Duration getEventRegistryCorrelationIndexReconcileInterval() {
+        return eventRegistryCorrelationIndexReconcileInterval;
+    }
+
+    public ProcessEngineConfigurationImpl setEventRegistryCorrelationIndexReconcileInterval(Duration eventRegistryCorrelationIndexReconcileInterval) {
+        this.eventRegistryCorrelationIndexReconcileInterval = eventRegistryCorrelationIndexReconcileInterval;
+        return this;
+    }
+
     public List<FlowableFunctionDelegate> getFlowableFunctionDelegates() {
         return flowableFunctionDelegates;
     }
@@ -5435,4 +5688,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         this.batchStatusTimeCycleConfig = batchStatusTimeCycleConfig;
     }
 
+    public int getProcessInstanceMigrationBatchChunkSize() {
+        return processInstanceMigrationBatchChunkSize;
+    }
+
+    public ProcessEngineConfigurationImpl setProcessInstanceMigrationBatchChunkSize(int processInstanceMigrationBatchChunkSize) {
+        this.processInstanceMigrationBatchChunkSize = processInstanceMigrationBatchChunkSize;
+        return this;
+    }
+
 }
@@ -23,6 +23,7 @@ import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.jobexecutor.ProcessInstanceMigrationChunkJobHandler;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.engine.migration.ProcessInstanceBatchMigrationPartResult;
 import org.flowable.engine.migration.ProcessInstanceBatchMigrationResult;
@@ -53,7 +54,15 @@ public class GetProcessInstanceMigrationBatchResultCmd implements Command<Proces
             List<BatchPart> batchParts = batchService.findBatchPartsByBatchId(batch.getId());
             if (batchParts != null && !batchParts.isEmpty()) {
                 for (BatchPart batchPart : batchParts) {
-                    result.addMigrationPart(convertFromBatchPart(batchPart, objectMapper));
+                    JsonNode chunkNode = readChunkDocument(batchPart, objectMapper);
+                    if (chunkNode != null) {
+                        for (JsonNode processInstanceNode : chunkNode.path(ProcessInstanceMigrationChunkJobHandler.BATCH_PART_PROCESS_INSTANCES_LABEL)) {
+                            result.addMigrationPart(convertFromChunkProcessInstance(batchPart, processInstanceNode));
+                        }
+
+                    } else {
+                        result.addMigrationPart(convertFromBatchPart(batchPart, objectMapper));
+                    }
                 }
             }
             return result;
@@ -105,4 +114,49 @@ public class GetProcessInstanceMigrationBatchResultCmd implements Command<Proces
         
         return partResult;
     }
+
+    /**
+     * @return the document of a batch part that migrates a chunk of process instances, or null for a batch part of a single process instance.
+     */
+    protected JsonNode readChunkDocument(BatchPart batchPart, ObjectMapper objectMapper) {
+        if (batchPart.getScopeId() != null) {
+            return null;
+        }
+
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
+        String documentJson = batchPart.getResultDocumentJson(processEngineConfiguration.getEngineCfgKey());
+        if (documentJson == null) {
+            return null;
+        }
+
+        try {
+            JsonNode documentNode = objectMapper.readTree(documentJson);
+            return ProcessInstanceMigrationChunkJobHandler.isChunkDocument(documentNode) ? documentNode : null;
+
+        } catch (IOException e) {
+            throw new FlowableException("Error reading batch part " + batchPart.getId());
+        }
+    }
+
+    protected ProcessInstanceBatchMigrationPartResult convertFromChunkProcessInstance(BatchPart batchPart, JsonNode processInstanceNode) {
+        ProcessInstanceBatchMigrationPartResult partResult = new ProcessInstanceBatchMigrationPartResult();
+
+        partResult.setBatchId(batchPart.getId());
+        partResult.setProcessInstanceId(processInstanceNode.path(ProcessInstanceMigrationChunkJobHandler.BATCH_PART_PROCESS_INSTANCE_ID_LABEL).asText());
+        partResult.setSourceProcessDefinitionId(batchPart.getBatchSearchKey());
+        partResult.setTargetProcessDefinitionId(batchPart.getBatchSearchKey2());
+
+        if (batchPart.getCompleteTime() != null) {
+            partResult.setStatus(ProcessInstanceBatchMigrationResult.STATUS_COMPLETED);
+            partResult.setResult(processInstanceNode.path(BATCH_RESULT_STATUS_LABEL).asText(null));
+            if (processInstanceNode.has(BATCH_RESULT_MESSAGE_LABEL)) {
+                partResult.setMigrationMessage(processInstanceNode.get(BATCH_RESULT_MESSAGE_LABEL).asText());
+            }
+
+        } else {
+            partResult.setResult(batchPart.getStatus());
+        }
+
+        return partResult;
+    }
 }
@@ -13,37 +13,137 @@
 
 package org.flowable.engine.impl.db;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.db.IdBlock;
 import org.flowable.common.engine.impl.interceptor.CommandConfig;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.engine.impl.cmd.GetNextIdBlockCmd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Generates ids from blocks of ids that are reserved in the database (see {@link GetNextIdBlockCmd}).
+ * <p>
+ * Ids are handed out from the current block with an atomic increment, so threads only synchronize when the block is exhausted and needs to be replaced.
+ * When a prefetch threshold is set, the next block is fetched in the background as soon as the number of remaining ids in the current block
+ * reaches the threshold, so that the threads needing an id don't have to wait for the database when the current block runs out.
+ * 
  * @author Tom Baeyens
  */
 public class DbIdGenerator implements IdGenerator {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DbIdGenerator.class);
+
     protected int idBlockSize;
-    protected long nextId;
-    protected long lastId = -1;
+
+    /**
+     * The number of remaining ids in the current block at which the next block is fetched in the background.
+     * 0 (the default) means that the next block is only fetched when the current one is exhausted.
+     */
+    protected int prefetchThreshold;
+    protected Executor prefetchExecutor;
+
+    protected volatile IdRange currentIdRange = new IdRange(0, -1, -1);
+    protected CompletableFuture<IdBlock> prefetchedIdBlock;
+
+    protected final AtomicLong idBlockFetchCount = new AtomicLong();
+    protected final AtomicLong totalIdBlockFetchTimeInMillis = new AtomicLong();
+    protected final AtomicLong maxIdBlockFetchTimeInMillis = new AtomicLong();
 
     protected CommandExecutor commandExecutor;
     protected CommandConfig commandConfig;
 
     @Override
-    public synchronized String getNextId() {
-        if (lastId < nextId) {
-            getNewBlock();
+    public String getNextId() {
+        while (true) {
+            IdRange idRange = currentIdRange;
+            long nextId = idRange.nextId.getAndIncrement();
+            if (nextId <= idRange.lastId) {
+                if (nextId == idRange.prefetchId) {
+                    // Only one thread can get this id, so the next block is requested only once
+                    prefetchNewBlock();
+                }
+                return Long.toString(nextId);
+            }
+
+            switchToNewBlock(idRange);
+        }
+    }
+
+    protected synchronized void switchToNewBlock(IdRange exhaustedIdRange) {
+        if (currentIdRange != exhaustedIdRange) {
+            // Another thread already switched to a new block
+            return;
+        }
+
+        IdBlock idBlock = null;
+        if (prefetchedIdBlock != null) {
+            try {
+                idBlock = prefetchedIdBlock.join();
+            } catch (CompletionException e) {
+                LOGGER.warn("Prefetching a new id block failed, fetching it again", e.getCause());
+            } finally {
+                prefetchedIdBlock = null;
+            }
+        }
+
+        if (idBlock == null) {
+            idBlock = fetchNewBlock();
         }
-        long _nextId = nextId++;
-        return Long.toString(_nextId);
+        currentIdRange = createIdRange(idBlock);
     }
 
     protected synchronized void getNewBlock() {
+        currentIdRange = createIdRange(fetchNewBlock());
+    }
+
+    protected synchronized void prefetchNewBlock() {
+        if (prefetchedIdBlock == null) {
+            prefetchedIdBlock = CompletableFuture.supplyAsync(this::fetchNewBlock, getPrefetchExecutor());
+        }
+    }
+
+    protected IdBlock fetchNewBlock() {
+        long start = System.currentTimeMillis();
         IdBlock idBlock = commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(idBlockSize));
-        this.nextId = idBlock.getNextId();
-        this.lastId = idBlock.getLastId();
+
+        long fetchTime = System.currentTimeMillis() - start;
+        idBlockFetchCount.incrementAndGet();
+        totalIdBlockFetchTimeInMillis.addAndGet(fetchTime);
+        maxIdBlockFetchTimeInMillis.accumulateAndGet(fetchTime, Math::max);
+        LOGGER.debug("Fetched id block {} - {} in {} ms", idBlock.getNextId(), idBlock.getLastId(), fetchTime);
+
+        return idBlock;
+    }
+
+    protected IdRange createIdRange(IdBlock idBlock) {
+        long prefetchId = -1;
+        if (prefetchThreshold > 0) {
+            prefetchId = Math.max(idBlock.getNextId(), idBlock.getLastId() - prefetchThreshold);
+        }
+        return new IdRange(idBlock.getNextId(), idBlock.getLastId(), prefetchId);
+    }
+
+    protected synchronized Executor getPrefetchExecutor() {
+        if (prefetchExecutor == null) {
+            // A single thread that is only kept alive while blocks are being fetched
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "flowable-id-block-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            prefetchExecutor = threadPoolExecutor;
+        }
+        return prefetchExecutor;
     }
 
     public int getIdBlockSize() {
@@ -54,6 +154,40 @@ public class DbIdGenerator implements IdGenerator {
         this.idBlockSize = idBlockSize;
     }
 
+    public int getPrefetchThreshold() {
+        return prefetchThreshold;
+    }
+
+    public void setPrefetchThreshold(int prefetchThreshold) {
+        this.prefetchThreshold = prefetchThreshold;
+    }
+
+    public void setPrefetchExecutor(Executor prefetchExecutor) {
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * @return the number of id blocks that were fetched from the database.
+     */
+    public long getIdBlockFetchCount() {
+        return idBlockFetchCount.get();
+    }
+
+    /**
+     * @return the average time it took to fetch an id block from the database, in milliseconds.
+     */
+    public long getAverageIdBlockFetchTimeInMillis() {
+        long count = idBlockFetchCount.get();
+        return count > 0 ? totalIdBlockFetchTimeInMillis.get() / count : 0L;
+    }
+
+    /**
+     * @return the longest time it took to fetch an id block from the database, in milliseconds.
+     */
+    public long getMaxIdBlockFetchTimeInMillis() {
+        return maxIdBlockFetchTimeInMillis.get();
+    }
+
     public CommandExecutor getCommandExecutor() {
         return commandExecutor;
     }
@@ -69,4 +203,17 @@ public class DbIdGenerator implements IdGenerator {
     public void setCommandConfig(CommandConfig commandConfig) {
         this.commandConfig = commandConfig;
     }
+
+    protected static class IdRange {
+
+        protected final AtomicLong nextId;
+        protected final long lastId;
+        protected final long prefetchId;
+
+        protected IdRange(long nextId, long lastId, long prefetchId) {
+            this.nextId = new AtomicLong(nextId);
+            this.lastId = lastId;
+            this.prefetchId = prefetchId;
+        }
+    }
 }
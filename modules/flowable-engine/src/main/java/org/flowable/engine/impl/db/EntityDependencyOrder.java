@@ -66,6 +66,10 @@ public class EntityDependencyOrder {
 
     public static List<Class<? extends Entity>> DELETE_ORDER = new ArrayList<>();
     public static List<Class<? extends Entity>> INSERT_ORDER;
+    /**
+     * The historic entities that can be updated, of which explicit updates are coalesced when history write coalescing is enabled.
+     */
+    public static List<Class<? extends Entity>> HISTORIC_ENTITY_CLASSES = new ArrayList<>();
 
     static {
 
@@ -222,6 +226,15 @@ public class EntityDependencyOrder {
         INSERT_ORDER = new ArrayList<>(DELETE_ORDER);
         Collections.reverse(INSERT_ORDER);
 
+        HISTORIC_ENTITY_CLASSES.add(HistoricProcessInstanceEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricActivityInstanceEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricTaskInstanceEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricVariableInstanceEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricIdentityLinkEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(HistoricEntityLinkEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(CommentEntityImpl.class);
+        HISTORIC_ENTITY_CLASSES.add(AttachmentEntityImpl.class);
+
     }
     
 }
@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.bpmn.constants.BpmnXMLConstants;
@@ -39,14 +40,16 @@ import org.flowable.eventregistry.api.EventRegistryProcessingInfo;
 import org.flowable.eventregistry.api.runtime.EventInstance;
 import org.flowable.eventregistry.impl.constant.EventConstants;
 import org.flowable.eventregistry.impl.consumer.BaseEventRegistryEventConsumer;
+import org.flowable.eventregistry.impl.consumer.BatchEventSubscriptionHandler;
 import org.flowable.eventregistry.impl.consumer.CorrelationKey;
 import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.api.EventSubscriptionQuery;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionCorrelationIndex;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionQueryImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class BpmnEventRegistryEventConsumer extends BaseEventRegistryEventConsumer {
+public class BpmnEventRegistryEventConsumer extends BaseEventRegistryEventConsumer implements BatchEventSubscriptionHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BpmnEventRegistryEventConsumer.class);
 
@@ -80,8 +83,7 @@ public class BpmnEventRegistryEventConsumer extends BaseEventRegistryEventConsum
         }
         RuntimeService runtimeService = processEngineConfiguration.getRuntimeService();
         for (EventSubscription eventSubscription : eventSubscriptions) {
-            EventConsumerInfo eventConsumerInfo = new EventConsumerInfo(eventSubscription.getId(), eventSubscription.getExecutionId(),
-                    eventSubscription.getProcessDefinitionId(), ScopeTypes.BPMN);
+            EventConsumerInfo eventConsumerInfo = createEventConsumerInfo(eventSubscription);
             handleEventSubscription(runtimeService, eventSubscription, eventInstance, correlationKeys, eventConsumerInfo);
             eventRegistryProcessingInfo.addEventConsumerInfo(eventConsumerInfo);
         }
@@ -89,6 +91,33 @@ public class BpmnEventRegistryEventConsumer extends BaseEventRegistryEventConsum
         return eventRegistryProcessingInfo;
     }
 
+    @Override
+    public String getEventSubscriptionScopeType() {
+        return ScopeTypes.BPMN;
+    }
+
+    @Override
+    public EventConsumerInfo createEventConsumerInfo(EventSubscription eventSubscription) {
+        return new EventConsumerInfo(eventSubscription.getId(), eventSubscription.getExecutionId(),
+                eventSubscription.getProcessDefinitionId(), ScopeTypes.BPMN);
+    }
+
+    @Override
+    public boolean handleEventSubscription(EventSubscription eventSubscription, EventInstance eventInstance,
+            Collection<CorrelationKey> correlationKeys, EventConsumerInfo eventConsumerInfo) {
+        handleEventSubscription(processEngineConfiguration.getRuntimeService(), eventSubscription, eventInstance, correlationKeys, eventConsumerInfo);
+        return true;
+    }
+
+    @Override
+    public boolean requiresSeparateTransaction(EventSubscription eventSubscription) {
+        // The check for an existing process instance with the same unique reference id needs to see the process instances
+        // that were started for the previous events, so it can't share the transaction of those
+        return eventSubscription.getExecutionId() == null
+                && eventSubscription.getProcessDefinitionId() != null && eventSubscription.getProcessInstanceId() == null
+                && Objects.equals(getStartCorrelationConfiguration(eventSubscription), BpmnXMLConstants.START_EVENT_CORRELATION_STORE_AS_UNIQUE_REFERENCE_ID);
+    }
+
     protected void handleEventSubscription(RuntimeService runtimeService, EventSubscription eventSubscription,
             EventInstance eventInstance, Collection<CorrelationKey> correlationKeys, EventConsumerInfo eventConsumerInfo) {
 
@@ -284,6 +313,17 @@ public class BpmnEventRegistryEventConsumer extends BaseEventRegistryEventConsum
         return null;
     }
 
+    @Override
+    protected boolean mayHaveEventSubscriptions(String scopeType, EventInstance eventInstance, Set<String> correlationKeyValues) {
+        EventSubscriptionCorrelationIndex correlationIndex = processEngineConfiguration.getEventSubscriptionServiceConfiguration().getEventSubscriptionCorrelationIndex();
+        if (correlationIndex == null || !ScopeTypes.BPMN.equals(scopeType)) {
+            return true;
+        }
+
+        return correlationIndex.mayHaveEventSubscriptions(eventInstance.getEventKey(),
+                getCorrelatedEventSubscriptionTenantIds(scopeType, eventInstance), correlationKeyValues);
+    }
+
     @Override
     protected EventSubscriptionQuery createEventSubscriptionQuery() {
         return new EventSubscriptionQueryImpl(commandExecutor, processEngineConfiguration.getEventSubscriptionServiceConfiguration());
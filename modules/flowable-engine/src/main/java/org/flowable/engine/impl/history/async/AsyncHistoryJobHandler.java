@@ -0,0 +1,166 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntityManager;
+import org.flowable.identitylink.service.impl.persistence.entity.HistoricIdentityLinkEntity;
+import org.flowable.identitylink.service.impl.persistence.entity.HistoricIdentityLinkEntityManager;
+import org.flowable.job.service.impl.history.async.AbstractAsyncHistoryJobHandler;
+import org.flowable.job.service.impl.history.async.util.AsyncHistoryJsonUtil;
+import org.flowable.job.service.impl.history.async.util.AsyncHistoryVariableUtil;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Applies the history changes recorded by the {@link AsyncHistoryManager} to the history tables.
+ */
+public class AsyncHistoryJobHandler extends AbstractAsyncHistoryJobHandler {
+
+    public static final String TYPE = "async-history";
+
+    protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    public AsyncHistoryJobHandler(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        super(TYPE);
+        this.processEngineConfiguration = processEngineConfiguration;
+    }
+
+    @Override
+    protected boolean historicScopeExists(String scopeId, CommandContext commandContext) {
+        return processEngineConfiguration.getHistoricProcessInstanceEntityManager().findById(scopeId) != null;
+    }
+
+    @Override
+    protected void insertHistoricEntity(String entityType, String id, ObjectNode data, CommandContext commandContext) {
+        switch (entityType) {
+            case AsyncHistoryManager.TYPE_ACTIVITY_INSTANCE:
+                HistoricActivityInstanceEntityManager historicActivityInstanceEntityManager = processEngineConfiguration.getHistoricActivityInstanceEntityManager();
+                HistoricActivityInstanceEntity historicActivityInstance = historicActivityInstanceEntityManager.create();
+                historicActivityInstance.setId(id);
+                historicActivityInstance.setProcessDefinitionId(AsyncHistoryJsonUtil.getStringFromJson(data, "processDefinitionId"));
+                historicActivityInstance.setProcessInstanceId(AsyncHistoryJsonUtil.getStringFromJson(data, "processInstanceId"));
+                historicActivityInstance.setExecutionId(AsyncHistoryJsonUtil.getStringFromJson(data, "executionId"));
+                historicActivityInstance.setActivityId(AsyncHistoryJsonUtil.getStringFromJson(data, "activityId"));
+                historicActivityInstance.setActivityName(AsyncHistoryJsonUtil.getStringFromJson(data, "activityName"));
+                historicActivityInstance.setActivityType(AsyncHistoryJsonUtil.getStringFromJson(data, "activityType"));
+                historicActivityInstance.setStartTime(AsyncHistoryJsonUtil.getDateFromJson(data, "startTime"));
+                historicActivityInstance.setTransactionOrder(AsyncHistoryJsonUtil.getIntegerFromJson(data, "transactionOrder"));
+                String tenantId = AsyncHistoryJsonUtil.getStringFromJson(data, "tenantId");
+                if (tenantId != null) {
+                    historicActivityInstance.setTenantId(tenantId);
+                }
+                copyActivityInstanceData(historicActivityInstance, data);
+                historicActivityInstanceEntityManager.insert(historicActivityInstance);
+                break;
+
+            case AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE:
+                AsyncHistoryVariableUtil.insertHistoricVariable(id, data, processEngineConfiguration.getVariableServiceConfiguration());
+                break;
+
+            case AsyncHistoryManager.TYPE_IDENTITY_LINK:
+                HistoricIdentityLinkEntityManager historicIdentityLinkEntityManager = processEngineConfiguration.getIdentityLinkServiceConfiguration()
+                        .getHistoricIdentityLinkEntityManager();
+                HistoricIdentityLinkEntity historicIdentityLink = historicIdentityLinkEntityManager.create();
+                historicIdentityLink.setId(id);
+                historicIdentityLink.setGroupId(AsyncHistoryJsonUtil.getStringFromJson(data, "groupId"));
+                historicIdentityLink.setProcessInstanceId(AsyncHistoryJsonUtil.getStringFromJson(data, "processInstanceId"));
+                historicIdentityLink.setTaskId(AsyncHistoryJsonUtil.getStringFromJson(data, "taskId"));
+                historicIdentityLink.setType(AsyncHistoryJsonUtil.getStringFromJson(data, "type"));
+                historicIdentityLink.setUserId(AsyncHistoryJsonUtil.getStringFromJson(data, "userId"));
+                historicIdentityLink.setCreateTime(AsyncHistoryJsonUtil.getDateFromJson(data, "createTime"));
+                historicIdentityLinkEntityManager.insert(historicIdentityLink, false);
+                break;
+
+            default:
+                throw new FlowableException("Unknown historic entity type " + entityType + " for async history");
+        }
+    }
+
+    @Override
+    protected boolean updateHistoricEntity(String entityType, String id, ObjectNode data, CommandContext commandContext) {
+        switch (entityType) {
+            case AsyncHistoryManager.TYPE_ACTIVITY_INSTANCE:
+                HistoricActivityInstanceEntity historicActivityInstance = processEngineConfiguration.getHistoricActivityInstanceEntityManager().findById(id);
+                if (historicActivityInstance == null) {
+                    return false;
+                }
+                copyActivityInstanceData(historicActivityInstance, data);
+                return true;
+
+            case AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE:
+                AsyncHistoryVariableUtil.updateHistoricVariable(id, data, processEngineConfiguration.getVariableServiceConfiguration());
+                return true;
+
+            default:
+                throw new FlowableException("Unknown historic entity type " + entityType + " for async history");
+        }
+    }
+
+    /**
+     * Copies the fields that can be changed after the historic activity instance is created, only when they are part of the change.
+     */
+    protected void copyActivityInstanceData(HistoricActivityInstanceEntity historicActivityInstance, ObjectNode data) {
+        if (data.has("endTime")) {
+            historicActivityInstance.setEndTime(AsyncHistoryJsonUtil.getDateFromJson(data, "endTime"));
+        }
+        if (data.has("durationInMillis")) {
+            historicActivityInstance.setDurationInMillis(AsyncHistoryJsonUtil.getLongFromJson(data, "durationInMillis"));
+        }
+        if (data.has("deleteReason")) {
+            historicActivityInstance.setDeleteReason(AsyncHistoryJsonUtil.getStringFromJson(data, "deleteReason"));
+        }
+        if (data.has("taskId")) {
+            historicActivityInstance.setTaskId(AsyncHistoryJsonUtil.getStringFromJson(data, "taskId"));
+        }
+        if (data.has("assignee")) {
+            historicActivityInstance.setAssignee(AsyncHistoryJsonUtil.getStringFromJson(data, "assignee"));
+        }
+        if (data.has("calledProcessInstanceId")) {
+            historicActivityInstance.setCalledProcessInstanceId(AsyncHistoryJsonUtil.getStringFromJson(data, "calledProcessInstanceId"));
+        }
+    }
+
+    @Override
+    protected void deleteHistoricEntity(String entityType, String id, CommandContext commandContext) {
+        switch (entityType) {
+            case AsyncHistoryManager.TYPE_ACTIVITY_INSTANCE:
+                HistoricActivityInstanceEntityManager historicActivityInstanceEntityManager = processEngineConfiguration.getHistoricActivityInstanceEntityManager();
+                HistoricActivityInstanceEntity historicActivityInstance = historicActivityInstanceEntityManager.findById(id);
+                if (historicActivityInstance != null) {
+                    historicActivityInstanceEntityManager.delete(historicActivityInstance);
+                }
+                break;
+
+            case AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE:
+                AsyncHistoryVariableUtil.deleteHistoricVariable(id, processEngineConfiguration.getVariableServiceConfiguration());
+                break;
+
+            case AsyncHistoryManager.TYPE_IDENTITY_LINK:
+                HistoricIdentityLinkEntityManager historicIdentityLinkEntityManager = processEngineConfiguration.getIdentityLinkServiceConfiguration()
+                        .getHistoricIdentityLinkEntityManager();
+                HistoricIdentityLinkEntity historicIdentityLink = historicIdentityLinkEntityManager.findById(id);
+                if (historicIdentityLink != null) {
+                    historicIdentityLinkEntityManager.delete(historicIdentityLink);
+                }
+                break;
+
+            default:
+                throw new FlowableException("Unknown historic entity type " + entityType + " for async history");
+        }
+    }
+
+}
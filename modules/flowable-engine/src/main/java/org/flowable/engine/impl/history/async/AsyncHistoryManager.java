@@ -0,0 +1,184 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.util.Date;
+
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.DefaultHistoryManager;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ActivityInstance;
+import org.flowable.identitylink.service.impl.persistence.entity.IdentityLinkEntity;
+import org.flowable.job.service.impl.history.async.AsyncHistoryDateUtil;
+import org.flowable.job.service.impl.history.async.AsyncHistorySession;
+import org.flowable.job.service.impl.history.async.util.AsyncHistoryVariableUtil;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A history manager that doesn't write the historic activity instances, variable instances and identity links in the transaction of the runtime changes.
+ * Instead, these changes are recorded as compact change records in an {@link AsyncHistorySession}, which stores them in one history job per transaction.
+ * The async history executor applies them to the history tables with the {@link AsyncHistoryJobHandler}.
+ * All other history (process instances, tasks, ...) is written synchronously, like the {@link DefaultHistoryManager} does.
+ * <p>
+ * The async history needs to be enabled on the process engine configuration (asyncHistoryEnabled), to register the {@link AsyncHistoryJobHandler}
+ * and to start the async history executor. No historic entity events are dispatched for the history that is written asynchronously.
+ */
+public class AsyncHistoryManager extends DefaultHistoryManager {
+
+    public static final String TYPE_ACTIVITY_INSTANCE = "activity-instance";
+    public static final String TYPE_IDENTITY_LINK = "identity-link";
+
+    public AsyncHistoryManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        super(processEngineConfiguration);
+    }
+
+    protected AsyncHistorySession getAsyncHistorySession() {
+        return AsyncHistorySession.getOrCreate(CommandContextUtil.getCommandContext(), processEngineConfiguration.getJobServiceConfiguration(),
+                AsyncHistoryJobHandler.TYPE, null);
+    }
+
+    protected ObjectNode createData() {
+        return processEngineConfiguration.getObjectMapper().createObjectNode();
+    }
+
+    // Activity related history
+
+    @Override
+    public void recordActivityStart(ActivityInstance activityInstance) {
+        if (activityInstance != null && activityInstance.getActivityId() != null && getHistoryConfigurationSettings().isHistoryEnabledForActivity(activityInstance)) {
+            recordActivityInstanceInsert(activityInstance);
+        }
+    }
+
+    @Override
+    public void createHistoricActivityInstance(ActivityInstance activityInstance) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForActivity(activityInstance)) {
+            recordActivityInstanceInsert(activityInstance);
+        }
+    }
+
+    protected void recordActivityInstanceInsert(ActivityInstance activityInstance) {
+        ObjectNode data = createData();
+        data.put("processDefinitionId", activityInstance.getProcessDefinitionId());
+        data.put("processInstanceId", activityInstance.getProcessInstanceId());
+        data.put("calledProcessInstanceId", activityInstance.getCalledProcessInstanceId());
+        data.put("executionId", activityInstance.getExecutionId());
+        data.put("taskId", activityInstance.getTaskId());
+        data.put("activityId", activityInstance.getActivityId());
+        data.put("activityName", activityInstance.getActivityName());
+        data.put("activityType", activityInstance.getActivityType());
+        data.put("assignee", activityInstance.getAssignee());
+        data.put("startTime", AsyncHistoryDateUtil.formatDate(activityInstance.getStartTime()));
+        data.put("endTime", AsyncHistoryDateUtil.formatDate(activityInstance.getEndTime()));
+        data.put("deleteReason", activityInstance.getDeleteReason());
+        data.put("durationInMillis", activityInstance.getDurationInMillis());
+        data.put("transactionOrder", activityInstance.getTransactionOrder());
+        data.put("tenantId", activityInstance.getTenantId());
+        getAsyncHistorySession().recordInsert(TYPE_ACTIVITY_INSTANCE, activityInstance.getId(), activityInstance.getProcessInstanceId(), data);
+    }
+
+    @Override
+    public void recordActivityEnd(ActivityInstance activityInstance) {
+        if (activityInstance != null && getHistoryConfigurationSettings().isHistoryEnabledForActivity(activityInstance)) {
+            ObjectNode data = createData();
+            data.put("deleteReason", activityInstance.getDeleteReason());
+            data.put("endTime", AsyncHistoryDateUtil.formatDate(activityInstance.getEndTime()));
+            data.put("durationInMillis", activityInstance.getDurationInMillis());
+            getAsyncHistorySession().recordUpdate(TYPE_ACTIVITY_INSTANCE, activityInstance.getId(), activityInstance.getProcessInstanceId(), data);
+        }
+    }
+
+    @Override
+    public void updateHistoricActivityInstance(ActivityInstance activityInstance) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForActivity(activityInstance) && activityInstance.getExecutionId() != null) {
+            ObjectNode data = createData();
+            data.put("taskId", activityInstance.getTaskId());
+            data.put("assignee", activityInstance.getAssignee());
+            data.put("calledProcessInstanceId", activityInstance.getCalledProcessInstanceId());
+            getAsyncHistorySession().recordUpdate(TYPE_ACTIVITY_INSTANCE, activityInstance.getId(), activityInstance.getProcessInstanceId(), data);
+        }
+    }
+
+    // Task related history
+
+    @Override
+    public void recordTaskInfoChange(TaskEntity taskEntity, String activityInstanceId, Date changeTime) {
+        if (activityInstanceId != null) {
+            // A changed assignee of the historic activity instance is already recorded through updateHistoricActivityInstance
+            if (getHistoryConfigurationSettings().isHistoryEnabledForUserTask(taskEntity)) {
+                processEngineConfiguration.getTaskServiceConfiguration().getHistoricTaskService().recordTaskInfoChange(taskEntity, changeTime, processEngineConfiguration);
+            }
+
+        } else {
+            super.recordTaskInfoChange(taskEntity, null, changeTime);
+        }
+    }
+
+    // Variables related history
+
+    @Override
+    public void recordVariableCreate(VariableInstanceEntity variable, Date createTime) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(variable)) {
+            ObjectNode data = AsyncHistoryVariableUtil.createVariableData(variable, createTime, processEngineConfiguration.getObjectMapper());
+            data.put("createTime", AsyncHistoryDateUtil.formatDate(createTime));
+            getAsyncHistorySession().recordInsert(AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE, variable.getId(), variable.getProcessInstanceId(), data);
+        }
+    }
+
+    @Override
+    public void recordVariableUpdate(VariableInstanceEntity variableInstanceEntity, Date updateTime) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(variableInstanceEntity)) {
+            ObjectNode data = AsyncHistoryVariableUtil.createVariableData(variableInstanceEntity, updateTime, processEngineConfiguration.getObjectMapper());
+            getAsyncHistorySession().recordUpdate(AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE, variableInstanceEntity.getId(),
+                    variableInstanceEntity.getProcessInstanceId(), data);
+        }
+    }
+
+    @Override
+    public void recordVariableRemoved(VariableInstanceEntity variableInstanceEntity) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForVariableInstance(variableInstanceEntity)) {
+            getAsyncHistorySession().recordDelete(AsyncHistoryVariableUtil.TYPE_VARIABLE_INSTANCE, variableInstanceEntity.getId(),
+                    variableInstanceEntity.getProcessInstanceId());
+        }
+    }
+
+    // Identity link related history
+
+    @Override
+    public void recordIdentityLinkCreated(IdentityLinkEntity identityLink) {
+        // It makes no sense storing historic counterpart for an identity link that is related
+        // to a process definition only as this is never kept in history
+        if (getHistoryConfigurationSettings().isHistoryEnabledForIdentityLink(identityLink)
+                && (identityLink.getProcessInstanceId() != null || identityLink.getTaskId() != null)) {
+            ObjectNode data = createData();
+            data.put("groupId", identityLink.getGroupId());
+            data.put("processInstanceId", identityLink.getProcessInstanceId());
+            data.put("taskId", identityLink.getTaskId());
+            data.put("type", identityLink.getType());
+            data.put("userId", identityLink.getUserId());
+            data.put("createTime", AsyncHistoryDateUtil.formatDate(processEngineConfiguration.getClock().getCurrentTime()));
+            getAsyncHistorySession().recordInsert(TYPE_IDENTITY_LINK, identityLink.getId(), identityLink.getProcessInstanceId(), data);
+        }
+    }
+
+    @Override
+    public void recordIdentityLinkDeleted(IdentityLinkEntity identityLink) {
+        if (getHistoryConfigurationSettings().isHistoryEnabledForIdentityLink(identityLink)) {
+            getAsyncHistorySession().recordDelete(TYPE_IDENTITY_LINK, identityLink.getId(), identityLink.getProcessInstanceId());
+        }
+    }
+
+}
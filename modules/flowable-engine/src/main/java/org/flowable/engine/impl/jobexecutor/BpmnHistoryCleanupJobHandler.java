@@ -12,18 +12,34 @@
  */
 package org.flowable.engine.impl.jobexecutor;
 
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.flowable.batch.api.BatchQuery;
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.engine.history.HistoricProcessInstance;
 import org.flowable.engine.history.HistoricProcessInstanceQuery;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.delete.DeleteProcessInstanceBatchConstants;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.job.service.JobHandler;
+import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.job.service.impl.persistence.entity.JobEntity;
 import org.flowable.variable.api.delegate.VariableScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class BpmnHistoryCleanupJobHandler implements JobHandler {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(BpmnHistoryCleanupJobHandler.class);
+
     public static final String TYPE = "bpmn-history-cleanup";
 
     private static final String DEFAULT_BATCH_NAME = "Flowable BPMN History Cleanup";
@@ -48,13 +64,83 @@ public class BpmnHistoryCleanupJobHandler implements JobHandler {
 
         int batchSize = processEngineConfiguration.getCleanInstancesBatchSize();
 
-        HistoricProcessInstanceQuery query = processEngineConfiguration.getHistoryCleaningManager().createHistoricProcessInstanceCleaningQuery();
-        query.deleteSequentiallyUsingBatch(batchSize, DEFAULT_BATCH_NAME);
+        Duration timeBudget = getTimeBudget(processEngineConfiguration);
+        if (timeBudget != null) {
+            deleteHistoricProcessInstancesInChunks(processEngineConfiguration, batchSize, timeBudget);
+
+        } else {
+            HistoricProcessInstanceQuery query = processEngineConfiguration.getHistoryCleaningManager().createHistoricProcessInstanceCleaningQuery();
+            query.deleteSequentiallyUsingBatch(batchSize, DEFAULT_BATCH_NAME);
+        }
 
         BatchQuery batchCleaningQuery = processEngineConfiguration.getHistoryCleaningManager().createBatchCleaningQuery();
         if (batchCleaningQuery != null) {
             batchCleaningQuery.deleteWithRelatedData();
         }
     }
+
+    /**
+     * The chunks are deleted while this job is locked, so the time budget is capped at half of the async job lock time.
+     * Otherwise the lock of this job could expire before the cleanup is done, and another async executor would run it at the same time.
+     */
+    protected Duration getTimeBudget(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        Duration timeBudget = processEngineConfiguration.getHistoryCleaningTimeBudget();
+        AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        if (timeBudget != null && asyncExecutor != null) {
+            Duration maxTimeBudget = Duration.ofMillis(asyncExecutor.getAsyncJobLockTimeInMillis() / 2);
+            if (timeBudget.compareTo(maxTimeBudget) > 0) {
+                LOGGER.debug("History cleaning time budget {} is capped at {}, half of the async job lock time", timeBudget, maxTimeBudget);
+                return maxTimeBudget;
+            }
+        }
+        return timeBudget;
+    }
+
+    /**
+     * Deletes the historic process instances to clean, together with their related data, in chunks of the given size until
+     * there are no more instances to clean or the time budget is used up.
+     * Every chunk is deleted in its own transaction, with one bulk delete per history table, so an interrupted cleanup
+     * (e.g. because of a crash) keeps the chunks that were deleted already and the next run continues with the remaining instances.
+     */
+    protected void deleteHistoricProcessInstancesInChunks(ProcessEngineConfigurationImpl processEngineConfiguration, int chunkSize, Duration timeBudget) {
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+        CommandConfig chunkCommandConfig = commandExecutor.getDefaultConfig().transactionRequiresNew();
+
+        long startTime = System.nanoTime();
+        long deadline = startTime + timeBudget.toNanos();
+        long deletedInstances = 0;
+        long deletedRows = 0;
+        AtomicReference<DbSqlSession> chunkDbSqlSession = new AtomicReference<>();
+        int deletedChunkSize;
+        do {
+            deletedChunkSize = commandExecutor.execute(chunkCommandConfig, commandContext -> {
+                chunkDbSqlSession.set(CommandContextUtil.getDbSqlSession(commandContext));
+                List<HistoricProcessInstance> historicProcessInstances = processEngineConfiguration.getHistoryCleaningManager()
+                        .createHistoricProcessInstanceCleaningQuery()
+                        .listPage(0, chunkSize);
+                if (historicProcessInstances.isEmpty()) {
+                    return 0;
+                }
+
+                Set<String> processInstanceIds = new HashSet<>();
+                for (HistoricProcessInstance historicProcessInstance : historicProcessInstances) {
+                    processInstanceIds.add(historicProcessInstance.getId());
+                }
+                CommandContextUtil.getHistoryManager(commandContext).recordBulkDeleteProcessInstances(processInstanceIds);
+                return processInstanceIds.size();
+            });
+            deletedInstances += deletedChunkSize;
+            // The bulk deletes of the chunk are flushed when its command context is closed
+            deletedRows += chunkDbSqlSession.get().getBulkDeletedRowCount();
+
+        } while (deletedChunkSize >= chunkSize && System.nanoTime() < deadline);
+
+        if (LOGGER.isInfoEnabled()) {
+            long durationInMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            LOGGER.info("History cleanup deleted {} historic process instances with their related data in {} ms ({} instances per second, {} rows per second){}",
+                    deletedInstances, durationInMillis, deletedInstances * 1000 / durationInMillis, deletedRows * 1000 / durationInMillis,
+                    deletedChunkSize >= chunkSize ? ", the time budget was used up before all instances were deleted" : "");
+        }
+    }
     
 }
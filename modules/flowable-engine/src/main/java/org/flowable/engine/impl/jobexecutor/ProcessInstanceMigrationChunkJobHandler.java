@@ -0,0 +1,178 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.flowable.batch.api.Batch;
+import org.flowable.batch.api.BatchPart;
+import org.flowable.batch.api.BatchService;
+import org.flowable.batch.service.impl.persistence.entity.BatchPartEntity;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.interceptor.CommandExecutor;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.migration.ProcessInstanceMigrationDocumentImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.migration.ProcessInstanceBatchMigrationResult;
+import org.flowable.engine.migration.ProcessInstanceMigrationDocument;
+import org.flowable.engine.migration.ProcessInstanceMigrationManager;
+import org.flowable.engine.migration.ProcessInstanceMigrationValidationResult;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.variable.api.delegate.VariableScope;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Migrates a chunk of process instances of a migration batch.
+ * <p>
+ * The process instances of the chunk are stored in the document of the batch part, see {@link #getChunkDocumentJson(Collection, ObjectMapper)}.
+ * When the chunk has been migrated, the same document contains the result of every process instance of the chunk.
+ * Every process instance is validated and migrated in its own transaction, nested in the transaction of the job.
+ * A process instance that can't be migrated (because the validation fails or the migration fails at runtime, e.g. in a listener)
+ * is marked as failed and its transaction is rolled back, without preventing the migration of the other process instances.
+ * <p>
+ * The result of a process instance is stored in the document of the batch part in the transaction of that process instance,
+ * and the batch part is completed in a transaction of its own. When the job is retried after a failure of its own transaction,
+ * the process instances that already have a result are not migrated again, and a completed batch part isn't changed anymore.
+ */
+public class ProcessInstanceMigrationChunkJobHandler extends AbstractProcessInstanceMigrationJobHandler {
+
+    public static final String TYPE = "process-migration-chunk";
+
+    public static final String BATCH_PART_PROCESS_INSTANCES_LABEL = "processInstances";
+    public static final String BATCH_PART_PROCESS_INSTANCE_ID_LABEL = "processInstanceId";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(JobEntity job, String configuration, VariableScope variableScope, CommandContext commandContext) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration(commandContext);
+        BatchService batchService = processEngineConfiguration.getBatchServiceConfiguration().getBatchService();
+        ProcessInstanceMigrationManager processInstanceMigrationManager = processEngineConfiguration.getProcessInstanceMigrationManager();
+        ObjectMapper objectMapper = processEngineConfiguration.getObjectMapper();
+
+        String batchPartId = getBatchPartIdFromHandlerCfg(configuration);
+        BatchPart batchPart = batchService.getBatchPart(batchPartId);
+        if (batchPart.isCompleted()) {
+            // Completed by an earlier execution of this job, of which only the job transaction failed
+            return;
+        }
+
+        Batch batch = batchService.getBatch(batchPart.getBatchId());
+        ProcessInstanceMigrationDocument migrationDocument = ProcessInstanceMigrationDocumentImpl.fromJson(batch.getBatchDocumentJson(processEngineConfiguration.getEngineCfgKey()));
+
+        ObjectNode chunkNode = readChunkDocument(batchPart.getResultDocumentJson(processEngineConfiguration.getEngineCfgKey()), objectMapper);
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+        CommandConfig processInstanceCommandConfig = commandExecutor.getDefaultConfig().transactionRequiresNew();
+        int failedProcessInstances = 0;
+        for (JsonNode processInstanceNode : chunkNode.path(BATCH_PART_PROCESS_INSTANCES_LABEL)) {
+            ObjectNode processInstanceResultNode = (ObjectNode) processInstanceNode;
+            if (processInstanceResultNode.has(BATCH_RESULT_STATUS_LABEL)) {
+                // Migrated (or failed) in an earlier execution of this job
+                if (ProcessInstanceBatchMigrationResult.RESULT_FAIL.equals(processInstanceResultNode.path(BATCH_RESULT_STATUS_LABEL).asText())) {
+                    failedProcessInstances++;
+                }
+                continue;
+            }
+
+            String processInstanceId = processInstanceNode.path(BATCH_PART_PROCESS_INSTANCE_ID_LABEL).asText();
+            String exceptionMessage;
+            try {
+                exceptionMessage = commandExecutor.execute(processInstanceCommandConfig, processInstanceCommandContext -> {
+                    ProcessInstanceMigrationValidationResult validationResult = processInstanceMigrationManager
+                            .validateMigrateProcessInstance(processInstanceId, migrationDocument, processInstanceCommandContext);
+                    if (validationResult.hasErrors()) {
+                        return String.join(", ", validationResult.getValidationMessages());
+                    }
+
+                    processInstanceMigrationManager.migrateProcessInstance(processInstanceId, migrationDocument, processInstanceCommandContext);
+
+                    // The result is committed together with the migration of the process instance
+                    processInstanceResultNode.put(BATCH_RESULT_STATUS_LABEL, ProcessInstanceBatchMigrationResult.RESULT_SUCCESS);
+                    saveChunkDocument(batchPartId, chunkNode, processEngineConfiguration);
+                    return null;
+                });
+
+            } catch (RuntimeException e) {
+                exceptionMessage = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            }
+
+            if (exceptionMessage != null) {
+                failedProcessInstances++;
+                processInstanceResultNode.put(BATCH_RESULT_STATUS_LABEL, ProcessInstanceBatchMigrationResult.RESULT_FAIL);
+                processInstanceResultNode.put(BATCH_RESULT_MESSAGE_LABEL, exceptionMessage);
+                commandExecutor.execute(processInstanceCommandConfig, resultCommandContext -> {
+                    saveChunkDocument(batchPartId, chunkNode, processEngineConfiguration);
+                    return null;
+                });
+            }
+        }
+
+        String chunkStatus;
+        if (failedProcessInstances > 0) {
+            chunkStatus = ProcessInstanceBatchMigrationResult.RESULT_FAIL;
+            chunkNode.put(BATCH_RESULT_MESSAGE_LABEL, failedProcessInstances + " process instance(s) of the chunk could not be migrated");
+        } else {
+            chunkStatus = ProcessInstanceBatchMigrationResult.RESULT_SUCCESS;
+        }
+        chunkNode.put(BATCH_RESULT_STATUS_LABEL, chunkStatus);
+        commandExecutor.execute(processInstanceCommandConfig, batchPartCommandContext -> {
+            batchService.completeBatchPart(batchPartId, chunkStatus, chunkNode.toString());
+            return null;
+        });
+    }
+
+    protected void saveChunkDocument(String batchPartId, ObjectNode chunkNode, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        BatchPartEntity batchPartEntity = processEngineConfiguration.getBatchServiceConfiguration().getBatchPartEntityManager().findById(batchPartId);
+        batchPartEntity.setResultDocumentJson(chunkNode.toString(), processEngineConfiguration.getEngineCfgKey());
+    }
+
+    public static String getChunkDocumentJson(Collection<String> processInstanceIds, ObjectMapper objectMapper) {
+        ObjectNode chunkNode = objectMapper.createObjectNode();
+        ArrayNode processInstancesNode = chunkNode.putArray(BATCH_PART_PROCESS_INSTANCES_LABEL);
+        for (String processInstanceId : processInstanceIds) {
+            processInstancesNode.addObject().put(BATCH_PART_PROCESS_INSTANCE_ID_LABEL, processInstanceId);
+        }
+        return chunkNode.toString();
+    }
+
+    /**
+     * @return whether the given batch part document is the document of a chunk of process instances.
+     */
+    public static boolean isChunkDocument(JsonNode batchPartDocument) {
+        return batchPartDocument != null && batchPartDocument.path(BATCH_PART_PROCESS_INSTANCES_LABEL).isArray();
+    }
+
+    protected static ObjectNode readChunkDocument(String chunkDocumentJson, ObjectMapper objectMapper) {
+        try {
+            JsonNode chunkNode = chunkDocumentJson != null ? objectMapper.readTree(chunkDocumentJson) : null;
+            if (!isChunkDocument(chunkNode)) {
+                throw new FlowableException("Batch part document does not contain a chunk of process instances");
+            }
+            return (ObjectNode) chunkNode;
+
+        } catch (IOException e) {
+            throw new FlowableException("Could not read the chunk of process instances of the batch part", e);
+        }
+    }
+
+}
@@ -29,6 +29,7 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.flowable.batch.api.Batch;
 import org.flowable.batch.api.BatchPart;
 import org.flowable.batch.api.BatchService;
+import org.flowable.batch.service.impl.persistence.entity.BatchPartEntity;
 import org.flowable.bpmn.model.Activity;
 import org.flowable.bpmn.model.BoundaryEvent;
 import org.flowable.bpmn.model.BpmnModel;
@@ -63,6 +64,7 @@ import org.flowable.engine.impl.dynamic.AbstractDynamicStateManager;
 import org.flowable.engine.impl.dynamic.MoveExecutionEntityContainer;
 import org.flowable.engine.impl.dynamic.ProcessInstanceChangeState;
 import org.flowable.engine.impl.history.HistoryManager;
+import org.flowable.engine.impl.jobexecutor.ProcessInstanceMigrationChunkJobHandler;
 import org.flowable.engine.impl.jobexecutor.ProcessInstanceMigrationJobHandler;
 import org.flowable.engine.impl.jobexecutor.ProcessInstanceMigrationStatusJobHandler;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
@@ -337,16 +339,22 @@ public class ProcessInstanceMigrationManagerImpl extends AbstractDynamicStateMan
             .create();
         
         JobService jobService = processEngineConfiguration.getJobServiceConfiguration().getJobService();
-        for (ProcessInstance processInstance : processInstances) {
-            BatchPart batchPart = batchService.createBatchPart(batch, ProcessInstanceBatchMigrationResult.STATUS_WAITING, 
-                            processInstance.getId(), null, ScopeTypes.BPMN);
-            
-            JobEntity job = jobService.createJob();
-            job.setJobHandlerType(ProcessInstanceMigrationJobHandler.TYPE);
-            job.setProcessInstanceId(processInstance.getId());
-            job.setJobHandlerConfiguration(ProcessInstanceMigrationJobHandler.getHandlerCfgForBatchPartId(batchPart.getId()));
-            jobService.createAsyncJob(job, false);
-            jobService.scheduleAsyncJob(job);
+        int chunkSize = processEngineConfiguration.getProcessInstanceMigrationBatchChunkSize();
+        if (chunkSize > 1) {
+            createProcessInstanceMigrationChunks(batch, processInstances, chunkSize, processEngineConfiguration);
+
+        } else {
+            for (ProcessInstance processInstance : processInstances) {
+                BatchPart batchPart = batchService.createBatchPart(batch, ProcessInstanceBatchMigrationResult.STATUS_WAITING, 
+                                processInstance.getId(), null, ScopeTypes.BPMN);
+                
+                JobEntity job = jobService.createJob();
+                job.setJobHandlerType(ProcessInstanceMigrationJobHandler.TYPE);
+                job.setProcessInstanceId(processInstance.getId());
+                job.setJobHandlerConfiguration(ProcessInstanceMigrationJobHandler.getHandlerCfgForBatchPartId(batchPart.getId()));
+                jobService.createAsyncJob(job, false);
+                jobService.scheduleAsyncJob(job);
+            }
         }
         
         if (!processInstances.isEmpty()) {
@@ -367,6 +375,34 @@ public class ProcessInstanceMigrationManagerImpl extends AbstractDynamicStateMan
         return batch;
     }
 
+    /**
+     * Creates one batch part and async job per chunk of process instances, instead of one per process instance.
+     * The process instance ids of a chunk are stored in the document of its batch part.
+     */
+    protected void createProcessInstanceMigrationChunks(Batch batch, List<ProcessInstance> processInstances, int chunkSize,
+            ProcessEngineConfigurationImpl processEngineConfiguration) {
+
+        BatchService batchService = processEngineConfiguration.getBatchServiceConfiguration().getBatchService();
+        JobService jobService = processEngineConfiguration.getJobServiceConfiguration().getJobService();
+        for (int chunkStart = 0; chunkStart < processInstances.size(); chunkStart += chunkSize) {
+            List<String> processInstanceIds = new ArrayList<>(chunkSize);
+            for (ProcessInstance processInstance : processInstances.subList(chunkStart, Math.min(chunkStart + chunkSize, processInstances.size()))) {
+                processInstanceIds.add(processInstance.getId());
+            }
+
+            BatchPartEntity batchPart = (BatchPartEntity) batchService.createBatchPart(batch, ProcessInstanceBatchMigrationResult.STATUS_WAITING,
+                    null, null, ScopeTypes.BPMN);
+            batchPart.setResultDocumentJson(ProcessInstanceMigrationChunkJobHandler.getChunkDocumentJson(processInstanceIds,
+                    processEngineConfiguration.getObjectMapper()), processEngineConfiguration.getEngineCfgKey());
+
+            JobEntity job = jobService.createJob();
+            job.setJobHandlerType(ProcessInstanceMigrationChunkJobHandler.TYPE);
+            job.setJobHandlerConfiguration(ProcessInstanceMigrationChunkJobHandler.getHandlerCfgForBatchPartId(batchPart.getId()));
+            jobService.createAsyncJob(job, false);
+            jobService.scheduleAsyncJob(job);
+        }
+    }
+
     @Override
     public void migrateProcessInstancesOfProcessDefinition(String procDefKey, int procDefVer, String procDefTenantId, ProcessInstanceMigrationDocument document, CommandContext commandContext) {
         ProcessDefinition processDefinition = resolveProcessDefinition(procDefKey, procDefVer, procDefTenantId, commandContext);
@@ -127,7 +127,9 @@ public class DeploymentManager {
 
             DeploymentEntity deployment = deploymentEntityManager.findById(deploymentId);
             deployment.setNew(false);
+            long loadStartTime = System.nanoTime();
             deploy(deployment, null);
+            processDefinitionCache.recordLoad(processDefinitionId, System.nanoTime() - loadStartTime);
             cachedProcessDefinition = processDefinitionCache.get(processDefinitionId);
 
             if (cachedProcessDefinition == null) {
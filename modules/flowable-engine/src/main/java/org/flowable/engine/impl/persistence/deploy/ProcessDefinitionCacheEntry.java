@@ -16,6 +16,7 @@ import java.io.Serializable;
 
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.bpmn.model.Process;
+import org.flowable.engine.impl.util.FlowNodeReachabilityIndex;
 import org.flowable.engine.repository.ProcessDefinition;
 
 /**
@@ -29,6 +30,9 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     protected BpmnModel bpmnModel;
     protected Process process;
 
+    // Derived from the process, so calculated again when needed after deserialization
+    protected transient volatile FlowNodeReachabilityIndex flowNodeReachabilityIndex;
+
     public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
         this.processDefinition = processDefinition;
         this.bpmnModel = bpmnModel;
@@ -57,6 +61,20 @@ public class ProcessDefinitionCacheEntry implements Serializable {
 
     public void setProcess(Process process) {
         this.process = process;
+        this.flowNodeReachabilityIndex = null;
+    }
+
+    /**
+     * @return the reachability between the flow nodes of the process, calculated on first use.
+     */
+    public FlowNodeReachabilityIndex getFlowNodeReachabilityIndex() {
+        FlowNodeReachabilityIndex reachabilityIndex = flowNodeReachabilityIndex;
+        if (reachabilityIndex == null) {
+            // Concurrent first usages can calculate the index more than once, which is harmless as the result is the same
+            reachabilityIndex = new FlowNodeReachabilityIndex(process);
+            flowNodeReachabilityIndex = reachabilityIndex;
+        }
+        return reachabilityIndex;
     }
 
 }
@@ -16,7 +16,9 @@ package org.flowable.engine.impl.persistence.entity;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
@@ -43,7 +45,16 @@ public class CommentEntityImpl extends AbstractBpmnEngineNoRevisionEntity implem
 
     @Override
     public Object getPersistentState() {
-        return CommentEntityImpl.class;
+        // All the columns of the update statement, so that an update is only skipped when nothing changed
+        Map<String, Object> persistentState = new HashMap<>();
+        persistentState.put("type", type);
+        persistentState.put("time", time);
+        persistentState.put("userId", userId);
+        persistentState.put("taskId", taskId);
+        persistentState.put("processInstanceId", processInstanceId);
+        persistentState.put("message", message);
+        persistentState.put("fullMessage", fullMessage);
+        return persistentState;
     }
 
     @Override
@@ -32,6 +32,7 @@ import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.db.SuspensionState;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.common.engine.impl.runtime.Clock;
 import org.flowable.common.engine.impl.variablelistener.VariableListenerSession;
 import org.flowable.common.engine.impl.variablelistener.VariableListenerSessionData;
@@ -48,6 +49,7 @@ import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.eventsubscription.service.impl.persistence.entity.EventSubscriptionEntity;
 import org.flowable.identitylink.service.impl.persistence.entity.IdentityLinkEntity;
 import org.flowable.variable.api.persistence.entity.VariableInstance;
+import org.flowable.variable.service.VariableService;
 import org.flowable.variable.service.VariableServiceConfiguration;
 import org.flowable.variable.service.impl.persistence.entity.VariableInitializingList;
 import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
@@ -63,7 +65,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  * @author Joram Barrez
  */
 
-public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity implements ExecutionEntity, CountingExecutionEntity {
+public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity implements ExecutionEntity, CountingExecutionEntity, DirtyTrackingEntity {
 
     private static final long serialVersionUID = 1L;
 
@@ -330,6 +332,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     @Override
     public void setCurrentFlowElement(FlowElement currentFlowElement) {
         this.currentFlowElement = currentFlowElement;
+        markDirty();
         if (currentFlowElement != null) {
             this.activityId = currentFlowElement.getId();
             this.activityName = currentFlowElement.getName();
@@ -391,6 +394,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setBusinessKey(String businessKey) {
+        markDirty();
         this.businessKey = businessKey;
     }
 
@@ -401,6 +405,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setBusinessStatus(String businessStatus) {
+        markDirty();
         this.businessStatus = businessStatus;
     }
 
@@ -418,6 +423,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setProcessDefinitionId(String processDefinitionId) {
+        markDirty();
         this.processDefinitionId = processDefinitionId;
     }
 
@@ -541,6 +547,8 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     public void setParent(ExecutionEntity parent) {
         this.parent = (ExecutionEntityImpl) parent;
 
+        markDirty();
+
         if (parent != null) {
             this.parentId = parent.getId();
         } else {
@@ -556,6 +564,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     }
     
     public void setSuperExecutionId(String superExecutionId) {
+        markDirty();
         this.superExecutionId = superExecutionId;
     }
 
@@ -572,6 +581,8 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
             superExecution.setSubProcessInstance(null);
         }
 
+        markDirty();
+
         if (superExecution != null) {
             this.superExecutionId = ((ExecutionEntityImpl) superExecution).getId();
         } else {
@@ -618,6 +629,8 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     public void setRootProcessInstance(ExecutionEntity rootProcessInstance) {
         this.rootProcessInstance = (ExecutionEntityImpl) rootProcessInstance;
 
+        markDirty();
+
         if (rootProcessInstance != null) {
             this.rootProcessInstanceId = rootProcessInstance.getId();
         } else {
@@ -632,6 +645,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setRootProcessInstanceId(String rootProcessInstanceId) {
+        markDirty();
         this.rootProcessInstanceId = rootProcessInstanceId;
     }
 
@@ -648,15 +662,18 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setScope(boolean isScope) {
+        markDirty();
         this.isScope = isScope;
     }
 
     public void setIsScope(boolean isScope) {
+        markDirty();
         this.isScope = isScope;
     }
 
     @Override
     public void forceUpdate() {
+        markDirty();
         this.forcedUpdate = true;
     }
 
@@ -708,7 +725,34 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     @Override
     protected Collection<VariableInstanceEntity> loadVariableInstances() {
         ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
-        return processEngineConfiguration.getVariableServiceConfiguration().getVariableService().findVariableInstancesByExecutionId(id);
+        VariableServiceConfiguration variableServiceConfiguration = processEngineConfiguration.getVariableServiceConfiguration();
+        VariableService variableService = variableServiceConfiguration.getVariableService();
+
+        if (variableServiceConfiguration.isVariableInstancePrefetchEnabled() && processInstanceId != null) {
+            // The variables of the other executions of the process instance are typically needed in the same command too
+            // (e.g. the parent scopes when a variable isn't found locally, or the siblings of a multi instance or parallel join)
+            List<ExecutionEntityImpl> otherExecutions = new ArrayList<>();
+            int maxOtherExecutions = variableServiceConfiguration.getVariableInstancePrefetchMaxScopes() - 1;
+            for (ExecutionEntity cachedExecution : CommandContextUtil.getEntityCache().findInCache(ExecutionEntity.class)) {
+                if (otherExecutions.size() >= maxOtherExecutions) {
+                    break;
+                }
+
+                if (cachedExecution != this && cachedExecution instanceof ExecutionEntityImpl && !cachedExecution.isDeleted()
+                        && processInstanceId.equals(cachedExecution.getProcessInstanceId())
+                        && !((ExecutionEntityImpl) cachedExecution).isVariableInstancesInitialized()) {
+                    otherExecutions.add((ExecutionEntityImpl) cachedExecution);
+                }
+            }
+
+            if (!otherExecutions.isEmpty()) {
+                return loadVariableInstancesTogetherWith(otherExecutions,
+                        executionIds -> variableService.createInternalVariableInstanceQuery().executionIds(executionIds).withoutTaskId().list(),
+                        VariableInstanceEntity::getExecutionId);
+            }
+        }
+
+        return variableService.findVariableInstancesByExecutionId(id);
     }
 
     @Override
@@ -1008,6 +1052,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setParentId(String parentId) {
+        markDirty();
         this.parentId = parentId;
     }
 
@@ -1017,6 +1062,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
     }
     
     public void setActivityId(String activityId) {
+        markDirty();
         this.activityId = activityId;
     }
 
@@ -1031,10 +1077,12 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setConcurrent(boolean isConcurrent) {
+        markDirty();
         this.isConcurrent = isConcurrent;
     }
 
     public void setIsConcurrent(boolean isConcurrent) {
+        markDirty();
         this.isConcurrent = isConcurrent;
     }
 
@@ -1049,15 +1097,18 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setActive(boolean isActive) {
+        markDirty();
         this.isActive = isActive;
     }
 
     public void setIsActive(boolean isActive) {
+        markDirty();
         this.isActive = isActive;
     }
 
     @Override
     public void inactivate() {
+        markDirty();
         this.isActive = false;
     }
 
@@ -1106,6 +1157,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setSuspensionState(int suspensionState) {
+        markDirty();
         this.suspensionState = suspensionState;
     }
 
@@ -1125,10 +1177,12 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setEventScope(boolean isEventScope) {
+        markDirty();
         this.isEventScope = isEventScope;
     }
 
     public void setIsEventScope(boolean isEventScope) {
+        markDirty();
         this.isEventScope = isEventScope;
     }
 
@@ -1143,10 +1197,12 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setMultiInstanceRoot(boolean isMultiInstanceRoot) {
+        markDirty();
         this.isMultiInstanceRoot = isMultiInstanceRoot;
     }
 
     public void setIsMultiInstanceRoot(boolean isMultiInstanceRoot) {
+        markDirty();
         this.isMultiInstanceRoot = isMultiInstanceRoot;
     }
 
@@ -1161,10 +1217,12 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setCountEnabled(boolean isCountEnabled) {
+        markDirty();
         this.isCountEnabled = isCountEnabled;
     }
 
     public void setIsCountEnabled(boolean isCountEnabled) {
+        markDirty();
         this.isCountEnabled = isCountEnabled;
     }
 
@@ -1184,6 +1242,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setName(String name) {
+        markDirty();
         this.name = name;
     }
 
@@ -1238,6 +1297,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setLockTime(Date lockTime) {
+        markDirty();
         this.lockTime = lockTime;
     }
 
@@ -1248,6 +1308,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setLockOwner(String lockOwner) {
+        markDirty();
         this.lockOwner = lockOwner;
     }
 
@@ -1301,6 +1362,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setStartActivityId(String startActivityId) {
+        markDirty();
         this.startActivityId = startActivityId;
     }
 
@@ -1311,6 +1373,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setStartUserId(String startUserId) {
+        markDirty();
         this.startUserId = startUserId;
     }
 
@@ -1321,6 +1384,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setStartTime(Date startTime) {
+        markDirty();
         this.startTime = startTime;
     }
 
@@ -1331,6 +1395,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setEventSubscriptionCount(int eventSubscriptionCount) {
+        markDirty();
         this.eventSubscriptionCount = eventSubscriptionCount;
     }
 
@@ -1341,6 +1406,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setTaskCount(int taskCount) {
+        markDirty();
         this.taskCount = taskCount;
     }
 
@@ -1351,6 +1417,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setJobCount(int jobCount) {
+        markDirty();
         this.jobCount = jobCount;
     }
 
@@ -1361,6 +1428,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setTimerJobCount(int timerJobCount) {
+        markDirty();
         this.timerJobCount = timerJobCount;
     }
 
@@ -1371,6 +1439,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setSuspendedJobCount(int suspendedJobCount) {
+        markDirty();
         this.suspendedJobCount = suspendedJobCount;
     }
 
@@ -1381,6 +1450,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setDeadLetterJobCount(int deadLetterJobCount) {
+        markDirty();
         this.deadLetterJobCount = deadLetterJobCount;
     }
 
@@ -1391,6 +1461,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setExternalWorkerJobCount(int externalWorkerJobCount) {
+        markDirty();
         this.externalWorkerJobCount = externalWorkerJobCount;
     }
 
@@ -1401,6 +1472,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setVariableCount(int variableCount) {
+        markDirty();
         this.variableCount = variableCount;
     }
 
@@ -1411,6 +1483,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setIdentityLinkCount(int identityLinkCount) {
+        markDirty();
         this.identityLinkCount = identityLinkCount;
     }
     
@@ -1421,6 +1494,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setCallbackId(String callbackId) {
+        markDirty();
         this.callbackId = callbackId;
     }
 
@@ -1431,6 +1505,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setCallbackType(String callbackType) {
+        markDirty();
         this.callbackType = callbackType;
     }
 
@@ -1441,6 +1516,7 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setReferenceId(String referenceId) {
+        markDirty();
         this.referenceId = referenceId;
     }
 
@@ -1451,11 +1527,13 @@ public class ExecutionEntityImpl extends AbstractBpmnEngineVariableScopeEntity i
 
     @Override
     public void setReferenceType(String referenceType) {
+        markDirty();
         this.referenceType = referenceType;
     }
 
     @Override
     public void setPropagatedStageInstanceId(String propagatedStageInstanceId) {
+        markDirty();
         this.propagatedStageInstanceId = propagatedStageInstanceId;
     }
 
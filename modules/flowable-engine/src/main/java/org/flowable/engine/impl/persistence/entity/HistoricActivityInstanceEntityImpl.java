@@ -79,6 +79,7 @@ public class HistoricActivityInstanceEntityImpl extends HistoricScopeInstanceEnt
         persistentState.put("calledProcessInstanceId", calledProcessInstanceId);
         persistentState.put("activityId", activityId);
         persistentState.put("activityName", activityName);
+        persistentState.put("processDefinitionId", processDefinitionId);
         return persistentState;
     }
 
@@ -29,8 +29,11 @@ import org.flowable.bpmn.model.SequenceFlow;
 import org.flowable.bpmn.model.StartEvent;
 import org.flowable.bpmn.model.SubProcess;
 import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.context.Context;
 import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.repository.ProcessDefinition;
 
 public class ExecutionGraphUtil {
 
@@ -39,6 +42,21 @@ public class ExecutionGraphUtil {
      */
     public static boolean isReachable(String processDefinitionId, String sourceElementId, String targetElementId) {
 
+        if (Context.getCommandContext() != null && CommandContextUtil.getProcessEngineConfiguration() != null) {
+            // The reachability between the flow nodes is calculated once and kept with the cached process definition
+            DeploymentManager deploymentManager = CommandContextUtil.getProcessEngineConfiguration().getDeploymentManager();
+            ProcessDefinition processDefinition = deploymentManager.findDeployedProcessDefinitionById(processDefinitionId);
+            FlowNodeReachabilityIndex reachabilityIndex = deploymentManager.resolveProcessDefinition(processDefinition).getFlowNodeReachabilityIndex();
+
+            if (!reachabilityIndex.containsElement(sourceElementId)) {
+                throw new FlowableException("Invalid sourceElementId '" + sourceElementId + "': no element found for this id n process definition '" + processDefinitionId + "'");
+            }
+            if (!reachabilityIndex.containsElement(targetElementId)) {
+                throw new FlowableException("Invalid targetElementId '" + targetElementId + "': no element found for this id n process definition '" + processDefinitionId + "'");
+            }
+            return reachabilityIndex.isReachable(sourceElementId, targetElementId);
+        }
+
         // Fetch source and target elements
         Process process = ProcessDefinitionUtil.getProcess(processDefinitionId);
 
@@ -0,0 +1,156 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.util;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowElementsContainer;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.bpmn.model.StartEvent;
+import org.flowable.bpmn.model.SubProcess;
+
+/**
+ * The transitive closure of the 'can reach through following sequence flow' relation between the flow nodes of a process,
+ * with the same semantics as {@link ExecutionGraphUtil#isReachable(Process, FlowNode, FlowNode, java.util.Set)}:
+ * a flow node without outgoing sequence flow continues in its parent sub process
+ * and start events of an event sub process can't reach anything.
+ * <p>
+ * The index is kept once per process definition (see {@link org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry}).
+ * The flow nodes reachable from a source flow node are calculated with one graph walk the first time that source is checked,
+ * after which a reachability check from that source is a bit lookup instead of a graph walk.
+ * Only the flow nodes that are actually used as a source (e.g. the flow nodes of executions waiting for an inclusive gateway join) pay for the walk.
+ */
+public class FlowNodeReachabilityIndex {
+
+    protected final Process process;
+    protected final List<FlowNode> flowNodes;
+    protected final Map<String, Integer> elementIndices = new HashMap<>();
+
+    // Calculated on first use. Concurrent first usages can calculate the same entry more than once, which is harmless as the result is the same.
+    protected final AtomicReferenceArray<BitSet> reachableFlowNodes;
+
+    public FlowNodeReachabilityIndex(Process process) {
+        this.process = process;
+        this.flowNodes = process.findFlowElementsOfType(FlowNode.class, true);
+        for (int i = 0; i < flowNodes.size(); i++) {
+            elementIndices.put(flowNodes.get(i).getId(), i);
+        }
+
+        // Sequence flow ids are resolved to their target flow node, like ExecutionGraphUtil does
+        for (SequenceFlow sequenceFlow : process.findFlowElementsOfType(SequenceFlow.class, true)) {
+            FlowElement targetFlowElement = process.getFlowElement(sequenceFlow.getTargetRef(), true);
+            if (targetFlowElement instanceof FlowNode) {
+                elementIndices.putIfAbsent(sequenceFlow.getId(), elementIndices.get(targetFlowElement.getId()));
+            }
+        }
+
+        reachableFlowNodes = new AtomicReferenceArray<>(flowNodes.size());
+    }
+
+    protected BitSet getReachableFlowNodes(int sourceIndex) {
+        BitSet reachable = reachableFlowNodes.get(sourceIndex);
+        if (reachable == null) {
+            reachable = calculateReachableFlowNodes(flowNodes.get(sourceIndex));
+            reachableFlowNodes.set(sourceIndex, reachable);
+        }
+        return reachable;
+    }
+
+    protected BitSet calculateReachableFlowNodes(FlowNode sourceElement) {
+        BitSet reachable = new BitSet(flowNodes.size());
+        if (sourceElement instanceof StartEvent && ExecutionGraphUtil.isInEventSubprocess(sourceElement)) {
+            return reachable;
+        }
+
+        BitSet visited = new BitSet(flowNodes.size());
+        Deque<FlowNode> flowNodesToVisit = new ArrayDeque<>();
+
+        FlowNode startElement = sourceElement;
+        if (startElement.getOutgoingFlows().isEmpty()) {
+            visited.set(elementIndices.get(startElement.getId()));
+            startElement = getParentSubProcess(startElement);
+            if (startElement == null) {
+                return reachable;
+            }
+        }
+
+        int startIndex = elementIndices.get(startElement.getId());
+        reachable.set(startIndex);
+        visited.set(startIndex);
+        flowNodesToVisit.add(startElement);
+
+        while (!flowNodesToVisit.isEmpty()) {
+            FlowNode flowNode = flowNodesToVisit.poll();
+            for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
+                FlowElement targetFlowElement = process.getFlowElement(sequenceFlow.getTargetRef(), true);
+                if (!(targetFlowElement instanceof FlowNode)) {
+                    continue;
+                }
+
+                FlowNode targetFlowNode = (FlowNode) targetFlowElement;
+                int targetIndex = elementIndices.get(targetFlowNode.getId());
+                if (visited.get(targetIndex)) {
+                    continue;
+                }
+                visited.set(targetIndex);
+
+                if (targetFlowNode.getOutgoingFlows().isEmpty()) {
+                    // The end of e.g. an embedded sub process: continue with the sequence flow of the sub process
+                    SubProcess parentSubProcess = getParentSubProcess(targetFlowNode);
+                    if (parentSubProcess != null) {
+                        int parentIndex = elementIndices.get(parentSubProcess.getId());
+                        reachable.set(parentIndex);
+                        visited.set(parentIndex);
+                        flowNodesToVisit.add(parentSubProcess);
+                    }
+
+                } else {
+                    reachable.set(targetIndex);
+                    flowNodesToVisit.add(targetFlowNode);
+                }
+            }
+        }
+
+        return reachable;
+    }
+
+    protected SubProcess getParentSubProcess(FlowNode flowNode) {
+        FlowElementsContainer parentElement = process.findParent(flowNode);
+        if (parentElement instanceof SubProcess) {
+            return (SubProcess) parentElement;
+        }
+        return null;
+    }
+
+    public boolean containsElement(String elementId) {
+        return elementIndices.containsKey(elementId);
+    }
+
+    /**
+     * @return whether the flow node (or sequence flow) with the given source id can reach the flow node (or sequence flow) with the target id.
+     * Both elements need to be part of the process (see {@link #containsElement(String)}).
+     */
+    public boolean isReachable(String sourceElementId, String targetElementId) {
+        return getReachableFlowNodes(elementIndices.get(sourceElementId)).get(elementIndices.get(targetElementId));
+    }
+
+}
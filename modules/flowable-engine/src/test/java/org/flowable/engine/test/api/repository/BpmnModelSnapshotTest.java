@@ -0,0 +1,203 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.SequenceFlow;
+import org.flowable.bpmn.model.StartEvent;
+import org.flowable.bpmn.model.UserTask;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.engine.impl.bpmn.deployer.BpmnModelSnapshotUtil;
+import org.flowable.engine.impl.persistence.entity.ResourceEntity;
+import org.flowable.engine.impl.persistence.entity.ResourceEntityManager;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BpmnModelSnapshotTest extends PluggableFlowableTestCase {
+
+    protected static final String RESOURCE_NAME = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml";
+
+    protected String deploymentId;
+
+    @BeforeEach
+    public void setUp() {
+        processEngineConfiguration.setBpmnModelSnapshotEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        processEngineConfiguration.setBpmnModelSnapshotEnabled(false);
+        if (deploymentId != null) {
+            repositoryService.deleteDeployment(deploymentId, true);
+        }
+    }
+
+    @Test
+    public void testSnapshotIsCreatedOnDeploy() {
+        Deployment deployment = repositoryService.createDeployment().addClasspathResource(RESOURCE_NAME).deploy();
+        deploymentId = deployment.getId();
+
+        assertThat(repositoryService.getDeploymentResourceNames(deploymentId))
+                .contains(RESOURCE_NAME, BpmnModelSnapshotUtil.getSnapshotResourceName(RESOURCE_NAME));
+    }
+
+    @Test
+    public void testProcessDefinitionIsParsedFromSnapshot() {
+        Deployment deployment = repositoryService.createDeployment().addClasspathResource(RESOURCE_NAME).deploy();
+        deploymentId = deployment.getId();
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().deploymentId(deploymentId).singleResult();
+
+        // The BPMN XML can't be parsed anymore, so the process definition can only be restored from the snapshot
+        replaceResource(RESOURCE_NAME, RESOURCE_NAME, "not a BPMN model".getBytes(StandardCharsets.UTF_8));
+        processEngineConfiguration.getProcessDefinitionCache().clear();
+
+        BpmnModel bpmnModel = repositoryService.getBpmnModel(processDefinition.getId());
+        FlowElement taskElement = bpmnModel.getMainProcess().getFlowElement("theTask");
+        assertThat(taskElement).isInstanceOf(UserTask.class);
+        assertThat(taskElement.getName()).isEqualTo("my task");
+        assertThat(bpmnModel.getSourceSystemId()).isEqualTo(RESOURCE_NAME);
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinition.getId());
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertThat(task.getName()).isEqualTo("my task");
+        taskService.complete(task.getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Test
+    public void testMissingSnapshotIsCreatedWhenProcessDefinitionIsCachedAgain() {
+        Deployment deployment = repositoryService.createDeployment().addClasspathResource(RESOURCE_NAME).deploy();
+        deploymentId = deployment.getId();
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().deploymentId(deploymentId).singleResult();
+        String snapshotResourceName = BpmnModelSnapshotUtil.getSnapshotResourceName(RESOURCE_NAME);
+
+        // As if deployed before the snapshots were enabled
+        managementService.executeCommand(commandContext -> {
+            ResourceEntityManager resourceEntityManager = CommandContextUtil.getResourceEntityManager(commandContext);
+            resourceEntityManager.delete(resourceEntityManager.findResourceByDeploymentIdAndResourceName(deploymentId, snapshotResourceName));
+            return null;
+        });
+        processEngineConfiguration.getProcessDefinitionCache().clear();
+        assertThat(repositoryService.getDeploymentResourceNames(deploymentId)).doesNotContain(snapshotResourceName);
+
+        assertThat(repositoryService.getBpmnModel(processDefinition.getId()).getMainProcess().getFlowElement("theTask")).isInstanceOf(UserTask.class);
+        assertThat(repositoryService.getDeploymentResourceNames(deploymentId)).contains(snapshotResourceName);
+    }
+
+    @Test
+    public void testSnapshotOfOtherEngineVersionIsReplaced() {
+        Deployment deployment = repositoryService.createDeployment().addClasspathResource(RESOURCE_NAME).deploy();
+        deploymentId = deployment.getId();
+        ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().deploymentId(deploymentId).singleResult();
+        String snapshotResourceName = BpmnModelSnapshotUtil.getSnapshotResourceName(RESOURCE_NAME);
+        String previousSnapshotResourceName = RESOURCE_NAME + BpmnModelSnapshotUtil.SNAPSHOT_RESOURCE_INFIX + "6.8.0" + BpmnModelSnapshotUtil.SNAPSHOT_RESOURCE_SUFFIX;
+
+        // As if deployed before an engine upgrade
+        replaceResource(snapshotResourceName, previousSnapshotResourceName, new byte[] { 1, 2, 3 });
+        processEngineConfiguration.getProcessDefinitionCache().clear();
+
+        assertThat(repositoryService.getBpmnModel(processDefinition.getId()).getMainProcess().getFlowElement("theTask")).isInstanceOf(UserTask.class);
+        assertThat(repositoryService.getDeploymentResourceNames(deploymentId))
+                .contains(RESOURCE_NAME, snapshotResourceName)
+                .doesNotContain(previousSnapshotResourceName);
+    }
+
+    @Test
+    public void testUserSuppliedSnapshotIsRejected() {
+        assertThatThrownBy(() -> repositoryService.createDeployment()
+                .addClasspathResource(RESOURCE_NAME)
+                .addBytes(BpmnModelSnapshotUtil.getSnapshotResourceName(RESOURCE_NAME), new byte[] { 1, 2, 3 })
+                .deploy())
+                .isInstanceOf(FlowableException.class)
+                .hasMessageContaining("reserved for BPMN model snapshots");
+
+        assertThat(repositoryService.createDeploymentQuery().count()).isZero();
+    }
+
+    @Test
+    public void testSnapshotOfLongProcess() {
+        BpmnModel bpmnModel = new BpmnModel();
+        Process process = new Process();
+        process.setId("longProcess");
+        bpmnModel.addProcess(process);
+
+        FlowNode previousFlowNode = new StartEvent();
+        previousFlowNode.setId("start");
+        process.addFlowElement(previousFlowNode);
+        for (int i = 0; i < 10000; i++) {
+            UserTask task = new UserTask();
+            task.setId("task" + i);
+            process.addFlowElement(task);
+
+            SequenceFlow sequenceFlow = new SequenceFlow(previousFlowNode.getId(), task.getId());
+            sequenceFlow.setId("flow" + i);
+            sequenceFlow.setSourceFlowElement(previousFlowNode);
+            sequenceFlow.setTargetFlowElement(task);
+            previousFlowNode.getOutgoingFlows().add(sequenceFlow);
+            task.getIncomingFlows().add(sequenceFlow);
+            process.addFlowElement(sequenceFlow);
+
+            previousFlowNode = task;
+        }
+
+        // Serializing doesn't follow the sequence flows from one flow node to the next, which would overflow the stack
+        byte[] snapshot = BpmnModelSnapshotUtil.createSnapshot(bpmnModel);
+        assertThat(snapshot).isNotNull();
+
+        BpmnModel restoredBpmnModel = BpmnModelSnapshotUtil.readSnapshot(snapshot, "longProcess.bpmn20.xml");
+        assertThat(restoredBpmnModel).isNotNull();
+        Process restoredProcess = restoredBpmnModel.getMainProcess();
+        SequenceFlow lastSequenceFlow = (SequenceFlow) restoredProcess.getFlowElement("flow9999");
+        assertThat(lastSequenceFlow.getSourceFlowElement()).isSameAs(restoredProcess.getFlowElement("task9998"));
+        assertThat(lastSequenceFlow.getTargetFlowElement()).isSameAs(restoredProcess.getFlowElement("task9999"));
+        assertThat(((FlowNode) restoredProcess.getFlowElement("start")).getOutgoingFlows())
+                .extracting(SequenceFlow::getTargetFlowElement)
+                .containsExactly(restoredProcess.getFlowElement("task0"));
+    }
+
+    @Test
+    public void testCorruptSnapshotFallsBackToXml() {
+        assertThat(BpmnModelSnapshotUtil.readSnapshot(new byte[] { 1, 2, 3 }, RESOURCE_NAME)).isNull();
+    }
+
+    protected void replaceResource(String resourceName, String newResourceName, byte[] newBytes) {
+        managementService.executeCommand(commandContext -> {
+            ResourceEntityManager resourceEntityManager = CommandContextUtil.getResourceEntityManager(commandContext);
+            ResourceEntity resource = resourceEntityManager.findResourceByDeploymentIdAndResourceName(deploymentId, resourceName);
+            resourceEntityManager.delete(resource);
+
+            ResourceEntity newResource = resourceEntityManager.create();
+            newResource.setName(newResourceName);
+            newResource.setBytes(newBytes);
+            newResource.setDeploymentId(deploymentId);
+            newResource.setGenerated(resource.isGenerated());
+            resourceEntityManager.insert(newResource);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,132 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWarmUp;
+import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.repository.DeploymentBuilder;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class DeploymentCacheWarmUpTest extends PluggableFlowableTestCase {
+
+    protected static final String RESOURCE_NAME = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml";
+
+    protected List<String> deploymentIds = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        processEngineConfiguration.setDeploymentCacheWarmUpVersionsPerKey(1);
+        processEngineConfiguration.setDeploymentCacheWarmUpTenantIds(null);
+        for (String deploymentId : deploymentIds) {
+            repositoryService.deleteDeployment(deploymentId, true);
+        }
+    }
+
+    @Test
+    public void testLatestVersionsAreLoaded() throws Exception {
+        deploy(null);
+        deploy(null);
+        deploy(null);
+        List<ProcessDefinition> processDefinitions = repositoryService.createProcessDefinitionQuery().processDefinitionKey("oneTaskProcess")
+                .orderByProcessDefinitionVersion().asc().list();
+        assertThat(processDefinitions).hasSize(3);
+
+        DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = processEngineConfiguration.getProcessDefinitionCache();
+        processDefinitionCache.clear();
+
+        processEngineConfiguration.setDeploymentCacheWarmUpVersionsPerKey(2);
+        DeploymentCacheWarmUp deploymentCacheWarmUp = startWarmUp();
+
+        assertThat(deploymentCacheWarmUp.getFailedDefinitionCount()).isZero();
+        assertThat(deploymentCacheWarmUp.getLoadedDefinitionCount()).isEqualTo(deploymentCacheWarmUp.getTotalDefinitionCount());
+        assertThat(processDefinitionCache.contains(processDefinitions.get(0).getId())).isFalse();
+        assertThat(processDefinitionCache.contains(processDefinitions.get(1).getId())).isTrue();
+        assertThat(processDefinitionCache.contains(processDefinitions.get(2).getId())).isTrue();
+    }
+
+    @Test
+    public void testOnlyDefinitionsOfGivenTenantsAreLoaded() throws Exception {
+        deploy(null);
+        deploy("acme");
+        ProcessDefinition withoutTenant = repositoryService.createProcessDefinitionQuery().processDefinitionKey("oneTaskProcess")
+                .processDefinitionWithoutTenantId().singleResult();
+        ProcessDefinition acme = repositoryService.createProcessDefinitionQuery().processDefinitionKey("oneTaskProcess")
+                .processDefinitionTenantId("acme").singleResult();
+
+        DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = processEngineConfiguration.getProcessDefinitionCache();
+        processDefinitionCache.clear();
+
+        processEngineConfiguration.setDeploymentCacheWarmUpTenantIds(Collections.singleton("acme"));
+        startWarmUp();
+
+        assertThat(processDefinitionCache.contains(acme.getId())).isTrue();
+        assertThat(processDefinitionCache.contains(withoutTenant.getId())).isFalse();
+    }
+
+    @Test
+    public void testWarmUpStopsWhenWeightBoundedCacheEvicts() throws Exception {
+        deploy(null);
+        deploy(null);
+        deploy(null);
+
+        DeploymentCache<ProcessDefinitionCacheEntry> originalCache = processEngineConfiguration.getProcessDefinitionCache();
+        int originalParallelism = processEngineConfiguration.getDeploymentCacheWarmUpParallelism();
+        ConcurrentDeploymentCache<ProcessDefinitionCacheEntry> boundedCache = new ConcurrentDeploymentCache<>(1);
+        try {
+            processEngineConfiguration.setProcessDefinitionCache(boundedCache);
+            processEngineConfiguration.getDeploymentManager().setProcessDefinitionCache(boundedCache);
+            processEngineConfiguration.setDeploymentCacheWarmUpParallelism(1);
+            processEngineConfiguration.setDeploymentCacheWarmUpVersionsPerKey(3);
+
+            DeploymentCacheWarmUp deploymentCacheWarmUp = startWarmUp();
+
+            assertThat(deploymentCacheWarmUp.getTotalDefinitionCount()).isEqualTo(3);
+            assertThat(boundedCache.getEvictionCount()).isPositive();
+            assertThat(deploymentCacheWarmUp.getLoadedDefinitionCount()).isLessThan(3);
+
+        } finally {
+            processEngineConfiguration.setProcessDefinitionCache(originalCache);
+            processEngineConfiguration.getDeploymentManager().setProcessDefinitionCache(originalCache);
+            processEngineConfiguration.setDeploymentCacheWarmUpParallelism(originalParallelism);
+        }
+    }
+
+    protected void deploy(String tenantId) {
+        DeploymentBuilder deploymentBuilder = repositoryService.createDeployment().addClasspathResource(RESOURCE_NAME);
+        if (tenantId != null) {
+            deploymentBuilder.tenantId(tenantId);
+        }
+        deploymentIds.add(deploymentBuilder.deploy().getId());
+    }
+
+    protected DeploymentCacheWarmUp startWarmUp() throws InterruptedException {
+        processEngineConfiguration.startDeploymentCacheWarmUp();
+        DeploymentCacheWarmUp deploymentCacheWarmUp = processEngineConfiguration.getDeploymentCacheWarmUp();
+        assertThat(deploymentCacheWarmUp.awaitCompletion(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(processEngineConfiguration.isDeploymentCacheWarmUpCompleted()).isTrue();
+        return deploymentCacheWarmUp;
+    }
+
+}
@@ -26,18 +26,25 @@
 package org.flowable.engine.test.api.runtime.migration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.flowable.batch.api.Batch;
 import org.flowable.batch.api.BatchPart;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.scope.ScopeTypes;
+import org.flowable.engine.impl.jobexecutor.ProcessInstanceMigrationChunkJobHandler;
 import org.flowable.engine.impl.jobexecutor.ProcessInstanceMigrationStatusJobHandler;
 import org.flowable.engine.impl.test.JobTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.migration.ActivityMigrationMapping;
 import org.flowable.engine.migration.ProcessInstanceBatchMigrationPartResult;
 import org.flowable.engine.migration.ProcessInstanceBatchMigrationResult;
 import org.flowable.engine.migration.ProcessInstanceMigrationBuilder;
@@ -285,6 +292,226 @@ public class ProcessInstanceMigrationBatchTest extends PluggableFlowableTestCase
         managementService.deleteBatch(migrationBatch.getId());
     }
 
+    @Test
+    public void testProcessMigrationBatchInChunks() {
+        int originalChunkSize = processEngineConfiguration.getProcessInstanceMigrationBatchChunkSize();
+        processEngineConfiguration.setProcessInstanceMigrationBatchChunkSize(2);
+        try {
+            ProcessDefinition version1ProcessDef = deployProcessDefinition("my deploy",
+                    "org/flowable/engine/test/api/runtime/migration/two-tasks-simple-process.bpmn20.xml");
+
+            // Instances at the second task can't be migrated, as there's no mapping for it
+            List<String> successInstances = new ArrayList<>();
+            List<String> failedInstances = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("MP");
+                if (i % 2 == 0) {
+                    successInstances.add(processInstance.getId());
+                } else {
+                    completeTask(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult());
+                    failedInstances.add(processInstance.getId());
+                }
+            }
+
+            ProcessDefinition version2ProcessDef = deployProcessDefinition("my deploy",
+                    "org/flowable/engine/test/api/runtime/migration/one-task-simple-process.bpmn20.xml");
+
+            Batch migrationBatch = processMigrationService.createProcessInstanceMigrationBuilder()
+                    .migrateToProcessDefinition(version2ProcessDef.getId())
+                    .batchMigrateProcessInstances(version1ProcessDef.getId());
+
+            // One batch part and job per chunk of two process instances
+            assertThat(managementService.findBatchPartsByBatchId(migrationBatch.getId())).hasSize(3);
+            assertThat(managementService.createJobQuery().count()).isEqualTo(3);
+
+            ProcessInstanceBatchMigrationResult migrationResult = processMigrationService.getResultsOfBatchProcessInstanceMigration(migrationBatch.getId());
+            assertThat(migrationResult.getAllMigrationParts())
+                    .extracting(ProcessInstanceBatchMigrationPartResult::getProcessInstanceId)
+                    .containsExactlyInAnyOrderElementsOf(runtimeService.createProcessInstanceQuery().list().stream().map(ProcessInstance::getId)
+                            .collect(Collectors.toList()));
+            assertThat(migrationResult.getWaitingMigrationParts()).hasSize(5);
+
+            JobTestHelper.waitForJobExecutorToProcessAllJobs(processEngineConfiguration, managementService, 5000L, 500L, true);
+
+            List<Job> timerJobs = managementService.createTimerJobQuery().handlerType(ProcessInstanceMigrationStatusJobHandler.TYPE).list();
+            for (Job timerJob : timerJobs) {
+                Job executableJob = managementService.moveTimerToExecutableJob(timerJob.getId());
+                managementService.executeJob(executableJob.getId());
+            }
+
+            migrationResult = processMigrationService.getResultsOfBatchProcessInstanceMigration(migrationBatch.getId());
+            assertThat(migrationResult.getStatus()).isEqualTo(ProcessInstanceBatchMigrationResult.STATUS_COMPLETED);
+            assertThat(migrationResult.getAllMigrationParts()).hasSize(5);
+            assertThat(migrationResult.getWaitingMigrationParts()).isEmpty();
+            assertThat(migrationResult.getSuccessfulMigrationParts())
+                    .extracting(ProcessInstanceBatchMigrationPartResult::getProcessInstanceId)
+                    .containsExactlyInAnyOrderElementsOf(successInstances);
+            assertThat(migrationResult.getFailedMigrationParts())
+                    .extracting(ProcessInstanceBatchMigrationPartResult::getProcessInstanceId, ProcessInstanceBatchMigrationPartResult::getMigrationMessage)
+                    .containsExactlyInAnyOrder(
+                            tuple(failedInstances.get(0), "Migration Activity mapping missing for activity definition Id:'userTask2Id' or its MI Parent"),
+                            tuple(failedInstances.get(1), "Migration Activity mapping missing for activity definition Id:'userTask2Id' or its MI Parent"));
+
+            // A failure in a chunk doesn't prevent the migration of the other process instances of the chunk
+            for (String processInstanceId : successInstances) {
+                Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+                assertThat(task.getProcessDefinitionId()).isEqualTo(version2ProcessDef.getId());
+                completeProcessInstanceTasks(processInstanceId);
+                assertProcessEnded(processInstanceId);
+            }
+            for (String processInstanceId : failedInstances) {
+                Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+                assertThat(task.getProcessDefinitionId()).isEqualTo(version1ProcessDef.getId());
+                completeProcessInstanceTasks(processInstanceId);
+                assertProcessEnded(processInstanceId);
+            }
+
+            managementService.deleteBatch(migrationBatch.getId());
+
+        } finally {
+            processEngineConfiguration.setProcessInstanceMigrationBatchChunkSize(originalChunkSize);
+        }
+    }
+
+    @Test
+    public void testProcessMigrationBatchInChunksWithRuntimeFailure() {
+        int originalChunkSize = processEngineConfiguration.getProcessInstanceMigrationBatchChunkSize();
+        processEngineConfiguration.setProcessInstanceMigrationBatchChunkSize(2);
+        try {
+            ProcessDefinition version1ProcessDef = deployProcessDefinition("my deploy",
+                    "org/flowable/engine/test/api/runtime/migration/one-task-simple-process.bpmn20.xml");
+
+            // All process instances pass the validation, but the assignee expression of the new task fails for the instances without assignee
+            List<String> successInstances = new ArrayList<>();
+            List<String> failedInstances = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                if (i % 2 == 0) {
+                    successInstances.add(runtimeService.startProcessInstanceByKey("MP", Collections.singletonMap("assignee", "kermit")).getId());
+                } else {
+                    failedInstances.add(runtimeService.startProcessInstanceByKey("MP").getId());
+                }
+            }
+
+            ProcessDefinition version2ProcessDef = deployProcessDefinition("my deploy",
+                    "org/flowable/engine/test/api/runtime/migration/one-task-assignee-expression-process.bpmn20.xml");
+
+            Batch migrationBatch = processMigrationService.createProcessInstanceMigrationBuilder()
+                    .migrateToProcessDefinition(version2ProcessDef.getId())
+                    .addActivityMigrationMapping(ActivityMigrationMapping.createMappingFor("userTask1Id", "assignedTask"))
+                    .batchMigrateProcessInstances(version1ProcessDef.getId());
+
+            assertThat(managementService.findBatchPartsByBatchId(migrationBatch.getId())).hasSize(2);
+
+            JobTestHelper.waitForJobExecutorToProcessAllJobs(processEngineConfiguration, managementService, 5000L, 500L, true);
+
+            List<Job> timerJobs = managementService.createTimerJobQuery().handlerType(ProcessInstanceMigrationStatusJobHandler.TYPE).list();
+            for (Job timerJob : timerJobs) {
+                Job executableJob = managementService.moveTimerToExecutableJob(timerJob.getId());
+                managementService.executeJob(executableJob.getId());
+            }
+
+            ProcessInstanceBatchMigrationResult migrationResult = processMigrationService.getResultsOfBatchProcessInstanceMigration(migrationBatch.getId());
+            assertThat(migrationResult.getStatus()).isEqualTo(ProcessInstanceBatchMigrationResult.STATUS_COMPLETED);
+            assertThat(migrationResult.getSuccessfulMigrationParts())
+                    .extracting(ProcessInstanceBatchMigrationPartResult::getProcessInstanceId)
+                    .containsExactlyInAnyOrderElementsOf(successInstances);
+            assertThat(migrationResult.getFailedMigrationParts())
+                    .extracting(ProcessInstanceBatchMigrationPartResult::getProcessInstanceId)
+                    .containsExactlyInAnyOrderElementsOf(failedInstances);
+            assertThat(migrationResult.getFailedMigrationParts())
+                    .extracting(ProcessInstanceBatchMigrationPartResult::getMigrationMessage)
+                    .allSatisfy(message -> assertThat(message).contains("assignee"));
+
+            for (String processInstanceId : successInstances) {
+                Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+                assertThat(task.getProcessDefinitionId()).isEqualTo(version2ProcessDef.getId());
+                assertThat(task.getTaskDefinitionKey()).isEqualTo("assignedTask");
+                assertThat(task.getAssignee()).isEqualTo("kermit");
+                completeProcessInstanceTasks(processInstanceId);
+                assertProcessEnded(processInstanceId);
+            }
+
+            // The migration of a failed process instance was rolled back completely, without rolling back the other instance of its chunk
+            for (String processInstanceId : failedInstances) {
+                assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult().getProcessDefinitionId())
+                        .isEqualTo(version1ProcessDef.getId());
+                Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+                assertThat(task.getProcessDefinitionId()).isEqualTo(version1ProcessDef.getId());
+                assertThat(task.getTaskDefinitionKey()).isEqualTo("userTask1Id");
+                completeProcessInstanceTasks(processInstanceId);
+                assertProcessEnded(processInstanceId);
+            }
+
+            managementService.deleteBatch(migrationBatch.getId());
+
+        } finally {
+            processEngineConfiguration.setProcessInstanceMigrationBatchChunkSize(originalChunkSize);
+        }
+    }
+
+    @Test
+    public void testProcessMigrationBatchInChunksWithJobTransactionFailure() {
+        int originalChunkSize = processEngineConfiguration.getProcessInstanceMigrationBatchChunkSize();
+        processEngineConfiguration.setProcessInstanceMigrationBatchChunkSize(2);
+        try {
+            ProcessDefinition version1ProcessDef = deployProcessDefinition("my deploy",
+                    "org/flowable/engine/test/api/runtime/migration/one-task-simple-process.bpmn20.xml");
+            List<String> processInstanceIds = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                processInstanceIds.add(runtimeService.startProcessInstanceByKey("MP", Collections.singletonMap("assignee", "kermit")).getId());
+            }
+
+            ProcessDefinition version2ProcessDef = deployProcessDefinition("my deploy",
+                    "org/flowable/engine/test/api/runtime/migration/one-task-assignee-expression-process.bpmn20.xml");
+
+            Batch migrationBatch = processMigrationService.createProcessInstanceMigrationBuilder()
+                    .migrateToProcessDefinition(version2ProcessDef.getId())
+                    .addActivityMigrationMapping(ActivityMigrationMapping.createMappingFor("userTask1Id", "assignedTask"))
+                    .batchMigrateProcessInstances(version1ProcessDef.getId());
+
+            Job chunkJob = managementService.createJobQuery().handlerType(ProcessInstanceMigrationChunkJobHandler.TYPE).singleResult();
+            assertThat(chunkJob).isNotNull();
+
+            // The transaction of the job fails after the process instances were migrated in their own transactions
+            assertThatThrownBy(() -> managementService.executeCommand(commandContext -> {
+                managementService.executeJob(chunkJob.getId());
+                throw new FlowableException("job transaction failure");
+            }))
+                    .isInstanceOf(FlowableException.class)
+                    .hasMessage("job transaction failure");
+            assertThat(managementService.createJobQuery().jobId(chunkJob.getId()).count()).isEqualTo(1);
+
+            // The retry of the job doesn't migrate the process instances again, which would fail as userTask1Id doesn't exist anymore
+            managementService.executeJob(chunkJob.getId());
+
+            List<Job> timerJobs = managementService.createTimerJobQuery().handlerType(ProcessInstanceMigrationStatusJobHandler.TYPE).list();
+            for (Job timerJob : timerJobs) {
+                Job executableJob = managementService.moveTimerToExecutableJob(timerJob.getId());
+                managementService.executeJob(executableJob.getId());
+            }
+
+            ProcessInstanceBatchMigrationResult migrationResult = processMigrationService.getResultsOfBatchProcessInstanceMigration(migrationBatch.getId());
+            assertThat(migrationResult.getStatus()).isEqualTo(ProcessInstanceBatchMigrationResult.STATUS_COMPLETED);
+            assertThat(migrationResult.getFailedMigrationParts()).isEmpty();
+            assertThat(migrationResult.getSuccessfulMigrationParts())
+                    .extracting(ProcessInstanceBatchMigrationPartResult::getProcessInstanceId)
+                    .containsExactlyInAnyOrderElementsOf(processInstanceIds);
+
+            for (String processInstanceId : processInstanceIds) {
+                Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+                assertThat(task.getProcessDefinitionId()).isEqualTo(version2ProcessDef.getId());
+                assertThat(task.getTaskDefinitionKey()).isEqualTo("assignedTask");
+                completeProcessInstanceTasks(processInstanceId);
+                assertProcessEnded(processInstanceId);
+            }
+
+            managementService.deleteBatch(migrationBatch.getId());
+
+        } finally {
+            processEngineConfiguration.setProcessInstanceMigrationBatchChunkSize(originalChunkSize);
+        }
+    }
+
     @Test
     public void testProcessMigrationBatchTwentyMixedSuccessAndFails() {
         // Deploy first version of the process
@@ -0,0 +1,202 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.variables;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.api.delegate.Expression;
+import org.flowable.common.engine.impl.el.ExpressionManager;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.engine.test.api.variables.SerializableVariableTest.TestSerializableVariable;
+import org.flowable.task.api.Task;
+import org.flowable.variable.api.persistence.entity.VariableInstance;
+import org.flowable.variable.api.types.VariableType;
+import org.flowable.variable.api.types.VariableTypes;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
+import org.flowable.variable.service.impl.types.CompressedSerializableType;
+import org.flowable.variable.service.impl.types.JsonType;
+import org.flowable.variable.service.impl.types.SerializableType;
+import org.flowable.variable.service.impl.util.VariableCompressionUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class BinaryVariableTypesTest extends PluggableFlowableTestCase {
+
+    @BeforeEach
+    public void useBinaryVariableTypes() {
+        // The binary variable types are registered for reading purposes, move them before the types they replace
+        moveType(BinaryJsonType.TYPE_NAME, JsonType.TYPE_NAME);
+        moveType(CompressedSerializableType.TYPE_NAME, SerializableType.TYPE_NAME);
+    }
+
+    @AfterEach
+    public void resetBinaryVariableTypes() {
+        moveType(BinaryJsonType.TYPE_NAME, null);
+        moveType(CompressedSerializableType.TYPE_NAME, null);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testSmallJsonVariable() {
+        ObjectNode customer = processEngineConfiguration.getObjectMapper().createObjectNode();
+        customer.put("name", "Kermit");
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("customer", customer)
+                .start();
+
+        VariableInstance variableInstance = runtimeService.getVariableInstance(processInstance.getId(), "customer");
+        assertThat(variableInstance.getTypeName()).isEqualTo(BinaryJsonType.TYPE_NAME);
+        byte[] bytes = getBytes(processInstance.getId(), "customer");
+        assertThat(bytes[0]).isEqualTo(VariableCompressionUtil.FORMAT_UNCOMPRESSED);
+        // The Smile header
+        assertThat(new String(bytes, 1, 3, StandardCharsets.US_ASCII)).isEqualTo(":)\n");
+
+        assertThat(runtimeService.getVariable(processInstance.getId(), "customer")).isEqualTo(customer);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testLargeJsonVariableIsCompressed() {
+        ObjectNode order = processEngineConfiguration.getObjectMapper().createObjectNode();
+        ArrayNode lines = order.putArray("lines");
+        for (int i = 0; i < 1000; i++) {
+            lines.addObject().put("product", "product-" + i).put("quantity", i);
+        }
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("order", order)
+                .start();
+
+        byte[] bytes = getBytes(processInstance.getId(), "order");
+        assertThat(bytes[0]).isEqualTo(VariableCompressionUtil.FORMAT_GZIP);
+        assertThat(bytes.length).isLessThan(order.toString().length() / 4);
+
+        assertThat(runtimeService.getVariable(processInstance.getId(), "order")).isEqualTo(order);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testJsonFieldIsReadWithoutReadingCompleteValue() {
+        ObjectNode order = processEngineConfiguration.getObjectMapper().createObjectNode();
+        order.putObject("customer").put("id", 42).put("name", "Kermit");
+        ArrayNode lines = order.putArray("lines");
+        for (int i = 0; i < 1000; i++) {
+            lines.addObject().put("product", "product-" + i).put("quantity", i);
+        }
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("order", order)
+                .start();
+
+        managementService.executeCommand(commandContext -> {
+            ExecutionEntity execution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId());
+            ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
+
+            Expression expression = expressionManager.createExpression("${variables:getJson(order, '/customer/id')}");
+            assertThat(expression.getValue(execution)).isEqualTo(42);
+            expression = expressionManager.createExpression("${variables:getJson(order, '/lines/999/product')}");
+            assertThat(expression.getValue(execution)).isEqualTo("product-999");
+            expression = expressionManager.createExpression("${variables:getJson(order, '/customer/address')}");
+            assertThat(expression.getValue(execution)).isNull();
+
+            VariableInstanceEntity variableInstance = (VariableInstanceEntity) execution.getVariableInstance("order");
+            assertThat(variableInstance.getCachedValue()).isNull();
+            return null;
+        });
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testSerializableVariable() {
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("var", new TestSerializableVariable(10))
+                .start();
+
+        assertThat(runtimeService.getVariableInstance(processInstance.getId(), "var").getTypeName()).isEqualTo(CompressedSerializableType.TYPE_NAME);
+        assertThat(runtimeService.getVariable(processInstance.getId(), "var", TestSerializableVariable.class).getNumber()).isEqualTo(10);
+
+        runtimeService.setVariable(processInstance.getId(), "var", new TestSerializableVariable(20));
+        assertThat(runtimeService.getVariable(processInstance.getId(), "var", TestSerializableVariable.class).getNumber()).isEqualTo(20);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/MultiInstanceVariableAggregationTest.testParallelMultiInstanceUserTaskVariableTypes.bpmn20.xml")
+    public void testJsonVariableIsAggregated() {
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("myProcess")
+                .variable("nrOfLoops", 1)
+                .start();
+
+        ObjectNode location = processEngineConfiguration.getObjectMapper().createObjectNode();
+        location.put("city", "Springfield");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("description", "Description");
+        variables.put("score", 10);
+        variables.put("passed", true);
+        variables.put("location", location);
+        variables.put("startTime", LocalDate.of(2020, Month.DECEMBER, 8));
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId(), variables);
+
+        assertThatJson(runtimeService.getVariable(processInstance.getId(), "results"))
+                .isEqualTo("["
+                        + "  {"
+                        + "    description: 'Description',"
+                        + "    score: 10,"
+                        + "    passed: true,"
+                        + "    location: { city: 'Springfield' },"
+                        + "    startTime: '2020-12-08'"
+                        + "  }"
+                        + "]");
+    }
+
+    protected byte[] getBytes(String processInstanceId, String variableName) {
+        return managementService.executeCommand(commandContext -> {
+            VariableInstanceEntity variableInstance = (VariableInstanceEntity) runtimeService.getVariableInstance(processInstanceId, variableName);
+            return variableInstance.getBytes();
+        });
+    }
+
+    protected void moveType(String typeName, String beforeTypeName) {
+        VariableTypes variableTypes = processEngineConfiguration.getVariableTypes();
+        VariableType variableType = variableTypes.getVariableType(typeName);
+        variableTypes.removeType(variableType);
+        if (beforeTypeName != null) {
+            variableTypes.addTypeBefore(variableType, beforeTypeName);
+        } else {
+            variableTypes.addType(variableType);
+        }
+    }
+
+}
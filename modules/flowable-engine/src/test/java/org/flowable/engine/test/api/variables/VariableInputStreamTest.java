@@ -0,0 +1,117 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.flowable.common.engine.impl.persistence.entity.ByteArrayChunkInputStream;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.flowable.variable.api.persistence.entity.VariableInstance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class VariableInputStreamTest extends PluggableFlowableTestCase {
+
+    protected int originalChunkSize;
+
+    @BeforeEach
+    public void useSmallChunks() {
+        originalChunkSize = processEngineConfiguration.getByteArrayStreamChunkSize();
+        processEngineConfiguration.setByteArrayStreamChunkSize(1000);
+    }
+
+    @AfterEach
+    public void resetChunkSize() {
+        processEngineConfiguration.setByteArrayStreamChunkSize(originalChunkSize);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testByteArrayVariableAsStream() throws IOException {
+        byte[] document = new byte[25_500];
+        new Random(42).nextBytes(document);
+
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("oneTaskProcess")
+                .variable("document", document)
+                .start();
+
+        try (InputStream inputStream = runtimeService.getVariableInputStream(processInstance.getId(), "document")) {
+            assertThat(inputStream).isInstanceOf(ByteArrayChunkInputStream.class);
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(document);
+        }
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        try (InputStream inputStream = taskService.getVariableInputStream(task.getId(), "document")) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(document);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testSkipBytes() throws IOException {
+        byte[] document = new byte[5000];
+        new Random(7).nextBytes(document);
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        runtimeService.setVariable(processInstance.getId(), "document", document);
+
+        VariableInstance variableInstance = runtimeService.getVariableInstance(processInstance.getId(), "document");
+        try (InputStream inputStream = variableInstance.getBytesAsStream()) {
+            assertThat(inputStream.read()).isEqualTo(document[0] & 0xFF);
+            assertThat(inputStream.skip(2500)).isEqualTo(2500);
+
+            byte[] remainder = IOUtils.toByteArray(inputStream);
+            assertThat(remainder).hasSize(document.length - 2501);
+            assertThat(remainder[0]).isEqualTo(document[2501]);
+            assertThat(remainder[remainder.length - 1]).isEqualTo(document[document.length - 1]);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testLongStringVariableAsStream() throws IOException {
+        StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            longString.append("line ").append(i).append('\n');
+        }
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        runtimeService.setVariable(processInstance.getId(), "text", longString.toString());
+
+        try (InputStream inputStream = runtimeService.getVariableInputStream(processInstance.getId(), "text")) {
+            assertThat(IOUtils.toString(inputStream, StandardCharsets.UTF_8)).isEqualTo(longString.toString());
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testVariableWithoutByteArray() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        runtimeService.setVariable(processInstance.getId(), "name", "Kermit");
+
+        assertThat(runtimeService.getVariableInputStream(processInstance.getId(), "name")).isNull();
+        assertThat(runtimeService.getVariableInputStream(processInstance.getId(), "unknown")).isNull();
+    }
+
+}
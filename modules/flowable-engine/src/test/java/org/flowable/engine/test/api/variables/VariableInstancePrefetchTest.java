@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.Execution;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
+import org.flowable.task.service.impl.persistence.entity.TaskEntityImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class VariableInstancePrefetchTest extends PluggableFlowableTestCase {
+
+    @BeforeEach
+    public void setUp() {
+        processEngineConfiguration.getVariableServiceConfiguration().setVariableInstancePrefetchEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        processEngineConfiguration.getVariableServiceConfiguration().setVariableInstancePrefetchEnabled(false);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/variables/VariableInstancePrefetchTest.bpmn20.xml")
+    public void testPrefetchVariablesOfOtherExecutions() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("variableInstancePrefetch");
+        runtimeService.setVariable(processInstance.getId(), "processVar", "processValue");
+
+        List<Execution> childExecutions = runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).onlyChildExecutions().list();
+        assertThat(childExecutions).hasSize(3);
+        for (Execution childExecution : childExecutions) {
+            runtimeService.setVariableLocal(childExecution.getId(), "activity", childExecution.getActivityId());
+        }
+
+        managementService.executeCommand(commandContext -> {
+            List<ExecutionEntity> executions = CommandContextUtil.getExecutionEntityManager(commandContext)
+                    .findChildExecutionsByProcessInstanceId(processInstance.getId());
+            ExecutionEntity processInstanceExecution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(processInstance.getId());
+            assertThat(executions).hasSize(3);
+            assertThat(executions)
+                    .allSatisfy(execution -> assertThat(((ExecutionEntityImpl) execution).isVariableInstancesInitialized()).isFalse());
+
+            ExecutionEntity firstExecution = executions.get(0);
+            assertThat(firstExecution.getVariables())
+                    .containsOnly(entry("activity", firstExecution.getActivityId()), entry("processVar", "processValue"));
+
+            // The variables of the other executions and the process instance were fetched together with those of the first execution
+            assertThat(((ExecutionEntityImpl) processInstanceExecution).isVariableInstancesInitialized()).isTrue();
+            for (ExecutionEntity execution : executions) {
+                assertThat(((ExecutionEntityImpl) execution).isVariableInstancesInitialized()).isTrue();
+                assertThat(execution.getVariablesLocal()).containsOnly(entry("activity", execution.getActivityId()));
+            }
+            return null;
+        });
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/variables/VariableInstancePrefetchTest.bpmn20.xml")
+    public void testPrefetchVariablesOfOtherTasks() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("variableInstancePrefetch");
+
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertThat(tasks).hasSize(3);
+        for (Task task : tasks) {
+            taskService.setVariableLocal(task.getId(), "taskDefinitionKey", task.getTaskDefinitionKey());
+        }
+
+        managementService.executeCommand(commandContext -> {
+            List<TaskEntity> taskEntities = processEngineConfiguration.getTaskServiceConfiguration().getTaskService()
+                    .findTasksByProcessInstanceId(processInstance.getId());
+            assertThat(taskEntities).hasSize(3);
+
+            TaskEntity firstTask = taskEntities.get(0);
+            assertThat(firstTask.getVariablesLocal()).containsOnly(entry("taskDefinitionKey", firstTask.getTaskDefinitionKey()));
+
+            for (TaskEntity task : taskEntities) {
+                assertThat(((TaskEntityImpl) task).isVariableInstancesInitialized()).isTrue();
+                assertThat(task.getVariablesLocal()).containsOnly(entry("taskDefinitionKey", task.getTaskDefinitionKey()));
+            }
+            return null;
+        });
+    }
+}
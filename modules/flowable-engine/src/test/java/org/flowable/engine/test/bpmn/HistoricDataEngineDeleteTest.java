@@ -15,6 +15,7 @@ package org.flowable.engine.test.bpmn;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
@@ -212,4 +213,59 @@ public class HistoricDataEngineDeleteTest extends ResourceFlowableTestCase {
             processEngineConfiguration.resetClock();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @Deployment(resources="org/flowable/engine/test/bpmn/oneTask.bpmn20.xml")
+    public void testHistoryCleanupInChunks() {
+        Duration originalTimeBudget = processEngineConfiguration.getHistoryCleaningTimeBudget();
+        int originalBatchSize = processEngineConfiguration.getCleanInstancesBatchSize();
+        try {
+            processEngineConfiguration.setHistoryCleaningTimeBudget(Duration.ofMinutes(1));
+            processEngineConfiguration.setCleanInstancesBatchSize(3);
+
+            Clock clock = processEngineConfiguration.getClock();
+            Calendar cal = clock.getCurrentCalendar();
+            cal.add(Calendar.DAY_OF_YEAR, -400);
+            clock.setCurrentCalendar(cal);
+
+            List<String> processInstanceIds = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("startToEnd");
+                processInstanceIds.add(processInstance.getId());
+                runtimeService.setVariable(processInstance.getId(), "testVar", "testValue" + (i + 1));
+            }
+
+            if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+                for (int i = 0; i < 10; i++) {
+                    Task task = taskService.createTaskQuery().processInstanceId(processInstanceIds.get(i)).singleResult();
+                    taskService.complete(task.getId());
+                }
+
+                managementService.executeCommand(commandContext -> {
+                    new BpmnHistoryCleanupJobHandler().execute(null, null, null, commandContext);
+                    return null;
+                });
+
+                // The instances are deleted by the cleanup itself, without a batch or jobs
+                assertThat(managementService.createBatchQuery().searchKey("Flowable BPMN History Cleanup").count()).isZero();
+                assertThat(managementService.createJobQuery().count()).isZero();
+
+                assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(10);
+                assertThat(historyService.createHistoricActivityInstanceQuery().count()).isEqualTo(30);
+                assertThat(historyService.createHistoricTaskInstanceQuery().count()).isEqualTo(10);
+
+                for (int i = 0; i < 20; i++) {
+                    long expectedCount = i < 10 ? 0 : 1;
+                    assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceIds.get(i)).count()).isEqualTo(expectedCount);
+                    assertThat(historyService.createHistoricDetailQuery().processInstanceId(processInstanceIds.get(i)).count()).isEqualTo(expectedCount);
+                    assertThat(historyService.getHistoricIdentityLinksForProcessInstance(processInstanceIds.get(i))).hasSize((int) expectedCount);
+                }
+            }
+
+        } finally {
+            processEngineConfiguration.resetClock();
+            processEngineConfiguration.setHistoryCleaningTimeBudget(originalTimeBudget);
+            processEngineConfiguration.setCleanInstancesBatchSize(originalBatchSize);
+        }
+    }
+}
@@ -14,15 +14,21 @@
 package org.flowable.engine.test.bpmn.gateway;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.history.HistoryLevel;
 import org.flowable.common.engine.impl.interceptor.Command;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.engine.history.HistoricActivityInstance;
 import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.migration.ActivityMigrationMapping;
 import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.test.Deployment;
@@ -30,6 +36,7 @@ import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionQueryImpl;
 import org.flowable.task.api.Task;
 import org.flowable.task.api.TaskQuery;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -120,6 +127,163 @@ public class ParallelGatewayTest extends PluggableFlowableTestCase {
                 .containsExactly("Task C");
     }
 
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/gateway/ParallelGatewayTest.testNestedForkJoin.bpmn20.xml")
+    public void testNestedForkJoinWithArrivalCounter() {
+        processEngineConfiguration.setParallelGatewayArrivalCounterEnabled(true);
+        try {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("nestedForkJoin");
+            TaskQuery query = taskService.createTaskQuery().orderByTaskName().asc();
+            taskService.complete(query.singleResult().getId());
+
+            // Completing task A arrives in the join of A and B
+            List<Task> tasks = query.list();
+            taskService.complete(tasks.get(0).getId());
+            assertThat(getArrivalCounters(processInstance.getId()))
+                    .containsOnly(entry("Join_AB", 1));
+
+            taskService.complete(query.singleResult().getId());
+            tasks = query.list();
+            assertThat(tasks)
+                    .extracting(Task::getName)
+                    .containsExactly("Task B1", "Task B2");
+
+            taskService.complete(tasks.get(0).getId());
+            assertThat(getArrivalCounters(processInstance.getId()))
+                    .containsOnly(
+                            entry("Join_AB", 1),
+                            entry("Join_B", 1)
+                    );
+
+            // The counters are not part of the process variables
+            assertThat(runtimeService.getVariables(processInstance.getId())).isEmpty();
+
+            // Completing B2 activates both joins, which removes the counters
+            taskService.complete(tasks.get(1).getId());
+            assertThat(query.list())
+                    .extracting(Task::getName)
+                    .containsExactly("Task C");
+            assertThat(getArrivalCounters(processInstance.getId())).isEmpty();
+
+            if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+                assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+            }
+
+        } finally {
+            processEngineConfiguration.setParallelGatewayArrivalCounterEnabled(false);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/gateway/ParallelGatewayTest.testNestedForkJoin.bpmn20.xml")
+    public void testArrivalCounterEnabledWhileExecutionsAreWaiting() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("nestedForkJoin");
+        TaskQuery query = taskService.createTaskQuery().orderByTaskName().asc();
+        taskService.complete(query.singleResult().getId());
+
+        // Task A arrives in the join of A and B before the counter is used
+        taskService.complete(query.list().get(0).getId());
+        assertThat(getArrivalCounters(processInstance.getId())).isEmpty();
+
+        processEngineConfiguration.setParallelGatewayArrivalCounterEnabled(true);
+        try {
+            taskService.complete(query.singleResult().getId());
+            List<Task> tasks = query.list();
+            taskService.complete(tasks.get(0).getId());
+            assertThat(getArrivalCounters(processInstance.getId()))
+                    .containsOnly(entry("Join_B", 1));
+
+            // The counter of the join of A and B is initialized with the execution of A that was already waiting
+            taskService.complete(tasks.get(1).getId());
+            assertThat(query.list())
+                    .extracting(Task::getName)
+                    .containsExactly("Task C");
+            assertThat(getArrivalCounters(processInstance.getId())).isEmpty();
+
+        } finally {
+            processEngineConfiguration.setParallelGatewayArrivalCounterEnabled(false);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/gateway/ParallelGatewayTest.testNestedForkJoin.bpmn20.xml")
+    public void testArrivalCounterWithChangeActivityState() {
+        processEngineConfiguration.setParallelGatewayArrivalCounterEnabled(true);
+        try {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("nestedForkJoin");
+            TaskQuery query = taskService.createTaskQuery().orderByTaskName().asc();
+            taskService.complete(query.singleResult().getId());
+            taskService.complete(query.list().get(0).getId());
+            assertThat(getArrivalCounters(processInstance.getId()))
+                    .containsOnly(entry("Join_AB", 1));
+
+            // Task B is moved past the fork of B, directly into the join of A and B
+            runtimeService.createChangeActivityStateBuilder()
+                    .processInstanceId(processInstance.getId())
+                    .moveActivityIdTo("Task_B", "Join_AB")
+                    .changeState();
+
+            assertThat(query.list())
+                    .extracting(Task::getName)
+                    .containsExactly("Task C");
+            assertThat(getArrivalCounters(processInstance.getId())).isEmpty();
+
+        } finally {
+            processEngineConfiguration.setParallelGatewayArrivalCounterEnabled(false);
+        }
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/bpmn/gateway/ParallelGatewayTest.testNestedForkJoin.bpmn20.xml")
+    public void testArrivalCounterWithMigrationIntoJoin() {
+        processEngineConfiguration.setParallelGatewayArrivalCounterEnabled(true);
+        try {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("nestedForkJoin");
+            TaskQuery query = taskService.createTaskQuery().orderByTaskName().asc();
+            taskService.complete(query.singleResult().getId());
+            taskService.complete(query.list().get(0).getId());
+            taskService.complete(query.singleResult().getId());
+            taskService.complete(query.list().get(0).getId());
+            assertThat(getArrivalCounters(processInstance.getId()))
+                    .containsOnly(
+                            entry("Join_AB", 1),
+                            entry("Join_B", 1)
+                    );
+
+            ProcessDefinition newProcessDefinition = deployProcessDefinition("new version",
+                    "org/flowable/engine/test/bpmn/gateway/ParallelGatewayTest.testNestedForkJoin.bpmn20.xml");
+            deploymentIdsForAutoCleanup.add(newProcessDefinition.getDeploymentId());
+
+            // Task B2 is migrated into the join of B1 and B2, where B1 is already waiting
+            processMigrationService.createProcessInstanceMigrationBuilder()
+                    .migrateToProcessDefinition(newProcessDefinition.getId())
+                    .addActivityMigrationMapping(ActivityMigrationMapping.createMappingFor("Task_B2", "Join_B"))
+                    .migrate(processInstance.getId());
+
+            assertThat(query.list())
+                    .extracting(Task::getName, Task::getProcessDefinitionId)
+                    .containsExactly(tuple("Task C", newProcessDefinition.getId()));
+            assertThat(getArrivalCounters(processInstance.getId())).isEmpty();
+
+        } finally {
+            processEngineConfiguration.setParallelGatewayArrivalCounterEnabled(false);
+        }
+    }
+
+    protected Map<String, Object> getArrivalCounters(String processInstanceId) {
+        return managementService.executeCommand(commandContext -> {
+            Map<String, Object> arrivalCounters = new HashMap<>();
+            for (VariableInstanceEntity arrivalCounter : processEngineConfiguration.getVariableServiceConfiguration().getVariableService()
+                    .createInternalVariableInstanceQuery()
+                    .scopeId(processInstanceId)
+                    .scopeType(ScopeTypes.BPMN_PARALLEL_GATEWAY_ARRIVALS)
+                    .list()) {
+                arrivalCounters.put(arrivalCounter.getName(), arrivalCounter.getValue());
+            }
+            return arrivalCounters;
+        });
+    }
+
     /**
      * https://activiti.atlassian.net/browse/ACT-1222
      */
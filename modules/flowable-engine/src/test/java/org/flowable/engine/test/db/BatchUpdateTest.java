@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.task.api.Task;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchUpdateTest extends PluggableFlowableTestCase {
+
+    protected List<String> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        processEngineConfiguration.getDbSqlSessionFactory().setBatchUpdateEnabled(true);
+        processEngineConfiguration.getDbSqlSessionFactory().setMaxNrOfStatementsInBatchUpdate(2);
+
+        for (int i = 0; i < 5; i++) {
+            Task task = taskService.newTask();
+            task.setName("task" + i);
+            taskService.saveTask(task);
+            taskIds.add(task.getId());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        processEngineConfiguration.getDbSqlSessionFactory().setBatchUpdateEnabled(false);
+        processEngineConfiguration.getDbSqlSessionFactory().setMaxNrOfStatementsInBatchUpdate(100);
+
+        for (String taskId : taskIds) {
+            taskService.deleteTask(taskId, true);
+        }
+    }
+
+    @Test
+    public void testBatchUpdate() {
+        managementService.executeCommand(commandContext -> {
+            for (String taskId : taskIds) {
+                TaskEntity task = CommandContextUtil.getTaskService(commandContext).getTask(taskId);
+                task.setName(task.getName() + "-updated");
+            }
+            return null;
+        });
+
+        for (int i = 0; i < taskIds.size(); i++) {
+            Task task = taskService.createTaskQuery().taskId(taskIds.get(i)).singleResult();
+            assertThat(task.getName()).isEqualTo("task" + i + "-updated");
+        }
+    }
+
+    @Test
+    public void testOptimisticLockingInBatchUpdate() {
+        String staleTaskId = taskIds.get(3);
+        assertThatThrownBy(() -> managementService.executeCommand(commandContext -> {
+            for (String taskId : taskIds) {
+                TaskEntity task = CommandContextUtil.getTaskService(commandContext).getTask(taskId);
+                task.setName(task.getName() + "-updated");
+            }
+
+            // Concurrent update of one of the tasks in a separate transaction
+            processEngineConfiguration.getCommandExecutor().execute(new CommandConfig().transactionRequiresNew(), newCommandContext -> {
+                CommandContextUtil.getTaskService(newCommandContext).getTask(staleTaskId).setName("concurrent");
+                return null;
+            });
+
+            return null;
+        }))
+                .isInstanceOf(FlowableOptimisticLockingException.class)
+                .hasMessageContaining(staleTaskId);
+
+        for (int i = 0; i < taskIds.size(); i++) {
+            Task task = taskService.createTaskQuery().taskId(taskIds.get(i)).singleResult();
+            if (i == 3) {
+                assertThat(task.getName()).isEqualTo("concurrent");
+            } else {
+                assertThat(task.getName()).isEqualTo("task" + i);
+            }
+        }
+    }
+
+}
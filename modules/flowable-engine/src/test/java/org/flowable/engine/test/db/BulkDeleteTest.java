@@ -0,0 +1,163 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
+import org.flowable.common.engine.impl.interceptor.CommandConfig;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.runtime.Execution;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BulkDeleteTest extends PluggableFlowableTestCase {
+
+    protected List<String> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        processEngineConfiguration.getDbSqlSessionFactory().setBulkDeleteEnabled(true);
+        processEngineConfiguration.getDbSqlSessionFactory().setMaxNrOfEntitiesInBulkDelete(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        processEngineConfiguration.getDbSqlSessionFactory().setBulkDeleteEnabled(false);
+        processEngineConfiguration.getDbSqlSessionFactory().setMaxNrOfEntitiesInBulkDelete(100);
+
+        for (String taskId : taskIds) {
+            taskService.deleteTask(taskId, true);
+        }
+    }
+
+    @Test
+    public void testBulkDeleteTasks() {
+        for (int i = 0; i < 5; i++) {
+            Task task = taskService.newTask();
+            task.setName("task" + i);
+            taskService.saveTask(task);
+            taskService.addCandidateUser(task.getId(), "kermit");
+            taskService.addCandidateGroup(task.getId(), "management");
+            taskIds.add(task.getId());
+        }
+
+        // Tasks are deleted with the chunked bulk delete statement, identity links with a JDBC batch
+        managementService.executeCommand(commandContext -> {
+            taskService.deleteTasks(taskIds, true);
+            return null;
+        });
+
+        assertThat(taskService.createTaskQuery().count()).isZero();
+        for (String taskId : taskIds) {
+            assertThat(taskService.getIdentityLinksForTask(taskId)).isEmpty();
+        }
+        taskIds.clear();
+    }
+
+    @Test
+    public void testBulkDeleteVariables() {
+        Task task = createTaskWithVariables();
+
+        managementService.executeCommand(commandContext -> {
+            taskService.removeVariablesLocal(task.getId(), getVariableNames());
+            return null;
+        });
+
+        assertThat(taskService.getVariablesLocal(task.getId())).isEmpty();
+    }
+
+    @Test
+    public void testOptimisticLockingInBulkDelete() {
+        Task task = createTaskWithVariables();
+
+        assertThatThrownBy(() -> managementService.executeCommand(commandContext -> {
+            taskService.removeVariablesLocal(task.getId(), getVariableNames());
+
+            // Concurrent update of one of the variables in a separate transaction
+            processEngineConfiguration.getCommandExecutor().execute(new CommandConfig().transactionRequiresNew(), newCommandContext -> {
+                taskService.setVariableLocal(task.getId(), "var3", "concurrent");
+                return null;
+            });
+
+            return null;
+        }))
+                .isInstanceOf(FlowableOptimisticLockingException.class)
+                .hasMessageContaining("was updated by another transaction concurrently");
+
+        Map<String, Object> variables = taskService.getVariablesLocal(task.getId());
+        assertThat(variables).hasSize(5);
+        assertThat(variables.get("var3")).isEqualTo("concurrent");
+    }
+
+    @Test
+    @Deployment
+    public void testOptimisticLockingInExecutionBulkDelete() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("parallelReceiveTasks");
+        Execution childExecution = runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("waitState2").singleResult();
+
+        assertThatThrownBy(() -> managementService.executeCommand(commandContext -> {
+            runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+
+            // Concurrent update of one of the child executions in a separate transaction
+            processEngineConfiguration.getCommandExecutor().execute(new CommandConfig().transactionRequiresNew(), newCommandContext -> {
+                ExecutionEntity execution = processEngineConfiguration.getExecutionEntityManager().findById(childExecution.getId());
+                execution.setName("concurrent");
+                return null;
+            });
+
+            return null;
+        }))
+                .isInstanceOf(FlowableOptimisticLockingException.class)
+                .hasMessageContaining("was updated by another transaction concurrently");
+
+        assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(4);
+        assertThat(runtimeService.createExecutionQuery().executionId(childExecution.getId()).singleResult().getName()).isEqualTo("concurrent");
+
+        runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+        assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    }
+
+    protected Task createTaskWithVariables() {
+        Task task = taskService.newTask();
+        taskService.saveTask(task);
+        taskIds.add(task.getId());
+
+        Map<String, Object> variables = new HashMap<>();
+        for (String variableName : getVariableNames()) {
+            variables.put(variableName, variableName + "-value");
+        }
+        taskService.setVariablesLocal(task.getId(), variables);
+        return task;
+    }
+
+    protected List<String> getVariableNames() {
+        List<String> variableNames = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            variableNames.add("var" + i);
+        }
+        return variableNames;
+    }
+
+}
@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.flowable.engine.impl.db.DbIdGenerator;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.junit.jupiter.api.Test;
+
+public class DbIdGeneratorTest extends PluggableFlowableTestCase {
+
+    @Test
+    public void testUniqueIdsWithPrefetch() throws Exception {
+        DbIdGenerator idGenerator = createIdGenerator(3);
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < 100; j++) {
+                        ids.add(idGenerator.getNextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(400);
+        assertThat(idGenerator.getIdBlockFetchCount()).isGreaterThanOrEqualTo(40);
+        assertThat(idGenerator.getMaxIdBlockFetchTimeInMillis()).isGreaterThanOrEqualTo(idGenerator.getAverageIdBlockFetchTimeInMillis());
+    }
+
+    @Test
+    public void testConsecutiveIdsWithoutPrefetch() {
+        DbIdGenerator idGenerator = createIdGenerator(0);
+
+        long firstId = Long.parseLong(idGenerator.getNextId());
+        for (int i = 1; i < 10; i++) {
+            assertThat(Long.parseLong(idGenerator.getNextId())).isEqualTo(firstId + i);
+        }
+        assertThat(idGenerator.getIdBlockFetchCount()).isEqualTo(1);
+    }
+
+    protected DbIdGenerator createIdGenerator(int prefetchThreshold) {
+        DbIdGenerator idGenerator = new DbIdGenerator();
+        idGenerator.setIdBlockSize(10);
+        idGenerator.setPrefetchThreshold(prefetchThreshold);
+        idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+        idGenerator.setCommandConfig(processEngineConfiguration.getDefaultCommandConfig().transactionRequiresNew());
+        return idGenerator;
+    }
+
+}
@@ -0,0 +1,151 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.flowable.common.engine.impl.db.DbSqlSessionFactory;
+import org.flowable.common.engine.impl.history.HistoryLevel;
+import org.flowable.engine.history.HistoricActivityInstance;
+import org.flowable.engine.impl.persistence.entity.AttachmentEntityImpl;
+import org.flowable.engine.impl.persistence.entity.CommentEntity;
+import org.flowable.engine.impl.persistence.entity.CommentEntityImpl;
+import org.flowable.engine.impl.persistence.entity.CommentEntityManager;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntityManager;
+import org.flowable.engine.impl.test.HistoryTestHelper;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Comment;
+import org.flowable.engine.test.Deployment;
+import org.flowable.task.api.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HistoryWriteCoalescingTest extends PluggableFlowableTestCase {
+
+    @BeforeEach
+    public void setUp() {
+        processEngineConfiguration.getDbSqlSessionFactory().setHistoryWriteCoalescingEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        processEngineConfiguration.getDbSqlSessionFactory().setHistoryWriteCoalescingEnabled(false);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testUnchangedHistoricEntityIsNotUpdated() {
+        if (!HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+            return;
+        }
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        HistoricActivityInstance historicActivityInstance = historyService.createHistoricActivityInstanceQuery()
+                .processInstanceId(processInstance.getId())
+                .activityId("theTask")
+                .singleResult();
+        String historicActivityInstanceId = historicActivityInstance.getId();
+        int revision = getRevision(historicActivityInstanceId);
+
+        DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+        long coalescedWriteCount = dbSqlSessionFactory.getCoalescedHistoryWriteCount();
+
+        managementService.executeCommand(commandContext -> {
+            HistoricActivityInstanceEntityManager historicActivityInstanceEntityManager = CommandContextUtil.getHistoricActivityInstanceEntityManager(commandContext);
+            HistoricActivityInstanceEntity historicActivityInstanceEntity = historicActivityInstanceEntityManager.findById(historicActivityInstanceId);
+            historicActivityInstanceEntityManager.update(historicActivityInstanceEntity);
+            return null;
+        });
+
+        assertThat(dbSqlSessionFactory.getCoalescedHistoryWriteCount()).isEqualTo(coalescedWriteCount + 1);
+        assertThat(getRevision(historicActivityInstanceId)).isEqualTo(revision);
+
+        managementService.executeCommand(commandContext -> {
+            HistoricActivityInstanceEntityManager historicActivityInstanceEntityManager = CommandContextUtil.getHistoricActivityInstanceEntityManager(commandContext);
+            HistoricActivityInstanceEntity historicActivityInstanceEntity = historicActivityInstanceEntityManager.findById(historicActivityInstanceId);
+            historicActivityInstanceEntity.setAssignee("kermit");
+            historicActivityInstanceEntityManager.update(historicActivityInstanceEntity);
+            historicActivityInstanceEntityManager.update(historicActivityInstanceEntity);
+            return null;
+        });
+
+        assertThat(dbSqlSessionFactory.getCoalescedHistoryWriteCount()).isEqualTo(coalescedWriteCount + 3);
+        assertThat(getRevision(historicActivityInstanceId)).isEqualTo(revision + 1);
+        assertThat(historyService.createHistoricActivityInstanceQuery().activityInstanceId(historicActivityInstanceId).singleResult().getAssignee())
+                .isEqualTo("kermit");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testChangedProcessDefinitionIdIsWritten() {
+        if (!HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+            return;
+        }
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        String historicActivityInstanceId = historyService.createHistoricActivityInstanceQuery()
+                .processInstanceId(processInstance.getId())
+                .activityId("theTask")
+                .singleResult()
+                .getId();
+
+        managementService.executeCommand(commandContext -> {
+            HistoricActivityInstanceEntityManager historicActivityInstanceEntityManager = CommandContextUtil.getHistoricActivityInstanceEntityManager(commandContext);
+            HistoricActivityInstanceEntity historicActivityInstanceEntity = historicActivityInstanceEntityManager.findById(historicActivityInstanceId);
+            historicActivityInstanceEntity.setProcessDefinitionId("otherProcessDefinitionId");
+            historicActivityInstanceEntityManager.update(historicActivityInstanceEntity);
+            return null;
+        });
+
+        assertThat(historyService.createHistoricActivityInstanceQuery().activityInstanceId(historicActivityInstanceId).singleResult().getProcessDefinitionId())
+                .isEqualTo("otherProcessDefinitionId");
+    }
+
+    @Test
+    public void testHistoricEntityClassesAreRegistered() {
+        assertThat(processEngineConfiguration.getDbSqlSessionFactory().getHistoricEntityClasses())
+                .contains(HistoricActivityInstanceEntityImpl.class, CommentEntityImpl.class, AttachmentEntityImpl.class)
+                .doesNotContain(ExecutionEntityImpl.class);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml")
+    public void testChangedCommentIsWritten() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        Comment comment = taskService.addComment(task.getId(), processInstance.getId(), "original message");
+
+        managementService.executeCommand(commandContext -> {
+            CommentEntityManager commentEntityManager = CommandContextUtil.getCommentEntityManager(commandContext);
+            CommentEntity commentEntity = commentEntityManager.findById(comment.getId());
+            commentEntity.setFullMessage("changed message");
+            commentEntityManager.update(commentEntity);
+            return null;
+        });
+
+        assertThat(taskService.getComment(comment.getId()).getFullMessage()).isEqualTo("changed message");
+    }
+
+    protected int getRevision(String historicActivityInstanceId) {
+        return managementService.executeCommand(commandContext -> CommandContextUtil.getHistoricActivityInstanceEntityManager(commandContext)
+                .findById(historicActivityInstanceId)
+                .getRevision());
+    }
+
+}
@@ -0,0 +1,132 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.eventregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BpmnEventRegistryBatchConsumerTest extends AbstractBpmnEventRegistryConsumerTest {
+
+    @BeforeEach
+    public void setUpBatchTransactionSize() {
+        getEventRegistryEngineConfiguration().setInboundEventBatchTransactionSize(2);
+    }
+
+    @AfterEach
+    public void resetBatchTransactionSize() {
+        getEventRegistryEngineConfiguration().setInboundEventBatchTransactionSize(100);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testProcessStartNoCorrelationParameter.bpmn20.xml")
+    public void testStartProcessInstances() {
+        inboundEventChannelAdapter.triggerTestEvents(null, null, null, null, null);
+
+        assertThat(runtimeService.createProcessInstanceQuery().processDefinitionKey("process").count()).isEqualTo(5);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testBoundaryEventListenerWithCorrelation.bpmn20.xml")
+    public void testTriggerCorrelatedBoundaryEvents() {
+        ProcessInstance kermitProcessInstance = startProcessInstance("kermit");
+        ProcessInstance gonzoProcessInstance = startProcessInstance("gonzo");
+        ProcessInstance piggyProcessInstance = startProcessInstance("piggy");
+
+        inboundEventChannelAdapter.triggerTestEvents("kermit", "fozzie", "gonzo");
+
+        assertThat(taskService.createTaskQuery().processInstanceId(kermitProcessInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("taskAfterBoundary");
+        assertThat(taskService.createTaskQuery().processInstanceId(gonzoProcessInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("taskAfterBoundary");
+        assertThat(taskService.createTaskQuery().processInstanceId(piggyProcessInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("task");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testBoundaryEventListenerNoCorrelation.bpmn20.xml")
+    public void testSameEventSubscriptionForMultipleEvents() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+        // The first event triggers the boundary event, the event subscription is gone for the other events
+        inboundEventChannelAdapter.triggerTestEvents(null, null, null);
+
+        assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("taskAfterBoundary");
+        assertThat(runtimeService.createEventSubscriptionQuery().activityId("eventBoundary").count()).isZero();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testStartOnlyOneInstance.bpmn20.xml")
+    public void testStartOnlyOneInstance() {
+        inboundEventChannelAdapter.triggerTestEvents("testCustomer", "testCustomer", "anotherTestCustomer", "testCustomer", "anotherTestCustomer");
+
+        assertThat(runtimeService.createProcessInstanceQuery().list())
+                .extracting(ProcessInstance::getReferenceId)
+                .doesNotHaveDuplicates()
+                .hasSize(2);
+    }
+
+    @Test
+    @Deployment
+    public void testFailingEventSubscriptionInBatch() {
+        getEventRegistryEngineConfiguration().setInboundEventBatchTransactionSize(10);
+        RecordingDelegate.invocations.clear();
+        RecordingDelegate.failOnce.add("flaky");
+
+        inboundEventChannelAdapter.triggerTestEvents("a", "b", "flaky", "c", "d");
+
+        // The failure rolled back the start of a and b, so they are started again in a new batch (at least once),
+        // flaky is started in its own transaction and c and d in a new batch, as they were not started yet
+        assertThat(RecordingDelegate.invocations).containsExactly("a", "b", "flaky", "a", "b", "flaky", "c", "d");
+        assertThat(runtimeService.createProcessInstanceQuery().processDefinitionKey("process").list())
+                .extracting(processInstance -> runtimeService.getVariable(processInstance.getId(), "customerIdVar"))
+                .containsExactlyInAnyOrder("a", "b", "flaky", "c", "d");
+    }
+
+    protected ProcessInstance startProcessInstance(String customerId) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("customerIdVar", customerId);
+        return runtimeService.startProcessInstanceByKey("process", variables);
+    }
+
+    public static class RecordingDelegate implements JavaDelegate {
+
+        public static List<String> invocations = new ArrayList<>();
+        public static Set<String> failOnce = new HashSet<>();
+
+        @Override
+        public void execute(DelegateExecution execution) {
+            String customerId = (String) execution.getVariable("customerIdVar");
+            invocations.add(customerId);
+            if (failOnce.remove(customerId)) {
+                throw new FlowableException("Failing for " + customerId);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.eventregistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.flowable.common.engine.api.scope.ScopeTypes;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+import org.flowable.eventsubscription.api.EventSubscription;
+import org.flowable.eventsubscription.service.EventSubscriptionServiceConfiguration;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionCorrelationIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BpmnEventRegistryCorrelationIndexTest extends AbstractBpmnEventRegistryConsumerTest {
+
+    protected EventSubscriptionCorrelationIndex correlationIndex;
+
+    @BeforeEach
+    public void setUpCorrelationIndex() {
+        EventSubscriptionServiceConfiguration eventSubscriptionServiceConfiguration = processEngineConfiguration.getEventSubscriptionServiceConfiguration();
+        correlationIndex = new EventSubscriptionCorrelationIndex(ScopeTypes.BPMN, Duration.ofHours(1),
+                eventSubscriptionServiceConfiguration.getEventSubscriptionDataManager());
+        eventSubscriptionServiceConfiguration.setEventSubscriptionCorrelationIndex(correlationIndex);
+    }
+
+    @AfterEach
+    public void removeCorrelationIndex() {
+        processEngineConfiguration.getEventSubscriptionServiceConfiguration().setEventSubscriptionCorrelationIndex(null);
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testBoundaryEventListenerWithCorrelation.bpmn20.xml")
+    public void testTriggerCorrelatedBoundaryEvent() {
+        // Loads the index before the event subscriptions are created
+        inboundEventChannelAdapter.triggerTestEvent("kermit");
+
+        ProcessInstance kermitProcessInstance = startProcessInstance("kermit");
+        ProcessInstance gonzoProcessInstance = startProcessInstance("gonzo");
+
+        inboundEventChannelAdapter.triggerTestEvent("fozzie");
+        assertThat(taskService.createTaskQuery().processInstanceId(kermitProcessInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("task");
+
+        inboundEventChannelAdapter.triggerTestEvent("kermit");
+        assertThat(taskService.createTaskQuery().processInstanceId(kermitProcessInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("taskAfterBoundary");
+        assertThat(taskService.createTaskQuery().processInstanceId(gonzoProcessInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("task");
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testIntermediateCatchEventWithCorrelationAndPayload.bpmn20.xml")
+    public void testDeletedEventSubscriptionIsRemovedFromIndex() {
+        ProcessInstance processInstance = startProcessInstance("kermit");
+        EventSubscription eventSubscription = runtimeService.createEventSubscriptionQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertThat(mayHaveEventSubscriptions(eventSubscription)).isTrue();
+
+        inboundEventChannelAdapter.triggerTestEvent("kermit");
+
+        assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("taskAfterTask");
+        assertThat(runtimeService.createEventSubscriptionQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(mayHaveEventSubscriptions(eventSubscription)).isFalse();
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/engine/test/eventregistry/BpmnEventRegistryConsumerTest.testBoundaryEventListenerWithCorrelation.bpmn20.xml")
+    public void testEventSubscriptionCreatedElsewhereIsPickedUpByReload() {
+        inboundEventChannelAdapter.triggerTestEvent("kermit");
+
+        // Simulates an event subscription created by another node
+        processEngineConfiguration.getEventSubscriptionServiceConfiguration().setEventSubscriptionCorrelationIndex(null);
+        ProcessInstance processInstance = startProcessInstance("kermit");
+        processEngineConfiguration.getEventSubscriptionServiceConfiguration().setEventSubscriptionCorrelationIndex(correlationIndex);
+
+        inboundEventChannelAdapter.triggerTestEvent("kermit");
+        assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("task");
+
+        correlationIndex.markStale();
+
+        inboundEventChannelAdapter.triggerTestEvent("kermit");
+        assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getTaskDefinitionKey())
+                .isEqualTo("taskAfterBoundary");
+    }
+
+    protected boolean mayHaveEventSubscriptions(EventSubscription eventSubscription) {
+        return managementService.executeCommand(commandContext -> correlationIndex.mayHaveEventSubscriptions(eventSubscription.getEventType(),
+                null, Collections.singleton(eventSubscription.getConfiguration())));
+    }
+
+    protected ProcessInstance startProcessInstance(String customerId) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("customerIdVar", customerId);
+        return runtimeService.startProcessInstanceByKey("process", variables);
+    }
+
+}
@@ -0,0 +1,234 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.history.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.history.DefaultHistoryManager;
+import org.flowable.engine.impl.history.HistoryManager;
+import org.flowable.engine.impl.history.async.AsyncHistoryManager;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.impl.CustomConfigurationFlowableTestCase;
+import org.flowable.job.api.HistoryJob;
+import org.flowable.job.service.impl.asyncexecutor.UnacquireAsyncHistoryJobExceptionHandler;
+import org.flowable.job.service.impl.history.async.AsyncHistoryJobOrderException;
+import org.flowable.task.api.Task;
+import org.flowable.task.api.history.HistoricTaskInstance;
+import org.junit.jupiter.api.Test;
+
+public class AsyncHistoryManagerTest extends CustomConfigurationFlowableTestCase {
+
+    public AsyncHistoryManagerTest() {
+        super(AsyncHistoryManagerTest.class.getName());
+    }
+
+    @Override
+    protected void configureConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncHistoryExecutorActivate(false);
+        processEngineConfiguration.setHistoryManager(new AsyncHistoryManager(processEngineConfiguration));
+    }
+
+    @Test
+    public void testHistoryChangesOfTransactionAreFolded() {
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionId(deployOneTaskTestProcess())
+                .variable("myVar", "one")
+                .start();
+
+        // One history job for the transaction, without history written synchronously
+        List<HistoryJob> historyJobs = managementService.createHistoryJobQuery().list();
+        assertThat(historyJobs).hasSize(1);
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isZero();
+
+        // The start event and the sequence flow are started and ended in the same transaction, so they only need an insert
+        assertThat(managementService.getHistoryJobHistoryJson(historyJobs.get(0).getId()))
+                .contains("\"insert\"")
+                .doesNotContain("\"update\"");
+
+        waitForHistoryJobExecutorToProcessAllJobs(10000, 100);
+
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).finished().count()).isEqualTo(2);
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstance.getId()).unfinished().count()).isEqualTo(1);
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).singleResult().getValue())
+                .isEqualTo("one");
+    }
+
+    @Test
+    public void testHistoryJobsAreAppliedInOrder() {
+        List<String> historyJobIds = new ArrayList<>();
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionId(deployOneTaskTestProcess())
+                .variable("removedVar", "one")
+                .variable("updatedVar", "one")
+                .start();
+        addNewHistoryJobId(historyJobIds);
+
+        runtimeService.setVariable(processInstance.getId(), "removedVar", "two");
+        addNewHistoryJobId(historyJobIds);
+        runtimeService.setVariable(processInstance.getId(), "updatedVar", "two");
+        addNewHistoryJobId(historyJobIds);
+        runtimeService.removeVariable(processInstance.getId(), "removedVar");
+        addNewHistoryJobId(historyJobIds);
+        runtimeService.setVariable(processInstance.getId(), "updatedVar", "three");
+        addNewHistoryJobId(historyJobIds);
+
+        // The jobs are executed in reverse order, every job except the oldest one fails while an older job for the process instance is pending
+        Collections.reverse(historyJobIds);
+        while (!historyJobIds.isEmpty()) {
+            for (String historyJobId : historyJobIds.subList(0, historyJobIds.size() - 1)) {
+                assertThatThrownBy(() -> managementService.executeHistoryJob(historyJobId))
+                        .isInstanceOf(FlowableException.class)
+                        .hasRootCauseInstanceOf(AsyncHistoryJobOrderException.class);
+            }
+            managementService.executeHistoryJob(historyJobIds.remove(historyJobIds.size() - 1));
+        }
+
+        assertThat(managementService.createHistoryJobQuery().count()).isZero();
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).variableName("removedVar").count())
+                .isZero();
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).variableName("updatedVar")
+                .singleResult().getValue()).isEqualTo("three");
+    }
+
+    @Test
+    public void testWaitingHistoryJobIsUnlockedWhenOlderJobIsApplied() {
+        List<String> historyJobIds = new ArrayList<>();
+        ProcessInstance processInstance = runtimeService.startProcessInstanceById(deployOneTaskTestProcess());
+        addNewHistoryJobId(historyJobIds);
+        runtimeService.setVariable(processInstance.getId(), "var", "one");
+        addNewHistoryJobId(historyJobIds);
+
+        // The newer job is unacquired with a delay, as the older job is still pending
+        HistoryJob newerJob = managementService.createHistoryJobQuery().jobId(historyJobIds.get(1)).singleResult();
+        new UnacquireAsyncHistoryJobExceptionHandler().handleException(processEngineConfiguration.getJobServiceConfiguration(), newerJob,
+                new AsyncHistoryJobOrderException("older job pending"));
+        assertThat(getLockExpirationTime(historyJobIds.get(1))).isAfter(processEngineConfiguration.getClock().getCurrentTime());
+
+        // Applying the older job unlocks the newer job right away
+        managementService.executeHistoryJob(historyJobIds.get(0));
+        assertThat(getLockExpirationTime(historyJobIds.get(1))).isNull();
+
+        managementService.executeHistoryJob(historyJobIds.get(1));
+        assertThat(managementService.createHistoryJobQuery().count()).isZero();
+        assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).variableName("var")
+                .singleResult().getValue()).isEqualTo("one");
+    }
+
+    @Test
+    public void testAsyncHistoryIsConsistentWithSynchronousHistory() {
+        String processDefinitionId = deployOneTaskTestProcess();
+
+        String asyncProcessInstanceId = runProcessInstance(processDefinitionId);
+        assertThat(managementService.createHistoryJobQuery().count()).isGreaterThan(0);
+        waitForHistoryJobExecutorToProcessAllJobs(10000, 100);
+
+        HistoryManager asyncHistoryManager = processEngineConfiguration.getHistoryManager();
+        String syncProcessInstanceId;
+        try {
+            processEngineConfiguration.setHistoryManager(new DefaultHistoryManager(processEngineConfiguration));
+            syncProcessInstanceId = runProcessInstance(processDefinitionId);
+        } finally {
+            processEngineConfiguration.setHistoryManager(asyncHistoryManager);
+        }
+        assertThat(managementService.createHistoryJobQuery().count()).isZero();
+
+        assertThat(getHistoricActivities(asyncProcessInstanceId))
+                .hasSize(5)
+                .isEqualTo(getHistoricActivities(syncProcessInstanceId));
+        assertThat(getHistoricVariables(asyncProcessInstanceId))
+                .hasSize(4)
+                .isEqualTo(getHistoricVariables(syncProcessInstanceId));
+        assertThat(getHistoricIdentityLinks(asyncProcessInstanceId))
+                .isNotEmpty()
+                .isEqualTo(getHistoricIdentityLinks(syncProcessInstanceId));
+    }
+
+    protected Date getLockExpirationTime(String historyJobId) {
+        return managementService.executeCommand(commandContext -> processEngineConfiguration.getJobServiceConfiguration()
+                .getHistoryJobEntityManager().findById(historyJobId).getLockExpirationTime());
+    }
+
+    protected void addNewHistoryJobId(List<String> historyJobIds) {
+        List<String> newHistoryJobIds = managementService.createHistoryJobQuery().list().stream()
+                .map(HistoryJob::getId)
+                .filter(historyJobId -> !historyJobIds.contains(historyJobId))
+                .collect(Collectors.toList());
+        assertThat(newHistoryJobIds).hasSize(1);
+        historyJobIds.add(newHistoryJobIds.get(0));
+    }
+
+    protected String runProcessInstance(String processDefinitionId) {
+        ProcessInstance processInstance = runtimeService.createProcessInstanceBuilder()
+                .processDefinitionId(processDefinitionId)
+                .variable("stringVar", "one")
+                .variable("removedVar", 1)
+                .variable("bytesVar", "bytes".getBytes(StandardCharsets.UTF_8))
+                .start();
+
+        runtimeService.setVariable(processInstance.getId(), "stringVar", "two");
+        runtimeService.setVariable(processInstance.getId(), "longVar", 12L);
+        runtimeService.removeVariable(processInstance.getId(), "removedVar");
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.addCandidateUser(task.getId(), "kermit");
+        taskService.setAssignee(task.getId(), "gonzo");
+        taskService.setVariableLocal(task.getId(), "localVar", "local");
+        taskService.complete(task.getId());
+
+        return processInstance.getId();
+    }
+
+    protected List<String> getHistoricActivities(String processInstanceId) {
+        return historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).list().stream()
+                .map(activity -> activity.getActivityId() + "|" + activity.getActivityType() + "|" + activity.getActivityName() + "|" + activity.getAssignee()
+                        + "|" + (activity.getTaskId() != null) + "|" + (activity.getEndTime() != null) + "|" + activity.getDeleteReason())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    protected List<String> getHistoricVariables(String processInstanceId) {
+        return historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).list().stream()
+                .map(variable -> {
+                    Object value = variable.getValue();
+                    String valueString = value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : String.valueOf(value);
+                    return variable.getVariableName() + "|" + variable.getVariableTypeName() + "|" + valueString + "|" + (variable.getTaskId() != null);
+                })
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    protected List<String> getHistoricIdentityLinks(String processInstanceId) {
+        HistoricTaskInstance historicTask = historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).singleResult();
+        List<String> identityLinks = historyService.getHistoricIdentityLinksForProcessInstance(processInstanceId).stream()
+                .map(identityLink -> "process|" + identityLink.getType() + "|" + identityLink.getUserId() + "|" + identityLink.getGroupId())
+                .collect(Collectors.toList());
+        historyService.getHistoricIdentityLinksForTask(historicTask.getId()).stream()
+                .map(identityLink -> "task|" + identityLink.getType() + "|" + identityLink.getUserId() + "|" + identityLink.getGroupId())
+                .forEach(identityLinks::add);
+        identityLinks.sort(null);
+        return identityLinks;
+    }
+
+}
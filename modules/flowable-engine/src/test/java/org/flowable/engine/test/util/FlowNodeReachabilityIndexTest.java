@@ -0,0 +1,107 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.assertj.core.api.SoftAssertions;
+import org.flowable.bpmn.converter.BpmnXMLConverter;
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.bpmn.model.FlowNode;
+import org.flowable.bpmn.model.Process;
+import org.flowable.common.engine.api.io.InputStreamProvider;
+import org.flowable.engine.impl.util.ExecutionGraphUtil;
+import org.flowable.engine.impl.util.FlowNodeReachabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FlowNodeReachabilityIndexTest {
+
+    protected Process process;
+    protected FlowNodeReachabilityIndex reachabilityIndex;
+
+    @BeforeEach
+    public void setUp() {
+        InputStreamProvider xmlStream = () -> FlowNodeReachabilityIndexTest.class.getClassLoader()
+                .getResourceAsStream("org/flowable/engine/test/util/FlowNodeReachabilityIndexTest.reachability.bpmn20.xml");
+        BpmnModel bpmnModel = new BpmnXMLConverter().convertToBpmnModel(xmlStream, false, false);
+        process = bpmnModel.getProcessById("reachability");
+        reachabilityIndex = new FlowNodeReachabilityIndex(process);
+    }
+
+    @Test
+    public void indexMatchesGraphTraversalForAllFlowNodes() {
+        List<FlowNode> flowNodes = process.findFlowElementsOfType(FlowNode.class, true);
+        assertThat(flowNodes).hasSize(19);
+
+        SoftAssertions softly = new SoftAssertions();
+        for (FlowNode source : flowNodes) {
+            for (FlowNode target : flowNodes) {
+                boolean expected = ExecutionGraphUtil.isReachable(process, source, target, new HashSet<>());
+                softly.assertThat(reachabilityIndex.isReachable(source.getId(), target.getId()))
+                        .as("%s reaches %s", source.getId(), target.getId())
+                        .isEqualTo(expected);
+            }
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    public void loop() {
+        assertThat(reachabilityIndex.isReachable("task2", "task1")).isTrue();
+        assertThat(reachabilityIndex.isReachable("loopGateway", "loopGateway")).isTrue();
+        assertThat(reachabilityIndex.isReachable("afterSubProcessTask", "task1")).isFalse();
+    }
+
+    @Test
+    public void embeddedSubProcess() {
+        assertThat(reachabilityIndex.isReachable("theStart", "subProcess")).isTrue();
+        assertThat(reachabilityIndex.isReachable("subProcessStart", "subProcessTask")).isTrue();
+        assertThat(reachabilityIndex.isReachable("subProcessTask", "afterSubProcessTask")).isTrue();
+        assertThat(reachabilityIndex.isReachable("subProcessEnd", "afterSubProcessTask")).isTrue();
+        assertThat(reachabilityIndex.isReachable("subProcessTask", "task1")).isFalse();
+    }
+
+    @Test
+    public void eventSubProcess() {
+        assertThat(reachabilityIndex.isReachable("eventSubProcessStart", "eventSubProcessTask")).isFalse();
+        assertThat(reachabilityIndex.isReachable("eventSubProcessTask", "eventSubProcess")).isTrue();
+        assertThat(reachabilityIndex.isReachable("task1", "eventSubProcessTask")).isFalse();
+    }
+
+    @Test
+    public void boundaryEvent() {
+        assertThat(reachabilityIndex.isReachable("timerOnTask2", "escalationTask")).isTrue();
+        assertThat(reachabilityIndex.isReachable("task2", "escalationTask")).isFalse();
+        assertThat(reachabilityIndex.isReachable("escalationTask", "theEnd")).isFalse();
+    }
+
+    @Test
+    public void unreachableFlowNodes() {
+        assertThat(reachabilityIndex.isReachable("theStart", "unreachableTask")).isFalse();
+        assertThat(reachabilityIndex.isReachable("unreachableTask", "theEnd")).isFalse();
+        assertThat(reachabilityIndex.isReachable("theStart", "theEnd")).isFalse();
+        assertThat(reachabilityIndex.isReachable("theEnd", "theEnd")).isFalse();
+    }
+
+    @Test
+    public void sequenceFlowResolvesToItsTarget() {
+        assertThat(reachabilityIndex.containsElement("loopBackFlow")).isTrue();
+        assertThat(reachabilityIndex.isReachable("afterSubProcessTask", "flow8")).isFalse();
+        assertThat(reachabilityIndex.isReachable("theStart", "flow7")).isTrue();
+    }
+
+}
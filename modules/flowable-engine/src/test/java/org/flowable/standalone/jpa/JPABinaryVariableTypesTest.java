@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flowable.standalone.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.test.Deployment;
+import org.flowable.variable.api.types.VariableTypes;
+import org.flowable.variable.service.impl.types.CompressedSerializableType;
+import org.flowable.variable.service.impl.types.JPAEntityVariableType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("jpa")
+public class JPABinaryVariableTypesTest extends ResourceFlowableTestCase {
+
+    public JPABinaryVariableTypesTest() {
+        super("org/flowable/standalone/jpa/binary.flowable.cfg.xml");
+    }
+
+    @Test
+    public void testJpaEntityTypeBeforeCompressedSerializableType() {
+        VariableTypes variableTypes = processEngineConfiguration.getVariableTypes();
+        assertThat(variableTypes.getTypeIndex(JPAEntityVariableType.TYPE_NAME))
+                .isGreaterThan(-1)
+                .isLessThan(variableTypes.getTypeIndex(CompressedSerializableType.TYPE_NAME));
+    }
+
+    @Test
+    @Deployment(resources = "org/flowable/standalone/jpa/JPAVariableTest.testIllegalEntities.bpmn20.xml")
+    public void testSerializableEntityIsStoredAsJpaEntity() {
+        CompoundIdJPAEntity compoundIdJPAEntity = new CompoundIdJPAEntity();
+        EmbeddableCompoundId id = new EmbeddableCompoundId();
+        id.setIdPart1(123L);
+        id.setIdPart2("part2");
+        compoundIdJPAEntity.setId(id);
+
+        // The entity is serializable, but it's handled by the JPA entity type, which doesn't support compound ids
+        assertThatThrownBy(() -> runtimeService.createProcessInstanceBuilder()
+                .processDefinitionKey("JPAVariableProcessExceptions")
+                .variable("compoundIdJPAEntity", compoundIdJPAEntity)
+                .start())
+                .isExactlyInstanceOf(FlowableException.class)
+                .hasMessageContaining("only single-valued primary keys are supported on JPA-entities");
+    }
+
+}
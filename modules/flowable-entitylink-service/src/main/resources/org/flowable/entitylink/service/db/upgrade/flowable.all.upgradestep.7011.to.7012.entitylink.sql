@@ -0,0 +1 @@
+update ACT_GE_PROPERTY set VALUE_ = '7.0.1.2' where NAME_ = 'entitylink.schema.version';
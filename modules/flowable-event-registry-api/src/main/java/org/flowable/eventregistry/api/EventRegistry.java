@@ -13,6 +13,7 @@
 package org.flowable.eventregistry.api;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.flowable.eventregistry.api.runtime.EventInstance;
@@ -73,11 +74,30 @@ public interface EventRegistry {
      */
     void eventReceived(InboundChannelModel channelModel, InboundEvent event);
 
+    /**
+     * Adapters that receive multiple events at once (e.g. the records of one poll) can call this method to process them together.
+     * Event subscriptions are then looked up for all events at once and handled in batches of transactions.
+     */
+    default void eventsReceived(InboundChannelModel channelModel, Collection<InboundEvent> events) {
+        for (InboundEvent event : events) {
+            eventReceived(channelModel, event);
+        }
+    }
+
     /**
      * Send an event to all the registered event consumers.
      */
     void sendEventToConsumers(EventRegistryEvent eventRegistryEvent);
 
+    /**
+     * Send events that were received together to all the registered event consumers.
+     */
+    default void sendEventsToConsumers(List<EventRegistryEvent> eventRegistryEvents) {
+        for (EventRegistryEvent eventRegistryEvent : eventRegistryEvents) {
+            sendEventToConsumers(eventRegistryEvent);
+        }
+    }
+
     /**
      * Send out the {@code eventInstance} via the given system {@link OutboundEventProcessor}.
      */
@@ -12,12 +12,29 @@
  */
 package org.flowable.eventregistry.api;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author Joram Barrez
  */
 public interface EventRegistryEventConsumer {
 
     EventRegistryProcessingInfo eventReceived(EventRegistryEvent event);
+
+    /**
+     * Handles events that were received together.
+     * By default, the events are handled one by one.
+     *
+     * @return the processing info of every event, in the order of the given events
+     */
+    default List<EventRegistryProcessingInfo> eventsReceived(List<EventRegistryEvent> events) {
+        List<EventRegistryProcessingInfo> processingInfos = new ArrayList<>(events.size());
+        for (EventRegistryEvent event : events) {
+            processingInfos.add(eventReceived(event));
+        }
+        return processingInfos;
+    }
     
     String getConsumerKey();
 }
@@ -12,7 +12,9 @@
  */
 package org.flowable.eventregistry.api;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.flowable.eventregistry.model.InboundChannelModel;
 
@@ -23,5 +25,17 @@ import org.flowable.eventregistry.model.InboundChannelModel;
 public interface InboundEventProcessingPipeline {
 
     Collection<EventRegistryEvent> run(InboundChannelModel inboundChannel, InboundEvent inboundEvent);
+
+    /**
+     * Runs the pipeline for events that were received together, returning the event registry events of all of them in the order of the inbound events.
+     * By default, the pipeline is run for every event separately.
+     */
+    default List<EventRegistryEvent> runBatch(InboundChannelModel inboundChannel, Collection<InboundEvent> inboundEvents) {
+        List<EventRegistryEvent> eventRegistryEvents = new ArrayList<>();
+        for (InboundEvent inboundEvent : inboundEvents) {
+            eventRegistryEvents.addAll(run(inboundChannel, inboundEvent));
+        }
+        return eventRegistryEvents;
+    }
     
 }
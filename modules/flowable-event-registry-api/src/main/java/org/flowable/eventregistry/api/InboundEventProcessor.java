@@ -12,6 +12,8 @@
  */
 package org.flowable.eventregistry.api;
 
+import java.util.Collection;
+
 import org.flowable.eventregistry.model.InboundChannelModel;
 
 /**
@@ -21,4 +23,14 @@ public interface InboundEventProcessor {
 
     void eventReceived(InboundChannelModel channelModel, InboundEvent event);
 
+    /**
+     * Processes events that were received together, e.g. the records of one poll of a message broker consumer.
+     * By default, the events are processed one by one.
+     */
+    default void eventsReceived(InboundChannelModel channelModel, Collection<InboundEvent> events) {
+        for (InboundEvent event : events) {
+            eventReceived(channelModel, event);
+        }
+    }
+
 }
@@ -14,6 +14,7 @@ package org.flowable.eventregistry.impl;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.flowable.eventregistry.api.CorrelationKeyGenerator;
@@ -81,6 +82,11 @@ public class DefaultEventRegistry implements EventRegistry {
         inboundEventProcessor.eventReceived(channelModel, event);
     }
 
+    @Override
+    public void eventsReceived(InboundChannelModel channelModel, Collection<InboundEvent> events) {
+        inboundEventProcessor.eventsReceived(channelModel, events);
+    }
+
     @Override
     public void sendEventToConsumers(EventRegistryEvent eventRegistryEvent) {
         Collection<EventRegistryEventConsumer> engineEventRegistryEventConsumers = engineConfiguration.getEventRegistryEventConsumers().values();
@@ -101,7 +107,38 @@ public class DefaultEventRegistry implements EventRegistry {
                 eventRegistryProcessingInfo.setEventConsumerInfos(processingInfo.getEventConsumerInfos());
             }
         }
-        
+
+        handleProcessingInfo(eventRegistryEvent, eventRegistryProcessingInfo);
+    }
+
+    @Override
+    public void sendEventsToConsumers(List<EventRegistryEvent> eventRegistryEvents) {
+        Collection<EventRegistryEventConsumer> engineEventRegistryEventConsumers = engineConfiguration.getEventRegistryEventConsumers().values();
+        EventRegistryProcessingInfo[] eventRegistryProcessingInfos = new EventRegistryProcessingInfo[eventRegistryEvents.size()];
+        boolean debugLoggingEnabled = logger.isDebugEnabled();
+        for (EventRegistryEventConsumer eventConsumer : engineEventRegistryEventConsumers) {
+            if (debugLoggingEnabled) {
+                logger.debug("Sending {} events to event consumer {}", eventRegistryEvents.size(), eventConsumer);
+            }
+            List<EventRegistryProcessingInfo> processingInfos = eventConsumer.eventsReceived(eventRegistryEvents);
+            for (int i = 0; i < eventRegistryProcessingInfos.length; i++) {
+                EventRegistryProcessingInfo processingInfo = processingInfos.get(i);
+                if (processingInfo != null && processingInfo.getEventConsumerInfos() != null && !processingInfo.getEventConsumerInfos().isEmpty()) {
+                    if (eventRegistryProcessingInfos[i] == null) {
+                        eventRegistryProcessingInfos[i] = new EventRegistryProcessingInfo();
+                    }
+                    eventRegistryProcessingInfos[i].setEventConsumerInfos(processingInfo.getEventConsumerInfos());
+                }
+            }
+        }
+
+        for (int i = 0; i < eventRegistryProcessingInfos.length; i++) {
+            handleProcessingInfo(eventRegistryEvents.get(i), eventRegistryProcessingInfos[i]);
+        }
+    }
+
+    protected void handleProcessingInfo(EventRegistryEvent eventRegistryEvent, EventRegistryProcessingInfo eventRegistryProcessingInfo) {
+        boolean debugLoggingEnabled = logger.isDebugEnabled();
         if (eventRegistryProcessingInfo == null || !eventRegistryProcessingInfo.eventHandled()) {
 
             EventRegistryNonMatchingEventConsumer nonMatchingEventConsumer = engineConfiguration.getNonMatchingEventConsumer();
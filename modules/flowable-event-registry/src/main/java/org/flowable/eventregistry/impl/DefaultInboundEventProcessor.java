@@ -13,6 +13,7 @@
 package org.flowable.eventregistry.impl;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.flowable.eventregistry.api.EventRegistry;
 import org.flowable.eventregistry.api.EventRegistryEvent;
@@ -44,4 +45,14 @@ public class DefaultInboundEventProcessor implements InboundEventProcessor {
 
     }
 
+    @Override
+    public void eventsReceived(InboundChannelModel channelModel, Collection<InboundEvent> events) {
+        InboundEventProcessingPipeline inboundEventProcessingPipeline = (InboundEventProcessingPipeline) channelModel.getInboundEventProcessingPipeline();
+        List<EventRegistryEvent> eventRegistryEvents = inboundEventProcessingPipeline.runBatch(channelModel, events);
+
+        if (!eventRegistryEvents.isEmpty()) {
+            eventRegistry.sendEventsToConsumers(eventRegistryEvents);
+        }
+    }
+
 }
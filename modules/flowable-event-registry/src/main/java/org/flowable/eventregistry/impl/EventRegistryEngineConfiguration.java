@@ -30,8 +30,10 @@ import org.flowable.common.engine.impl.el.ExpressionManager;
 import org.flowable.common.engine.impl.interceptor.CommandInterceptor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.common.engine.impl.javax.el.ELResolver;
+import org.flowable.common.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.common.engine.impl.persistence.deploy.DeploymentCache;
+import org.flowable.common.engine.impl.persistence.deploy.DeploymentCacheWeigher;
 import org.flowable.common.engine.impl.persistence.deploy.FullDeploymentCache;
 import org.flowable.common.engine.impl.persistence.entity.TableDataManager;
 import org.flowable.eventregistry.api.ChannelModelProcessor;
@@ -149,6 +151,12 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
     protected InboundChannelModelCacheManager inboundChannelModelCacheManager;
 
     protected int eventDefinitionCacheLimit = -1; // By default, no limit
+    /**
+     * When set to a positive value, a {@link ConcurrentDeploymentCache} bounded by this weight (as determined by the eventDefinitionCacheWeigher) is used,
+     * instead of a cache bounded by the eventDefinitionCacheLimit.
+     */
+    protected long eventDefinitionCacheMaxWeight = -1;
+    protected DeploymentCacheWeigher<EventDefinitionCacheEntry> eventDefinitionCacheWeigher;
     protected DeploymentCache<EventDefinitionCacheEntry> eventDefinitionCache;
     protected DeploymentCache<ChannelDefinitionCacheEntry> channelDefinitionCache;
 
@@ -174,6 +182,15 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
 
     protected boolean enableEventRegistryChangeDetectionAfterEngineCreate = true;
 
+    /**
+     * The maximum amount of event subscriptions that are handled (i.e. process or case instances that are started or triggered) in one transaction,
+     * when events are received together (see {@link EventRegistry#eventsReceived(org.flowable.eventregistry.model.InboundChannelModel, Collection)}).
+     * When the handling of one of them fails, the event subscriptions of that transaction are handled again, each one in its own transaction,
+     * so that a failure doesn't influence the handling of the other event subscriptions.
+     * A value of 1 handles every event subscription in its own transaction, like when events are received one by one.
+     */
+    protected int inboundEventBatchTransactionSize = 100;
+
     public static EventRegistryEngineConfiguration createEventRegistryEngineConfigurationFromResourceDefault() {
         return createEventRegistryEngineConfigurationFromResource("flowable.eventregistry.cfg.xml", "eventRegistryEngineConfiguration");
     }
@@ -462,7 +479,12 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
         }
 
         if (eventDefinitionCache == null) {
-            if (eventDefinitionCacheLimit <= 0) {
+            if (eventDefinitionCacheMaxWeight > 0) {
+                if (eventDefinitionCacheWeigher == null) {
+                    eventDefinitionCacheWeigher = cacheEntry -> 1L;
+                }
+                eventDefinitionCache = new ConcurrentDeploymentCache<>(eventDefinitionCacheMaxWeight, eventDefinitionCacheWeigher);
+            } else if (eventDefinitionCacheLimit <= 0) {
                 eventDefinitionCache = new DefaultDeploymentCache<>();
             } else {
                 eventDefinitionCache = new DefaultDeploymentCache<>(eventDefinitionCacheLimit);
@@ -789,6 +811,24 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
         return this;
     }
 
+    public long getEventDefinitionCacheMaxWeight() {
+        return eventDefinitionCacheMaxWeight;
+    }
+
+    public EventRegistryEngineConfiguration setEventDefinitionCacheMaxWeight(long eventDefinitionCacheMaxWeight) {
+        this.eventDefinitionCacheMaxWeight = eventDefinitionCacheMaxWeight;
+        return this;
+    }
+
+    public DeploymentCacheWeigher<EventDefinitionCacheEntry> getEventDefinitionCacheWeigher() {
+        return eventDefinitionCacheWeigher;
+    }
+
+    public EventRegistryEngineConfiguration setEventDefinitionCacheWeigher(DeploymentCacheWeigher<EventDefinitionCacheEntry> eventDefinitionCacheWeigher) {
+        this.eventDefinitionCacheWeigher = eventDefinitionCacheWeigher;
+        return this;
+    }
+
     public DeploymentCache<EventDefinitionCacheEntry> getEventDefinitionCache() {
         return eventDefinitionCache;
     }
@@ -997,6 +1037,15 @@ public class EventRegistryEngineConfiguration extends AbstractEngineConfiguratio
         return this;
     }
 
+    public int getInboundEventBatchTransactionSize() {
+        return inboundEventBatchTransactionSize;
+    }
+
+    public EventRegistryEngineConfiguration setInboundEventBatchTransactionSize(int inboundEventBatchTransactionSize) {
+        this.inboundEventBatchTransactionSize = inboundEventBatchTransactionSize;
+        return this;
+    }
+
     public boolean isEnableEventRegistryChangeDetectionAfterEngineCreate() {
         return enableEventRegistryChangeDetectionAfterEngineCreate;
     }
@@ -18,15 +18,18 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.flowable.common.engine.api.FlowableIllegalArgumentException;
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.common.engine.impl.interceptor.CommandExecutor;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
+import org.flowable.eventregistry.api.EventConsumerInfo;
 import org.flowable.eventregistry.api.EventRegistry;
 import org.flowable.eventregistry.api.EventRegistryEvent;
 import org.flowable.eventregistry.api.EventRegistryEventConsumer;
@@ -37,6 +40,8 @@ import org.flowable.eventregistry.impl.EventRegistryEngineConfiguration;
 import org.flowable.eventregistry.impl.util.CommandContextUtil;
 import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.api.EventSubscriptionQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author Joram Barrez
@@ -44,6 +49,8 @@ import org.flowable.eventsubscription.api.EventSubscriptionQuery;
  */
 public abstract class BaseEventRegistryEventConsumer implements EventRegistryEventConsumer {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(BaseEventRegistryEventConsumer.class);
+
     protected AbstractEngineConfiguration engingeConfiguration;
     protected CommandExecutor commandExecutor;
 
@@ -54,8 +61,12 @@ public abstract class BaseEventRegistryEventConsumer implements EventRegistryEve
 
     @Override
     public EventRegistryProcessingInfo eventReceived(EventRegistryEvent event) {
+        return eventReceived(getEventInstance(event));
+    }
+
+    protected EventInstance getEventInstance(EventRegistryEvent event) {
         if (event.getEventObject() != null && event.getEventObject() instanceof EventInstance) {
-            return eventReceived((EventInstance) event.getEventObject());
+            return (EventInstance) event.getEventObject();
         } else {
             if (event.getEventObject() == null) {
                 throw new FlowableIllegalArgumentException("No event object was passed to the consumer");
@@ -67,6 +78,145 @@ public abstract class BaseEventRegistryEventConsumer implements EventRegistryEve
 
     protected abstract EventRegistryProcessingInfo eventReceived(EventInstance eventInstance);
 
+    /**
+     * Handles events that were received together. When the consumer is a {@link BatchEventSubscriptionHandler},
+     * the event subscriptions of all events are fetched in one transaction and handled in transactions of at most
+     * {@link EventRegistryEngineConfiguration#getInboundEventBatchTransactionSize()} event subscriptions,
+     * instead of one transaction per event subscription.
+     * The events are correlated with the event subscriptions that exist when the events are received,
+     * event subscriptions that are created while handling the events of the batch are not taken into account.
+     * <p>
+     * When the transaction of a batch fails, the event subscriptions that were handled before the failing one are handled again,
+     * as the failure rolled them back. Side effects that are not part of the transaction (e.g. calls to other systems in a service task)
+     * can therefore happen more than once for those. The failing event subscription is then handled in its own transaction,
+     * the event subscriptions after it in a new batch.
+     */
+    @Override
+    public List<EventRegistryProcessingInfo> eventsReceived(List<EventRegistryEvent> events) {
+        if (!(this instanceof BatchEventSubscriptionHandler)) {
+            return EventRegistryEventConsumer.super.eventsReceived(events);
+        }
+
+        BatchEventSubscriptionHandler batchHandler = (BatchEventSubscriptionHandler) this;
+        List<EventInstance> eventInstances = new ArrayList<>(events.size());
+        List<Collection<CorrelationKey>> correlationKeys = new ArrayList<>(events.size());
+        for (EventRegistryEvent event : events) {
+            EventInstance eventInstance = getEventInstance(event);
+            eventInstances.add(eventInstance);
+            correlationKeys.add(generateCorrelationKeys(eventInstance.getCorrelationParameterInstances()));
+        }
+
+        List<List<EventSubscription>> eventSubscriptions = findEventSubscriptions(batchHandler.getEventSubscriptionScopeType(),
+                eventInstances, correlationKeys);
+
+        int batchTransactionSize = getEventRegistryEngineConfiguration().getInboundEventBatchTransactionSize();
+        List<EventRegistryProcessingInfo> processingInfos = new ArrayList<>(events.size());
+        List<EventSubscriptionHandling> batch = new ArrayList<>();
+        Set<String> eventSubscriptionIds = new HashSet<>();
+        for (int i = 0; i < events.size(); i++) {
+            EventRegistryProcessingInfo processingInfo = new EventRegistryProcessingInfo();
+            processingInfos.add(processingInfo);
+
+            for (EventSubscription eventSubscription : eventSubscriptions.get(i)) {
+                if (!eventSubscriptionIds.add(eventSubscription.getId()) && isBoundToInstance(eventSubscription)) {
+                    // A previous event already triggered this event subscription, which typically removed it
+                    handleEventSubscriptions(batchHandler, batch);
+                    batch.clear();
+                    if (!eventSubscriptionExists(eventSubscription.getId())) {
+                        continue;
+                    }
+                }
+
+                EventSubscriptionHandling eventSubscriptionHandling = new EventSubscriptionHandling(eventSubscription, eventInstances.get(i),
+                        correlationKeys.get(i), batchHandler.createEventConsumerInfo(eventSubscription), processingInfo);
+
+                if (batchTransactionSize <= 1 || batchHandler.requiresSeparateTransaction(eventSubscription)) {
+                    // The event subscriptions are handled in the order of the events
+                    handleEventSubscriptions(batchHandler, batch);
+                    batch.clear();
+                    handleEventSubscription(batchHandler, eventSubscriptionHandling);
+
+                } else {
+                    batch.add(eventSubscriptionHandling);
+                    if (batch.size() >= batchTransactionSize) {
+                        handleEventSubscriptions(batchHandler, batch);
+                        batch.clear();
+                    }
+                }
+            }
+        }
+        handleEventSubscriptions(batchHandler, batch);
+
+        return processingInfos;
+    }
+
+    protected boolean isBoundToInstance(EventSubscription eventSubscription) {
+        return eventSubscription.getProcessInstanceId() != null || eventSubscription.getScopeId() != null;
+    }
+
+    protected boolean eventSubscriptionExists(String eventSubscriptionId) {
+        return commandExecutor.execute(commandContext -> createEventSubscriptionQuery().id(eventSubscriptionId).count() > 0);
+    }
+
+    protected void handleEventSubscriptions(BatchEventSubscriptionHandler batchHandler, List<EventSubscriptionHandling> eventSubscriptionHandlings) {
+        if (eventSubscriptionHandlings.isEmpty()) {
+            return;
+
+        } else if (eventSubscriptionHandlings.size() == 1) {
+            handleEventSubscription(batchHandler, eventSubscriptionHandlings.get(0));
+            return;
+        }
+
+        // The index of the event subscription that is being handled, -1 once all of them are handled
+        AtomicInteger currentIndex = new AtomicInteger(-1);
+        List<EventSubscriptionHandling> handledEventSubscriptions;
+        try {
+            handledEventSubscriptions = commandExecutor.execute(commandContext -> {
+                List<EventSubscriptionHandling> handled = new ArrayList<>(eventSubscriptionHandlings.size());
+                for (int i = 0; i < eventSubscriptionHandlings.size(); i++) {
+                    currentIndex.set(i);
+                    EventSubscriptionHandling eventSubscriptionHandling = eventSubscriptionHandlings.get(i);
+                    if (batchHandler.handleEventSubscription(eventSubscriptionHandling.getEventSubscription(), eventSubscriptionHandling.getEventInstance(),
+                            eventSubscriptionHandling.getCorrelationKeys(), eventSubscriptionHandling.getEventConsumerInfo())) {
+                        handled.add(eventSubscriptionHandling);
+                    }
+                }
+                currentIndex.set(-1);
+                return handled;
+            });
+
+        } catch (RuntimeException e) {
+            // The handling of one event subscription should not influence (i.e. roll back) the handling of another
+            int failedIndex = currentIndex.get();
+            if (failedIndex < 0) {
+                // The transaction failed after all event subscriptions were handled (e.g. when flushing), so the failing one is unknown
+                LOGGER.debug("Handling {} event subscriptions in one transaction failed, handling them one by one", eventSubscriptionHandlings.size(), e);
+                for (EventSubscriptionHandling eventSubscriptionHandling : eventSubscriptionHandlings) {
+                    handleEventSubscription(batchHandler, eventSubscriptionHandling);
+                }
+
+            } else {
+                LOGGER.debug("Handling {} in a batch of {} event subscriptions failed, handling it in its own transaction",
+                        eventSubscriptionHandlings.get(failedIndex).getEventSubscription(), eventSubscriptionHandlings.size(), e);
+                handleEventSubscriptions(batchHandler, eventSubscriptionHandlings.subList(0, failedIndex));
+                handleEventSubscription(batchHandler, eventSubscriptionHandlings.get(failedIndex));
+                handleEventSubscriptions(batchHandler, eventSubscriptionHandlings.subList(failedIndex + 1, eventSubscriptionHandlings.size()));
+            }
+            return;
+        }
+
+        for (EventSubscriptionHandling eventSubscriptionHandling : handledEventSubscriptions) {
+            eventSubscriptionHandling.getProcessingInfo().addEventConsumerInfo(eventSubscriptionHandling.getEventConsumerInfo());
+        }
+    }
+
+    protected void handleEventSubscription(BatchEventSubscriptionHandler batchHandler, EventSubscriptionHandling eventSubscriptionHandling) {
+        if (batchHandler.handleEventSubscription(eventSubscriptionHandling.getEventSubscription(), eventSubscriptionHandling.getEventInstance(),
+                eventSubscriptionHandling.getCorrelationKeys(), eventSubscriptionHandling.getEventConsumerInfo())) {
+            eventSubscriptionHandling.getProcessingInfo().addEventConsumerInfo(eventSubscriptionHandling.getEventConsumerInfo());
+        }
+    }
+
     /**
      * Generates all possible correlation keys for the given correlation parameters.
      * The first element in the list will only have used one parameter. The last element in the list has included all parameters.
@@ -100,9 +250,11 @@ public abstract class BaseEventRegistryEventConsumer implements EventRegistryEve
     }
 
     protected EventRegistry getEventRegistry() {
-        EventRegistryEngineConfiguration eventRegistryEngineConfiguration = (EventRegistryEngineConfiguration) 
-                        engingeConfiguration.getEngineConfigurations().get(EngineConfigurationConstants.KEY_EVENT_REGISTRY_CONFIG);
-        return eventRegistryEngineConfiguration.getEventRegistry();
+        return getEventRegistryEngineConfiguration().getEventRegistry();
+    }
+
+    protected EventRegistryEngineConfiguration getEventRegistryEngineConfiguration() {
+        return (EventRegistryEngineConfiguration) engingeConfiguration.getEngineConfigurations().get(EngineConfigurationConstants.KEY_EVENT_REGISTRY_CONFIG);
     }
 
     protected CorrelationKey getCorrelationKeyWithAllParameters(Collection<CorrelationKey> correlationKeys) {
@@ -117,57 +269,181 @@ public abstract class BaseEventRegistryEventConsumer implements EventRegistryEve
 
     protected List<EventSubscription> findEventSubscriptions(String scopeType, EventInstance eventInstance,  Collection<CorrelationKey> correlationKeys) {
         return commandExecutor.execute(commandContext -> {
+            Set<String> allCorrelationKeyValues = correlationKeys.stream().map(CorrelationKey::getValue).collect(Collectors.toSet());
+            if (!mayHaveEventSubscriptions(scopeType, eventInstance, allCorrelationKeyValues)) {
+                return Collections.emptyList();
+            }
+            return createCorrelatedEventSubscriptionQuery(scopeType, eventInstance, allCorrelationKeyValues).list();
+        });
+    }
 
-            EventSubscriptionQuery eventSubscriptionQuery = createEventSubscriptionQuery()
-                .eventType(eventInstance.getEventKey())
-                .scopeType(scopeType);
+    /**
+     * Finds the event subscriptions of events that were received together in one transaction.
+     * Events with the same event key and tenant share one query, for the correlation keys of all of them.
+     *
+     * @return the event subscriptions of every event, in the order of the given events
+     */
+    protected List<List<EventSubscription>> findEventSubscriptions(String scopeType, List<EventInstance> eventInstances,
+            List<Collection<CorrelationKey>> correlationKeys) {
 
-            if (!correlationKeys.isEmpty()) {
+        Map<String, List<Integer>> eventIndicesByKeyAndTenant = new LinkedHashMap<>();
+        for (int i = 0; i < eventInstances.size(); i++) {
+            EventInstance eventInstance = eventInstances.get(i);
+            eventIndicesByKeyAndTenant.computeIfAbsent(eventInstance.getEventKey() + '|' + eventInstance.getTenantId(), key -> new ArrayList<>()).add(i);
+        }
 
-                Set<String> allCorrelationKeyValues = correlationKeys.stream().map(CorrelationKey::getValue).collect(Collectors.toSet());
+        return commandExecutor.execute(commandContext -> {
+            List<List<EventSubscription>> eventSubscriptions = new ArrayList<>(Collections.nCopies(eventInstances.size(), null));
+            for (List<Integer> eventIndices : eventIndicesByKeyAndTenant.values()) {
 
-                eventSubscriptionQuery.or()
-                    .withoutConfiguration()
-                    .configurations(allCorrelationKeyValues)
-                    .endOr();
+                Set<String> allCorrelationKeyValues = new HashSet<>();
+                for (Integer eventIndex : eventIndices) {
+                    for (CorrelationKey correlationKey : correlationKeys.get(eventIndex)) {
+                        allCorrelationKeyValues.add(correlationKey.getValue());
+                    }
+                }
 
-            } else {
-                eventSubscriptionQuery.withoutConfiguration();
+                EventInstance keyAndTenantEventInstance = eventInstances.get(eventIndices.get(0));
+                List<EventSubscription> keyAndTenantEventSubscriptions;
+                if (mayHaveEventSubscriptions(scopeType, keyAndTenantEventInstance, allCorrelationKeyValues)) {
+                    keyAndTenantEventSubscriptions = createCorrelatedEventSubscriptionQuery(scopeType, keyAndTenantEventInstance, allCorrelationKeyValues).list();
+                } else {
+                    keyAndTenantEventSubscriptions = Collections.emptyList();
+                }
 
+                for (Integer eventIndex : eventIndices) {
+                    Set<String> correlationKeyValues = correlationKeys.get(eventIndex).stream().map(CorrelationKey::getValue).collect(Collectors.toSet());
+                    List<EventSubscription> eventEventSubscriptions = new ArrayList<>();
+                    for (EventSubscription eventSubscription : keyAndTenantEventSubscriptions) {
+                        if (eventSubscription.getConfiguration() == null || correlationKeyValues.contains(eventSubscription.getConfiguration())) {
+                            eventEventSubscriptions.add(eventSubscription);
+                        }
+                    }
+                    eventSubscriptions.set(eventIndex, eventEventSubscriptions);
+                }
             }
+            return eventSubscriptions;
+        });
+    }
 
-            String eventInstanceTenantId = eventInstance.getTenantId();
-            if (eventInstanceTenantId != null && !AbstractEngineConfiguration.NO_TENANT_ID.equals(eventInstanceTenantId)) {
+    /**
+     * Allows to skip the event subscription query when it's known that no event subscription of the scope type can match the event type,
+     * tenant and correlation key values of the given event (e.g. based on an in-memory index of the event subscriptions).
+     * Called within a command.
+     */
+    protected boolean mayHaveEventSubscriptions(String scopeType, EventInstance eventInstance, Set<String> correlationKeyValues) {
+        return true;
+    }
+
+    /**
+     * @return the tenants of the event subscriptions that can correlate with the given event (using the same logic as
+     * {@link #createCorrelatedEventSubscriptionQuery(String, EventInstance, Set)}), or null when event subscriptions of any tenant can
+     */
+    protected Collection<String> getCorrelatedEventSubscriptionTenantIds(String scopeType, EventInstance eventInstance) {
+        String eventInstanceTenantId = eventInstance.getTenantId();
+        if (eventInstanceTenantId == null || AbstractEngineConfiguration.NO_TENANT_ID.equals(eventInstanceTenantId)) {
+            return null;
+        }
 
-                EventRegistryEngineConfiguration eventRegistryConfiguration = CommandContextUtil.getEventRegistryConfiguration();
+        EventRegistryEngineConfiguration eventRegistryConfiguration = getEventRegistryEngineConfiguration();
+        if (eventRegistryConfiguration.isFallbackToDefaultTenant()) {
+            String defaultTenant = eventRegistryConfiguration.getDefaultTenantProvider()
+                .getDefaultTenant(eventInstanceTenantId, scopeType, eventInstance.getEventKey());
+            return Arrays.asList(eventInstanceTenantId, defaultTenant);
+        }
+
+        return Collections.singletonList(eventInstanceTenantId);
+    }
 
-                if (eventRegistryConfiguration.isFallbackToDefaultTenant()) {
-                    String defaultTenant = eventRegistryConfiguration.getDefaultTenantProvider()
-                        .getDefaultTenant(eventInstance.getTenantId(), scopeType, eventInstance.getEventKey());
+    /**
+     * Creates the query for the event subscriptions of the event type and tenant of the given event, that have no configuration
+     * or one of the given correlation key values as configuration. Needs to be called within a command.
+     */
+    protected EventSubscriptionQuery createCorrelatedEventSubscriptionQuery(String scopeType, EventInstance eventInstance, Set<String> correlationKeyValues) {
+        EventSubscriptionQuery eventSubscriptionQuery = createEventSubscriptionQuery()
+            .eventType(eventInstance.getEventKey())
+            .scopeType(scopeType);
 
-                    if (AbstractEngineConfiguration.NO_TENANT_ID.equals(defaultTenant)) {
-                        eventSubscriptionQuery.or()
-                            .tenantId(eventInstance.getTenantId())
-                            .withoutTenantId()
-                        .endOr();
+        if (!correlationKeyValues.isEmpty()) {
 
-                    } else {
-                        eventSubscriptionQuery.tenantIds(Arrays.asList(eventInstanceTenantId, defaultTenant));
+            eventSubscriptionQuery.or()
+                .withoutConfiguration()
+                .configurations(correlationKeyValues)
+                .endOr();
 
-                    }
+        } else {
+            eventSubscriptionQuery.withoutConfiguration();
+
+        }
+
+        String eventInstanceTenantId = eventInstance.getTenantId();
+        if (eventInstanceTenantId != null && !AbstractEngineConfiguration.NO_TENANT_ID.equals(eventInstanceTenantId)) {
+
+            EventRegistryEngineConfiguration eventRegistryConfiguration = CommandContextUtil.getEventRegistryConfiguration();
+
+            if (eventRegistryConfiguration.isFallbackToDefaultTenant()) {
+                String defaultTenant = eventRegistryConfiguration.getDefaultTenantProvider()
+                    .getDefaultTenant(eventInstance.getTenantId(), scopeType, eventInstance.getEventKey());
+
+                if (AbstractEngineConfiguration.NO_TENANT_ID.equals(defaultTenant)) {
+                    eventSubscriptionQuery.or()
+                        .tenantId(eventInstance.getTenantId())
+                        .withoutTenantId()
+                    .endOr();
 
                 } else {
-                    eventSubscriptionQuery.tenantId(eventInstanceTenantId);
+                    eventSubscriptionQuery.tenantIds(Arrays.asList(eventInstanceTenantId, defaultTenant));
 
                 }
 
+            } else {
+                eventSubscriptionQuery.tenantId(eventInstanceTenantId);
+
             }
 
-            return eventSubscriptionQuery.list();
+        }
 
-        });
+        return eventSubscriptionQuery;
     }
 
     protected abstract EventSubscriptionQuery createEventSubscriptionQuery();
 
+    protected static class EventSubscriptionHandling {
+
+        protected final EventSubscription eventSubscription;
+        protected final EventInstance eventInstance;
+        protected final Collection<CorrelationKey> correlationKeys;
+        protected final EventConsumerInfo eventConsumerInfo;
+        protected final EventRegistryProcessingInfo processingInfo;
+
+        public EventSubscriptionHandling(EventSubscription eventSubscription, EventInstance eventInstance, Collection<CorrelationKey> correlationKeys,
+                EventConsumerInfo eventConsumerInfo, EventRegistryProcessingInfo processingInfo) {
+            this.eventSubscription = eventSubscription;
+            this.eventInstance = eventInstance;
+            this.correlationKeys = correlationKeys;
+            this.eventConsumerInfo = eventConsumerInfo;
+            this.processingInfo = processingInfo;
+        }
+
+        public EventSubscription getEventSubscription() {
+            return eventSubscription;
+        }
+
+        public EventInstance getEventInstance() {
+            return eventInstance;
+        }
+
+        public Collection<CorrelationKey> getCorrelationKeys() {
+            return correlationKeys;
+        }
+
+        public EventConsumerInfo getEventConsumerInfo() {
+            return eventConsumerInfo;
+        }
+
+        public EventRegistryProcessingInfo getProcessingInfo() {
+            return processingInfo;
+        }
+    }
+
 }
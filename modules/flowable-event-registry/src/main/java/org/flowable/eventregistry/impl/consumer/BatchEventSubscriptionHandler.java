@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventregistry.impl.consumer;
+
+import java.util.Collection;
+
+import org.flowable.eventregistry.api.EventConsumerInfo;
+import org.flowable.eventregistry.api.runtime.EventInstance;
+import org.flowable.eventsubscription.api.EventSubscription;
+
+/**
+ * Implemented by a {@link BaseEventRegistryEventConsumer} that can handle the event subscriptions of events that were received together
+ * in batches (see {@link BaseEventRegistryEventConsumer#eventsReceived(java.util.List)}), instead of one transaction per event subscription.
+ * Consumers that don't implement this interface handle such events one by one.
+ */
+public interface BatchEventSubscriptionHandler {
+
+    /**
+     * @return the scope type of the event subscriptions that are handled
+     */
+    String getEventSubscriptionScopeType();
+
+    EventConsumerInfo createEventConsumerInfo(EventSubscription eventSubscription);
+
+    /**
+     * Handles the event subscription (e.g. starts or triggers an instance) for the event.
+     * When called for a batch, this happens within the transaction of the batch.
+     *
+     * @return whether the event subscription was handled
+     */
+    boolean handleEventSubscription(EventSubscription eventSubscription, EventInstance eventInstance,
+            Collection<CorrelationKey> correlationKeys, EventConsumerInfo eventConsumerInfo);
+
+    /**
+     * @return whether the event subscription needs to be handled in its own transaction, also when it's part of a batch
+     */
+    default boolean requiresSeparateTransaction(EventSubscription eventSubscription) {
+        return false;
+    }
+
+}
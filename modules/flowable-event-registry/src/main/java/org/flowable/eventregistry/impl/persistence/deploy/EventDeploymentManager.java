@@ -180,7 +180,9 @@ public class EventDeploymentManager {
             }
 
             deployment.setNew(false);
+            long loadStartTime = System.nanoTime();
             deploy(deployment);
+            eventDefinitionCache.recordLoad(eventDefinitionId, System.nanoTime() - loadStartTime);
             cachedEventDefinition = eventDefinitionCache.get(eventDefinitionId);
 
             if (cachedEventDefinition == null) {
@@ -207,7 +209,9 @@ public class EventDeploymentManager {
             }
 
             deployment.setNew(false);
+            long loadStartTime = System.nanoTime();
             deploy(deployment);
+            channelDefinitionCache.recordLoad(channelDefinitionId, System.nanoTime() - loadStartTime);
             cachedChannelDefinition = channelDefinitionCache.get(channelDefinitionId);
 
             if (cachedChannelDefinition == null) {
@@ -12,7 +12,11 @@
  */
 package org.flowable.eventregistry.impl.pipeline;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.eventregistry.api.EventRegistryEvent;
@@ -66,6 +70,21 @@ public class DefaultInboundEventProcessingPipeline<T> implements InboundEventPro
 
     @Override
     public Collection<EventRegistryEvent> run(InboundChannelModel inboundChannel, InboundEvent inboundEvent) {
+        return run(inboundChannel, inboundEvent, null);
+    }
+
+    @Override
+    public List<EventRegistryEvent> runBatch(InboundChannelModel inboundChannel, Collection<InboundEvent> inboundEvents) {
+        // The events of one batch typically share the same few event models, which are only looked up once
+        Map<String, EventModel> eventModels = new HashMap<>();
+        List<EventRegistryEvent> registryEvents = new ArrayList<>();
+        for (InboundEvent inboundEvent : inboundEvents) {
+            registryEvents.addAll(run(inboundChannel, inboundEvent, eventModels));
+        }
+        return registryEvents;
+    }
+
+    protected Collection<EventRegistryEvent> run(InboundChannelModel inboundChannel, InboundEvent inboundEvent, Map<String, EventModel> eventModels) {
 
         boolean debugLoggingEnabled = logger.isDebugEnabled();
         if (debugLoggingEnabled) {
@@ -90,7 +109,15 @@ public class DefaultInboundEventProcessingPipeline<T> implements InboundEventPro
                     inboundChannel.getKey(), inboundEvent);
         }
 
-        EventModel eventModel = multiTenant ? eventRepositoryService.getEventModelByKey(eventKey, tenantId) : eventRepositoryService.getEventModelByKey(eventKey);
+        EventModel eventModel;
+        if (eventModels != null) {
+            String tenantIdForLookup = tenantId;
+            boolean multiTenantForLookup = multiTenant;
+            eventModel = eventModels.computeIfAbsent(multiTenant ? eventKey + '|' + tenantId : eventKey,
+                    key -> getEventModel(eventKey, tenantIdForLookup, multiTenantForLookup));
+        } else {
+            eventModel = getEventModel(eventKey, tenantId, multiTenant);
+        }
         
         EventInstanceImpl eventInstance = new EventInstanceImpl(
             eventModel.getKey(),
@@ -112,6 +139,10 @@ public class DefaultInboundEventProcessingPipeline<T> implements InboundEventPro
         return registryEvents;
     }
 
+    protected EventModel getEventModel(String eventKey, String tenantId, boolean multiTenant) {
+        return multiTenant ? eventRepositoryService.getEventModelByKey(eventKey, tenantId) : eventRepositoryService.getEventModelByKey(eventKey);
+    }
+
     public T deserialize(Object rawEvent) {
         return inboundEventDeserializer.deserialize(rawEvent);
     }
@@ -16,6 +16,7 @@ import java.time.Duration;
 import java.util.UUID;
 
 import org.flowable.common.engine.impl.AbstractServiceConfiguration;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionCorrelationIndex;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionServiceImpl;
 import org.flowable.eventsubscription.service.impl.persistence.entity.EventSubscriptionEntityManager;
 import org.flowable.eventsubscription.service.impl.persistence.entity.EventSubscriptionEntityManagerImpl;
@@ -58,6 +59,23 @@ public class EventSubscriptionServiceConfiguration extends AbstractServiceConfig
      */
     private String lockOwner = UUID.randomUUID().toString();
     
+    // CORRELATION INDEX
+    // //////////////////////////////////////////////
+
+    /**
+     * Whether an in-memory index of the event types, tenants and correlation keys of the generic event subscriptions
+     * (e.g. the ones of the event registry) of this scope type should be kept,
+     * so that events that can't correlate with any event subscription are dropped without a database query.
+     */
+    protected boolean eventSubscriptionCorrelationIndexEnabled;
+
+    /**
+     * The interval after which the correlation index is reloaded from the database, to pick up the event subscriptions created by other nodes.
+     */
+    protected Duration eventSubscriptionCorrelationIndexReconcileInterval = Duration.ofSeconds(30);
+
+    protected EventSubscriptionCorrelationIndex eventSubscriptionCorrelationIndex;
+
     protected ObjectMapper objectMapper;
     
     public EventSubscriptionServiceConfiguration(String engineName) {
@@ -70,6 +88,7 @@ public class EventSubscriptionServiceConfiguration extends AbstractServiceConfig
     public void init() {
         initDataManagers();
         initEntityManagers();
+        initEventSubscriptionCorrelationIndex();
     }
 
     // Data managers
@@ -87,6 +106,13 @@ public class EventSubscriptionServiceConfiguration extends AbstractServiceConfig
         }
     }
 
+    public void initEventSubscriptionCorrelationIndex() {
+        if (eventSubscriptionCorrelationIndexEnabled && eventSubscriptionCorrelationIndex == null) {
+            eventSubscriptionCorrelationIndex = new EventSubscriptionCorrelationIndex(engineName, eventSubscriptionCorrelationIndexReconcileInterval,
+                    eventSubscriptionDataManager);
+        }
+    }
+
     // getters and setters
     // //////////////////////////////////////////////////////
 
@@ -149,4 +175,31 @@ public class EventSubscriptionServiceConfiguration extends AbstractServiceConfig
         this.lockOwner = lockOwner;
         return this;
     }
+
+    public boolean isEventSubscriptionCorrelationIndexEnabled() {
+        return eventSubscriptionCorrelationIndexEnabled;
+    }
+
+    public EventSubscriptionServiceConfiguration setEventSubscriptionCorrelationIndexEnabled(boolean eventSubscriptionCorrelationIndexEnabled) {
+        this.eventSubscriptionCorrelationIndexEnabled = eventSubscriptionCorrelationIndexEnabled;
+        return this;
+    }
+
+    public Duration getEventSubscriptionCorrelationIndexReconcileInterval() {
+        return eventSubscriptionCorrelationIndexReconcileInterval;
+    }
+
+    public EventSubscriptionServiceConfiguration setEventSubscriptionCorrelationIndexReconcileInterval(Duration eventSubscriptionCorrelationIndexReconcileInterval) {
+        this.eventSubscriptionCorrelationIndexReconcileInterval = eventSubscriptionCorrelationIndexReconcileInterval;
+        return this;
+    }
+
+    public EventSubscriptionCorrelationIndex getEventSubscriptionCorrelationIndex() {
+        return eventSubscriptionCorrelationIndex;
+    }
+
+    public EventSubscriptionServiceConfiguration setEventSubscriptionCorrelationIndex(EventSubscriptionCorrelationIndex eventSubscriptionCorrelationIndex) {
+        this.eventSubscriptionCorrelationIndex = eventSubscriptionCorrelationIndex;
+        return this;
+    }
 }
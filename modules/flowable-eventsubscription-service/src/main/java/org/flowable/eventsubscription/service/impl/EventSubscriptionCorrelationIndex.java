@@ -0,0 +1,337 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.eventsubscription.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.flowable.common.engine.impl.AbstractEngineConfiguration;
+import org.flowable.common.engine.impl.cfg.TransactionContext;
+import org.flowable.common.engine.impl.cfg.TransactionState;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.eventsubscription.api.EventSubscription;
+import org.flowable.eventsubscription.service.impl.persistence.entity.data.EventSubscriptionDataManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in-memory index of the event type, tenant and configuration (the correlation key) of the generic event subscriptions
+ * (e.g. the ones of the event registry) of one scope type, used to know without a database query
+ * that an event can't correlate with any event subscription.
+ * <p>
+ * The index can contain false positives, but never misses an event subscription that was created on this node:
+ * <ul>
+ * <li>Inserted event subscriptions are added immediately (so also when the transaction is rolled back afterwards).</li>
+ * <li>Deleted event subscriptions are removed after the transaction has committed,
+ * unless the index was reloaded in the meantime, as the reloaded index might not have contained it anymore.</li>
+ * <li>Bulk deletes are not applied, bulk updates that could change the correlation (e.g. changing the tenant) mark the index as stale.</li>
+ * </ul>
+ * The index is reloaded from the database (one grouped query) when it is stale or when the reconcile interval has passed,
+ * which is how event subscriptions created by other nodes are picked up.
+ * Hence, in a multi-node setup an event subscription created by another node can be missed for at most the reconcile interval.
+ * <p>
+ * Reloading (see {@link #mayHaveEventSubscriptions(String, Collection, Collection)}) needs to happen within a command context.
+ */
+public class EventSubscriptionCorrelationIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventSubscriptionCorrelationIndex.class);
+
+    protected static final String NO_CONFIGURATION = "\u0000";
+
+    protected static final Set<String> NOT_INDEXED_EVENT_TYPES = new HashSet<>(Arrays.asList("message", "signal", "compensate"));
+
+    protected final String scopeType;
+    protected final long reconcileIntervalInMillis;
+    protected final EventSubscriptionDataManager eventSubscriptionDataManager;
+
+    protected final Object lock = new Object();
+    protected final Object reloadLock = new Object();
+
+    /**
+     * event type -> tenant id -> configuration -> amount of event subscriptions.
+     * Only changed while holding the lock, read without it.
+     */
+    protected volatile Map<String, Map<String, Map<String, Long>>> eventSubscriptionCounts = new ConcurrentHashMap<>();
+
+    protected final Map<IndexKey, Integer> uncommittedInserts = new HashMap<>();
+    protected final List<IndexKey> insertsCommittedDuringReload = new ArrayList<>();
+    protected boolean reloading;
+    protected long generation;
+
+    protected volatile boolean stale = true;
+    protected volatile long lastReloadTime;
+
+    public EventSubscriptionCorrelationIndex(String scopeType, Duration reconcileInterval, EventSubscriptionDataManager eventSubscriptionDataManager) {
+        this.scopeType = scopeType;
+        this.reconcileIntervalInMillis = reconcileInterval.toMillis();
+        this.eventSubscriptionDataManager = eventSubscriptionDataManager;
+    }
+
+    public boolean isIndexed(EventSubscription eventSubscription) {
+        return scopeType.equals(eventSubscription.getScopeType())
+                && eventSubscription.getEventType() != null
+                && !NOT_INDEXED_EVENT_TYPES.contains(eventSubscription.getEventType());
+    }
+
+    public void eventSubscriptionInserted(EventSubscription eventSubscription) {
+        if (!isIndexed(eventSubscription)) {
+            return;
+        }
+
+        IndexKey key = new IndexKey(eventSubscription);
+        synchronized (lock) {
+            increment(eventSubscriptionCounts, key, 1);
+            uncommittedInserts.merge(key, 1, Integer::sum);
+        }
+
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, commandContext -> insertCompleted(key, true));
+            transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, commandContext -> insertCompleted(key, false));
+        } else {
+            insertCompleted(key, true);
+        }
+    }
+
+    protected void insertCompleted(IndexKey key, boolean committed) {
+        synchronized (lock) {
+            uncommittedInserts.computeIfPresent(key, (k, amount) -> amount > 1 ? amount - 1 : null);
+            if (committed && reloading) {
+                insertsCommittedDuringReload.add(key);
+            }
+        }
+    }
+
+    public void eventSubscriptionDeleted(EventSubscription eventSubscription) {
+        if (!isIndexed(eventSubscription)) {
+            return;
+        }
+
+        IndexKey key = new IndexKey(eventSubscription);
+        long deleteGeneration;
+        synchronized (lock) {
+            if (reloading) {
+                // The reloaded index might or might not contain the event subscription, keeping it is the safe option
+                return;
+            }
+            deleteGeneration = generation;
+        }
+
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, commandContext -> deleteCommitted(key, deleteGeneration));
+        } else {
+            deleteCommitted(key, deleteGeneration);
+        }
+    }
+
+    protected void deleteCommitted(IndexKey key, long deleteGeneration) {
+        synchronized (lock) {
+            if (generation == deleteGeneration) {
+                increment(eventSubscriptionCounts, key, -1);
+            }
+        }
+    }
+
+    /**
+     * Marks the index as stale, so that it gets reloaded on the next lookup.
+     * Used after bulk updates that might change the event type, tenant or configuration of event subscriptions.
+     */
+    public void markStale() {
+        stale = true;
+
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            // A reload before the commit would still see the old values
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, commandContext -> stale = true);
+        }
+    }
+
+    /**
+     * @param tenantIds the tenants of the event subscriptions to look for, null to look for event subscriptions of any tenant
+     * @param correlationKeyValues the configuration values to look for, event subscriptions without configuration always match
+     * @return false if there is certainly no event subscription of the event type with one of the tenants and configurations,
+     * true if there might be one
+     */
+    public boolean mayHaveEventSubscriptions(String eventType, Collection<String> tenantIds, Collection<String> correlationKeyValues) {
+        reloadIfNeeded();
+
+        Map<String, Map<String, Long>> eventTypeCounts = eventSubscriptionCounts.get(eventType);
+        if (eventTypeCounts == null) {
+            return false;
+        }
+
+        if (tenantIds == null) {
+            for (Map<String, Long> tenantCounts : eventTypeCounts.values()) {
+                if (containsConfiguration(tenantCounts, correlationKeyValues)) {
+                    return true;
+                }
+            }
+
+        } else {
+            for (String tenantId : tenantIds) {
+                Map<String, Long> tenantCounts = eventTypeCounts.get(normalizeTenantId(tenantId));
+                if (tenantCounts != null && containsConfiguration(tenantCounts, correlationKeyValues)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    protected boolean containsConfiguration(Map<String, Long> tenantCounts, Collection<String> correlationKeyValues) {
+        if (tenantCounts.containsKey(NO_CONFIGURATION)) {
+            return true;
+        }
+
+        for (String correlationKeyValue : correlationKeyValues) {
+            if (tenantCounts.containsKey(correlationKeyValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected void reloadIfNeeded() {
+        if (isReloadNeeded()) {
+            synchronized (reloadLock) {
+                if (isReloadNeeded()) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    protected boolean isReloadNeeded() {
+        return stale || System.currentTimeMillis() - lastReloadTime >= reconcileIntervalInMillis;
+    }
+
+    protected void reload() {
+        long reloadStartTime = System.currentTimeMillis();
+        synchronized (lock) {
+            reloading = true;
+            generation++;
+            insertsCommittedDuringReload.clear();
+        }
+
+        // Bulk updates from now on need to lead to a new reload
+        stale = false;
+
+        try {
+            Map<String, Map<String, Map<String, Long>>> reloadedCounts = new ConcurrentHashMap<>();
+            List<EventSubscriptionCorrelationCount> correlationCounts = eventSubscriptionDataManager.findEventSubscriptionCorrelationCounts(scopeType);
+            for (EventSubscriptionCorrelationCount correlationCount : correlationCounts) {
+                increment(reloadedCounts, new IndexKey(correlationCount.getEventType(), correlationCount.getTenantId(), correlationCount.getConfiguration()),
+                        correlationCount.getCount());
+            }
+
+            synchronized (lock) {
+                // Inserts that might not have been visible to the query are applied again, which at worst leads to false positives
+                for (Map.Entry<IndexKey, Integer> uncommittedInsert : uncommittedInserts.entrySet()) {
+                    increment(reloadedCounts, uncommittedInsert.getKey(), uncommittedInsert.getValue());
+                }
+                for (IndexKey committedInsert : insertsCommittedDuringReload) {
+                    increment(reloadedCounts, committedInsert, 1);
+                }
+
+                eventSubscriptionCounts = reloadedCounts;
+                lastReloadTime = reloadStartTime;
+            }
+
+            LOGGER.debug("Reloaded event subscription correlation index for scope type {} with {} entries in {} ms", scopeType,
+                    correlationCounts.size(), System.currentTimeMillis() - reloadStartTime);
+
+        } catch (RuntimeException e) {
+            stale = true;
+            throw e;
+
+        } finally {
+            synchronized (lock) {
+                reloading = false;
+                generation++;
+                insertsCommittedDuringReload.clear();
+            }
+        }
+    }
+
+    protected void increment(Map<String, Map<String, Map<String, Long>>> counts, IndexKey key, long delta) {
+        Map<String, Map<String, Long>> eventTypeCounts = counts.computeIfAbsent(key.eventType, eventType -> new ConcurrentHashMap<>());
+        Map<String, Long> tenantCounts = eventTypeCounts.computeIfAbsent(key.tenantId, tenantId -> new ConcurrentHashMap<>());
+        tenantCounts.compute(key.configuration, (configuration, amount) -> {
+            long newAmount = (amount != null ? amount : 0L) + delta;
+            return newAmount > 0 ? newAmount : null;
+        });
+    }
+
+    protected static String normalizeTenantId(String tenantId) {
+        return tenantId != null ? tenantId : AbstractEngineConfiguration.NO_TENANT_ID;
+    }
+
+    public String getScopeType() {
+        return scopeType;
+    }
+
+    public long getReconcileIntervalInMillis() {
+        return reconcileIntervalInMillis;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    protected static class IndexKey {
+
+        protected final String eventType;
+        protected final String tenantId;
+        protected final String configuration;
+
+        public IndexKey(EventSubscription eventSubscription) {
+            this(eventSubscription.getEventType(), eventSubscription.getTenantId(), eventSubscription.getConfiguration());
+        }
+
+        public IndexKey(String eventType, String tenantId, String configuration) {
+            this.eventType = eventType;
+            this.tenantId = normalizeTenantId(tenantId);
+            this.configuration = configuration != null ? configuration : NO_CONFIGURATION;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            IndexKey indexKey = (IndexKey) o;
+            return Objects.equals(eventType, indexKey.eventType)
+                    && Objects.equals(tenantId, indexKey.tenantId)
+                    && Objects.equals(configuration, indexKey.configuration);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventType, tenantId, configuration);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.flowable.common.engine.impl.persistence.entity.AbstractServiceEngineE
 import org.flowable.eventsubscription.api.EventSubscription;
 import org.flowable.eventsubscription.api.EventSubscriptionBuilder;
 import org.flowable.eventsubscription.service.EventSubscriptionServiceConfiguration;
+import org.flowable.eventsubscription.service.impl.EventSubscriptionCorrelationIndex;
 import org.flowable.eventsubscription.service.impl.EventSubscriptionQueryImpl;
 import org.flowable.eventsubscription.service.impl.persistence.entity.data.EventSubscriptionDataManager;
 
@@ -42,6 +43,26 @@ public class EventSubscriptionEntityManagerImpl
         super(eventSubscriptionServiceConfiguration, eventSubscriptionServiceConfiguration.getEngineName(), eventSubscriptionDataManager);
     }
 
+    @Override
+    public void insert(EventSubscriptionEntity entity, boolean fireCreateEvent) {
+        super.insert(entity, fireCreateEvent);
+
+        EventSubscriptionCorrelationIndex correlationIndex = serviceConfiguration.getEventSubscriptionCorrelationIndex();
+        if (correlationIndex != null) {
+            correlationIndex.eventSubscriptionInserted(entity);
+        }
+    }
+
+    @Override
+    public void delete(EventSubscriptionEntity entity, boolean fireDeleteEvent) {
+        super.delete(entity, fireDeleteEvent);
+
+        EventSubscriptionCorrelationIndex correlationIndex = serviceConfiguration.getEventSubscriptionCorrelationIndex();
+        if (correlationIndex != null) {
+            correlationIndex.eventSubscriptionDeleted(entity);
+        }
+    }
+
     @Override
     public CompensateEventSubscriptionEntity createCompensateEventSubscription() {
         return dataManager.createCompensateEventSubscription();
@@ -195,6 +216,11 @@ public class EventSubscriptionEntityManagerImpl
     @Override
     public void updateEventSubscriptionTenantId(String oldTenantId, String newTenantId) {
         dataManager.updateEventSubscriptionTenantId(oldTenantId, newTenantId);
+
+        EventSubscriptionCorrelationIndex correlationIndex = serviceConfiguration.getEventSubscriptionCorrelationIndex();
+        if (correlationIndex != null) {
+            correlationIndex.markStale();
+        }
     }
 
     @Override
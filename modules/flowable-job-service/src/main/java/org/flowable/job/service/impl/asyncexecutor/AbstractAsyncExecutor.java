@@ -116,6 +116,11 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         if (configuration.isTimerRunnableNeeded() && timerJobRunnable == null) {
             timerJobRunnable = new AcquireTimerJobsRunnable(this, jobServiceConfiguration.getJobManager(),
                 timerLifecycleListener, new AcquireTimerRunnableConfiguration(), configuration.getMoveTimerExecutorPoolSize());
+
+            if (configuration.isAdaptiveAcquisitionEnabled()) {
+                timerJobRunnable.setAdaptiveAcquisitionController(new AdaptiveAcquisitionController(configuration.getMaxTimerJobsPerAcquisition(),
+                        configuration.getDefaultTimerJobAcquireWaitTime().toMillis(), configuration.getMaxTimerJobAcquireWaitTime().toMillis()));
+            }
         }
 
         JobInfoEntityManager<? extends JobInfoEntity> jobEntityManagerToUse = jobEntityManager != null
@@ -135,6 +140,11 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
             asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(acquireJobsRunnableName, this, jobEntityManagerToUse,
                 asyncJobsDueLifecycleListener, new AcquireAsyncJobsDueRunnableConfiguration());
 
+            if (configuration.isAdaptiveAcquisitionEnabled()) {
+                asyncJobsDueRunnable.setAdaptiveAcquisitionController(new AdaptiveAcquisitionController(configuration.getMaxAsyncJobsDuePerAcquisition(),
+                        configuration.getDefaultAsyncJobAcquireWaitTime().toMillis(), configuration.getMaxAsyncJobAcquireWaitTime().toMillis()));
+            }
+
         }
     }
 
@@ -83,6 +83,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
     protected AcquireJobsRunnableConfiguration configuration;
     protected LockManager lockManager;
+    protected AdaptiveAcquisitionController adaptiveAcquisitionController;
 
     protected volatile boolean isInterrupted;
     protected final Object MONITOR = new Object();
@@ -173,13 +174,14 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
     protected long acquireAndExecuteJobs(CommandExecutor commandExecutor, int remainingCapacity) {
         boolean globalAcquireLockEnabled = configuration.isGlobalAcquireLockEnabled();
+        int jobsToAcquire = adaptiveAcquisitionController != null ? adaptiveAcquisitionController.getJobsPerAcquisition(remainingCapacity) : remainingCapacity;
         try {
             List<? extends JobInfoEntity> acquiredJobs;
             if (globalAcquireLockEnabled) {
-                acquiredJobs = commandExecutor.execute(new AcquireJobsWithGlobalAcquireLockCmd(asyncExecutor, remainingCapacity, jobEntityManager));
+                acquiredJobs = commandExecutor.execute(new AcquireJobsWithGlobalAcquireLockCmd(asyncExecutor, jobsToAcquire, jobEntityManager));
 
             } else {
-                acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, jobEntityManager));
+                acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, jobsToAcquire, jobEntityManager));
 
             }
 
@@ -195,6 +197,9 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
                 // some jobs were rejected, so the queue was full; wait until attempting to acquire more.
                 return asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
             }
+            if (adaptiveAcquisitionController != null) {
+                return adaptiveAcquisitionController.jobsAcquired(acquiredJobs.size(), Math.min(jobsToAcquire, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
+            }
             if (acquiredJobs.size() >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
                 return 0L; // the maximum amount of jobs were acquired, so we can expect more.
             }
@@ -216,6 +221,10 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
                         getEngineName(), optimisticLockingException.getMessage());
 
             }
+
+            if (adaptiveAcquisitionController != null) {
+                return adaptiveAcquisitionController.optimisticLockingException();
+            }
         } catch (Throwable e) {
             LOGGER.warn("exception for engine {} during async job acquisition: {}", getEngineName(), e.getMessage(), e);
         }
@@ -287,4 +296,12 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         this.configuration = configuration;
     }
 
+    public AdaptiveAcquisitionController getAdaptiveAcquisitionController() {
+        return adaptiveAcquisitionController;
+    }
+
+    public void setAdaptiveAcquisitionController(AdaptiveAcquisitionController adaptiveAcquisitionController) {
+        this.adaptiveAcquisitionController = adaptiveAcquisitionController;
+    }
+
 }
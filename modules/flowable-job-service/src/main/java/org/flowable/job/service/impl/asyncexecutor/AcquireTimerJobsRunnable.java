@@ -77,6 +77,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
     protected AcquireJobsRunnableConfiguration configuration;
     protected LockManager lockManager;
+    protected AdaptiveAcquisitionController adaptiveAcquisitionController;
 
     protected volatile boolean isInterrupted;
     protected final Object MONITOR = new Object();
@@ -149,7 +150,9 @@ public class AcquireTimerJobsRunnable implements Runnable {
     }
 
     protected long executeAcquireAndMoveCycle() {
-        lifecycleListener.startAcquiring(getEngineName(), asyncExecutor.getMaxTimerJobsPerAcquisition());
+        int maxTimerJobsPerAcquisition = adaptiveAcquisitionController != null
+                ? adaptiveAcquisitionController.getJobsPerAcquisition(asyncExecutor.getMaxTimerJobsPerAcquisition()) : asyncExecutor.getMaxTimerJobsPerAcquisition();
+        lifecycleListener.startAcquiring(getEngineName(), maxTimerJobsPerAcquisition);
 
         List<TimerJobEntity> timerJobs = Collections.emptyList();
         long millisToWait = 0L;
@@ -163,7 +166,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
                 // In the move phase, other nodes can already acquire timer jobs themselves (as the lock is free).
                 try {
                     timerJobs = lockManager.waitForLockRunAndRelease(configuration.getLockWaitTime(), () -> {
-                        return commandExecutor.execute(new AcquireTimerJobsWithGlobalAcquireLockCmd(asyncExecutor));
+                        return commandExecutor.execute(new AcquireTimerJobsWithGlobalAcquireLockCmd(asyncExecutor, maxTimerJobsPerAcquisition));
                     });
 
                 } catch (Exception e) {
@@ -175,7 +178,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
                 }
 
             } else {
-                timerJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+                timerJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor, maxTimerJobsPerAcquisition));
 
             }
 
@@ -189,9 +192,13 @@ public class AcquireTimerJobsRunnable implements Runnable {
             // if all jobs were executed
             millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
             int nrOfJobsAcquired = timerJobs.size();
-            lifecycleListener.acquiredJobs(getEngineName(), nrOfJobsAcquired, asyncExecutor.getMaxTimerJobsPerAcquisition());
+            lifecycleListener.acquiredJobs(getEngineName(), nrOfJobsAcquired, maxTimerJobsPerAcquisition);
 
-            if (nrOfJobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
+            if (adaptiveAcquisitionController != null) {
+                millisToWait = adaptiveAcquisitionController.jobsAcquired(nrOfJobsAcquired, maxTimerJobsPerAcquisition);
+            }
+
+            if (nrOfJobsAcquired >= maxTimerJobsPerAcquisition) {
 
                 if (globalAcquireLockEnabled) {
                     // Always wait when running with global acquire lock, to let other nodes have the ability to fill the queue
@@ -208,6 +215,9 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
         } catch (FlowableOptimisticLockingException optimisticLockingException) {
             logOptimisticLockingException(optimisticLockingException);
+            if (adaptiveAcquisitionController != null) {
+                millisToWait = adaptiveAcquisitionController.optimisticLockingException();
+            }
 
         } catch (Throwable e) {
             LOGGER.warn("exception during timer job acquisition for engine {}. Exception message: {}", getEngineName(), e.getMessage(), e);
@@ -311,4 +321,12 @@ public class AcquireTimerJobsRunnable implements Runnable {
         this.configuration = configuration;
     }
 
+    public AdaptiveAcquisitionController getAdaptiveAcquisitionController() {
+        return adaptiveAcquisitionController;
+    }
+
+    public void setAdaptiveAcquisitionController(AdaptiveAcquisitionController adaptiveAcquisitionController) {
+        this.adaptiveAcquisitionController = adaptiveAcquisitionController;
+    }
+
 }
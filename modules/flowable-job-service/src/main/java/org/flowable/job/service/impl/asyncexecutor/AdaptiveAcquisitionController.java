@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Determines the size of the next acquisition and the time to wait before it, based on the outcome of the previous acquisitions,
+ * instead of always using the static maximum amount of jobs per acquisition and the default acquire wait time.
+ *
+ * <ul>
+ * <li>When an acquisition returns as many jobs as were asked for, there's a backlog: the acquisition size grows (up to the configured maximum)
+ * and the next acquisition happens immediately.</li>
+ * <li>When an acquisition returns fewer jobs, the wait time is shortened proportionally to how full the acquisition was.</li>
+ * <li>When an acquisition returns no jobs, the wait time backs off exponentially from the default wait time up to the maximum wait time.</li>
+ * <li>When an optimistic locking exception occurs (other nodes acquired the same jobs), the acquisition size is halved
+ * and a random, exponentially growing wait time is used so that the competing nodes spread their acquisitions.</li>
+ * </ul>
+ *
+ * An instance is used by a single acquire thread and is not thread safe.
+ */
+public class AdaptiveAcquisitionController {
+
+    protected static final long MIN_CONFLICT_WAIT_TIME_IN_MILLIS = 50;
+
+    protected final int maxJobsPerAcquisition;
+    protected final long defaultWaitTimeInMillis;
+    protected final long maxWaitTimeInMillis;
+
+    protected int jobsPerAcquisition;
+    protected long idleWaitTimeInMillis;
+    protected int consecutiveOptimisticLockingExceptions;
+
+    public AdaptiveAcquisitionController(int maxJobsPerAcquisition, long defaultWaitTimeInMillis, long maxWaitTimeInMillis) {
+        this.maxJobsPerAcquisition = Math.max(1, maxJobsPerAcquisition);
+        this.defaultWaitTimeInMillis = defaultWaitTimeInMillis;
+        this.maxWaitTimeInMillis = Math.max(defaultWaitTimeInMillis, maxWaitTimeInMillis);
+        this.jobsPerAcquisition = this.maxJobsPerAcquisition;
+        this.idleWaitTimeInMillis = defaultWaitTimeInMillis;
+    }
+
+    /**
+     * @return the amount of jobs the next acquisition should fetch, never more than the given remaining capacity of the executor queue.
+     */
+    public int getJobsPerAcquisition(int remainingCapacity) {
+        return Math.min(remainingCapacity, jobsPerAcquisition);
+    }
+
+    /**
+     * @return the time to wait before the next acquisition, after an acquisition asking for jobsRequested jobs returned jobsAcquired jobs.
+     */
+    public long jobsAcquired(int jobsAcquired, int jobsRequested) {
+        consecutiveOptimisticLockingExceptions = 0;
+
+        if (jobsRequested > 0 && jobsAcquired >= jobsRequested) {
+            jobsPerAcquisition = (int) Math.min(maxJobsPerAcquisition, 2L * jobsPerAcquisition);
+            idleWaitTimeInMillis = defaultWaitTimeInMillis;
+            return 0L;
+        }
+
+        if (jobsAcquired == 0) {
+            long waitTimeInMillis = idleWaitTimeInMillis;
+            idleWaitTimeInMillis = Math.min(maxWaitTimeInMillis, 2 * idleWaitTimeInMillis);
+            return waitTimeInMillis;
+        }
+
+        idleWaitTimeInMillis = defaultWaitTimeInMillis;
+        return defaultWaitTimeInMillis * (jobsRequested - jobsAcquired) / jobsRequested;
+    }
+
+    /**
+     * @return the time to wait before the next acquisition, after the acquisition failed with an optimistic locking exception.
+     */
+    public long optimisticLockingException() {
+        consecutiveOptimisticLockingExceptions++;
+        jobsPerAcquisition = Math.max(1, jobsPerAcquisition / 2);
+
+        long maxConflictWaitTime = MIN_CONFLICT_WAIT_TIME_IN_MILLIS << Math.min(consecutiveOptimisticLockingExceptions, 16);
+        maxConflictWaitTime = Math.max(1, Math.min(defaultWaitTimeInMillis, maxConflictWaitTime));
+        return ThreadLocalRandom.current().nextLong(maxConflictWaitTime);
+    }
+
+    public int getJobsPerAcquisition() {
+        return jobsPerAcquisition;
+    }
+
+    public long getIdleWaitTimeInMillis() {
+        return idleWaitTimeInMillis;
+    }
+
+    public int getConsecutiveOptimisticLockingExceptions() {
+        return consecutiveOptimisticLockingExceptions;
+    }
+}
@@ -80,6 +80,21 @@ public class AsyncJobExecutorConfiguration {
      */
     private Duration defaultQueueSizeFullWaitTime = Duration.ofSeconds(5);
 
+    /**
+     * Whether the acquisition threads adapt the amount of jobs per acquisition and the time between acquisitions
+     * to the outcome of the previous acquisitions (see {@link AdaptiveAcquisitionController}).
+     * The max jobs per acquisition settings are then used as upper bound and the default acquire wait times as start of the back-off when idle.
+     */
+    private boolean adaptiveAcquisitionEnabled;
+    /**
+     * The maximum time the timer acquisition thread waits when backing off because no timer jobs were found. Only used with adaptive acquisition.
+     */
+    private Duration maxTimerJobAcquireWaitTime = Duration.ofMinutes(1);
+    /**
+     * The maximum time the async job acquisition thread waits when backing off because no async jobs were found. Only used with adaptive acquisition.
+     */
+    private Duration maxAsyncJobAcquireWaitTime = Duration.ofMinutes(1);
+
     /**
      * The value that should be used when locking async / timer jobs.
      * <p>
@@ -282,6 +297,30 @@ public class AsyncJobExecutorConfiguration {
         this.defaultQueueSizeFullWaitTime = Duration.ofMillis(defaultQueueSizeFullWaitTimeInMillis);
     }
 
+    public boolean isAdaptiveAcquisitionEnabled() {
+        return adaptiveAcquisitionEnabled;
+    }
+
+    public void setAdaptiveAcquisitionEnabled(boolean adaptiveAcquisitionEnabled) {
+        this.adaptiveAcquisitionEnabled = adaptiveAcquisitionEnabled;
+    }
+
+    public Duration getMaxTimerJobAcquireWaitTime() {
+        return maxTimerJobAcquireWaitTime;
+    }
+
+    public void setMaxTimerJobAcquireWaitTime(Duration maxTimerJobAcquireWaitTime) {
+        this.maxTimerJobAcquireWaitTime = maxTimerJobAcquireWaitTime;
+    }
+
+    public Duration getMaxAsyncJobAcquireWaitTime() {
+        return maxAsyncJobAcquireWaitTime;
+    }
+
+    public void setMaxAsyncJobAcquireWaitTime(Duration maxAsyncJobAcquireWaitTime) {
+        this.maxAsyncJobAcquireWaitTime = maxAsyncJobAcquireWaitTime;
+    }
+
     public String getLockOwner() {
         return lockOwner;
     }
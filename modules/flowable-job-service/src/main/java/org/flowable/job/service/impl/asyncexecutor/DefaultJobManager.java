@@ -67,6 +67,8 @@ public class DefaultJobManager implements JobManager {
 
     public static final String CYCLE_TYPE = "cycle";
 
+    protected static final String LOCALLY_DISPATCHED_JOBS_ATTRIBUTE = "jobManager.locallyDispatchedJobs";
+
     protected JobServiceConfiguration jobServiceConfiguration;
 
     public DefaultJobManager(JobServiceConfiguration jobServiceConfiguration) {
@@ -75,8 +77,11 @@ public class DefaultJobManager implements JobManager {
 
     @Override
     public void createAsyncJob(JobEntity jobEntity, boolean exclusive) {
-        // When the async executor is activated, the job is directly passed on to the async executor thread
-        if (isJobApplicableForExecutorExecution(jobEntity)) {
+        // When the async executor is activated, the job is locked in the current transaction and directly passed on
+        // to the async executor queue after the commit, without waiting for the acquire thread.
+        // This is only done when the queue can still take the job, otherwise the lock would need to be released again
+        // in a separate transaction after the rejection and the job is left to the acquire thread instead.
+        if (isJobApplicableForExecutorExecution(jobEntity) && reserveLocalDispatchCapacity()) {
             internalCreateLockedAsyncJob(jobEntity, exclusive);
 
         } else {
@@ -118,6 +123,26 @@ public class DefaultJobManager implements JobManager {
         return enabledJobCategories.contains(category);
     }
 
+    /**
+     * Reserves a place in the async executor queue for a job that will be dispatched locally after the current transaction commits.
+     * The jobs that are dispatched locally in the same command context are taken into account, as they are only queued after the commit.
+     */
+    protected boolean reserveLocalDispatchCapacity() {
+        CommandContext commandContext = getCommandContext();
+        if (commandContext == null || getAsyncExecutor().getTaskExecutor() == null) {
+            // Nothing to reserve against, the rejection handling of the async executor takes care of a full queue
+            return true;
+        }
+
+        Integer locallyDispatchedJobs = (Integer) commandContext.getAttribute(LOCALLY_DISPATCHED_JOBS_ATTRIBUTE);
+        int neededCapacity = locallyDispatchedJobs != null ? locallyDispatchedJobs + 1 : 1;
+        if (isAsyncExecutorRemainingCapacitySufficient(neededCapacity)) {
+            commandContext.addAttribute(LOCALLY_DISPATCHED_JOBS_ATTRIBUTE, neededCapacity);
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public void scheduleTimerJob(TimerJobEntity timerJob) {
         jobServiceConfiguration.getTimerJobScheduler().scheduleTimerJob(timerJob);
@@ -592,6 +617,11 @@ public class DefaultJobManager implements JobManager {
         // Verify that correct properties have been set when the async executor will be hinted
         if (job.getLockOwner() == null || job.getLockExpirationTime() == null) {
             createAsyncJob(job, job.isExclusive());
+
+            if (job.getLockOwner() == null) {
+                // No capacity left in the async executor queue, the acquire thread will pick up the job
+                return;
+            }
         }
         createHintListeners(getAsyncExecutor(), job);
     }
@@ -13,6 +13,7 @@
 package org.flowable.job.service.impl.asyncexecutor;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.Set;
 
 import org.flowable.common.engine.impl.interceptor.Command;
@@ -20,9 +21,13 @@ import org.flowable.common.engine.impl.interceptor.CommandConfig;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.job.api.JobInfo;
 import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.history.async.AsyncHistoryJobOrderException;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
 
 public class UnacquireAsyncHistoryJobExceptionHandler implements AsyncRunnableExecutionExceptionHandler {
-    
+
+    protected int orderWaitTimeInMillis = 5000;
+
     @Override
     public boolean handleException(final JobServiceConfiguration jobServiceConfiguration, final JobInfo job, final Throwable exception) {
         if (job != null && getAsyncHistoryJobHandlerTypes(jobServiceConfiguration).contains(job.getJobHandlerType())) {
@@ -33,7 +38,12 @@ public class UnacquireAsyncHistoryJobExceptionHandler implements AsyncRunnableEx
                     return jobServiceConfiguration.getCommandExecutor().execute(commandConfig, new Command<Boolean>() {
                         @Override
                         public Boolean execute(CommandContext commandContext2) {
-                            jobServiceConfiguration.getJobManager().unacquireWithDecrementRetries(job, exception);
+                            if (isOrderException(exception)) {
+                                // An older history job for the same scope needs to be applied first, this isn't a failure of the job
+                                unacquireWithDelay(jobServiceConfiguration, job);
+                            } else {
+                                jobServiceConfiguration.getJobManager().unacquireWithDecrementRetries(job, exception);
+                            }
                             return true;
                         }
                     });
@@ -43,6 +53,30 @@ public class UnacquireAsyncHistoryJobExceptionHandler implements AsyncRunnableEx
         return false;
     }
     
+    /**
+     * Unacquires the job with a lock expiration time in the future, so it isn't acquired again right away.
+     * The job is unlocked when the older job it waits for has been applied, or else by the expired jobs reset once the delay has passed.
+     */
+    protected void unacquireWithDelay(JobServiceConfiguration jobServiceConfiguration, JobInfo job) {
+        HistoryJobEntity historyJob = jobServiceConfiguration.getHistoryJobEntityManager().findById(job.getId());
+        if (historyJob != null) {
+            long lockExpirationTime = jobServiceConfiguration.getClock().getCurrentTime().getTime() + orderWaitTimeInMillis;
+            historyJob.setLockOwner(null);
+            historyJob.setLockExpirationTime(new Date(lockExpirationTime));
+        }
+    }
+
+    protected boolean isOrderException(Throwable exception) {
+        Throwable cause = exception;
+        while (cause != null) {
+            if (cause instanceof AsyncHistoryJobOrderException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
     protected Set<String> getAsyncHistoryJobHandlerTypes(JobServiceConfiguration jobServiceConfiguration) {
         if (jobServiceConfiguration.getHistoryJobHandlers() != null) {
             return jobServiceConfiguration.getHistoryJobHandlers().keySet();
@@ -50,4 +84,15 @@ public class UnacquireAsyncHistoryJobExceptionHandler implements AsyncRunnableEx
         return Collections.emptySet();
     }
 
+    public int getOrderWaitTimeInMillis() {
+        return orderWaitTimeInMillis;
+    }
+
+    /**
+     * @param orderWaitTimeInMillis the time a history job waits before it is acquired again, when an older history job of the same scope is pending
+     */
+    public void setOrderWaitTimeInMillis(int orderWaitTimeInMillis) {
+        this.orderWaitTimeInMillis = orderWaitTimeInMillis;
+    }
+
 }
@@ -31,9 +31,15 @@ import org.flowable.job.service.impl.persistence.entity.TimerJobEntity;
 public class AcquireTimerJobsWithGlobalAcquireLockCmd implements Command<List<TimerJobEntity>> {
 
     protected AsyncExecutor asyncExecutor;
+    protected int maxTimerJobsPerAcquisition;
 
     public AcquireTimerJobsWithGlobalAcquireLockCmd(AsyncExecutor asyncExecutor) {
+        this(asyncExecutor, asyncExecutor.getMaxTimerJobsPerAcquisition());
+    }
+
+    public AcquireTimerJobsWithGlobalAcquireLockCmd(AsyncExecutor asyncExecutor, int maxTimerJobsPerAcquisition) {
         this.asyncExecutor = asyncExecutor;
+        this.maxTimerJobsPerAcquisition = maxTimerJobsPerAcquisition;
     }
 
     @Override
@@ -41,7 +47,7 @@ public class AcquireTimerJobsWithGlobalAcquireLockCmd implements Command<List<Ti
         JobServiceConfiguration jobServiceConfiguration = asyncExecutor.getJobServiceConfiguration();
         List<String> enabledCategories = jobServiceConfiguration.getEnabledJobCategories();
         List<TimerJobEntity> timerJobs = jobServiceConfiguration.getTimerJobEntityManager()
-            .findJobsToExecute(enabledCategories, new Page(0, asyncExecutor.getMaxTimerJobsPerAcquisition()));
+            .findJobsToExecute(enabledCategories, new Page(0, maxTimerJobsPerAcquisition));
 
         if (!timerJobs.isEmpty()) {
 
@@ -0,0 +1,159 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.util.List;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.job.service.HistoryJobHandler;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Applies the change records that an {@link AsyncHistorySession} stored in a history job to the history tables.
+ * All changes of a job are applied in the transaction of the job, so the inserts are flushed as bulk inserts.
+ * <p>
+ * The history jobs of consecutive transactions are applied in the order they were created when they change the same scope:
+ * a job is unacquired, so that it is retried later, as long as an older history job for one of its scopes (see {@link AsyncHistorySession}) is pending.
+ * The older jobs are looked up by scope key in the indexed ACT_RU_HISTORY_JOB_ORDER table. A job that has to wait is unacquired with a delay
+ * and unlocked again as soon as a job of one of its scopes has been applied.
+ * This prevents a delete from being undone by an older insert or update, and an older update from overwriting a newer one.
+ * An update for a historic entity that isn't inserted yet, e.g. because the insert was recorded by another job handler type, also fails the job,
+ * unless the historic scope (e.g. the historic process instance) doesn't exist anymore, in which case the change is skipped.
+ */
+public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractAsyncHistoryJobHandler.class);
+
+    protected String type;
+
+    public AbstractAsyncHistoryJobHandler(String type) {
+        this.type = type;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public void execute(HistoryJobEntity job, String configuration, CommandContext commandContext, JobServiceConfiguration jobServiceConfiguration) {
+        String olderJobId = findOlderPendingJobId(job, jobServiceConfiguration);
+        if (olderJobId != null) {
+            throw new AsyncHistoryJobOrderException(job + " can't be applied before the older history job " + olderJobId + " for the same scope");
+        }
+
+        JsonNode changes;
+        try {
+            changes = jobServiceConfiguration.getObjectMapper().readTree(job.getAdvancedJobHandlerConfiguration());
+        } catch (JsonProcessingException e) {
+            throw new FlowableException("Could not read the history changes of " + job, e);
+        }
+
+        for (JsonNode change : changes) {
+            String entityType = change.path(AsyncHistorySession.FIELD_TYPE).asText();
+            String operation = change.path(AsyncHistorySession.FIELD_OPERATION).asText();
+            String id = change.path(AsyncHistorySession.FIELD_ID).asText();
+            String scopeId = change.hasNonNull(AsyncHistorySession.FIELD_SCOPE_ID) ? change.get(AsyncHistorySession.FIELD_SCOPE_ID).asText() : null;
+            ObjectNode data = (ObjectNode) change.get(AsyncHistorySession.FIELD_DATA);
+
+            if (AsyncHistorySession.OPERATION_INSERT.equals(operation)) {
+                if (isHistoricScopeAvailable(scopeId, commandContext)) {
+                    insertHistoricEntity(entityType, id, data, commandContext);
+                } else {
+                    LOGGER.debug("Historic scope {} of {} {} doesn't exist anymore, insert is skipped", scopeId, entityType, id);
+                }
+
+            } else if (AsyncHistorySession.OPERATION_UPDATE.equals(operation)) {
+                if (!updateHistoricEntity(entityType, id, data, commandContext)) {
+                    if (isHistoricScopeAvailable(scopeId, commandContext)) {
+                        throw new FlowableException("Historic " + entityType + " " + id + " to update isn't available yet for " + job);
+                    }
+                    LOGGER.debug("Historic scope {} of {} {} doesn't exist anymore, update is skipped", scopeId, entityType, id);
+                }
+
+            } else if (AsyncHistorySession.OPERATION_DELETE.equals(operation)) {
+                deleteHistoricEntity(entityType, id, commandContext);
+
+            } else {
+                throw new FlowableException("Unknown history change operation " + operation + " for " + entityType + " " + id + " in " + job);
+            }
+        }
+
+        unacquireJobsWaitingFor(job, jobServiceConfiguration);
+    }
+
+    /**
+     * @return the id of a pending history job of the same handler type that changes one of the scopes of the given job and that was created before it,
+     * or null when there is none.
+     */
+    protected String findOlderPendingJobId(HistoryJobEntity job, JobServiceConfiguration jobServiceConfiguration) {
+        String configuration = job.getJobHandlerConfiguration();
+        if (!AsyncHistorySession.isOrderedJobHandlerConfiguration(configuration)) {
+            // Created without sequence number, there is nothing to order it against
+            return null;
+        }
+
+        return jobServiceConfiguration.getHistoryJobEntityManager().findOlderHistoryJobId(type, job.getId(),
+                AsyncHistorySession.getSequenceNumber(configuration), getOrderScopeKeys(configuration));
+    }
+
+    /**
+     * @return the scope keys of the given configuration, including the key of the jobs that are ordered against all scopes,
+     * or null when the job itself is ordered against all scopes
+     */
+    protected List<String> getOrderScopeKeys(String configuration) {
+        List<String> scopeKeys = AsyncHistorySession.getScopeKeys(configuration);
+        if (scopeKeys.contains(AsyncHistorySession.ALL_SCOPES_KEY)) {
+            return null;
+        }
+        scopeKeys.add(AsyncHistorySession.ALL_SCOPES_KEY);
+        return scopeKeys;
+    }
+
+    /**
+     * Unlocks the jobs that were waiting for the given job to be applied, so they don't have to wait until their unacquire delay has passed.
+     */
+    protected void unacquireJobsWaitingFor(HistoryJobEntity job, JobServiceConfiguration jobServiceConfiguration) {
+        String configuration = job.getJobHandlerConfiguration();
+        if (AsyncHistorySession.isOrderedJobHandlerConfiguration(configuration)) {
+            jobServiceConfiguration.getHistoryJobEntityManager().unacquireHistoryJobsWaitingForOrder(type, getOrderScopeKeys(configuration));
+        }
+    }
+
+    protected boolean isHistoricScopeAvailable(String scopeId, CommandContext commandContext) {
+        return scopeId == null || historicScopeExists(scopeId, commandContext);
+    }
+
+    /**
+     * @return whether the historic scope instance (e.g. the historic process or case instance) with the given id exists.
+     */
+    protected abstract boolean historicScopeExists(String scopeId, CommandContext commandContext);
+
+    protected abstract void insertHistoricEntity(String entityType, String id, ObjectNode data, CommandContext commandContext);
+
+    /**
+     * @return false when the historic entity to update doesn't exist (yet)
+     */
+    protected abstract boolean updateHistoricEntity(String entityType, String id, ObjectNode data, CommandContext commandContext);
+
+    protected abstract void deleteHistoricEntity(String entityType, String id, CommandContext commandContext);
+
+}
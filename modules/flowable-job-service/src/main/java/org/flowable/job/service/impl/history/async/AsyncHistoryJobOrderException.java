@@ -0,0 +1,29 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import org.flowable.common.engine.api.FlowableException;
+
+/**
+ * Thrown when a history job can't be applied yet, because an older history job for the same scope is still pending.
+ * The job is retried later, without decrementing its retries.
+ */
+public class AsyncHistoryJobOrderException extends FlowableException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AsyncHistoryJobOrderException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,266 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.interceptor.CommandContextCloseListener;
+import org.flowable.job.service.HistoryJobService;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.persistence.entity.HistoryJobEntity;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Collects the history changes of a {@link CommandContext} as compact change records, instead of writing them to the history tables directly.
+ * <p>
+ * Changes for the same historic entity are folded while they are recorded: an insert followed by updates becomes a single insert,
+ * consecutive updates are merged and an entity that is inserted and deleted in the same transaction isn't recorded at all.
+ * When the command context is closing, the remaining change records are stored in one {@link HistoryJobEntity},
+ * which the async history executor applies to the history tables with the {@link AbstractAsyncHistoryJobHandler} of the job handler type.
+ * <p>
+ * Changes are only folded within one transaction, the jobs of different transactions are not merged.
+ * Instead, the handler configuration of the job stores a sequence number and the keys of the scopes (e.g. process instances) it changes,
+ * formatted as {@code sequenceNumber|scopeKey1|scopeKey2|}, so that the jobs changing the same scope are applied in the order they were created.
+ * When the job is inserted, the keys and sequence number are also stored in the indexed ACT_RU_HISTORY_JOB_ORDER table,
+ * which is used to look up the older jobs of a scope.
+ */
+public class AsyncHistorySession implements CommandContextCloseListener {
+
+    public static final String OPERATION_INSERT = "insert";
+    public static final String OPERATION_UPDATE = "update";
+    public static final String OPERATION_DELETE = "delete";
+
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_OPERATION = "operation";
+    public static final String FIELD_ID = "id";
+    public static final String FIELD_SCOPE_ID = "scopeId";
+    public static final String FIELD_DATA = "data";
+
+    public static final char CONFIGURATION_SEPARATOR = '|';
+    public static final String ALL_SCOPES_KEY = "*";
+
+    protected static final String ATTRIBUTE_PREFIX = "asyncHistorySession.";
+    // The handler configuration column is 2000 characters on Oracle, the scope key column 255
+    protected static final int MAX_CONFIGURATION_LENGTH = 2000;
+    protected static final int MAX_SCOPE_KEY_LENGTH = 255;
+
+    // Strictly increasing within this JVM, also when jobs are created within the same millisecond
+    protected static final AtomicLong LAST_SEQUENCE_NUMBER = new AtomicLong();
+
+    protected JobServiceConfiguration jobServiceConfiguration;
+    protected String jobHandlerType;
+    protected String scopeType;
+    protected Map<String, ObjectNode> changes = new LinkedHashMap<>();
+
+    public AsyncHistorySession(JobServiceConfiguration jobServiceConfiguration, String jobHandlerType, String scopeType) {
+        this.jobServiceConfiguration = jobServiceConfiguration;
+        this.jobHandlerType = jobHandlerType;
+        this.scopeType = scopeType;
+    }
+
+    /**
+     * @return the session collecting the changes for the given job handler type in the command context, a new one is created and registered
+     * as close listener when there is none yet.
+     */
+    public static AsyncHistorySession getOrCreate(CommandContext commandContext, JobServiceConfiguration jobServiceConfiguration,
+            String jobHandlerType, String scopeType) {
+
+        String attributeName = ATTRIBUTE_PREFIX + jobHandlerType;
+        AsyncHistorySession asyncHistorySession = (AsyncHistorySession) commandContext.getAttribute(attributeName);
+        if (asyncHistorySession == null) {
+            asyncHistorySession = new AsyncHistorySession(jobServiceConfiguration, jobHandlerType, scopeType);
+            commandContext.addAttribute(attributeName, asyncHistorySession);
+            commandContext.addCloseListener(asyncHistorySession);
+        }
+        return asyncHistorySession;
+    }
+
+    public void recordInsert(String type, String id, String scopeId, ObjectNode data) {
+        addChange(type, OPERATION_INSERT, id, scopeId, data);
+    }
+
+    public void recordUpdate(String type, String id, String scopeId, ObjectNode data) {
+        addChange(type, OPERATION_UPDATE, id, scopeId, data);
+    }
+
+    public void recordDelete(String type, String id, String scopeId) {
+        addChange(type, OPERATION_DELETE, id, scopeId, null);
+    }
+
+    protected void addChange(String type, String operation, String id, String scopeId, ObjectNode data) {
+        String key = type + '.' + id;
+        ObjectNode existingChange = changes.get(key);
+        if (existingChange != null) {
+            String existingOperation = existingChange.path(FIELD_OPERATION).asText();
+            if (OPERATION_UPDATE.equals(operation) && !OPERATION_DELETE.equals(existingOperation)) {
+                // The updated fields are merged into the pending insert or update
+                ((ObjectNode) existingChange.get(FIELD_DATA)).setAll(data);
+                return;
+
+            } else if (OPERATION_DELETE.equals(operation) && OPERATION_INSERT.equals(existingOperation)) {
+                // Inserted and deleted in the same transaction, nothing needs to be written
+                changes.remove(key);
+                return;
+            }
+        }
+
+        ObjectNode change = jobServiceConfiguration.getObjectMapper().createObjectNode();
+        change.put(FIELD_TYPE, type);
+        change.put(FIELD_OPERATION, operation);
+        change.put(FIELD_ID, id);
+        change.put(FIELD_SCOPE_ID, scopeId);
+        if (data != null) {
+            change.set(FIELD_DATA, data);
+        }
+        changes.put(key, change);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    @Override
+    public void closing(CommandContext commandContext) {
+        // History recorded by close listeners that are executed after this one is collected in a new session
+        commandContext.removeAttribute(ATTRIBUTE_PREFIX + jobHandlerType);
+
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        ArrayNode changesNode = jobServiceConfiguration.getObjectMapper().createArrayNode();
+        changesNode.addAll(changes.values());
+        String jobHandlerConfiguration = createJobHandlerConfiguration();
+        changes.clear();
+
+        HistoryJobService historyJobService = jobServiceConfiguration.getHistoryJobService();
+        HistoryJobEntity historyJob = historyJobService.createHistoryJob();
+        historyJob.setJobHandlerType(jobHandlerType);
+        historyJob.setScopeType(scopeType);
+        historyJob.setRetries(jobServiceConfiguration.getAsyncHistoryExecutorNumberOfRetries());
+        historyJob.setJobHandlerConfiguration(jobHandlerConfiguration);
+        historyJob.setAdvancedJobHandlerConfiguration(changesNode.toString());
+        historyJobService.scheduleHistoryJob(historyJob);
+    }
+
+    protected String createJobHandlerConfiguration() {
+        Set<String> scopeKeys = new LinkedHashSet<>();
+        for (ObjectNode change : changes.values()) {
+            scopeKeys.add(getScopeKey(change));
+        }
+
+        StringBuilder configuration = new StringBuilder().append(nextSequenceNumber()).append(CONFIGURATION_SEPARATOR);
+        int keysStart = configuration.length();
+        boolean keyTooLong = false;
+        for (String scopeKey : scopeKeys) {
+            configuration.append(scopeKey).append(CONFIGURATION_SEPARATOR);
+            keyTooLong |= scopeKey.length() > MAX_SCOPE_KEY_LENGTH;
+        }
+
+        if (keyTooLong || configuration.length() > MAX_CONFIGURATION_LENGTH) {
+            // Too many scopes to store, the job is ordered against all other jobs of the handler type instead
+            configuration.setLength(keysStart);
+            configuration.append(ALL_SCOPES_KEY).append(CONFIGURATION_SEPARATOR);
+        }
+        return configuration.toString();
+    }
+
+    /**
+     * @return the key ordering the change against the changes of other jobs: the scope id, or the entity itself for changes without a scope.
+     */
+    protected String getScopeKey(ObjectNode change) {
+        if (change.hasNonNull(FIELD_SCOPE_ID)) {
+            return change.get(FIELD_SCOPE_ID).asText();
+        }
+        return change.path(FIELD_TYPE).asText() + '.' + change.path(FIELD_ID).asText();
+    }
+
+    /**
+     * @return the sequence number of a handler configuration created by {@link #createJobHandlerConfiguration()}
+     */
+    public static long getSequenceNumber(String configuration) {
+        return Long.parseLong(configuration.substring(0, configuration.indexOf(CONFIGURATION_SEPARATOR)));
+    }
+
+    /**
+     * @return the scope keys of a handler configuration created by {@link #createJobHandlerConfiguration()}
+     */
+    public static List<String> getScopeKeys(String configuration) {
+        List<String> scopeKeys = new ArrayList<>();
+        int keyStart = configuration.indexOf(CONFIGURATION_SEPARATOR) + 1;
+        int keyEnd;
+        while ((keyEnd = configuration.indexOf(CONFIGURATION_SEPARATOR, keyStart)) > keyStart) {
+            scopeKeys.add(configuration.substring(keyStart, keyEnd));
+            keyStart = keyEnd + 1;
+        }
+        return scopeKeys;
+    }
+
+    /**
+     * @return true when the handler configuration has been created by {@link #createJobHandlerConfiguration()}
+     */
+    public static boolean isOrderedJobHandlerConfiguration(String configuration) {
+        if (configuration == null) {
+            return false;
+        }
+        int separatorIndex = configuration.indexOf(CONFIGURATION_SEPARATOR);
+        if (separatorIndex <= 0) {
+            return false;
+        }
+        for (int i = 0; i < separatorIndex; i++) {
+            if (!Character.isDigit(configuration.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected long nextSequenceNumber() {
+        long now = jobServiceConfiguration.getClock().getCurrentTime().getTime();
+        return LAST_SEQUENCE_NUMBER.updateAndGet(lastSequenceNumber -> Math.max(now, lastSequenceNumber + 1));
+    }
+
+    @Override
+    public void afterSessionsFlush(CommandContext commandContext) {
+    }
+
+    @Override
+    public void closed(CommandContext commandContext) {
+    }
+
+    @Override
+    public void closeFailure(CommandContext commandContext) {
+    }
+
+    @Override
+    public Integer order() {
+        // After the listeners that can still record history changes, e.g. for traceable variables
+        return 200;
+    }
+
+    @Override
+    public boolean multipleAllowed() {
+        // One session per job handler type, e.g. when the process and cmmn engine share a transaction
+        return true;
+    }
+
+}
@@ -122,7 +122,7 @@ public class AsyncHistoryJsonUtil {
     }
     
     public static String getStringFromJson(ObjectNode objectNode, String fieldName) {
-        if (objectNode.has(fieldName)) {
+        if (objectNode.hasNonNull(fieldName)) {
             return objectNode.get(fieldName).asText();
         }
         return null;
@@ -0,0 +1,133 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.history.async.util;
+
+import java.util.Base64;
+import java.util.Date;
+
+import org.flowable.job.service.impl.history.async.AsyncHistoryDateUtil;
+import org.flowable.variable.service.VariableServiceConfiguration;
+import org.flowable.variable.service.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.flowable.variable.service.impl.persistence.entity.HistoricVariableInstanceEntityManager;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Converts variable instances to the change records of the async history and applies those records to the historic variable instances,
+ * with the same field mapping as the synchronous history.
+ */
+public class AsyncHistoryVariableUtil {
+
+    public static final String TYPE_VARIABLE_INSTANCE = "variable-instance";
+
+    /**
+     * @return all fields of the historic variable instance for the given variable, null values included so that an update clears them.
+     */
+    public static ObjectNode createVariableData(VariableInstanceEntity variable, Date updateTime, ObjectMapper objectMapper) {
+        ObjectNode data = objectMapper.createObjectNode();
+        data.put("revision", variable.getRevision());
+        data.put("processInstanceId", variable.getProcessInstanceId());
+        data.put("executionId", variable.getExecutionId());
+        data.put("taskId", variable.getTaskId());
+        data.put("name", variable.getName());
+        data.put("variableType", variable.getType() != null ? variable.getType().getTypeName() : null);
+        data.put("scopeId", variable.getScopeId());
+        data.put("subScopeId", variable.getSubScopeId());
+        data.put("scopeType", variable.getScopeType());
+        data.put("metaInfo", variable.getMetaInfo());
+        data.put("textValue", variable.getTextValue());
+        data.put("textValue2", variable.getTextValue2());
+        data.put("doubleValue", variable.getDoubleValue());
+        data.put("longValue", variable.getLongValue());
+        if (variable.getByteArrayRef() != null) {
+            data.put("bytes", AsyncHistoryJsonUtil.convertToBase64(variable));
+        }
+        data.put("lastUpdatedTime", AsyncHistoryDateUtil.formatDate(updateTime));
+        return data;
+    }
+
+    /**
+     * Inserts the historic variable instance, unless it was already inserted by a more recent update that was applied first.
+     */
+    public static void insertHistoricVariable(String id, ObjectNode data, VariableServiceConfiguration variableServiceConfiguration) {
+        HistoricVariableInstanceEntityManager historicVariableInstanceEntityManager = variableServiceConfiguration.getHistoricVariableInstanceEntityManager();
+        if (historicVariableInstanceEntityManager.findById(id) == null) {
+            HistoricVariableInstanceEntity historicVariable = historicVariableInstanceEntityManager.create();
+            historicVariable.setId(id);
+            historicVariable.setRevision(AsyncHistoryJsonUtil.getIntegerFromJson(data, "revision"));
+            copyVariableData(historicVariable, data, variableServiceConfiguration);
+            historicVariable.setCreateTime(AsyncHistoryJsonUtil.getDateFromJson(data, "createTime"));
+            historicVariableInstanceEntityManager.insert(historicVariable);
+        }
+    }
+
+    /**
+     * Updates the historic variable instance, or inserts it when it doesn't exist, like the synchronous history does.
+     * An update that is older than the current state of the historic variable instance is skipped.
+     */
+    public static void updateHistoricVariable(String id, ObjectNode data, VariableServiceConfiguration variableServiceConfiguration) {
+        HistoricVariableInstanceEntityManager historicVariableInstanceEntityManager = variableServiceConfiguration.getHistoricVariableInstanceEntityManager();
+        HistoricVariableInstanceEntity historicVariable = historicVariableInstanceEntityManager.findById(id);
+        Date lastUpdatedTime = AsyncHistoryJsonUtil.getDateFromJson(data, "lastUpdatedTime");
+        if (historicVariable != null) {
+            if (historicVariable.getLastUpdatedTime() == null || lastUpdatedTime == null || !historicVariable.getLastUpdatedTime().after(lastUpdatedTime)) {
+                copyVariableData(historicVariable, data, variableServiceConfiguration);
+            }
+
+        } else {
+            historicVariable = historicVariableInstanceEntityManager.create();
+            historicVariable.setId(id);
+            historicVariable.setRevision(AsyncHistoryJsonUtil.getIntegerFromJson(data, "revision"));
+            copyVariableData(historicVariable, data, variableServiceConfiguration);
+            historicVariable.setCreateTime(lastUpdatedTime);
+            historicVariableInstanceEntityManager.insert(historicVariable);
+        }
+    }
+
+    /**
+     * Deletes the historic variable instance. A missing one is ignored: the history jobs of a scope are applied in order,
+     * so it was never inserted (e.g. because its scope was already deleted) or it was already deleted.
+     */
+    public static void deleteHistoricVariable(String id, VariableServiceConfiguration variableServiceConfiguration) {
+        HistoricVariableInstanceEntityManager historicVariableInstanceEntityManager = variableServiceConfiguration.getHistoricVariableInstanceEntityManager();
+        HistoricVariableInstanceEntity historicVariable = historicVariableInstanceEntityManager.findById(id);
+        if (historicVariable != null) {
+            historicVariableInstanceEntityManager.delete(historicVariable);
+        }
+    }
+
+    protected static void copyVariableData(HistoricVariableInstanceEntity historicVariable, ObjectNode data, VariableServiceConfiguration variableServiceConfiguration) {
+        historicVariable.setProcessInstanceId(AsyncHistoryJsonUtil.getStringFromJson(data, "processInstanceId"));
+        historicVariable.setExecutionId(AsyncHistoryJsonUtil.getStringFromJson(data, "executionId"));
+        historicVariable.setTaskId(AsyncHistoryJsonUtil.getStringFromJson(data, "taskId"));
+        historicVariable.setName(AsyncHistoryJsonUtil.getStringFromJson(data, "name"));
+        String variableType = AsyncHistoryJsonUtil.getStringFromJson(data, "variableType");
+        historicVariable.setVariableType(variableType != null ? variableServiceConfiguration.getVariableTypes().getVariableType(variableType) : null);
+        historicVariable.setScopeId(AsyncHistoryJsonUtil.getStringFromJson(data, "scopeId"));
+        historicVariable.setSubScopeId(AsyncHistoryJsonUtil.getStringFromJson(data, "subScopeId"));
+        historicVariable.setScopeType(AsyncHistoryJsonUtil.getStringFromJson(data, "scopeType"));
+        historicVariable.setMetaInfo(AsyncHistoryJsonUtil.getStringFromJson(data, "metaInfo"));
+        historicVariable.setTextValue(AsyncHistoryJsonUtil.getStringFromJson(data, "textValue"));
+        historicVariable.setTextValue2(AsyncHistoryJsonUtil.getStringFromJson(data, "textValue2"));
+        historicVariable.setDoubleValue(AsyncHistoryJsonUtil.getDoubleFromJson(data, "doubleValue"));
+        historicVariable.setLongValue(AsyncHistoryJsonUtil.getLongFromJson(data, "longValue"));
+        String bytes = AsyncHistoryJsonUtil.getStringFromJson(data, "bytes");
+        if (bytes != null) {
+            historicVariable.setBytes(Base64.getDecoder().decode(bytes));
+        }
+        historicVariable.setLastUpdatedTime(AsyncHistoryJsonUtil.getDateFromJson(data, "lastUpdatedTime"));
+    }
+
+}
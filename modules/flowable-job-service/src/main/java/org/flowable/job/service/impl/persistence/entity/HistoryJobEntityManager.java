@@ -12,6 +12,7 @@
  */
 package org.flowable.job.service.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.common.engine.impl.persistence.entity.EntityManager;
@@ -35,6 +36,22 @@ public interface HistoryJobEntityManager extends EntityManager<HistoryJobEntity>
      */
     long findHistoryJobCountByQueryCriteria(HistoryJobQueryImpl jobQuery);
 
+    /**
+     * Returns the id of a pending history job of the given handler type that changes one of the given scopes
+     * and that has to be applied before the given job, or null when there is none.
+     *
+     * @param scopeKeys the scope keys of the job, or null to look for an older job of any scope
+     */
+    String findOlderHistoryJobId(String jobHandlerType, String jobId, long sequenceNumber, Collection<String> scopeKeys);
+
+    /**
+     * Unlocks the history jobs of the given handler type that were unacquired with a delay to wait for an older job of one of the given scopes,
+     * so that they are acquired again right away.
+     *
+     * @param scopeKeys the scope keys of the applied job, or null to unlock the waiting jobs of all scopes
+     */
+    void unacquireHistoryJobsWaitingForOrder(String jobHandlerType, Collection<String> scopeKeys);
+
     /**
      * The default delete method will cascade to the references entities.
      * This delete doesn't delete the referenced byte array entities (configuration and exception).
@@ -13,6 +13,7 @@
 
 package org.flowable.job.service.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
@@ -21,6 +22,7 @@ import org.flowable.job.api.HistoryJob;
 import org.flowable.job.service.JobServiceConfiguration;
 import org.flowable.job.service.event.impl.FlowableJobEventBuilder;
 import org.flowable.job.service.impl.HistoryJobQueryImpl;
+import org.flowable.job.service.impl.history.async.AsyncHistorySession;
 import org.flowable.job.service.impl.persistence.entity.data.HistoryJobDataManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +49,12 @@ public class HistoryJobEntityManagerImpl
     protected boolean doInsert(HistoryJobEntity jobEntity, boolean fireCreateEvent) {
         jobEntity.setCreateTime(getClock().getCurrentTime());
         super.insert(jobEntity, fireCreateEvent);
+
+        String configuration = jobEntity.getJobHandlerConfiguration();
+        if (AsyncHistorySession.isOrderedJobHandlerConfiguration(configuration)) {
+            dataManager.insertHistoryJobOrder(jobEntity.getId(), AsyncHistorySession.getSequenceNumber(configuration),
+                    AsyncHistorySession.getScopeKeys(configuration));
+        }
         return true;
     }
 
@@ -60,9 +68,20 @@ public class HistoryJobEntityManagerImpl
         return dataManager.findHistoryJobCountByQueryCriteria(jobQuery);
     }
 
+    @Override
+    public String findOlderHistoryJobId(String jobHandlerType, String jobId, long sequenceNumber, Collection<String> scopeKeys) {
+        return dataManager.findOlderHistoryJobId(jobHandlerType, jobId, sequenceNumber, scopeKeys);
+    }
+
+    @Override
+    public void unacquireHistoryJobsWaitingForOrder(String jobHandlerType, Collection<String> scopeKeys) {
+        dataManager.unacquireHistoryJobsWaitingForOrder(jobHandlerType, scopeKeys);
+    }
+
     @Override
     public void delete(HistoryJobEntity jobEntity) {
         super.delete(jobEntity, false);
+        deleteHistoryJobOrder(jobEntity);
 
         deleteByteArrayRef(jobEntity.getExceptionByteArrayRef());
         deleteByteArrayRef(jobEntity.getAdvancedJobHandlerConfigurationByteArrayRef());
@@ -79,6 +98,13 @@ public class HistoryJobEntityManagerImpl
     @Override
     public void deleteNoCascade(HistoryJobEntity historyJobEntity) {
         super.delete(historyJobEntity);
+        deleteHistoryJobOrder(historyJobEntity);
+    }
+
+    protected void deleteHistoryJobOrder(HistoryJobEntity historyJobEntity) {
+        if (AsyncHistorySession.isOrderedJobHandlerConfiguration(historyJobEntity.getJobHandlerConfiguration())) {
+            dataManager.deleteHistoryJobOrder(historyJobEntity.getId());
+        }
     }
 
 }
@@ -12,6 +12,7 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.common.engine.impl.persistence.entity.data.DataManager;
@@ -27,5 +28,13 @@ public interface HistoryJobDataManager extends DataManager<HistoryJobEntity>, Jo
     List<HistoryJob> findHistoryJobsByQueryCriteria(HistoryJobQueryImpl query);
 
     long findHistoryJobCountByQueryCriteria(HistoryJobQueryImpl query);
+
+    void insertHistoryJobOrder(String jobId, long sequenceNumber, Collection<String> scopeKeys);
+
+    void deleteHistoryJobOrder(String jobId);
+
+    String findOlderHistoryJobId(String jobHandlerType, String jobId, long sequenceNumber, Collection<String> scopeKeys);
+
+    void unacquireHistoryJobsWaitingForOrder(String jobHandlerType, Collection<String> scopeKeys);
     
 }
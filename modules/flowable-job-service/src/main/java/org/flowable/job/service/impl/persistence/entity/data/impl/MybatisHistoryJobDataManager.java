@@ -12,6 +12,7 @@
  */
 package org.flowable.job.service.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -96,6 +97,45 @@ public class MybatisHistoryJobDataManager extends AbstractDataManager<HistoryJob
         return (Long) getDbSqlSession().selectOne("selectHistoryJobCountByQueryCriteria", jobQuery);
     }
 
+    @Override
+    public void insertHistoryJobOrder(String jobId, long sequenceNumber, Collection<String> scopeKeys) {
+        for (String scopeKey : scopeKeys) {
+            Map<String, Object> params = new HashMap<>(3);
+            params.put("jobId", jobId);
+            params.put("scopeKey", scopeKey);
+            params.put("sequenceNumber", sequenceNumber);
+            getDbSqlSession().directInsert("insertHistoryJobOrder", params);
+        }
+    }
+
+    @Override
+    public void deleteHistoryJobOrder(String jobId) {
+        getDbSqlSession().delete("deleteHistoryJobOrderByJobId", jobId, HistoryJobEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public String findOlderHistoryJobId(String jobHandlerType, String jobId, long sequenceNumber, Collection<String> scopeKeys) {
+        Map<String, Object> params = new HashMap<>(4);
+        params.put("handlerType", jobHandlerType);
+        params.put("jobId", jobId);
+        params.put("sequenceNumber", sequenceNumber);
+        params.put("scopeKeys", scopeKeys);
+
+        ListQueryParameterObject parameter = new ListQueryParameterObject(params, 0, 1);
+        parameter.addOrder("RES.SEQ_", ListQueryParameterObject.SORTORDER_ASC, null);
+        List<String> jobIds = getDbSqlSession().selectList("selectOlderHistoryJobIdsByScopeKeys", parameter);
+        return !jobIds.isEmpty() ? jobIds.get(0) : null;
+    }
+
+    @Override
+    public void unacquireHistoryJobsWaitingForOrder(String jobHandlerType, Collection<String> scopeKeys) {
+        Map<String, Object> params = new HashMap<>(2);
+        params.put("handlerType", jobHandlerType);
+        params.put("scopeKeys", scopeKeys);
+        getDbSqlSession().directUpdate("unacquireHistoryJobsWaitingForOrder", params);
+    }
+
     @Override
     public void updateJobTenantIdForDeployment(String deploymentId, String newTenantId) {
         HashMap<String, Object> params = new HashMap<>();
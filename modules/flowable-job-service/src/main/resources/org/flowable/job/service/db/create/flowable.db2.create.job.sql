@@ -135,6 +135,13 @@ create table ACT_RU_HISTORY_JOB (
     primary key (ID_)
 );
 
+create table ACT_RU_HISTORY_JOB_ORDER (
+    JOB_ID_ varchar(64) NOT NULL,
+    SCOPE_KEY_ varchar(255) NOT NULL,
+    SEQ_ bigint,
+    primary key (JOB_ID_, SCOPE_KEY_)
+);
+
 create table ACT_RU_EXTERNAL_JOB (
     ID_ varchar(64) not null,
     REV_ integer,
@@ -257,4 +264,6 @@ create index ACT_IDX_EJOB_SCOPE on ACT_RU_EXTERNAL_JOB(SCOPE_ID_, SCOPE_TYPE_);
 create index ACT_IDX_EJOB_SUB_SCOPE on ACT_RU_EXTERNAL_JOB(SUB_SCOPE_ID_, SCOPE_TYPE_);
 create index ACT_IDX_EJOB_SCOPE_DEF on ACT_RU_EXTERNAL_JOB(SCOPE_DEFINITION_ID_, SCOPE_TYPE_);
 
-insert into ACT_GE_PROPERTY values ('job.schema.version', '7.0.1.1', 1);
+create index ACT_IDX_HJOB_ORDER_SCOPE on ACT_RU_HISTORY_JOB_ORDER(SCOPE_KEY_, SEQ_);
+
+insert into ACT_GE_PROPERTY values ('job.schema.version', '7.0.1.2', 1);
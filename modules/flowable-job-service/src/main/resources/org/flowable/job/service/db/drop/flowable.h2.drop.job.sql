@@ -13,10 +13,12 @@ drop index if exists ACT_IDX_DJOB_SCOPE_DEF;
 drop index if exists ACT_IDX_EJOB_SCOPE;
 drop index if exists ACT_IDX_EJOB_SUB_SCOPE;
 drop index if exists ACT_IDX_EJOB_SCOPE_DEF;
+drop index if exists ACT_IDX_HJOB_ORDER_SCOPE;
 
 drop table if exists ACT_RU_JOB cascade constraints;
 drop table if exists ACT_RU_EXTERNAL_JOB cascade constraints;
 drop table if exists ACT_RU_TIMER_JOB cascade constraints;
 drop table if exists ACT_RU_SUSPENDED_JOB cascade constraints;
 drop table if exists ACT_RU_DEADLETTER_JOB cascade constraints;
-drop table if exists ACT_RU_HISTORY_JOB cascade constraints;
\ No newline at end of file
+drop table if exists ACT_RU_HISTORY_JOB cascade constraints;
+drop table if exists ACT_RU_HISTORY_JOB_ORDER cascade constraints;
\ No newline at end of file
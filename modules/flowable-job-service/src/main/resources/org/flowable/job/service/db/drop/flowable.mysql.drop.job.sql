@@ -13,6 +13,7 @@ drop index ACT_IDX_DJOB_SCOPE_DEF on ACT_RU_DEADLETTER_JOB;
 drop index ACT_IDX_EJOB_SCOPE on ACT_RU_EXTERNAL_JOB;
 drop index ACT_IDX_EJOB_SUB_SCOPE on ACT_RU_EXTERNAL_JOB;
 drop index ACT_IDX_EJOB_SCOPE_DEF on ACT_RU_EXTERNAL_JOB;
+drop index ACT_IDX_HJOB_ORDER_SCOPE on ACT_RU_HISTORY_JOB_ORDER;
 
 alter table ACT_RU_JOB
     drop foreign key ACT_FK_JOB_EXCEPTION;
@@ -49,4 +50,5 @@ drop table if exists ACT_RU_TIMER_JOB;
 drop table if exists ACT_RU_SUSPENDED_JOB;
 drop table if exists ACT_RU_DEADLETTER_JOB;
 drop table if exists ACT_RU_HISTORY_JOB;
+drop table if exists ACT_RU_HISTORY_JOB_ORDER;
 drop table if exists ACT_RU_EXTERNAL_JOB;
\ No newline at end of file
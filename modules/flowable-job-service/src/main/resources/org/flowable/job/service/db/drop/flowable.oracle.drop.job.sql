@@ -13,6 +13,7 @@ drop index ACT_IDX_DJOB_SCOPE_DEF;
 drop index ACT_IDX_EJOB_SCOPE;
 drop index ACT_IDX_EJOB_SUB_SCOPE;
 drop index ACT_IDX_EJOB_SCOPE_DEF;
+drop index ACT_IDX_HJOB_ORDER_SCOPE;
 
 drop index ACT_IDX_JOB_EXCEPTION;
 drop index ACT_IDX_JOB_CUSTOM_VAL_ID;
@@ -70,4 +71,5 @@ drop table ACT_RU_TIMER_JOB;
 drop table ACT_RU_SUSPENDED_JOB;
 drop table ACT_RU_DEADLETTER_JOB;
 drop table ACT_RU_HISTORY_JOB;
+drop table ACT_RU_HISTORY_JOB_ORDER;
 drop table ACT_RU_EXTERNAL_JOB;
@@ -3,4 +3,5 @@ drop table if exists ACT_RU_TIMER_JOB cascade;
 drop table if exists ACT_RU_SUSPENDED_JOB cascade;
 drop table if exists ACT_RU_DEADLETTER_JOB cascade;
 drop table if exists ACT_RU_HISTORY_JOB cascade;
+drop table if exists ACT_RU_HISTORY_JOB_ORDER cascade;
 drop table if exists ACT_RU_EXTERNAL_JOB cascade;
\ No newline at end of file
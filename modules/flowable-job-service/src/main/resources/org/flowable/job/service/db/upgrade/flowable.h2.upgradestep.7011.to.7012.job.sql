@@ -0,0 +1,8 @@
+create table ACT_RU_HISTORY_JOB_ORDER (
+    JOB_ID_ varchar(64) NOT NULL,
+    SCOPE_KEY_ varchar(255) NOT NULL,
+    SEQ_ bigint,
+    primary key (JOB_ID_, SCOPE_KEY_)
+);
+
+create index ACT_IDX_HJOB_ORDER_SCOPE on ACT_RU_HISTORY_JOB_ORDER(SCOPE_KEY_, SEQ_);
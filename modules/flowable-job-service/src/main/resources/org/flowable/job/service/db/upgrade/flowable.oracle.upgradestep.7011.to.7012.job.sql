@@ -0,0 +1,8 @@
+create table ACT_RU_HISTORY_JOB_ORDER (
+    JOB_ID_ NVARCHAR2(64) NOT NULL,
+    SCOPE_KEY_ NVARCHAR2(255) NOT NULL,
+    SEQ_ NUMBER(19,0),
+    primary key (JOB_ID_, SCOPE_KEY_)
+);
+
+create index ACT_IDX_HJOB_ORDER_SCOPE on ACT_RU_HISTORY_JOB_ORDER(SCOPE_KEY_, SEQ_);
@@ -0,0 +1,67 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveAcquisitionControllerTest {
+
+    @Test
+    void backOffWhenIdle() {
+        AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(512, 1000, 5000);
+
+        assertThat(controller.jobsAcquired(0, 512)).isEqualTo(1000);
+        assertThat(controller.jobsAcquired(0, 512)).isEqualTo(2000);
+        assertThat(controller.jobsAcquired(0, 512)).isEqualTo(4000);
+        assertThat(controller.jobsAcquired(0, 512)).isEqualTo(5000);
+        assertThat(controller.jobsAcquired(0, 512)).isEqualTo(5000);
+
+        // Finding jobs resets the back-off
+        assertThat(controller.jobsAcquired(128, 512)).isEqualTo(750);
+        assertThat(controller.jobsAcquired(0, 512)).isEqualTo(1000);
+    }
+
+    @Test
+    void acquireImmediatelyWhenBusy() {
+        AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(512, 1000, 5000);
+
+        assertThat(controller.jobsAcquired(512, 512)).isZero();
+        assertThat(controller.jobsAcquired(256, 512)).isEqualTo(500);
+        assertThat(controller.jobsAcquired(500, 512)).isEqualTo(23);
+    }
+
+    @Test
+    void shrinkAcquisitionOnOptimisticLockingExceptions() {
+        AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(512, 1000, 5000);
+        assertThat(controller.getJobsPerAcquisition(2048)).isEqualTo(512);
+        assertThat(controller.getJobsPerAcquisition(100)).isEqualTo(100);
+
+        assertThat(controller.optimisticLockingException()).isBetween(0L, 100L);
+        assertThat(controller.optimisticLockingException()).isBetween(0L, 200L);
+        assertThat(controller.getJobsPerAcquisition(2048)).isEqualTo(128);
+        assertThat(controller.getConsecutiveOptimisticLockingExceptions()).isEqualTo(2);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(controller.optimisticLockingException()).isBetween(0L, 1000L);
+        }
+        assertThat(controller.getJobsPerAcquisition(2048)).isEqualTo(1);
+
+        // Full acquisitions grow the acquisition size again
+        controller.jobsAcquired(1, 1);
+        controller.jobsAcquired(2, 2);
+        assertThat(controller.getJobsPerAcquisition(2048)).isEqualTo(4);
+        assertThat(controller.getConsecutiveOptimisticLockingExceptions()).isZero();
+    }
+}
@@ -0,0 +1,124 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.job.service.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.flowable.common.engine.impl.context.Context;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.common.engine.impl.util.DefaultClockImpl;
+import org.flowable.job.service.JobServiceConfiguration;
+import org.flowable.job.service.impl.persistence.entity.JobEntity;
+import org.flowable.job.service.impl.persistence.entity.JobEntityImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DefaultJobManagerLocalDispatchTest {
+
+    protected AsyncTaskExecutor taskExecutor;
+    protected DefaultJobManager jobManager;
+
+    @BeforeEach
+    void setUp() {
+        taskExecutor = mock(AsyncTaskExecutor.class);
+
+        AsyncExecutor asyncExecutor = mock(AsyncExecutor.class);
+        when(asyncExecutor.isActive()).thenReturn(true);
+        when(asyncExecutor.getTaskExecutor()).thenReturn(taskExecutor);
+        when(asyncExecutor.getLockOwner()).thenReturn("node1");
+        when(asyncExecutor.getAsyncJobLockTimeInMillis()).thenReturn(60000);
+
+        JobServiceConfiguration jobServiceConfiguration = mock(JobServiceConfiguration.class);
+        when(jobServiceConfiguration.getAsyncExecutor()).thenReturn(asyncExecutor);
+        when(jobServiceConfiguration.getClock()).thenReturn(new DefaultClockImpl());
+        when(jobServiceConfiguration.getAsyncExecutorNumberOfRetries()).thenReturn(3);
+
+        jobManager = new DefaultJobManager(jobServiceConfiguration);
+        Context.setCommandContext(new CommandContext(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Context.removeCommandContext();
+    }
+
+    @Test
+    void jobsAreLockedUntilTheQueueCapacityIsReserved() {
+        when(taskExecutor.getRemainingCapacity()).thenReturn(2);
+
+        JobEntity firstJob = createAsyncJob();
+        JobEntity secondJob = createAsyncJob();
+
+        assertThat(firstJob.getLockOwner()).isEqualTo("node1");
+        assertThat(firstJob.getLockExpirationTime()).isNotNull();
+        assertThat(secondJob.getLockOwner()).isEqualTo("node1");
+        assertThat(Context.getCommandContext().getAttribute(DefaultJobManager.LOCALLY_DISPATCHED_JOBS_ATTRIBUTE)).isEqualTo(2);
+    }
+
+    @Test
+    void jobIsLeftToTheAcquireThreadWhenTheQueueIsFull() {
+        when(taskExecutor.getRemainingCapacity()).thenReturn(1);
+
+        JobEntity lockedJob = createAsyncJob();
+        JobEntity unlockedJob = createAsyncJob();
+
+        assertThat(lockedJob.getLockOwner()).isEqualTo("node1");
+        assertThat(unlockedJob.getLockOwner()).isNull();
+        assertThat(unlockedJob.getLockExpirationTime()).isNull();
+        assertThat(unlockedJob.getJobType()).isEqualTo(JobEntity.JOB_TYPE_MESSAGE);
+        assertThat(unlockedJob.getRetries()).isEqualTo(3);
+        assertThat(Context.getCommandContext().getAttribute(DefaultJobManager.LOCALLY_DISPATCHED_JOBS_ATTRIBUTE)).isEqualTo(1);
+    }
+
+    @Test
+    void reservationsAreReleasedWithTheirCommandContext() {
+        when(taskExecutor.getRemainingCapacity()).thenReturn(1);
+        assertThat(createAsyncJob().getLockOwner()).isEqualTo("node1");
+        assertThat(createAsyncJob().getLockOwner()).isNull();
+
+        // The transaction of the reserving command failed: nothing was queued, a new command context can use the capacity again
+        Context.removeCommandContext();
+        Context.setCommandContext(new CommandContext(null));
+        assertThat(createAsyncJob().getLockOwner()).isEqualTo("node1");
+    }
+
+    @Test
+    void capacityFreedByTheExecutorCanBeReservedAgain() {
+        when(taskExecutor.getRemainingCapacity()).thenReturn(0);
+        assertThat(createAsyncJob().getLockOwner()).isNull();
+
+        // A queued job finished or failed, which frees up its place in the queue
+        when(taskExecutor.getRemainingCapacity()).thenReturn(1);
+        assertThat(createAsyncJob().getLockOwner()).isEqualTo("node1");
+    }
+
+    @Test
+    void jobsAreNotLockedWhenTheAsyncExecutorIsInactive() {
+        when(taskExecutor.getRemainingCapacity()).thenReturn(10);
+        when(jobManager.getAsyncExecutor().isActive()).thenReturn(false);
+
+        assertThat(createAsyncJob().getLockOwner()).isNull();
+        assertThat(Context.getCommandContext().getAttribute(DefaultJobManager.LOCALLY_DISPATCHED_JOBS_ATTRIBUTE)).isNull();
+    }
+
+    protected JobEntity createAsyncJob() {
+        JobEntity jobEntity = new JobEntityImpl();
+        jobManager.createAsyncJob(jobEntity, true);
+        return jobEntity;
+    }
+
+}
@@ -12,14 +12,20 @@
  */
 package org.flowable.spring.boot;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 import org.flowable.common.engine.api.async.AsyncTaskExecutor;
 import org.flowable.common.engine.impl.async.AsyncTaskExecutorConfiguration;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
+import org.flowable.common.engine.impl.async.VirtualThreadExecutorService;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
@@ -31,17 +37,40 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 @Configuration(proxyBeanMethods = false)
 public class FlowableJobConfiguration {
 
+    @Bean
+    @ConfigurationProperties(prefix = "flowable.task-executor")
+    public AsyncTaskExecutorConfiguration flowableTaskExecutorConfiguration() {
+        AsyncTaskExecutorConfiguration configuration = new AsyncTaskExecutorConfiguration();
+        configuration.setCorePoolSize(8);
+        configuration.setMaxPoolSize(8);
+        configuration.setQueueSize(100);
+        configuration.setThreadPoolNamingPattern("flowable-task-Executor-%d");
+        configuration.setAwaitTerminationPeriod(Duration.ofSeconds(30));
+        return configuration;
+    }
+
     @Bean
     @ConditionalOnMissingBean
-    public org.springframework.core.task.AsyncTaskExecutor taskExecutor() {
+    public org.springframework.core.task.AsyncTaskExecutor taskExecutor(
+            @Qualifier("flowableTaskExecutorConfiguration") AsyncTaskExecutorConfiguration executorConfiguration
+    ) {
+        String threadNamePrefix = executorConfiguration.getThreadPoolNamingPattern().replace("%d", "");
+        if (executorConfiguration.isVirtualThreads()) {
+            // One virtual thread per task, the concurrency limit replaces the pool and queue sizes
+            int concurrencyLimit = executorConfiguration.getVirtualThreadConcurrencyLimit() > 0
+                    ? executorConfiguration.getVirtualThreadConcurrencyLimit() : executorConfiguration.getMaxPoolSize() + executorConfiguration.getQueueSize();
+            return new VirtualThreadTaskExecutor(new VirtualThreadExecutorService(threadNamePrefix, concurrencyLimit, false),
+                    executorConfiguration.getAwaitTerminationPeriod());
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(8);
-        executor.setMaxPoolSize(8);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("flowable-task-Executor-");
-        executor.setAwaitTerminationSeconds(30);
+        executor.setCorePoolSize(executorConfiguration.getCorePoolSize());
+        executor.setMaxPoolSize(executorConfiguration.getMaxPoolSize());
+        executor.setQueueCapacity(executorConfiguration.getQueueSize());
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setAwaitTerminationSeconds((int) executorConfiguration.getAwaitTerminationPeriod().getSeconds());
         executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAllowCoreThreadTimeOut(true);
+        executor.setAllowCoreThreadTimeOut(executorConfiguration.isAllowCoreThreadTimeout());
         executor.initialize();
         return executor;
     }
@@ -63,4 +92,32 @@ public class FlowableJobConfiguration {
         return new DefaultAsyncTaskExecutor(executorConfiguration);
     }
 
+    /**
+     * A {@link ConcurrentTaskExecutor} that shuts its {@link VirtualThreadExecutorService} down when the application context is closed,
+     * waiting at most the await termination period for the running tasks, like the {@link ThreadPoolTaskExecutor} does.
+     */
+    public static class VirtualThreadTaskExecutor extends ConcurrentTaskExecutor implements DisposableBean {
+
+        protected final VirtualThreadExecutorService executorService;
+        protected final Duration awaitTerminationPeriod;
+
+        public VirtualThreadTaskExecutor(VirtualThreadExecutorService executorService, Duration awaitTerminationPeriod) {
+            super(executorService);
+            this.executorService = executorService;
+            this.awaitTerminationPeriod = awaitTerminationPeriod;
+        }
+
+        @Override
+        public void destroy() throws InterruptedException {
+            executorService.shutdown();
+            if (awaitTerminationPeriod == null || !executorService.awaitTermination(awaitTerminationPeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+                executorService.shutdownNow();
+            }
+        }
+
+        public VirtualThreadExecutorService getExecutorService() {
+            return executorService;
+        }
+    }
+
 }
\ No newline at end of file
@@ -23,6 +23,9 @@ import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +39,7 @@ import org.flowable.app.engine.AppEngineConfiguration;
 import org.flowable.app.spring.SpringAppEngineConfiguration;
 import org.flowable.common.engine.api.async.AsyncTaskExecutor;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
+import org.flowable.common.engine.impl.async.VirtualThreadExecutorService;
 import org.flowable.common.engine.impl.cfg.IdGenerator;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
 import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
@@ -55,6 +59,7 @@ import org.flowable.idm.spring.SpringIdmEngineConfiguration;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.spring.SpringProcessEngineConfiguration;
 import org.flowable.spring.boot.EngineConfigurationConfigurer;
+import org.flowable.spring.boot.FlowableJobConfiguration;
 import org.flowable.spring.boot.ProcessEngineAutoConfiguration;
 import org.flowable.spring.boot.ProcessEngineServicesAutoConfiguration;
 import org.flowable.spring.boot.app.AppEngineAutoConfiguration;
@@ -83,6 +88,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.io.Resource;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -869,6 +875,47 @@ public class ProcessEngineAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void taskExecutorWithCustomProperties() {
+        contextRunner
+                .withPropertyValues(
+                        "flowable.task-executor.core-pool-size=2",
+                        "flowable.task-executor.max-pool-size=4",
+                        "flowable.task-executor.queue-size=20",
+                        "flowable.task-executor.thread-name-prefix=test-executor-"
+                )
+                .run(context -> {
+                    assertThat(context)
+                            .hasSingleBean(ProcessEngineConfigurationImpl.class)
+                            .hasBean("taskExecutor");
+
+                    ProcessEngineConfigurationImpl configuration = context.getBean(ProcessEngineConfigurationImpl.class);
+                    ThreadPoolTaskExecutor taskExecutor = context.getBean("taskExecutor", ThreadPoolTaskExecutor.class);
+                    assertThat(((SpringAsyncTaskExecutor) configuration.getAsyncTaskExecutor()).getAsyncTaskExecutor()).isEqualTo(taskExecutor);
+                    assertThat(taskExecutor.getCorePoolSize()).isEqualTo(2);
+                    assertThat(taskExecutor.getMaxPoolSize()).isEqualTo(4);
+                    assertThat(taskExecutor.getQueueCapacity()).isEqualTo(20);
+                    assertThat(taskExecutor.getThreadNamePrefix()).isEqualTo("test-executor-");
+                });
+    }
+
+    @Test
+    void virtualThreadTaskExecutorIsShutDownWhenDestroyed() throws Exception {
+        // Platform threads are used, so that the test also runs on Java versions without virtual threads
+        VirtualThreadExecutorService executorService = new VirtualThreadExecutorService(Executors.defaultThreadFactory(), 2, false);
+        FlowableJobConfiguration.VirtualThreadTaskExecutor taskExecutor = new FlowableJobConfiguration.VirtualThreadTaskExecutor(executorService,
+                Duration.ofSeconds(5));
+
+        CountDownLatch taskFinished = new CountDownLatch(1);
+        taskExecutor.execute(taskFinished::countDown);
+
+        taskExecutor.destroy();
+
+        assertThat(taskFinished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executorService.isShutdown()).isTrue();
+        assertThat(executorService.isTerminated()).isTrue();
+    }
+
     private void assertAllServicesPresent(ApplicationContext context, ProcessEngine processEngine) {
         List<Method> methods = Stream.of(ProcessEngine.class.getDeclaredMethods())
             .filter(method -> !(method.getReturnType().equals(void.class) || "getName".equals(method.getName()))).collect(Collectors.toList());
@@ -16,8 +16,10 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 
 import org.flowable.common.engine.api.async.AsyncTaskExecutor;
+import org.flowable.common.engine.impl.async.VirtualThreadExecutorService;
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
@@ -67,6 +69,9 @@ public class SpringAsyncTaskExecutor implements AsyncTaskExecutor {
         }
         if (executor instanceof ThreadPoolTaskExecutor) {
             return ((ThreadPoolTaskExecutor) executor).getThreadPoolExecutor().getQueue().remainingCapacity();
+        } else if (executor instanceof ConcurrentTaskExecutor
+                && ((ConcurrentTaskExecutor) executor).getConcurrentExecutor() instanceof VirtualThreadExecutorService) {
+            return ((VirtualThreadExecutorService) ((ConcurrentTaskExecutor) executor).getConcurrentExecutor()).getRemainingCapacity();
         } else {
             return Integer.MAX_VALUE;
         }
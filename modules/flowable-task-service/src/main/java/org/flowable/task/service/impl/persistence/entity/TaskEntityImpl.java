@@ -30,6 +30,8 @@ import org.flowable.common.engine.impl.context.Context;
 import org.flowable.common.engine.impl.db.SuspensionState;
 import org.flowable.common.engine.impl.interceptor.CommandContext;
 import org.flowable.common.engine.impl.interceptor.EngineConfigurationConstants;
+import org.flowable.common.engine.impl.persistence.cache.EntityCache;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.identitylink.api.IdentityLink;
 import org.flowable.identitylink.api.IdentityLinkType;
 import org.flowable.identitylink.service.IdentityLinkServiceConfiguration;
@@ -43,6 +45,7 @@ import org.flowable.task.service.impl.persistence.CountingTaskEntity;
 import org.flowable.task.service.impl.util.CountingTaskUtil;
 import org.flowable.task.service.impl.util.TaskVariableUtils;
 import org.flowable.variable.api.persistence.entity.VariableInstance;
+import org.flowable.variable.service.VariableService;
 import org.flowable.variable.service.VariableServiceConfiguration;
 import org.flowable.variable.service.impl.persistence.entity.VariableInitializingList;
 import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
@@ -57,7 +60,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  * @author Falko Menge
  * @author Tijs Rademakers
  */
-public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity implements TaskEntity, CountingTaskEntity, Serializable {
+public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity implements TaskEntity, CountingTaskEntity, DirtyTrackingEntity, Serializable {
 
     public static final String DELETE_REASON_COMPLETED = "completed";
     public static final String DELETE_REASON_DELETED = "deleted";
@@ -220,6 +223,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void forceUpdate() {
+        markDirty();
         this.forcedUpdate = true;
     }
 
@@ -250,8 +254,34 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
     }
 
     @Override
-    protected List<VariableInstanceEntity> loadVariableInstances() {
-        return getVariableServiceConfiguration().getVariableService().createInternalVariableInstanceQuery().taskId(id).list();
+    protected Collection<VariableInstanceEntity> loadVariableInstances() {
+        VariableServiceConfiguration variableServiceConfiguration = getVariableServiceConfiguration();
+        VariableService variableService = variableServiceConfiguration.getVariableService();
+
+        if (variableServiceConfiguration.isVariableInstancePrefetchEnabled() && (processInstanceId != null || scopeId != null)) {
+            // Fetch the variables of the other tasks of the same process or case instance in the same query
+            List<TaskEntityImpl> otherTasks = new ArrayList<>();
+            int maxOtherTasks = variableServiceConfiguration.getVariableInstancePrefetchMaxScopes() - 1;
+            for (TaskEntity cachedTask : Context.getCommandContext().getSession(EntityCache.class).findInCache(TaskEntity.class)) {
+                if (otherTasks.size() >= maxOtherTasks) {
+                    break;
+                }
+
+                if (cachedTask != this && cachedTask instanceof TaskEntityImpl && !cachedTask.isDeleted()
+                        && (processInstanceId != null ? processInstanceId.equals(cachedTask.getProcessInstanceId()) : scopeId.equals(cachedTask.getScopeId()))
+                        && !((TaskEntityImpl) cachedTask).isVariableInstancesInitialized()) {
+                    otherTasks.add((TaskEntityImpl) cachedTask);
+                }
+            }
+
+            if (!otherTasks.isEmpty()) {
+                return loadVariableInstancesTogetherWith(otherTasks,
+                        taskIds -> variableService.createInternalVariableInstanceQuery().taskIds(taskIds).list(),
+                        VariableInstanceEntity::getTaskId);
+            }
+        }
+
+        return variableService.createInternalVariableInstanceQuery().taskId(id).list();
     }
     
     @Override
@@ -300,16 +330,19 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setName(String taskName) {
+        markDirty();
         this.name = taskName;
     }
 
     @Override
     public void setDescription(String description) {
+        markDirty();
         this.description = description;
     }
 
     @Override
     public void setAssignee(String assignee) {
+        markDirty();
         this.originalAssignee = this.assignee;
         this.assignee = assignee;
         assigneeUpdatedCount++;
@@ -321,6 +354,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
         if (taskAssignmentManager != null) {
             taskAssignmentManager.changeAssignee(this, assignee);
         } else {
+            markDirty();
             this.originalAssignee = this.assignee;
             this.assignee = assignee;
             assigneeUpdatedCount++;
@@ -329,6 +363,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setOwner(String owner) {
+        markDirty();
         this.owner = owner;
     }
     
@@ -338,27 +373,32 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
         if (taskAssignmentManager != null) {
             taskAssignmentManager.changeOwner(this, owner);
         } else {
+            markDirty();
             this.owner = owner;
         }
     }
     
     @Override
     public void setInProgressStartDueDate(Date inProgressStartDueDate) {
+        markDirty();
         this.inProgressStartDueDate = inProgressStartDueDate;
     }
 
     @Override
     public void setDueDate(Date dueDate) {
+        markDirty();
         this.dueDate = dueDate;
     }
 
     @Override
     public void setPriority(int priority) {
+        markDirty();
         this.priority = priority;
     }
 
     @Override
     public void setCategory(String category) {
+        markDirty();
         this.category = category;
     }
 
@@ -406,6 +446,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setParentTaskId(String parentTaskId) {
+        markDirty();
         this.parentTaskId = parentTaskId;
     }
 
@@ -416,6 +457,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setFormKey(String formKey) {
+        markDirty();
         this.formKey = formKey;
     }
 
@@ -514,6 +556,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setState(String state) {
+        markDirty();
         this.state = state;
     }
 
@@ -524,6 +567,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setCreateTime(Date createTime) {
+        markDirty();
         this.createTime = createTime;
     }
 
@@ -534,6 +578,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setInProgressStartTime(Date inProgressStartTime) {
+        markDirty();
         this.inProgressStartTime = inProgressStartTime;
     }
 
@@ -544,6 +589,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setInProgressStartedBy(String inProgressStartedBy) {
+        markDirty();
         this.inProgressStartedBy = inProgressStartedBy;
     }
     
@@ -554,6 +600,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setClaimTime(Date claimTime) {
+        markDirty();
         this.claimTime = claimTime;
     }
 
@@ -564,6 +611,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setClaimedBy(String claimedBy) {
+        markDirty();
         this.claimedBy = claimedBy;
     }
 
@@ -574,6 +622,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setSuspendedTime(Date suspendedTime) {
+        markDirty();
         this.suspendedTime = suspendedTime;
     }
 
@@ -584,6 +633,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setSuspendedBy(String suspendedBy) {
+        markDirty();
         this.suspendedBy = suspendedBy;
     }
 
@@ -604,6 +654,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setProcessDefinitionId(String processDefinitionId) {
+        markDirty();
         this.processDefinitionId = processDefinitionId;
     }
 
@@ -614,6 +665,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setTaskDefinitionId(String taskDefinitionId) {
+        markDirty();
         this.taskDefinitionId = taskDefinitionId;
     }
 
@@ -624,6 +676,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setScopeId(String scopeId) {
+        markDirty();
         this.scopeId = scopeId;
     }
 
@@ -634,6 +687,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setSubScopeId(String subScopeId) {
+        markDirty();
         this.subScopeId = subScopeId;
     }
 
@@ -644,6 +698,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setScopeType(String scopeType) {
+        markDirty();
         this.scopeType = scopeType;
     }
 
@@ -654,11 +709,13 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setScopeDefinitionId(String scopeDefinitionId) {
+        markDirty();
         this.scopeDefinitionId = scopeDefinitionId;
     }
 
     @Override
     public void setPropagatedStageInstanceId(String propagatedStageInstanceId) {
+        markDirty();
         this.propagatedStageInstanceId = propagatedStageInstanceId;
     }
 
@@ -688,6 +745,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setTaskDefinitionKey(String taskDefinitionKey) {
+        markDirty();
         this.taskDefinitionKey = taskDefinitionKey;
     }
 
@@ -723,11 +781,13 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setExecutionId(String executionId) {
+        markDirty();
         this.executionId = executionId;
     }
 
     @Override
     public void setProcessInstanceId(String processInstanceId) {
+        markDirty();
         this.processInstanceId = processInstanceId;
     }
 
@@ -825,6 +885,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setDelegationState(DelegationState delegationState) {
+        markDirty();
         this.delegationState = delegationState;
     }
 
@@ -833,6 +894,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
     }
 
     public void setDelegationStateString(String delegationStateString) {
+        markDirty();
         this.delegationState = (delegationStateString != null ? DelegationState.valueOf(DelegationState.class, delegationStateString) : null);
     }
 
@@ -874,6 +936,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setSuspensionState(int suspensionState) {
+        markDirty();
         this.suspensionState = suspensionState;
     }
 
@@ -992,15 +1055,18 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setCountEnabled(boolean isCountEnabled) {
+        markDirty();
         this.isCountEnabled = isCountEnabled;
     }
 
     public void setIsCountEnabled(boolean isCountEnabled) {
+        markDirty();
         this.isCountEnabled = isCountEnabled;
     }
 
     @Override
     public void setVariableCount(int variableCount) {
+        markDirty();
         this.variableCount = variableCount;
     }
 
@@ -1011,6 +1077,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setIdentityLinkCount(int identityLinkCount) {
+        markDirty();
         this.identityLinkCount = identityLinkCount;
     }
 
@@ -1026,6 +1093,7 @@ public class TaskEntityImpl extends AbstractTaskServiceVariableScopeEntity imple
 
     @Override
     public void setSubTaskCount(int subTaskCount) {
+        markDirty();
         this.subTaskCount = subTaskCount;
     }
 
@@ -12,6 +12,9 @@
  */
 package org.flowable.variable.api.persistence.entity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 import org.flowable.variable.api.types.ValueFields;
 
 /**
@@ -40,6 +43,18 @@ public interface VariableInstance extends ValueFields {
 
     String getTypeName();
 
+    /**
+     * Returns the stored bytes of a variable that is backed by a byte array (e.g. a byte[], long string or serializable variable) as a stream.
+     * Implementations backed by the database read the bytes in chunks while the stream is read,
+     * so that large values don't need to be loaded in memory completely.
+     *
+     * @return the stored bytes as stream or null when the variable isn't backed by a byte array
+     */
+    default InputStream getBytesAsStream() {
+        byte[] bytes = getBytes();
+        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+    }
+
     void setTypeName(String typeName);
 
     default boolean isReadOnly() {
@@ -58,6 +58,13 @@ public class VariableServiceConfiguration extends AbstractServiceConfiguration {
     protected int maxLengthString;
     protected boolean loggingSessionEnabled;
 
+    /**
+     * When enabled, fetching the variables of an execution or task also fetches, in the same query, the variables of the other
+     * executions (of the same process instance) or tasks in the entity cache whose variables haven't been fetched yet.
+     */
+    protected boolean variableInstancePrefetchEnabled;
+    protected int variableInstancePrefetchMaxScopes = 500;
+
     protected VariableInstanceValueModifier variableInstanceValueModifier;
 
     /**
@@ -214,6 +221,24 @@ public class VariableServiceConfiguration extends AbstractServiceConfiguration {
         return this;
     }
 
+    public boolean isVariableInstancePrefetchEnabled() {
+        return variableInstancePrefetchEnabled;
+    }
+
+    public VariableServiceConfiguration setVariableInstancePrefetchEnabled(boolean variableInstancePrefetchEnabled) {
+        this.variableInstancePrefetchEnabled = variableInstancePrefetchEnabled;
+        return this;
+    }
+
+    public int getVariableInstancePrefetchMaxScopes() {
+        return variableInstancePrefetchMaxScopes;
+    }
+
+    public VariableServiceConfiguration setVariableInstancePrefetchMaxScopes(int variableInstancePrefetchMaxScopes) {
+        this.variableInstancePrefetchMaxScopes = variableInstancePrefetchMaxScopes;
+        return this;
+    }
+
     public boolean isSerializableVariableTypeTrackDeserializedObjects() {
         return serializableVariableTypeTrackDeserializedObjects;
     }
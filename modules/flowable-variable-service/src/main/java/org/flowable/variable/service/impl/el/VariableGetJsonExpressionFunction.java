@@ -0,0 +1,83 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.el;
+
+import org.flowable.common.engine.api.FlowableIllegalArgumentException;
+import org.flowable.common.engine.api.variable.VariableContainer;
+import org.flowable.common.engine.impl.el.function.AbstractFlowableVariableExpressionFunction;
+import org.flowable.variable.api.delegate.VariableScope;
+import org.flowable.variable.api.persistence.entity.VariableInstance;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Returns the value at a JSON pointer (e.g. <code>variables:getJson(order, '/customer/id')</code>) of a json variable.
+ * For a variable of the {@link BinaryJsonType} that wasn't read yet, only the nodes of the requested field are created instead of the complete value.
+ * Value nodes are returned as their Java value, the same way as the JsonNodeELResolver does.
+ */
+public class VariableGetJsonExpressionFunction extends AbstractFlowableVariableExpressionFunction {
+
+    public VariableGetJsonExpressionFunction() {
+        super("getJson");
+    }
+
+    public static Object getJson(VariableContainer variableContainer, String variableName, String jsonPointer) {
+        if (variableName == null) {
+            throw new FlowableIllegalArgumentException("Variable name passed is null");
+        }
+
+        JsonPointer pointer = JsonPointer.compile(jsonPointer);
+        if (variableContainer instanceof VariableScope) {
+            VariableInstance variableInstance = ((VariableScope) variableContainer).getVariableInstance(variableName);
+            if (variableInstance instanceof VariableInstanceEntity) {
+                VariableInstanceEntity variableInstanceEntity = (VariableInstanceEntity) variableInstance;
+                if (variableInstanceEntity.getType() instanceof BinaryJsonType) {
+                    return toValue(((BinaryJsonType) variableInstanceEntity.getType()).getValueAt(variableInstanceEntity, pointer));
+                }
+            }
+        }
+
+        Object value = getVariableValue(variableContainer, variableName);
+        if (value == null) {
+            return null;
+        } else if (value instanceof JsonNode) {
+            return toValue(((JsonNode) value).at(pointer));
+        } else {
+            throw new FlowableIllegalArgumentException("Variable " + variableName + " is not a json variable");
+        }
+    }
+
+    protected static Object toValue(JsonNode node) {
+        if (node == null || node.isMissingNode() || node.isNull()) {
+            return null;
+        } else if (!node.isValueNode()) {
+            return node;
+        } else if (node.isBoolean()) {
+            return node.asBoolean();
+        } else if (node.isShort() || node.isInt()) {
+            return node.asInt();
+        } else if (node.isLong()) {
+            return node.asLong();
+        } else if (node.isBigDecimal() || node.isDouble() || node.isFloat()) {
+            return node.asDouble();
+        } else if (node.isTextual()) {
+            return node.asText();
+        } else {
+            return node.toString();
+        }
+    }
+
+}
@@ -12,6 +12,7 @@
  */
 package org.flowable.variable.service.impl.persistence.entity;
 
+import java.io.InputStream;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,6 +20,7 @@ import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.persistence.entity.ByteArrayRef;
+import org.flowable.common.engine.impl.persistence.entity.DirtyTrackingEntity;
 import org.flowable.variable.api.types.ValueFields;
 import org.flowable.variable.api.types.VariableType;
 
@@ -27,7 +29,7 @@ import org.flowable.variable.api.types.VariableType;
  * @author Marcus Klimstra (CGI)
  * @author Joram Barrez
  */
-public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity implements VariableInstanceEntity, ValueFields, Serializable {
+public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity implements VariableInstanceEntity, ValueFields, DirtyTrackingEntity, Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -84,11 +86,13 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void forceUpdate() {
+        markDirty();
         forcedUpdate = true;
     }
     
     @Override
     public void setExecutionId(String executionId) {
+        markDirty();
         this.executionId = executionId;
     }
 
@@ -110,9 +114,18 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
         return byteArrayRef.getBytes(getEngineType());
     }
 
+    @Override
+    public InputStream getBytesAsStream() {
+        if (byteArrayRef == null) {
+            return null;
+        }
+        return byteArrayRef.getInputStream(getEngineType());
+    }
+
     @Override
     public void setBytes(byte[] bytes) {
         ensureByteArrayRefInitialized();
+        markDirty();
         byteArrayRef.setValue("var-" + name, bytes, getEngineType());
     }
 
@@ -139,6 +152,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setValue(Object value) {
+        markDirty(); // the type can change the byte array reference before any setter is called
         type.setValue(value, this);
         typeName = type.getTypeName();
         cachedValue = value;
@@ -148,6 +162,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setName(String name) {
+        markDirty();
         this.name = name;
     }
 
@@ -179,6 +194,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setType(VariableType type) {
+        markDirty();
         this.type = type;
     }
 
@@ -214,6 +230,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setScopeId(String scopeId) {
+        markDirty();
         this.scopeId = scopeId;
     }
     
@@ -224,6 +241,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
     
     @Override
     public void setSubScopeId(String subScopeId) {
+        markDirty();
         this.subScopeId = subScopeId;
     }
 
@@ -234,6 +252,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setScopeType(String scopeType) {
+        markDirty();
         this.scopeType = scopeType;
     }
 
@@ -254,6 +273,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setLongValue(Long longValue) {
+        markDirty();
         this.longValue = longValue;
     }
 
@@ -264,6 +284,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setDoubleValue(Double doubleValue) {
+        markDirty();
         this.doubleValue = doubleValue;
     }
 
@@ -274,6 +295,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setTextValue(String textValue) {
+        markDirty();
         this.textValue = textValue;
     }
 
@@ -284,6 +306,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setTextValue2(String textValue2) {
+        markDirty();
         this.textValue2 = textValue2;
     }
 
@@ -294,6 +317,7 @@ public class VariableInstanceEntityImpl extends AbstractVariableServiceEntity im
 
     @Override
     public void setMetaInfo(String metaInfo) {
+        markDirty();
         this.metaInfo = metaInfo;
     }
 
@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.delegate.event.FlowableEngineEventType;
@@ -82,6 +83,48 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         }
     }
 
+    /**
+     * Loads the variable instances of this scope together with those of the given other scopes in one query
+     * and initializes the other scopes with their variable instances, so that they don't need a query of their own later on.
+     *
+     * @param variableInstancesLoader loads the variable instances of the scopes with the given ids
+     * @param scopeIdProvider returns the id of the scope a loaded variable instance belongs to
+     * @return the variable instances of this scope
+     */
+    protected Collection<VariableInstanceEntity> loadVariableInstancesTogetherWith(Collection<? extends VariableScopeImpl> otherVariableScopes,
+            Function<Collection<String>, List<VariableInstanceEntity>> variableInstancesLoader, Function<VariableInstanceEntity, String> scopeIdProvider) {
+
+        List<String> scopeIds = new ArrayList<>(otherVariableScopes.size() + 1);
+        scopeIds.add(getId());
+        for (VariableScopeImpl otherVariableScope : otherVariableScopes) {
+            scopeIds.add(otherVariableScope.getId());
+        }
+
+        Map<String, List<VariableInstanceEntity>> variableInstancesByScopeId = new HashMap<>();
+        for (VariableInstanceEntity variableInstance : variableInstancesLoader.apply(scopeIds)) {
+            variableInstancesByScopeId.computeIfAbsent(scopeIdProvider.apply(variableInstance), key -> new ArrayList<>()).add(variableInstance);
+        }
+
+        for (VariableScopeImpl otherVariableScope : otherVariableScopes) {
+            if (otherVariableScope.variableInstances == null) {
+                Map<String, VariableInstanceEntity> otherVariableInstances = new HashMap<>();
+                for (VariableInstanceEntity variableInstance : variableInstancesByScopeId.getOrDefault(otherVariableScope.getId(), Collections.emptyList())) {
+                    otherVariableInstances.put(variableInstance.getName(), variableInstance);
+                }
+                otherVariableScope.variableInstances = otherVariableInstances;
+            }
+        }
+
+        return variableInstancesByScopeId.getOrDefault(getId(), Collections.emptyList());
+    }
+
+    /**
+     * @return whether all variable instances of this scope have been fetched already.
+     */
+    public boolean isVariableInstancesInitialized() {
+        return variableInstances != null;
+    }
+
     /**
      * Only to be used when creating a new entity, to avoid an extra call to the database.
      */
@@ -0,0 +1,185 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.types;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.variable.api.types.ValueFields;
+import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.util.VariableCompressionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * A variable type for {@link JsonNode} values that always stores the value in the byte array, encoded in the binary
+ * Smile format and compressed when larger than the compression threshold (see {@link VariableCompressionUtil}),
+ * instead of as (uncompressed) text like the {@link JsonType}.
+ * Reading the value parses the (decompressed) bytes directly, without creating an intermediate string.
+ * <p>
+ * A single field of the value can be read with {@link #getValueAt(ValueFields, JsonPointer)}, which streams over the bytes
+ * and only creates the nodes of that field, e.g. through the <code>variables:getJson(order, '/customer/id')</code> expression function.
+ * <p>
+ * This type is not registered by default, as it needs to come before the {@link JsonType} to be used for new variables.
+ */
+public class BinaryJsonType extends JsonType {
+
+    public static final String TYPE_NAME = "binaryJson";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryJsonType.class);
+
+    protected final int compressionThreshold;
+    protected final ObjectMapper smileObjectMapper;
+
+    /**
+     * @param compressionThreshold the size (in bytes) above which the value is compressed, a negative value disables compression
+     */
+    public BinaryJsonType(ObjectMapper objectMapper, boolean trackObjects, int compressionThreshold) {
+        super(-1, objectMapper, trackObjects, TYPE_NAME);
+        this.compressionThreshold = compressionThreshold;
+        this.smileObjectMapper = new ObjectMapper(new SmileFactory());
+        this.smileObjectMapper.setNodeFactory(objectMapper.getNodeFactory());
+    }
+
+    @Override
+    public Object getValue(ValueFields valueFields) {
+        if (valueFields.getCachedValue() != null) {
+            return valueFields.getCachedValue();
+        }
+
+        JsonNode jsonValue = null;
+        byte[] bytes = valueFields.getBytes();
+        if (bytes != null && bytes.length > 0) {
+            try (InputStream inputStream = VariableCompressionUtil.createInputStream(bytes)) {
+                jsonValue = smileObjectMapper.readTree(inputStream);
+                valueFields.setCachedValue(jsonValue);
+                traceValue(jsonValue, valueFields);
+            } catch (IOException | FlowableException e) {
+                LOGGER.error("Error reading binary json variable {}", valueFields.getName(), e);
+            }
+        }
+        return jsonValue;
+    }
+
+    /**
+     * @return the node at the given pointer in the value, a {@link MissingNode} if there is no such node,
+     *         or null if there is no value or it can't be read.
+     *         Only the nodes of the field at the pointer are created, unless the complete value was read already.
+     */
+    public JsonNode getValueAt(ValueFields valueFields, JsonPointer pointer) {
+        if (valueFields.getCachedValue() != null) {
+            return ((JsonNode) valueFields.getCachedValue()).at(pointer);
+        }
+
+        byte[] bytes = valueFields.getBytes();
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try (InputStream inputStream = VariableCompressionUtil.createInputStream(bytes);
+                JsonParser parser = smileObjectMapper.createParser(inputStream)) {
+
+            JsonToken token = parser.nextToken();
+            JsonPointer remainingPointer = pointer;
+            while (token != null && !remainingPointer.matches()) {
+                if (!moveToChild(parser, token, remainingPointer)) {
+                    return MissingNode.getInstance();
+                }
+                remainingPointer = remainingPointer.tail();
+                token = parser.currentToken();
+            }
+            return token != null ? smileObjectMapper.readTree(parser) : MissingNode.getInstance();
+
+        } catch (IOException | FlowableException e) {
+            LOGGER.error("Error reading {} of binary json variable {}", pointer, valueFields.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Moves the parser from the start of the current object or array to the value of the property or element matched by the first segment of the pointer,
+     * skipping the other properties or elements without creating nodes for them.
+     *
+     * @return false if the current value has no such property or element
+     */
+    protected boolean moveToChild(JsonParser parser, JsonToken token, JsonPointer pointer) throws IOException {
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                if (fieldName.equals(pointer.getMatchingProperty())) {
+                    return true;
+                }
+                parser.skipChildren();
+            }
+
+        } else if (token == JsonToken.START_ARRAY && pointer.mayMatchElement()) {
+            int index = 0;
+            JsonToken elementToken = parser.nextToken();
+            while (elementToken != null && elementToken != JsonToken.END_ARRAY) {
+                if (index++ == pointer.getMatchingIndex()) {
+                    return true;
+                }
+                parser.skipChildren();
+                elementToken = parser.nextToken();
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void setValue(Object value, ValueFields valueFields) {
+        valueFields.setTextValue(null);
+        if (value == null) {
+            valueFields.setBytes(null);
+            valueFields.setCachedValue(null);
+        } else {
+            JsonNode jsonNode = (JsonNode) value;
+            valueFields.setBytes(serialize(jsonNode, valueFields.getName()));
+            valueFields.setCachedValue(jsonNode);
+            traceValue(jsonNode, valueFields);
+        }
+    }
+
+    @Override
+    public boolean updateValueIfChanged(JsonNode originalNode, JsonNode originalCopyNode, VariableInstanceEntity variableInstanceEntity) {
+        if (!Objects.equals(originalNode, originalCopyNode)) {
+            variableInstanceEntity.setBytes(serialize(originalNode, variableInstanceEntity.getName()));
+            return true;
+        }
+        return false;
+    }
+
+    protected byte[] serialize(JsonNode jsonNode, String variableName) {
+        try {
+            return VariableCompressionUtil.encode(smileObjectMapper.writeValueAsBytes(jsonNode), compressionThreshold);
+        } catch (JsonProcessingException e) {
+            throw new FlowableException("Couldn't serialize json value in variable '" + variableName + "'", e);
+        }
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+}
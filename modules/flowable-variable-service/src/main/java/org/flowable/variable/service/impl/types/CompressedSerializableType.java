@@ -0,0 +1,69 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.types;
+
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.variable.api.types.ValueFields;
+import org.flowable.variable.service.impl.util.VariableCompressionUtil;
+
+/**
+ * A {@link SerializableType} that compresses the serialized value when it is larger than the compression threshold
+ * (see {@link VariableCompressionUtil}).
+ * <p>
+ * This type is not registered by default, as it needs to come before the {@link SerializableType} to be used for new variables.
+ */
+public class CompressedSerializableType extends SerializableType {
+
+    public static final String TYPE_NAME = "compressedSerializable";
+
+    protected final int compressionThreshold;
+
+    /**
+     * @param compressionThreshold the size (in bytes) above which the value is compressed, a negative value disables compression
+     */
+    public CompressedSerializableType(boolean trackDeserializedObjects, int compressionThreshold) {
+        super(trackDeserializedObjects);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public byte[] serialize(Object value, ValueFields valueFields) {
+        byte[] bytes = super.serialize(value, valueFields);
+        if (bytes == null) {
+            return null;
+        }
+        return VariableCompressionUtil.encode(bytes, compressionThreshold);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes, ValueFields valueFields) {
+        try (InputStream inputStream = VariableCompressionUtil.createInputStream(bytes);
+                ObjectInputStream objectInputStream = createObjectInputStream(inputStream)) {
+            return objectInputStream.readObject();
+        } catch (Exception e) {
+            throw new FlowableException("Couldn't deserialize object in variable '" + valueFields.getName() + "'", e);
+        }
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+}
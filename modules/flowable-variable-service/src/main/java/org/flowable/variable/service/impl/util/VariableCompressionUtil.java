@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.variable.service.impl.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.flowable.common.engine.api.FlowableException;
+
+/**
+ * Encoding of variable bytes that are compressed (gzip) when they are larger than a threshold.
+ * The encoded bytes start with one header byte that tells whether the remaining bytes are compressed or not,
+ * so that changing the threshold doesn't affect the variables that were already stored.
+ */
+public class VariableCompressionUtil {
+
+    public static final byte FORMAT_UNCOMPRESSED = 0;
+    public static final byte FORMAT_GZIP = 1;
+
+    /**
+     * @param compressionThreshold the size (in bytes) above which the bytes are compressed, a negative value disables compression
+     */
+    public static byte[] encode(byte[] bytes, int compressionThreshold) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length + 1);
+        try {
+            if (compressionThreshold >= 0 && bytes.length > compressionThreshold) {
+                outputStream.write(FORMAT_GZIP);
+                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+                    gzipOutputStream.write(bytes);
+                }
+
+            } else {
+                outputStream.write(FORMAT_UNCOMPRESSED);
+                outputStream.write(bytes);
+            }
+
+        } catch (IOException e) {
+            throw new FlowableException("Could not compress variable bytes", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * @return a stream with the (uncompressed) bytes that were encoded with {@link #encode(byte[], int)}
+     */
+    public static InputStream createInputStream(byte[] encodedBytes) throws IOException {
+        if (encodedBytes.length == 0) {
+            throw new FlowableException("Encoded variable bytes are empty");
+        }
+
+        InputStream inputStream = new ByteArrayInputStream(encodedBytes, 1, encodedBytes.length - 1);
+        switch (encodedBytes[0]) {
+            case FORMAT_UNCOMPRESSED:
+                return inputStream;
+            case FORMAT_GZIP:
+                return new GZIPInputStream(inputStream);
+            default:
+                throw new FlowableException("Unknown variable bytes format " + encodedBytes[0]);
+        }
+    }
+
+}
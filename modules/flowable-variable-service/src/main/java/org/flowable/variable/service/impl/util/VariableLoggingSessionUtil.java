@@ -18,6 +18,7 @@ import java.util.UUID;
 import org.flowable.common.engine.api.scope.ScopeTypes;
 import org.flowable.common.engine.impl.logging.LoggingSessionUtil;
 import org.flowable.variable.service.impl.persistence.entity.VariableInstanceEntity;
+import org.flowable.variable.service.impl.types.BinaryJsonType;
 import org.flowable.variable.service.impl.types.BooleanType;
 import org.flowable.variable.service.impl.types.DateType;
 import org.flowable.variable.service.impl.types.DoubleType;
@@ -92,7 +93,7 @@ public class VariableLoggingSessionUtil {
             loggingNode.put(variableRawValueName, LoggingSessionUtil.formatDate((LocalDate) variableValue));
         } else if (BooleanType.TYPE_NAME.equals(variableTypeName)) {
             loggingNode.put(variableRawValueName, (Boolean) variableValue);
-        } else if (JsonType.TYPE_NAME.equals(variableTypeName)) {
+        } else if (JsonType.TYPE_NAME.equals(variableTypeName) || BinaryJsonType.TYPE_NAME.equals(variableTypeName)) {
             loggingNode.set(variableRawValueName, (JsonNode) variableValue);
         } else if (UUIDType.TYPE_NAME.equals(variableTypeName)) {
             loggingNode.put("variableRawValue", ((UUID) variableValue).toString());